@@ -0,0 +1,53 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.shared.authorization.ActionExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ActionExtractor#extractAction}: roda em TODA requisição autorizada
+ * (ABACAuthorizationInterceptor), antes da chamada ao OPA. Rotas escolhidas
+ * pelos ramos do extrator: tenant-scoped com sub-ação, listagem, plataforma.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActionExtractorBenchmark {
+
+    @Param({
+        "POST /api/v1/tenants/a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11/locacoes/123e4567-e89b-12d3-a456-426614174000/check-out",
+        "GET /api/v1/tenants/a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11/locacoes",
+        "POST /api/v1/platform/tenants/123e4567-e89b-12d3-a456-426614174000/approve"
+    })
+    public String rota;
+
+    private final ActionExtractor extractor = new ActionExtractor();
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        String[] partes = rota.split(" ", 2);
+        request = new MockHttpServletRequest(partes[0], partes[1]);
+        request.setContextPath("/api");
+    }
+
+    @Benchmark
+    public String extractAction() {
+        return extractor.extractAction(request);
+    }
+}
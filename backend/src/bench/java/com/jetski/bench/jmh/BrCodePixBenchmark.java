@@ -0,0 +1,36 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.shared.pix.BrCodePix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BrCodePix#gerar}: BR Code do sinal do portal e da compra de créditos
+ * (TLV + normalização de nome/cidade + CRC16). Nome/cidade com acento para
+ * exercitar a normalização.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BrCodePixBenchmark {
+
+    private final BigDecimal valor = new BigDecimal("187.50");
+
+    @Benchmark
+    public String gerar() {
+        return BrCodePix.gerar("pix@acme.com.br", valor, "Jet Save Turismo Náutico", "Florianópolis");
+    }
+}
@@ -0,0 +1,92 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.shared.observability.BusinessMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação por requisição: troca de contexto de tenant
+ * (TenantFilter) + decisão do OPA e sua duração (ABACAuthorizationInterceptor).
+ *
+ * <p>{@code porRequisicao} usa a fachada ({@link BusinessMetrics}: handles em
+ * cache + teto de tenants); {@code builderPorChamada} reproduz o caminho
+ * antigo ({@code Counter.builder(...).register(registry)} a cada chamada,
+ * tenant_id sem teto) como referência. {@code tenants} acima do teto
+ * (200) exercita o balde "other".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class BusinessMetricsBenchmark {
+
+    @Param({"10", "5000"})
+    public int tenants;
+
+    private MeterRegistry registry;
+    private BusinessMetrics metrics;
+    private String[] tenantIds;
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new BusinessMetrics(registry);
+        tenantIds = new String[tenants];
+        for (int i = 0; i < tenants; i++) {
+            tenantIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    private String tenantAleatorio() {
+        return tenantIds[ThreadLocalRandom.current().nextInt(tenantIds.length)];
+    }
+
+    @Benchmark
+    public void porRequisicao() {
+        String tenant = tenantAleatorio();
+        metrics.recordTenantContextSwitch(tenant);
+        metrics.recordOpaDecision(tenant, "allow", "rbac");
+        metrics.recordOpaDecisionDuration(tenant, 3);
+    }
+
+    @Benchmark
+    public void builderPorChamada() {
+        String tenant = tenantAleatorio();
+        Counter.builder("jetski.tenant.context.switch")
+                .tag("tenant_id", tenant)
+                .register(registry)
+                .increment();
+        Counter.builder("jetski.opa.decision")
+                .tag("tenant_id", tenant)
+                .tag("decision", "allow")
+                .tag("policy", "rbac")
+                .register(registry)
+                .increment();
+        Timer.builder("jetski.opa.decision.duration")
+                .tag("tenant_id", tenant)
+                .register(registry)
+                .record(Duration.ofMillis(3));
+    }
+}
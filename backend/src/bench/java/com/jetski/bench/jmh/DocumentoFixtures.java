@@ -0,0 +1,53 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.locacoes.internal.DocumentoPdfService;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/** Dados de emissão representativos (mesmos do DocumentoPdfServiceTest). */
+final class DocumentoFixtures {
+
+    private DocumentoFixtures() {
+    }
+
+    static DocumentoPdfService.DadosDocumento dados(String via, boolean residencia) {
+        return new DocumentoPdfService.DadosDocumento(
+                "Roberto Lima", "987.654.321-00", "12.345.678-9", "DETRAN/RJ",
+                "brasileira", "Rio de Janeiro/RJ", "(21) 3030-1020", "(21) 98888-1234", "roberto@email.com",
+                "Av. Paulista, 1500, ap. 902 - Bela Vista", "São Paulo/SP", "01310-100",
+                "Jet Save Turismo Náutico LTDA", "65.455.888/0001-00",
+                "Angra dos Reis", "16 de junho de 2026", "16/06/2026",
+                via, residencia, false, false, true,
+                "Carlos Mendes", "98.765.432-1", "SSP/RJ", "111.222.333-44", "MTA-1234567",
+                "10/05/2020", null,
+                "2026-000482-19", "23,13", true);
+    }
+
+    /** PNG simulando a assinatura do pad (headless-safe). */
+    static byte[] assinaturaPng() {
+        BufferedImage img = new BufferedImage(300, 80, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 300, 80);
+        g.setColor(Color.BLACK);
+        g.setStroke(new BasicStroke(2f));
+        g.drawLine(20, 60, 90, 22);
+        g.drawLine(90, 22, 160, 60);
+        g.drawLine(160, 60, 240, 26);
+        g.dispose();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(img, "png", baos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baos.toByteArray();
+    }
+}
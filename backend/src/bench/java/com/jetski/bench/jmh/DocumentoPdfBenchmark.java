@@ -0,0 +1,51 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.locacoes.internal.DocumentoPdfService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renderização do PDF consolidado da emissão (OpenPDF). EMA gera todos os
+ * anexos NORMAM (1-C, 5-C, 5-B-1/2 + versões em inglês); CHA só o Termo.
+ * {@code -prof gc} mostra a alocação por documento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentoPdfBenchmark {
+
+    @Param({"EMA", "CHA"})
+    public String via;
+
+    private final DocumentoPdfService service = new DocumentoPdfService();
+    private DocumentoPdfService.DadosDocumento dados;
+    private byte[] assinatura;
+    private List<DocumentoPdfService.AnexoImagem> anexos;
+
+    @Setup
+    public void setup() {
+        dados = DocumentoFixtures.dados(via, "EMA".equals(via));
+        assinatura = DocumentoFixtures.assinaturaPng();
+        anexos = List.of(new DocumentoPdfService.AnexoImagem("Documento de identidade", assinatura));
+    }
+
+    @Benchmark
+    public DocumentoPdfService.DocumentoPdf gerarDocumentoConsolidado() {
+        return service.gerarDocumentoConsolidado(dados, assinatura, anexos);
+    }
+}
@@ -0,0 +1,46 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.locacoes.internal.LocacaoCalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo do check-out (RN01) na sequência que o LocacaoService faz:
+ * validação do horímetro, minutos usados, faturáveis (tolerância + blocos
+ * de 15 min) e valor base.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocacaoCalculatorBenchmark {
+
+    private final LocacaoCalculatorService calculator = new LocacaoCalculatorService();
+
+    private final LocalDateTime checkIn = LocalDateTime.of(2026, 1, 10, 10, 0);
+    private final LocalDateTime checkOut = LocalDateTime.of(2026, 1, 10, 11, 8);
+    private final BigDecimal horimetroInicio = new BigDecimal("120.4");
+    private final BigDecimal horimetroFim = new BigDecimal("121.5");
+    private final BigDecimal precoHora = new BigDecimal("250.00");
+
+    @Benchmark
+    public BigDecimal checkOut() {
+        calculator.validateHorimetroReadings(horimetroInicio, horimetroFim);
+        int usados = calculator.calculateUsedMinutes(checkIn, checkOut);
+        int faturaveis = calculator.calculateBillableMinutes(usados, 5);
+        return calculator.calculateBaseValue(faturaveis, precoHora);
+    }
+}
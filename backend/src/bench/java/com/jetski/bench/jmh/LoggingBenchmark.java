@@ -0,0 +1,141 @@
+package com.jetski.bench.jmh;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.jetski.shared.observability.DropCountingAsyncAppender;
+import com.jetski.shared.observability.LogSamplingTurboFilter;
+import com.jetski.shared.observability.MDCKeys;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de "requisições" pelo pipeline de log, com 8 threads: o que uma
+ * requisição típica loga (TenantFilter, decisão do OPA, controller) em JSON
+ * (LogstashEncoder) para arquivo.
+ *
+ * <ul>
+ *   <li>{@code DESLIGADO}: INFO filtrado pelo nível — piso de referência</li>
+ *   <li>{@code SINCRONO}: appender direto, como era o logback-spring.xml</li>
+ *   <li>{@code ASSINCRONO}: {@link DropCountingAsyncAppender} (fila 8192, neverBlock)</li>
+ *   <li>{@code AMOSTRADO}: assíncrono + {@link LogSamplingTurboFilter} (1 em 10)
+ *       nos loggers ruidosos — a configuração de produção</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String LOGGER_OPA = "com.jetski.shared.authorization.OPAAuthorizationService";
+    private static final String LOGGER_TENANT = "com.jetski.shared.internal.TenantFilter";
+    private static final String LOGGER_CONTROLLER = "com.jetski.locacoes.api.LocacaoController";
+
+    @Param({"DESLIGADO", "SINCRONO", "ASSINCRONO", "AMOSTRADO"})
+    public String modo;
+
+    private LoggerContext contexto;
+    private Path arquivo;
+    private Logger opa;
+    private Logger tenant;
+    private Logger controller;
+    private final String tenantId = UUID.randomUUID().toString();
+
+    @Setup
+    public void setup() throws IOException {
+        contexto = new LoggerContext();
+        contexto.setName("bench");
+        // contexto avulso: lê o MDC do SLF4J, onde a requisição grava trace/tenant
+        contexto.setMDCAdapter(MDC.getMDCAdapter());
+        arquivo = Files.createTempFile("jetski-log-bench", ".json");
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(contexto);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> arquivoAppender = new FileAppender<>();
+        arquivoAppender.setContext(contexto);
+        arquivoAppender.setName("JSON");
+        arquivoAppender.setFile(arquivo.toString());
+        arquivoAppender.setEncoder(encoder);
+        arquivoAppender.start();
+
+        Appender<ILoggingEvent> appender = arquivoAppender;
+        if (!"SINCRONO".equals(modo) && !"DESLIGADO".equals(modo)) {
+            DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+            async.setContext(contexto);
+            async.setName("ASYNC_JSON");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(arquivoAppender);
+            async.start();
+            appender = async;
+        }
+        if ("AMOSTRADO".equals(modo)) {
+            LogSamplingTurboFilter amostragem = new LogSamplingTurboFilter();
+            amostragem.setContext(contexto);
+            amostragem.setTaxa(10);
+            amostragem.setLoggers(LOGGER_OPA + "," + LOGGER_TENANT);
+            amostragem.start();
+            contexto.addTurboFilter(amostragem);
+        }
+
+        Logger root = contexto.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel("DESLIGADO".equals(modo) ? Level.WARN : Level.INFO);
+        root.addAppender(appender);
+
+        opa = contexto.getLogger(LOGGER_OPA);
+        tenant = contexto.getLogger(LOGGER_TENANT);
+        controller = contexto.getLogger(LOGGER_CONTROLLER);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        contexto.stop();
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public void requisicao() {
+        MDC.put(MDCKeys.TRACE_ID, Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        MDC.put(MDCKeys.TENANT_ID, tenantId);
+        try {
+            tenant.debug("Resolving tenant from header");
+            tenant.info("Tenant context set: tenant={}, user={}", tenantId, "operador@acme.com.br");
+            opa.info("OPA decision: action={}, allow={}, duration={}ms", "locacao:checkout", true, 3);
+            controller.info("POST /v1/tenants/{}/locacoes/{}/check-out - horimetroFim={}",
+                    tenantId, "123e4567-e89b-12d3-a456-426614174000", "121.5");
+            controller.info("Check-out completed: locacao={}, value={}",
+                    "123e4567-e89b-12d3-a456-426614174000", "250.00");
+        } finally {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.locacoes.internal.DocumentoPdfService;
+import com.jetski.locacoes.internal.PadesSignatureService;
+import com.jetski.locacoes.internal.repository.AssinaturaCertificadoRepository;
+import com.jetski.shared.security.SecretCipher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PadesSignatureService#assinar} sem TSA (sem rede): leitura do PDF,
+ * hash e CMS/RSA. A chave é gerada/carregada no setup — o custo medido é o
+ * da assinatura por documento, com 4 threads disputando a chave em cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PadesSignatureBenchmark {
+
+    private PadesSignatureService service;
+    private byte[] pdf;
+
+    @Setup
+    public void setup() {
+        AssinaturaCertificadoRepository repo = mock(AssinaturaCertificadoRepository.class);
+        SecretCipher cipher = mock(SecretCipher.class);
+        when(repo.findFirstByOrderByCreatedAtDesc()).thenReturn(Optional.empty());
+        when(cipher.encrypt(anyString())).thenAnswer(i -> i.getArgument(0));
+        service = new PadesSignatureService(repo, cipher);
+
+        pdf = new DocumentoPdfService()
+                .gerarDocumentoConsolidado(DocumentoFixtures.dados("CHA", false), DocumentoFixtures.assinaturaPng())
+                .conteudo();
+        service.assinar(pdf, null);
+    }
+
+    @Benchmark
+    public byte[] assinar() {
+        return service.assinar(pdf, null);
+    }
+}
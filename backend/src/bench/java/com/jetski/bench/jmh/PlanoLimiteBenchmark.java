@@ -0,0 +1,88 @@
+package com.jetski.bench.jmh;
+
+import com.jetski.tenant.ModuloPlano;
+import com.jetski.tenant.PlanoLimiteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checagem de módulo/limite do plano com o snapshot quente — o caminho do
+ * {@code ModuloPlanoInterceptor} em toda requisição. O banco é um mock: a
+ * carga acontece uma vez no setup e o custo medido é só o da memória
+ * (antes: transação REQUIRES_NEW + set_config + join POR checagem).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PlanoLimiteBenchmark {
+
+    private static final UUID TENANT = UUID.fromString("a4000000-0000-0000-0000-0000000000aa");
+    private static final List<ModuloPlano> COBRIDORES =
+        List.of(ModuloPlano.EMISSAO_PROPRIA, ModuloPlano.EMISSAO_DELEGADA);
+
+    private PlanoLimiteService service;
+
+    @Setup
+    public void setup() {
+        EntityManager entityManager = mock(EntityManager.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        Query setConfig = mock(Query.class);
+        Query planoQuery = mock(Query.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entityManager.createNativeQuery(startsWith("SELECT set_config"))).thenReturn(setConfig);
+        when(entityManager.createNativeQuery(startsWith("SELECT p.modulos"))).thenReturn(planoQuery);
+        when(setConfig.setParameter(anyString(), any())).thenReturn(setConfig);
+        when(planoQuery.setParameter(anyString(), any())).thenReturn(planoQuery);
+        List<Object> rows = new java.util.ArrayList<>();
+        rows.add(new Object[] {"[\"MANUTENCAO\",\"MARKETPLACE\"]", "{\"frota_max\": 3}"});
+        when(planoQuery.getResultList()).thenReturn(rows);
+
+        service = new PlanoLimiteService(entityManager, transactionManager);
+        // TTL longo: a medição não pode cruzar uma recarga
+        ReflectionTestUtils.setField(service, "ttlSeconds", 3600L);
+        service.entitlements(TENANT);
+    }
+
+    @Benchmark
+    public boolean moduloHabilitado() {
+        return service.moduloHabilitado(TENANT, ModuloPlano.MARKETPLACE);
+    }
+
+    @Benchmark
+    public boolean habilitaAlgum() {
+        return service.entitlements(TENANT).habilitaAlgum(COBRIDORES);
+    }
+
+    @Benchmark
+    public Integer limite() {
+        return service.limite(TENANT, "frota_max");
+    }
+}
@@ -0,0 +1,111 @@
+package com.jetski.bench.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jetski.shared.plataforma.PlataformaConfigRegistry;
+import com.jetski.tenant.api.dto.ImagemCompressaoConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por chamada da leitura de {@code plataforma_config}: preço do
+ * crédito (compra/emissão) e presets de imagem (JSON).
+ *
+ * <p>{@code consulta*} reproduz o caminho antigo ({@code SELECT valor ...
+ * WHERE chave = ?} + parse a cada chamada) contra um Postgres do
+ * Testcontainers em localhost — o piso da ida ao banco; na rede real é
+ * maior. {@code registry*} lê do {@link PlataformaConfigRegistry}: lookup
+ * no mapa, valor já convertido.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlataformaConfigBenchmark {
+
+    private static final String PRECO = "creditos_preco_unitario";
+    private static final String IMAGEM = "imagem_compressao";
+    private static final String SELECT_SQL = "SELECT valor FROM plataforma_config WHERE chave = ?";
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private ObjectMapper objectMapper;
+    private PlataformaConfigRegistry registry;
+
+    @Setup
+    public void setup() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        jdbc = new JdbcTemplate(dataSource);
+        objectMapper = new ObjectMapper();
+
+        jdbc.execute("""
+            CREATE TABLE plataforma_config (
+                chave      varchar(60) NOT NULL PRIMARY KEY,
+                valor      text NOT NULL,
+                updated_at timestamptz NOT NULL DEFAULT now(),
+                updated_by uuid
+            )""");
+        jdbc.update("INSERT INTO plataforma_config (chave, valor) VALUES (?, '5.00')", PRECO);
+        jdbc.update("INSERT INTO plataforma_config (chave, valor) VALUES (?, ?)",
+            IMAGEM, objectMapper.writeValueAsString(ImagemCompressaoConfig.defaults()));
+
+        DataSourceProperties props = new DataSourceProperties();
+        props.setUrl(postgres.getJdbcUrl());
+        props.setUsername(postgres.getUsername());
+        props.setPassword(postgres.getPassword());
+        registry = new PlataformaConfigRegistry(jdbc, objectMapper, props);
+        registry.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.stop();
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public BigDecimal consultaPreco() {
+        return new BigDecimal(jdbc.queryForObject(SELECT_SQL, String.class, PRECO));
+    }
+
+    @Benchmark
+    public ImagemCompressaoConfig consultaImagem() throws Exception {
+        return objectMapper.readValue(jdbc.queryForObject(SELECT_SQL, String.class, IMAGEM),
+            ImagemCompressaoConfig.class);
+    }
+
+    @Benchmark
+    public BigDecimal registryPreco() {
+        return registry.get(PRECO, BigDecimal.class).orElseThrow();
+    }
+
+    @Benchmark
+    public ImagemCompressaoConfig registryImagem() {
+        return registry.get(IMAGEM, ImagemCompressaoConfig.class).orElseThrow();
+    }
+}
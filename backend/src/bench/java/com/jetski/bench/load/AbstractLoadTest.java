@@ -0,0 +1,167 @@
+package com.jetski.bench.load;
+
+import com.jetski.integration.AbstractIntegrationTest;
+import com.jetski.shared.authorization.OPAAuthorizationService;
+import com.jetski.shared.authorization.dto.OPADecision;
+import com.jetski.shared.authorization.dto.OPAInput;
+import com.jetski.shared.email.EmailService;
+import com.jetski.shared.security.TenantAccessInfo;
+import com.jetski.shared.security.UserProvisioningService;
+import com.jetski.usuarios.internal.TenantAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Base dos cenários de carga: app completo em porta real (Tomcat, filtros,
+ * interceptors, JPA/RLS) contra o Postgres/Redis do Testcontainers de
+ * {@link AbstractIntegrationTest}. As dependências externas são stubs:
+ *
+ * <ul>
+ *   <li>Keycloak: {@link JwtDecoder} aceita qualquer token e usa o próprio
+ *       token como {@code sub} — {@link #tokenCliente} acrescenta os claims
+ *       do portal</li>
+ *   <li>OPA: permite tudo após {@link #latenciaOpaMs()} (simula a chamada
+ *       bloqueante ao servidor de políticas)</li>
+ *   <li>MinIO: storage local do profile test</li>
+ *   <li>acesso ao tenant, provisionamento de usuário e e-mail: mocks</li>
+ * </ul>
+ *
+ * As requisições saem por {@link HttpClient} (não MockMvc) para passar pelo
+ * pool de threads do Tomcat — o que os cenários querem medir.
+ */
+public abstract class AbstractLoadTest extends AbstractIntegrationTest {
+
+    /** Operador do balcão (sub do token de staff). */
+    protected static final UUID OPERADOR_ID = UUID.fromString("10ad0000-0000-4000-8000-000000000001");
+
+    private static final String PREFIXO_CLIENTE = "cliente-";
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @MockBean
+    private OPAAuthorizationService opaAuthorizationService;
+
+    @MockBean
+    private TenantAccessService tenantAccessService;
+
+    @MockBean
+    private UserProvisioningService userProvisioningService;
+
+    @MockBean
+    private EmailService emailService;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /** Latência simulada de cada decisão do OPA (ms). */
+    protected long latenciaOpaMs() {
+        return 2;
+    }
+
+    @BeforeEach
+    void stubsExternos() {
+        when(jwtDecoder.decode(anyString())).thenAnswer(inv -> jwt(inv.getArgument(0)));
+
+        OPADecision permitir = OPADecision.builder().allow(true).tenantIsValid(true).build();
+        when(opaAuthorizationService.authorize(any(OPAInput.class))).thenAnswer(inv -> {
+            Thread.sleep(latenciaOpaMs());
+            return permitir;
+        });
+
+        when(tenantAccessService.validateAccess(any(), any(), any())).thenReturn(TenantAccessInfo.builder()
+                .hasAccess(true)
+                .roles(List.of("GERENTE", "OPERADOR", "FINANCEIRO"))
+                .unrestricted(false)
+                .usuarioId(OPERADOR_ID)
+                .tenantStatus("ATIVO")
+                .build());
+
+        // e-mail = sub: UsuarioService resolve o usuário pelo nome da autenticação
+        jdbc.update("""
+            INSERT INTO usuario (id, email, nome, ativo)
+            VALUES (?, ?, 'Operador Carga', TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, OPERADOR_ID, OPERADOR_ID.toString());
+    }
+
+    private static Jwt jwt(String token) {
+        Instant agora = Instant.now();
+        Jwt.Builder b = Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .subject(token)
+                .issuedAt(agora)
+                .expiresAt(agora.plusSeconds(3600));
+        if (token.startsWith(PREFIXO_CLIENTE)) {
+            b.claim("email", token + "@carga.test")
+             .claim("email_verified", true)
+             .claim("name", "Cliente " + token)
+             .claim("realm_access", Map.of("roles", List.of("CLIENTE")));
+        } else {
+            b.claim("realm_access", Map.of("roles", List.of("GERENTE", "OPERADOR")));
+        }
+        return b.build();
+    }
+
+    protected static String tokenOperador() {
+        return OPERADOR_ID.toString();
+    }
+
+    /** Token de um cliente do portal; cada {@code id} é uma pessoa distinta. */
+    protected static String tokenCliente(String id) {
+        return PREFIXO_CLIENTE + id;
+    }
+
+    /**
+     * Envia a requisição e devolve o corpo; status fora de 2xx vira exceção
+     * (contada como erro do passo pelo {@link LoadRunner}).
+     */
+    protected String enviar(String metodo, String caminho, String token, UUID tenantId, String corpo)
+            throws Exception {
+        HttpRequest.Builder req = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api" + caminho))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .method(metodo, corpo == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(corpo));
+        if (token != null) {
+            req.header("Authorization", "Bearer " + token);
+        }
+        if (tenantId != null) {
+            req.header("X-Tenant-Id", tenantId.toString());
+        }
+        HttpResponse<String> res = http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() / 100 != 2) {
+            throw new IllegalStateException("HTTP " + res.statusCode() + " " + metodo + " " + caminho
+                    + ": " + res.body());
+        }
+        return res.body();
+    }
+}
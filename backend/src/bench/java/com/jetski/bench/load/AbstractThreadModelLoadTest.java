@@ -0,0 +1,60 @@
+package com.jetski.bench.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Threads de plataforma × virtual threads com downstream lento: cada
+ * requisição espera {@value #LATENCIA_OPA_MS} ms no OPA (bloqueante) antes
+ * de ir ao banco. Com 200 threads de plataforma no Tomcat (default), a vazão
+ * satura em ~200 requisições em voo; com virtual threads o teto passa a ser
+ * o pool do Hikari, que só é usado depois do OPA.
+ *
+ * <p>As duas subclasses rodam o mesmo roteiro; a de virtual threads compara
+ * com o relatório da de plataforma (executada antes — ordem alfabética do
+ * surefire), se existir.
+ */
+@Slf4j
+@TestPropertySource(properties = {
+    "server.tomcat.threads.max=200",
+    "spring.datasource.hikari.maximum-pool-size=20"
+})
+abstract class AbstractThreadModelLoadTest extends AbstractLoadTest {
+
+    static final String CENARIO = "threads";
+    static final long LATENCIA_OPA_MS = 100;
+
+    private static final UUID TENANT_ACME = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+    private static final int USUARIOS = Integer.getInteger("bench.threads.usuarios", 1000);
+    private static final int ITERACOES = Integer.getInteger("bench.threads.iteracoes", 5);
+
+    /** "plataforma" ou "virtual" — nome do relatório. */
+    abstract String modo();
+
+    @Override
+    protected long latenciaOpaMs() {
+        return LATENCIA_OPA_MS;
+    }
+
+    @Test
+    void listagemComOpaLento() throws Exception {
+        String caminho = "/v1/tenants/" + TENANT_ACME + "/modelos";
+
+        LoadReport relatorio = LoadRunner.executar(CENARIO, modo(), USUARIOS, ITERACOES, (u, i, passos) ->
+                passos.medir("modelos", () -> enviar("GET", caminho, tokenOperador(), TENANT_ACME, null)))
+            .gravar();
+
+        if (!"plataforma".equals(modo())) {
+            Path dir = Path.of(System.getProperty("bench.dir", "target/bench"), "load");
+            LoadReport.ler(dir.resolve(CENARIO + "-plataforma.json"))
+                .ifPresent(plataforma -> log.info(relatorio.comparar(plataforma)));
+        }
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+    }
+}
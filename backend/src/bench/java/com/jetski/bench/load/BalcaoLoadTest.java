@@ -0,0 +1,103 @@
+package com.jetski.bench.load;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dia de balcão: cada operador (usuário virtual) tem o seu jetski e repete
+ * check-in walk-in → check-out; no fim, o fechamento do dia consolida tudo.
+ *
+ * <p>Tenant próprio, sem assinatura de plano (limites ilimitados — o limite
+ * de locações/mês do plano não interfere na carga).
+ */
+@DisplayName("Carga: check-in → check-out → fechamento")
+class BalcaoLoadTest extends AbstractLoadTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("10ad0000-0000-4000-8000-0000000000aa");
+    private static final UUID MODELO_ID = UUID.fromString("10ad0000-0000-4000-8000-0000000000bb");
+
+    private static final int OPERADORES = Integer.getInteger("bench.balcao.usuarios", 20);
+    private static final int LOCACOES_POR_OPERADOR = Integer.getInteger("bench.balcao.iteracoes", 10);
+
+    private static final String CHECKLIST = "{\"casco\":true,\"colete\":true,\"combustivel\":\"cheio\"}";
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("""
+            INSERT INTO tenant (id, slug, razao_social, cnpj, cidade)
+            VALUES (?, 'carga-balcao', 'Carga Balcão LTDA', '10.000.000/0001-00', 'Angra dos Reis')
+            ON CONFLICT (id) DO NOTHING
+            """, TENANT_ID);
+        jdbc.update("""
+            INSERT INTO modelo (id, tenant_id, nome, fabricante, potencia_hp, capacidade_pessoas,
+                                preco_base_hora, tolerancia_min, taxa_hora_extra, caucao,
+                                inclui_combustivel, ativo)
+            VALUES (?, ?, 'Carga GTI 130', 'Sea-Doo', 130, 2, 150.00, 5, 50.00, 300.00, FALSE, TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, MODELO_ID, TENANT_ID);
+
+        // rodadas anteriores: libera a frota e zera o dia
+        jdbc.update("DELETE FROM fechamento_diario WHERE tenant_id = ?", TENANT_ID);
+        jdbc.update("UPDATE locacao SET status = 'FINALIZADA' WHERE tenant_id = ? AND status = 'EM_CURSO'", TENANT_ID);
+        for (int i = 0; i < OPERADORES; i++) {
+            jdbc.update("""
+                INSERT INTO jetski (id, tenant_id, modelo_id, serie, ano, horimetro_atual, status, ativo)
+                VALUES (?, ?, ?, ?, 2024, 10.0, 'DISPONIVEL', TRUE)
+                ON CONFLICT (id) DO NOTHING
+                """, jetski(i), TENANT_ID, MODELO_ID, "CARGA-" + i);
+        }
+        jdbc.update("UPDATE jetski SET status = 'DISPONIVEL', horimetro_atual = 10.0 WHERE tenant_id = ?", TENANT_ID);
+    }
+
+    private static UUID jetski(int operador) {
+        return UUID.nameUUIDFromBytes(("carga-jetski-" + operador).getBytes());
+    }
+
+    @Test
+    @DisplayName("operadores em paralelo fazem locações completas e o dia é consolidado")
+    void diaDeBalcao() throws Exception {
+        String base = "/v1/tenants/" + TENANT_ID + "/locacoes";
+
+        LoadReport relatorio = LoadRunner.executar("balcao", "checkin-checkout",
+                OPERADORES, LOCACOES_POR_OPERADOR, (operador, iteracao, passos) -> {
+            BigDecimal horimetro = BigDecimal.valueOf(10 + iteracao * 0.5);
+            String checkIn = passos.medir("check-in", () -> enviar("POST", base + "/check-in/walk-in",
+                    tokenOperador(), TENANT_ID, """
+                        {"jetskiId":"%s","horimetroInicio":%s,"duracaoPrevista":30,
+                         "checklistSaidaJson":%s}
+                        """.formatted(jetski(operador), horimetro, json(CHECKLIST))));
+            String locacaoId = JsonPath.read(checkIn, "$.id");
+
+            passos.medir("check-out", () -> enviar("POST", base + "/" + locacaoId + "/check-out",
+                    tokenOperador(), TENANT_ID, """
+                        {"horimetroFim":%s,"checklistEntradaJson":%s,"skipPhotos":true}
+                        """.formatted(horimetro.add(new BigDecimal("0.5")), json(CHECKLIST))));
+        });
+
+        LoadReport fechamento = LoadRunner.executar("balcao", "fechamento", 1, 1, (u, i, passos) ->
+                passos.medir("fechamento", () -> enviar("POST",
+                        "/v1/tenants/" + TENANT_ID + "/fechamentos/dia/consolidar",
+                        tokenOperador(), TENANT_ID, """
+                            {"dtReferencia":"%s"}
+                            """.formatted(LocalDate.now(ZoneId.of("America/Sao_Paulo"))))));
+
+        relatorio.gravar();
+        fechamento.gravar();
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+        assertThat(fechamento.iteracoesAbortadas()).as(fechamento.resumo()).isZero();
+    }
+
+    /** Checklist vai como string JSON dentro do corpo. */
+    private static String json(String bruto) {
+        return "\"" + bruto.replace("\"", "\\\"") + "\"";
+    }
+}
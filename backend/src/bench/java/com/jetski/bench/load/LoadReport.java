@@ -0,0 +1,139 @@
+package com.jetski.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resultado de um cenário de carga, gravado em JSON em
+ * {@code ${bench.dir}/load/<cenario>-<modo>.json} para comparação entre
+ * execuções: com {@code -Dbench.baseline=<dir>}, o relatório de mesmo nome
+ * nesse diretório é lido e as variações de p95 e vazão vão para o log.
+ */
+@Slf4j
+record LoadReport(
+        String cenario,
+        String modo,
+        int usuarios,
+        int iteracoes,
+        long duracaoMs,
+        long iteracoesAbortadas,
+        List<String> amostraErros,
+        Map<String, Passo> passos
+) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /** Estatísticas de um passo; latências em ms. */
+    record Passo(long ok, long erros, double p50, double p95, double p99, double max, double porSegundo) {}
+
+    static LoadReport de(String cenario, String modo, int usuarios, int iteracoes, long duracaoNanos,
+                         Map<String, Queue<Long>> latencias, Map<String, AtomicLong> erros,
+                         long abortadas, Collection<String> amostraErros) {
+        double segundos = Math.max(duracaoNanos, 1) / 1e9;
+        Map<String, Passo> passos = new TreeMap<>();
+        for (String nome : uniao(latencias.keySet(), erros.keySet())) {
+            long[] ns = latencias.getOrDefault(nome, new ConcurrentLinkedQueue<>()).stream()
+                    .mapToLong(Long::longValue).sorted().toArray();
+            AtomicLong e = erros.get(nome);
+            passos.put(nome, new Passo(ns.length, e == null ? 0 : e.get(),
+                    percentil(ns, 50), percentil(ns, 95), percentil(ns, 99), percentil(ns, 100),
+                    ns.length / segundos));
+        }
+        return new LoadReport(cenario, modo, usuarios, iteracoes,
+                TimeUnit.NANOSECONDS.toMillis(duracaoNanos), abortadas, List.copyOf(amostraErros), passos);
+    }
+
+    private static List<String> uniao(Collection<String> a, Collection<String> b) {
+        List<String> r = new ArrayList<>(a);
+        b.stream().filter(n -> !r.contains(n)).forEach(r::add);
+        return r;
+    }
+
+    private static double percentil(long[] ordenado, int p) {
+        if (ordenado.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p / 100.0 * ordenado.length) - 1;
+        return ordenado[Math.max(0, Math.min(i, ordenado.length - 1))] / 1e6;
+    }
+
+    String arquivo() {
+        return cenario + "-" + modo + ".json";
+    }
+
+    /** Grava em {@code ${bench.dir}/load} e compara com a baseline, se houver. */
+    LoadReport gravar() {
+        Path dir = Path.of(System.getProperty("bench.dir", "target/bench"), "load");
+        try {
+            Files.createDirectories(dir);
+            JSON.writeValue(dir.resolve(arquivo()).toFile(), this);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Carga {}", resumo());
+
+        String baseline = System.getProperty("bench.baseline", "");
+        if (!baseline.isBlank()) {
+            ler(Path.of(baseline, arquivo())).ifPresent(anterior -> log.info(comparar(anterior)));
+        }
+        return this;
+    }
+
+    static Optional<LoadReport> ler(Path arquivo) {
+        if (!Files.isRegularFile(arquivo)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JSON.readValue(arquivo.toFile(), LoadReport.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String resumo() {
+        StringBuilder sb = new StringBuilder("%s/%s: %d usuários × %d iterações em %d ms, %d abortadas"
+                .formatted(cenario, modo, usuarios, iteracoes, duracaoMs, iteracoesAbortadas));
+        passos.forEach((nome, p) -> sb.append("\n  %-14s ok=%d erros=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms %.1f/s"
+                .formatted(nome, p.ok(), p.erros(), p.p50(), p.p95(), p.p99(), p.max(), p.porSegundo())));
+        amostraErros.forEach(e -> sb.append("\n  erro: ").append(e));
+        return sb.toString();
+    }
+
+    /** Variação deste relatório em relação a {@code anterior}, passo a passo. */
+    String comparar(LoadReport anterior) {
+        StringBuilder sb = new StringBuilder("%s: %s/%s vs %s/%s".formatted(
+                cenario, cenario, modo, anterior.cenario(), anterior.modo()));
+        passos.forEach((nome, p) -> {
+            Passo a = anterior.passos().get(nome);
+            if (a != null) {
+                sb.append("\n  %-14s p95 %.1f → %.1f ms (%s)  vazão %.1f → %.1f/s (%s)".formatted(
+                        nome, a.p95(), p.p95(), variacao(a.p95(), p.p95()),
+                        a.porSegundo(), p.porSegundo(), variacao(a.porSegundo(), p.porSegundo())));
+            }
+        });
+        return sb.toString();
+    }
+
+    private static String variacao(double antes, double depois) {
+        if (antes == 0) {
+            return "n/a";
+        }
+        return "%+.0f%%".formatted((depois - antes) / antes * 100);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jetski.bench.load;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executa um roteiro com N usuários simultâneos × M iterações e coleta a
+ * latência de cada passo nomeado.
+ *
+ * <p>Todos os usuários largam juntos (rajada). Cada usuário roda numa virtual
+ * thread do lado cliente, para que o gargalo medido seja o servidor, não o
+ * gerador de carga. Um passo que falha conta como erro e encerra a iteração
+ * (os passos seguintes dependem dele: sem check-in não há check-out).
+ */
+final class LoadRunner {
+
+    /** Roteiro de um usuário virtual; uma chamada por iteração. */
+    @FunctionalInterface
+    interface Roteiro {
+        void executar(int usuario, int iteracao, Passos passos) throws Exception;
+    }
+
+    /** Cronometra os passos de um roteiro. */
+    static final class Passos {
+
+        private final Map<String, Queue<Long>> latencias = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> erros = new ConcurrentHashMap<>();
+
+        <T> T medir(String passo, Callable<T> acao) throws Exception {
+            long inicio = System.nanoTime();
+            try {
+                T r = acao.call();
+                latencias.computeIfAbsent(passo, p -> new ConcurrentLinkedQueue<>())
+                        .add(System.nanoTime() - inicio);
+                return r;
+            } catch (Exception e) {
+                erros.computeIfAbsent(passo, p -> new AtomicLong()).incrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private LoadRunner() {
+    }
+
+    static LoadReport executar(String cenario, String modo, int usuarios, int iteracoes, Roteiro roteiro)
+            throws InterruptedException {
+        Passos passos = new Passos();
+        AtomicLong abortadas = new AtomicLong();
+        Queue<String> amostraErros = new ConcurrentLinkedQueue<>();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        long inicio;
+        try (ExecutorService exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < usuarios; u++) {
+                int usuario = u;
+                exec.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < iteracoes; i++) {
+                        try {
+                            roteiro.executar(usuario, i, passos);
+                        } catch (Exception e) {
+                            abortadas.incrementAndGet();
+                            if (amostraErros.size() < 5) {
+                                amostraErros.add(e.getMessage());
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            inicio = System.nanoTime();
+            largada.countDown();
+            exec.shutdown();
+            if (!exec.awaitTermination(30, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Cenário " + cenario + " não terminou em 30 min");
+            }
+        }
+        long duracaoNanos = System.nanoTime() - inicio;
+
+        return LoadReport.de(cenario, modo, usuarios, iteracoes, duracaoNanos,
+                passos.latencias, passos.erros, abortadas.get(), amostraErros);
+    }
+}
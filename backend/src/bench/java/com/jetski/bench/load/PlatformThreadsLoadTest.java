@@ -0,0 +1,14 @@
+package com.jetski.bench.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+@DisplayName("Carga: threads de plataforma, OPA lento")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsLoadTest extends AbstractThreadModelLoadTest {
+
+    @Override
+    String modo() {
+        return "plataforma";
+    }
+}
@@ -0,0 +1,78 @@
+package com.jetski.bench.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rajada no portal do cliente (abertura de temporada/campanha): muitos
+ * clientes distintos consultam a disponibilidade pública e fazem a
+ * pré-reserva do mesmo modelo ao mesmo tempo. O 1º contato de cada cliente
+ * também cria o Cliente (PORTAL) — o caminho mais caro da reserva.
+ */
+@DisplayName("Carga: rajada de reservas no portal")
+class PortalReservaLoadTest extends AbstractLoadTest {
+
+    private static final UUID TENANT_ACME = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+    private static final UUID MODELO_ID = UUID.fromString("10ad0000-0000-4000-8000-0000000000cc");
+    private static final UUID JETSKI_ID = UUID.fromString("10ad0000-0000-4000-8000-0000000000dd");
+
+    private static final int CLIENTES = Integer.getInteger("bench.portal.usuarios", 100);
+    private static final int RESERVAS_POR_CLIENTE = Integer.getInteger("bench.portal.iteracoes", 3);
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    /** Clientes novos a cada rodada: o 1º contato é o caminho medido. */
+    private final String rodada = UUID.randomUUID().toString().substring(0, 8);
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("UPDATE tenant SET exibir_no_marketplace = true, pix_chave = 'pix@acme.com.br', " +
+                    "cidade = 'Florianopolis' WHERE id = ?", TENANT_ACME);
+        jdbc.update("""
+            INSERT INTO modelo (id, tenant_id, nome, fabricante, potencia_hp, capacidade_pessoas,
+                                preco_base_hora, tolerancia_min, taxa_hora_extra, caucao,
+                                inclui_combustivel, ativo, exibir_no_marketplace)
+            VALUES (?, ?, 'Carga GTX 170', 'Sea-Doo', 170, 2, 200.00, 5, 50.00, 300.00, FALSE, TRUE, TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, MODELO_ID, TENANT_ACME);
+        jdbc.update("""
+            INSERT INTO jetski (id, tenant_id, modelo_id, serie, ano, horimetro_atual, status, ativo)
+            VALUES (?, ?, ?, 'CARGA-PORTAL-1', 2024, 10.0, 'DISPONIVEL', TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, JETSKI_ID, TENANT_ACME, MODELO_ID);
+    }
+
+    @Test
+    @DisplayName("clientes simultâneos consultam disponibilidade e reservam o mesmo modelo")
+    void rajadaDeReservas() throws Exception {
+        // reservas se acumulam entre rodadas (sem controle de estoque, não bloqueiam)
+        LocalDateTime dia = LocalDateTime.now().plusDays(10).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        LoadReport relatorio = LoadRunner.executar("portal", "rajada", CLIENTES, RESERVAS_POR_CLIENTE,
+                (cliente, iteracao, passos) -> {
+            LocalDateTime inicio = dia.plusHours(iteracao);
+            LocalDateTime fim = inicio.plusHours(1);
+
+            passos.medir("disponibilidade", () -> enviar("GET",
+                    "/v1/public/lojas/acme/disponibilidade?modeloId=%s&dataInicio=%s&dataFimPrevista=%s"
+                            .formatted(MODELO_ID, ISO.format(inicio), ISO.format(fim)),
+                    null, null, null));
+
+            passos.medir("reserva", () -> enviar("POST", "/v1/customers/reservas",
+                    tokenCliente(rodada + "-" + cliente), null, """
+                        {"lojaSlug":"acme","modeloId":"%s","dataInicio":"%s","dataFimPrevista":"%s",
+                         "pagamentoTipo":"SINAL"}
+                        """.formatted(MODELO_ID, ISO.format(inicio), ISO.format(fim))));
+        });
+
+        relatorio.gravar();
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+    }
+}
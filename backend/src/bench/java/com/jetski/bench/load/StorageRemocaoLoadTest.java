@@ -0,0 +1,141 @@
+package com.jetski.bench.load;
+
+import com.jetski.shared.storage.MinIOStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Remoção dos arquivos de uma empresa expurgada: {@value #PADRAO_OBJETOS}
+ * objetos sob {@code {tenantId}/} num MinIO do Testcontainers (o mesmo
+ * servidor do docker-compose de dev). Caminho antigo: lista o prefixo e faz
+ * um DELETE por objeto; atual: {@code deletePrefix} — DeleteObjects de até
+ * 1000 chaves, {@code storage.minio.delete-concurrency} em paralelo.
+ *
+ * <p>Não sobe a aplicação: só o {@link MinIOStorageService} contra o
+ * container. Relatórios {@code storage-remocao-sequencial.json} e
+ * {@code storage-remocao-lote.json}; o de lote é comparado ao sequencial no
+ * log. O passo {@code remocao} tem uma amostra: o tempo total.
+ */
+@Slf4j
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Carga: remoção de 50k objetos no MinIO")
+class StorageRemocaoLoadTest {
+
+    private static final String CENARIO = "storage-remocao";
+    private static final int PADRAO_OBJETOS = 50_000;
+    private static final int OBJETOS = Integer.getInteger("bench.storage.objetos", PADRAO_OBJETOS);
+    private static final String PREFIXO = "10ad0000-0000-4000-8000-0000000000f1/";
+    private static final int UPLOADS_SIMULTANEOS = 64;
+
+    private static GenericContainer<?> minio;
+    private static MinIOStorageService storage;
+
+    @BeforeAll
+    static void subirMinio() {
+        minio = new GenericContainer<>("minio/minio:latest")
+            .withCommand("server", "/data")
+            .withExposedPorts(9000)
+            .waitingFor(Wait.forHttp("/minio/health/ready").forPort(9000));
+        minio.start();
+        storage = new MinIOStorageService(
+            "http://" + minio.getHost() + ":" + minio.getMappedPort(9000), "minioadmin", "minioadmin", "",
+            Integer.getInteger("bench.storage.delete-concurrency", 4));
+        ReflectionTestUtils.setField(storage, "bucket", "bench-remocao");
+        storage.listObjectKeys(PREFIXO); // cria o bucket antes dos uploads paralelos
+    }
+
+    @AfterAll
+    static void pararMinio() {
+        minio.stop();
+    }
+
+    @BeforeEach
+    void semear() throws Exception {
+        byte[] foto = new byte[2048];
+        Semaphore vagas = new Semaphore(UPLOADS_SIMULTANEOS);
+        try (ExecutorService exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < OBJETOS; i++) {
+                String key = PREFIXO + "locacao/" + (i / 100) + "/foto-" + i + ".jpg";
+                vagas.acquire();
+                exec.submit(() -> {
+                    try {
+                        storage.putObject(key, foto, "image/jpeg");
+                    } finally {
+                        vagas.release();
+                    }
+                });
+            }
+        }
+        assertThat(storage.listObjectKeys(PREFIXO)).hasSize(OBJETOS);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("sequencial: um DELETE por objeto")
+    void sequencial() throws Exception {
+        LoadReport relatorio = medir("sequencial", () -> {
+            long n = 0;
+            for (String key : storage.listObjectKeys(PREFIXO)) {
+                storage.deleteFile(key);
+                n++;
+            }
+            return n;
+        }).gravar();
+
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("lote: DeleteObjects de 1000 chaves em paralelo")
+    void lote() throws Exception {
+        LoadReport relatorio = medir("lote", () -> storage.deletePrefix(PREFIXO)).gravar();
+
+        Path dir = Path.of(System.getProperty("bench.dir", "target/bench"), "load");
+        LoadReport.ler(dir.resolve(CENARIO + "-sequencial.json"))
+            .ifPresent(sequencial -> log.info(relatorio.comparar(sequencial)));
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+    }
+
+    /** Remove o prefixo semeado; falha se sobrar objeto. */
+    private LoadReport medir(String modo, Callable<Long> remocao) throws Exception {
+        Map<String, Queue<Long>> latencias = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> erros = new ConcurrentHashMap<>();
+
+        long inicio = System.nanoTime();
+        long removidos = remocao.call();
+        long duracao = System.nanoTime() - inicio;
+        latencias.computeIfAbsent("remocao", p -> new ConcurrentLinkedQueue<>()).add(duracao);
+
+        int restantes = storage.listObjectKeys(PREFIXO).size();
+        log.info("Remoção {}: {} objetos removidos, {} restantes", modo, removidos, restantes);
+
+        return LoadReport.de(CENARIO, modo, 1, 1, duracao, latencias, erros,
+            restantes == 0 ? 0 : 1,
+            restantes == 0 ? List.of() : List.of(restantes + " objetos restantes"));
+    }
+}
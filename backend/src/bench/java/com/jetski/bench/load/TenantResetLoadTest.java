@@ -0,0 +1,189 @@
+package com.jetski.bench.load;
+
+import com.jetski.tenant.internal.TenantResetService;
+import com.jetski.tenant.internal.TenantResetService.Nivel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reset OPERACIONAL de uma empresa com {@value #PADRAO_LINHAS} clientes pelo
+ * caminho antigo — um DELETE por tabela numa transação só — e pelo atual, em
+ * lotes por ctid com commit e pausa entre eles ({@link TenantResetService}).
+ * Só a fase de expurgo é medida: o export de arquivamento, igual nos dois,
+ * fica de fora (o pedido já nasce com export registrado).
+ *
+ * <p>Enquanto o reset roda, {@link #ESCRITORES} operadores de OUTRA empresa
+ * editam clientes ({@code escrita-outra-empresa}: o custo de I/O e WAL do
+ * expurgo no banco compartilhado) e outros tantos editam clientes da empresa
+ * sendo zerada ({@code escrita-mesma-empresa}: espera por lock — no caminho
+ * antigo até o commit final, em lotes até o commit do lote).
+ *
+ * <p>Relatórios {@code reset-legado.json} e {@code reset-lotes.json}; o de
+ * lotes é comparado ao legado no log. O passo {@code reset} tem uma amostra:
+ * o tempo total.
+ */
+@Slf4j
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Carga: reset de empresa com 1M linhas")
+class TenantResetLoadTest extends AbstractLoadTest {
+
+    private static final String CENARIO = "reset";
+    private static final int PADRAO_LINHAS = 1_000_000;
+
+    private static final UUID TENANT_ACME = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+    /** Empresa descartável zerada a cada rodada (nunca os fixtures compartilhados). */
+    private static final UUID TENANT_RESET = UUID.fromString("10ad0000-0000-4000-8000-0000000000f0");
+    private static final String SLUG = "carga-reset";
+
+    private static final int LINHAS = Integer.getInteger("bench.reset.linhas", PADRAO_LINHAS);
+    private static final int ESCRITORES = 4;
+    private static final int CLIENTES_ACME = 1_000;
+
+    @Autowired TenantResetService tenantResetService;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    private List<UUID> clientesAcme;
+    private List<UUID> clientesReset;
+
+    @BeforeEach
+    void semear() {
+        jdbc.update("INSERT INTO tenant (id, slug, razao_social, status) "
+            + "VALUES (?, ?, 'Carga Reset Ltda', 'ATIVO') ON CONFLICT DO NOTHING", TENANT_RESET, SLUG);
+        jdbc.update("DELETE FROM tenant_reset WHERE tenant_id = ?", TENANT_RESET);
+        jdbc.update("DELETE FROM cliente WHERE tenant_id = ?", TENANT_RESET);
+
+        clientesAcme = semearClientes(TENANT_ACME, CLIENTES_ACME);
+        clientesReset = semearClientes(TENANT_RESET, LINHAS).subList(0, CLIENTES_ACME);
+        jdbc.execute("ANALYZE cliente");
+    }
+
+    @AfterEach
+    void limpar() {
+        jdbc.update("DELETE FROM cliente WHERE id = ANY(?)", (Object) clientesAcme.toArray(UUID[]::new));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("legado: DELETE por tabela numa transação")
+    void legado() throws Exception {
+        // tabelas com linhas, já na ordem do reset
+        List<String> tabelas = List.copyOf(tenantResetService.preview(TENANT_RESET, Nivel.OPERACIONAL).keySet());
+        LoadReport relatorio = medir("legado", () -> transactionTemplate.execute(tx -> {
+            jdbc.queryForObject("SELECT set_config('app.tenant_id', ?, true)", String.class,
+                TENANT_RESET.toString());
+            jdbc.queryForObject("SELECT pg_advisory_xact_lock(hashtextextended(?, 42))", Object.class,
+                TENANT_RESET.toString());
+            long total = 0;
+            for (String tabela : tabelas) {
+                total += jdbc.update("DELETE FROM " + tabela + " WHERE tenant_id = ?", TENANT_RESET);
+            }
+            return total;
+        })).gravar();
+
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("lotes: ctid em lotes, commit e pausa entre eles")
+    void lotes() throws Exception {
+        LoadReport relatorio = medir("lotes", () -> {
+            TenantResetService.Andamento a = tenantResetService.solicitar(TENANT_RESET, Nivel.OPERACIONAL, SLUG);
+            jdbc.update("UPDATE tenant_reset SET export_key = 'carga', export_bytes = 0 WHERE id = ?", a.id());
+            while (!a.terminado()) {
+                // o TenantResetJob também pode pegar o pedido: quem não tem a posse espera
+                a = tenantResetService.processar(a.id(), Duration.ofHours(1));
+                Thread.sleep(a.terminado() ? 0 : 200);
+            }
+            return a.totalLinhas();
+        }).gravar();
+
+        Path dir = Path.of(System.getProperty("bench.dir", "target/bench"), "load");
+        LoadReport.ler(dir.resolve(CENARIO + "-legado.json"))
+            .ifPresent(legado -> log.info(relatorio.comparar(legado)));
+        assertThat(relatorio.iteracoesAbortadas()).as(relatorio.resumo()).isZero();
+    }
+
+    private List<UUID> semearClientes(UUID tenantId, int n) {
+        return jdbc.queryForList("""
+            INSERT INTO cliente (tenant_id, nome, documento, ativo)
+            SELECT ?, 'Cliente Carga ' || g, lpad(g::text, 11, '0'), true
+              FROM generate_series(1, ?) g
+            RETURNING id
+            """, UUID.class, tenantId, n);
+    }
+
+    /** Reset sob escrita concorrente; falha se sobrar cliente na empresa zerada. */
+    private LoadReport medir(String modo, Callable<Long> reset) throws Exception {
+        Map<String, Queue<Long>> latencias = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> erros = new ConcurrentHashMap<>();
+        AtomicBoolean rodando = new AtomicBoolean(true);
+
+        long inicio = System.nanoTime();
+        long apagadas;
+        try (ExecutorService exec = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < ESCRITORES; w++) {
+                escritor(exec, rodando, "escrita-outra-empresa", clientesAcme, latencias, erros);
+                escritor(exec, rodando, "escrita-mesma-empresa", clientesReset, latencias, erros);
+            }
+            try {
+                apagadas = reset.call();
+            } finally {
+                rodando.set(false);
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+        latencias.computeIfAbsent("reset", p -> new ConcurrentLinkedQueue<>()).add(duracao);
+
+        Integer restantes = jdbc.queryForObject(
+            "SELECT count(*) FROM cliente WHERE tenant_id = ?", Integer.class, TENANT_RESET);
+        log.info("Reset {}: {} linhas apagadas, {} restantes", modo, apagadas, restantes);
+
+        return LoadReport.de(CENARIO, modo, ESCRITORES * 2, 1, duracao, latencias, erros,
+            restantes == null || restantes == 0 ? 0 : 1,
+            restantes == null || restantes == 0 ? List.of() : List.of(restantes + " clientes restantes"));
+    }
+
+    private void escritor(ExecutorService exec, AtomicBoolean rodando, String passo, List<UUID> ids,
+                          Map<String, Queue<Long>> latencias, Map<String, AtomicLong> erros) {
+        Queue<Long> escritas = latencias.computeIfAbsent(passo, p -> new ConcurrentLinkedQueue<>());
+        exec.submit(() -> {
+            while (rodando.get()) {
+                UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                long t = System.nanoTime();
+                try {
+                    jdbc.update("UPDATE cliente SET nome = 'balcão' WHERE id = ?", id);
+                    escritas.add(System.nanoTime() - t);
+                } catch (Exception e) {
+                    erros.computeIfAbsent(passo, p -> new AtomicLong()).incrementAndGet();
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.jetski.bench.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+@DisplayName("Carga: virtual threads, OPA lento")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsLoadTest extends AbstractThreadModelLoadTest {
+
+    @Override
+    String modo() {
+        return "virtual";
+    }
+}
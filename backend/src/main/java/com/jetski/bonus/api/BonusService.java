@@ -18,7 +18,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -216,12 +219,6 @@ public class BonusService {
         return bonusRepository.findAllById(ids);
     }
 
-    /** Persiste um bônus (ex.: marcação de pagamento pelo módulo pagamentos). */
-    @Transactional
-    public BonusVendedor salvar(BonusVendedor bonus) {
-        return bonusRepository.save(bonus);
-    }
-
     /** Soma dos bônus aprovados de um vendedor. */
     @Transactional(readOnly = true)
     public BigDecimal sumBonusAprovadosByVendedor(UUID tenantId, UUID vendedorId) {
@@ -233,4 +230,31 @@ public class BonusService {
     public int countBonusAprovadosByVendedor(UUID tenantId, UUID vendedorId) {
         return bonusRepository.countBonusAprovadosByVendedor(tenantId, vendedorId);
     }
+
+    /** Valor e quantidade pendentes de um vendedor. */
+    public record TotalVendedor(BigDecimal valor, int quantidade) {
+    }
+
+    /** Bônus aprovados agrupados por vendedor (uma consulta para todos). */
+    @Transactional(readOnly = true)
+    public Map<UUID, TotalVendedor> sumAprovadosPorVendedor(UUID tenantId) {
+        Map<UUID, TotalVendedor> totais = new HashMap<>();
+        for (Object[] r : bonusRepository.sumAprovadosGroupByVendedor(tenantId)) {
+            totais.put((UUID) r[0], new TotalVendedor((BigDecimal) r[1], ((Number) r[2]).intValue()));
+        }
+        return totais;
+    }
+
+    /**
+     * Marca como PAGO, num UPDATE só, os bônus ainda APROVADOS do vendedor
+     * entre {@code ids}. Retorna quantos foram alterados.
+     */
+    @Transactional
+    public int marcarPagos(UUID tenantId, UUID vendedorId, Collection<UUID> ids, UUID pagamentoId,
+                           UUID pagoPor, Instant pagoEm, String referencia) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return bonusRepository.marcarPagos(tenantId, vendedorId, ids, pagamentoId, pagoPor, pagoEm, referencia);
+    }
 }
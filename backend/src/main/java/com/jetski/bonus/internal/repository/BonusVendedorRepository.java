@@ -3,10 +3,13 @@ package com.jetski.bonus.internal.repository;
 import com.jetski.bonus.domain.BonusVendedor;
 import com.jetski.bonus.domain.StatusBonus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -76,4 +79,31 @@ public interface BonusVendedorRepository extends JpaRepository<BonusVendedor, UU
            "AND b.status = 'APROVADO' ORDER BY b.createdAt ASC")
     List<BonusVendedor> findAprovadosByVendedor(@Param("tenantId") UUID tenantId,
                                                  @Param("vendedorId") UUID vendedorId);
+
+    /**
+     * Totais de bônus APROVADOS agrupados por vendedor (pendências de pagamento).
+     *
+     * <p>Colunas: vendedor_id, soma valor_bonus, quantidade.
+     */
+    @Query("SELECT b.vendedorId, COALESCE(SUM(b.valorBonus), 0), COUNT(b) FROM BonusVendedor b " +
+           "WHERE b.tenantId = :tenantId AND b.status = 'APROVADO' GROUP BY b.vendedorId")
+    List<Object[]> sumAprovadosGroupByVendedor(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Marca como PAGO, em um UPDATE, os bônus informados ainda APROVADOS do
+     * vendedor. Retorna as linhas alteradas (menos que {@code ids.size()} ⇒
+     * alteração concorrente).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BonusVendedor b SET b.status = 'PAGO', b.pagoPor = :pagoPor, b.pagoEm = :pagoEm, " +
+           "b.pagamentoId = :pagamentoId, b.referenciaPagamento = :referencia, b.updatedAt = :pagoEm " +
+           "WHERE b.tenantId = :tenantId AND b.vendedorId = :vendedorId " +
+           "AND b.status = 'APROVADO' AND b.id IN :ids")
+    int marcarPagos(@Param("tenantId") UUID tenantId,
+                    @Param("vendedorId") UUID vendedorId,
+                    @Param("ids") Collection<UUID> ids,
+                    @Param("pagamentoId") UUID pagamentoId,
+                    @Param("pagoPor") UUID pagoPor,
+                    @Param("pagoEm") Instant pagoEm,
+                    @Param("referencia") String referencia);
 }
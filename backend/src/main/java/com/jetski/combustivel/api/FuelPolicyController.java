@@ -7,6 +7,7 @@ import com.jetski.combustivel.api.dto.FuelPolicyUpdateRequest;
 import com.jetski.combustivel.domain.FuelPolicy;
 import com.jetski.combustivel.domain.FuelPolicyType;
 import com.jetski.combustivel.internal.FuelPolicyService;
+import com.jetski.combustivel.internal.RegraCombustivel;
 import com.jetski.locacoes.domain.Locacao;
 import com.jetski.shared.exception.NotFoundException;
 import com.jetski.shared.security.TenantContext;
@@ -224,7 +225,7 @@ public class FuelPolicyController {
 
         validateTenantContext(tenantId);
 
-        FuelPolicy policy = fuelPolicyService.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        RegraCombustivel policy = fuelPolicyService.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
 
         return ResponseEntity.ok(mapToResponse(policy));
     }
@@ -270,4 +271,22 @@ public class FuelPolicyController {
             .updatedAt(entity.getUpdatedAt())
             .build();
     }
+
+    private FuelPolicyResponse mapToResponse(RegraCombustivel regra) {
+        return FuelPolicyResponse.builder()
+            .id(regra.id())
+            .tenantId(regra.tenantId())
+            .nome(regra.nome())
+            .tipo(regra.tipo())
+            .aplicavelA(regra.aplicavelA())
+            .referenciaId(regra.referenciaId())
+            .valorTaxaPorHora(regra.valorTaxaPorHora())
+            .comissionavel(regra.comissionavel())
+            .ativo(regra.ativo())
+            .prioridade(regra.prioridade())
+            .descricao(regra.descricao())
+            .createdAt(regra.createdAt())
+            .updatedAt(regra.updatedAt())
+            .build();
+    }
 }
@@ -0,0 +1,64 @@
+package com.jetski.combustivel.internal;
+
+import com.jetski.combustivel.internal.repository.FuelPolicyRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela compilada de políticas de combustível por tenant (RN03).
+ *
+ * <p>Antes: até 3 consultas (JETSKI → MODELO → GLOBAL) por checkout e por
+ * cálculo de custo. Agora: uma carga por versão, e cada uso confere só o
+ * contador de {@code politica_versao} (trigger da V063 — cobre escrita fora
+ * da API e outras réplicas). Mesmo desenho do resolver de comissões.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class FuelPolicyResolver {
+
+    private static final String VERSAO_SQL =
+        "SELECT versao FROM politica_versao WHERE tenant_id = :tenantId AND escopo = 'COMBUSTIVEL'";
+
+    private final FuelPolicyRepository fuelPolicyRepository;
+    private final EntityManager entityManager;
+
+    private final Map<UUID, FuelPolicyTable> tabelas = new ConcurrentHashMap<>();
+
+    /** Política aplicável ou null (o service decide o erro). */
+    RegraCombustivel resolver(UUID tenantId, UUID jetskiId, UUID modeloId) {
+        return tabela(tenantId).resolver(jetskiId, modeloId);
+    }
+
+    /** Descarta a tabela do tenant (mutação pela API) — a próxima leitura recompila. */
+    void invalidar(UUID tenantId) {
+        tabelas.remove(tenantId);
+    }
+
+    private FuelPolicyTable tabela(UUID tenantId) {
+        long versao = versaoAtual(tenantId);
+        FuelPolicyTable atual = tabelas.get(tenantId);
+        if (atual != null && atual.versao() == versao) {
+            return atual;
+        }
+        FuelPolicyTable nova = new FuelPolicyTable(versao,
+            fuelPolicyRepository.findByTenantIdAndAtivoTrueOrderByPrioridadeDescCreatedAtDesc(tenantId));
+        log.debug("Políticas de combustível compiladas: tenant={}, versao={}", tenantId, versao);
+        tabelas.merge(tenantId, nova, (velha, recente) -> velha.versao() > recente.versao() ? velha : recente);
+        return nova;
+    }
+
+    private long versaoAtual(UUID tenantId) {
+        List<?> rows = entityManager.createNativeQuery(VERSAO_SQL)
+            .setParameter("tenantId", tenantId)
+            .getResultList();
+        return rows.isEmpty() ? 0L : ((Number) rows.get(0)).longValue();
+    }
+}
@@ -33,6 +33,7 @@ public class FuelPolicyService {
     private final FuelPolicyRepository fuelPolicyRepository;
     private final FuelPriceDayService fuelPriceDayService;
     private final AbastecimentoRepository abastecimentoRepository;
+    private final FuelPolicyResolver fuelPolicyResolver;
 
     /**
      * RN03: Buscar política aplicável seguindo hierarquia.
@@ -44,46 +45,20 @@ public class FuelPolicyService {
      * @param tenantId ID do tenant
      * @param jetskiId ID do jetski
      * @param modeloId ID do modelo do jetski
-     * @return FuelPolicy aplicável
+     * @return política aplicável (cópia imutável da tabela compilada — mapear para DTO na borda)
      * @throws NotFoundException se nenhuma política ativa encontrada
      */
     @Transactional(readOnly = true)
-    public FuelPolicy buscarPoliticaAplicavel(UUID tenantId, UUID jetskiId, UUID modeloId) {
+    public RegraCombustivel buscarPoliticaAplicavel(UUID tenantId, UUID jetskiId, UUID modeloId) {
         log.debug("Buscando política de combustível para tenant={}, jetski={}, modelo={}",
             tenantId, jetskiId, modeloId);
 
-        // 1. Tentar JETSKI específico
-        Optional<FuelPolicy> jetskiPolicy = fuelPolicyRepository
-            .findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-                tenantId, FuelPolicyType.JETSKI, jetskiId
-            );
-
-        if (jetskiPolicy.isPresent()) {
-            log.debug("Política JETSKI encontrada: id={}, nome={}, tipo={}",
-                jetskiPolicy.get().getId(), jetskiPolicy.get().getNome(), jetskiPolicy.get().getTipo());
-            return jetskiPolicy.get();
-        }
-
-        // 2. Tentar MODELO
-        Optional<FuelPolicy> modeloPolicy = fuelPolicyRepository
-            .findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-                tenantId, FuelPolicyType.MODELO, modeloId
-            );
-
-        if (modeloPolicy.isPresent()) {
-            log.debug("Política MODELO encontrada: id={}, nome={}, tipo={}",
-                modeloPolicy.get().getId(), modeloPolicy.get().getNome(), modeloPolicy.get().getTipo());
-            return modeloPolicy.get();
-        }
-
-        // 3. Fallback para GLOBAL
-        Optional<FuelPolicy> globalPolicy = fuelPolicyRepository
-            .findByTenantIdAndAplicavelAAndAtivoTrue(tenantId, FuelPolicyType.GLOBAL);
-
-        if (globalPolicy.isPresent()) {
-            log.debug("Política GLOBAL encontrada: id={}, nome={}, tipo={}",
-                globalPolicy.get().getId(), globalPolicy.get().getNome(), globalPolicy.get().getTipo());
-            return globalPolicy.get();
+        // Hierarquia resolvida na tabela compilada do tenant (sem consulta por nível)
+        RegraCombustivel policy = fuelPolicyResolver.resolver(tenantId, jetskiId, modeloId);
+        if (policy != null) {
+            log.debug("Política {} encontrada: id={}, nome={}, tipo={}",
+                policy.aplicavelA(), policy.id(), policy.nome(), policy.tipo());
+            return policy;
         }
 
         // Nenhuma política ativa encontrada
@@ -109,7 +84,7 @@ public class FuelPolicyService {
     public BigDecimal calcularCustoCombustivel(LocacaoFuelData locacaoData, UUID modeloId) {
         log.debug("Calculando custo de combustível para locacao id={}", locacaoData.getId());
 
-        FuelPolicy policy = buscarPoliticaAplicavel(
+        RegraCombustivel policy = buscarPoliticaAplicavel(
             locacaoData.getTenantId(),
             locacaoData.getJetskiId(),
             modeloId
@@ -117,7 +92,7 @@ public class FuelPolicyService {
 
         BigDecimal custo;
 
-        switch (policy.getTipo()) {
+        switch (policy.tipo()) {
             case INCLUSO:
                 custo = calcularCustoIncluso();
                 break;
@@ -131,11 +106,11 @@ public class FuelPolicyService {
                 break;
 
             default:
-                throw new IllegalStateException("Tipo de política desconhecido: " + policy.getTipo());
+                throw new IllegalStateException("Tipo de política desconhecido: " + policy.tipo());
         }
 
         log.info("Custo combustível calculado: R$ {} (política: {}, tipo: {})",
-            custo, policy.getNome(), policy.getTipo());
+            custo, policy.nome(), policy.tipo());
 
         return custo;
     }
@@ -215,10 +190,10 @@ public class FuelPolicyService {
      * @param policy Política com valor da taxa
      * @return Custo calculado
      */
-    private BigDecimal calcularCustoTaxaFixa(LocacaoFuelData locacaoData, FuelPolicy policy) {
-        if (policy.getValorTaxaPorHora() == null) {
+    private BigDecimal calcularCustoTaxaFixa(LocacaoFuelData locacaoData, RegraCombustivel policy) {
+        if (policy.valorTaxaPorHora() == null) {
             throw new IllegalStateException(
-                "Política TAXA_FIXA sem valor configurado: " + policy.getId()
+                "Política TAXA_FIXA sem valor configurado: " + policy.id()
             );
         }
 
@@ -226,12 +201,12 @@ public class FuelPolicyService {
         BigDecimal horasFaturaveis = new BigDecimal(locacaoData.getMinutosFaturaveis())
             .divide(new BigDecimal(60), 2, RoundingMode.HALF_UP);
 
-        BigDecimal custo = policy.getValorTaxaPorHora()
+        BigDecimal custo = policy.valorTaxaPorHora()
             .multiply(horasFaturaveis)
             .setScale(2, RoundingMode.HALF_UP);
 
         log.debug("Custo TAXA_FIXA: {} horas × R$ {} = R$ {}",
-            horasFaturaveis, policy.getValorTaxaPorHora(), custo);
+            horasFaturaveis, policy.valorTaxaPorHora(), custo);
 
         return custo;
     }
@@ -244,6 +219,7 @@ public class FuelPolicyService {
         validatePolicy(policy);
 
         FuelPolicy saved = fuelPolicyRepository.save(policy);
+        fuelPolicyResolver.invalidar(tenantId);
         log.info("Política de combustível criada: id={}, nome={}, tipo={}, aplicavel_a={}",
             saved.getId(), saved.getNome(), saved.getTipo(), saved.getAplicavelA());
 
@@ -280,7 +256,9 @@ public class FuelPolicyService {
 
         validatePolicy(existing);
 
-        return fuelPolicyRepository.save(existing);
+        FuelPolicy saved = fuelPolicyRepository.save(existing);
+        fuelPolicyResolver.invalidar(tenantId);
+        return saved;
     }
 
     @Transactional
@@ -294,6 +272,7 @@ public class FuelPolicyService {
 
         policy.setAtivo(false);
         fuelPolicyRepository.save(policy);
+        fuelPolicyResolver.invalidar(tenantId);
 
         log.info("Política de combustível desativada: id={}", id);
     }
@@ -401,6 +380,7 @@ public class FuelPolicyService {
         }
 
         FuelPolicy updated = fuelPolicyRepository.save(existing);
+        fuelPolicyResolver.invalidar(tenantId);
 
         log.info("Política atualizada: id={}, nome={}", updated.getId(), updated.getNome());
 
@@ -420,6 +400,7 @@ public class FuelPolicyService {
 
         policy.setAtivo(false);
         fuelPolicyRepository.save(policy);
+        fuelPolicyResolver.invalidar(tenantId);
 
         log.info("Política inativada: id={}, nome={}", id, policy.getNome());
     }
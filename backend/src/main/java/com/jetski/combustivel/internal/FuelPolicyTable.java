@@ -0,0 +1,73 @@
+package com.jetski.combustivel.internal;
+
+import com.jetski.combustivel.domain.FuelPolicy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Políticas de combustível ATIVAS de um tenant indexadas para a hierarquia
+ * RN03 (JETSKI → MODELO → GLOBAL) — resolução em memória, sem consulta.
+ *
+ * <p>Recebe a lista em {@code prioridade DESC, created_at DESC} (mesma ordem
+ * de {@link FuelPolicyService#listarAtivas}); havendo duas ativas para a mesma
+ * chave, vence a primeira — antes o finder {@code Optional} estourava
+ * NonUniqueResult nesse caso.
+ *
+ * <p>Imutável — guarda {@link RegraCombustivel} (cópias), nunca a entidade
+ * gerenciada. {@code versao} é o contador de {@code politica_versao} (V063).
+ */
+final class FuelPolicyTable {
+
+    private final long versao;
+    private final Map<UUID, RegraCombustivel> porJetski;
+    private final Map<UUID, RegraCombustivel> porModelo;
+    private final RegraCombustivel global;
+
+    FuelPolicyTable(long versao, List<FuelPolicy> ativasPorPrioridade) {
+        this.versao = versao;
+        Map<UUID, RegraCombustivel> porJetski = new HashMap<>();
+        Map<UUID, RegraCombustivel> porModelo = new HashMap<>();
+        RegraCombustivel global = null;
+        for (FuelPolicy p : ativasPorPrioridade) {
+            if (!Boolean.TRUE.equals(p.getAtivo()) || p.getAplicavelA() == null) {
+                continue;
+            }
+            switch (p.getAplicavelA()) {
+                case JETSKI -> {
+                    if (p.getReferenciaId() != null) {
+                        porJetski.putIfAbsent(p.getReferenciaId(), RegraCombustivel.de(p));
+                    }
+                }
+                case MODELO -> {
+                    if (p.getReferenciaId() != null) {
+                        porModelo.putIfAbsent(p.getReferenciaId(), RegraCombustivel.de(p));
+                    }
+                }
+                case GLOBAL -> {
+                    if (global == null) {
+                        global = RegraCombustivel.de(p);
+                    }
+                }
+            }
+        }
+        this.porJetski = Map.copyOf(porJetski);
+        this.porModelo = Map.copyOf(porModelo);
+        this.global = global;
+    }
+
+    /** RN03: primeiro match ganha; null se o tenant não tem nenhuma aplicável. */
+    RegraCombustivel resolver(UUID jetskiId, UUID modeloId) {
+        RegraCombustivel policy = jetskiId == null ? null : porJetski.get(jetskiId);
+        if (policy == null && modeloId != null) {
+            policy = porModelo.get(modeloId);
+        }
+        return policy != null ? policy : global;
+    }
+
+    long versao() {
+        return versao;
+    }
+}
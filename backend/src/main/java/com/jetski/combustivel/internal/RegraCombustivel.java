@@ -0,0 +1,38 @@
+package com.jetski.combustivel.internal;
+
+import com.jetski.combustivel.domain.FuelChargeMode;
+import com.jetski.combustivel.domain.FuelPolicy;
+import com.jetski.combustivel.domain.FuelPolicyType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cópia imutável de uma {@link FuelPolicy}: o que a {@link FuelPolicyTable}
+ * guarda e {@link FuelPolicyService#buscarPoliticaAplicavel} devolve. A tabela
+ * é compartilhada entre threads e requisições — a entidade gerenciada não.
+ */
+public record RegraCombustivel(
+    Long id,
+    UUID tenantId,
+    String nome,
+    FuelChargeMode tipo,
+    FuelPolicyType aplicavelA,
+    UUID referenciaId,
+    BigDecimal valorTaxaPorHora,
+    Boolean comissionavel,
+    Boolean ativo,
+    Integer prioridade,
+    String descricao,
+    Instant createdAt,
+    Instant updatedAt
+) {
+
+    static RegraCombustivel de(FuelPolicy p) {
+        return new RegraCombustivel(
+            p.getId(), p.getTenantId(), p.getNome(), p.getTipo(), p.getAplicavelA(), p.getReferenciaId(),
+            p.getValorTaxaPorHora(), p.getComissionavel(), p.getAtivo(), p.getPrioridade(),
+            p.getDescricao(), p.getCreatedAt(), p.getUpdatedAt());
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -111,12 +114,6 @@ public class ComissaoQueryService {
         return comissaoRepository.findAllById(ids);
     }
 
-    /** Persiste uma comissão (ex.: atualização de status de pagamento pelo módulo pagamentos). */
-    @Transactional
-    public Comissao salvar(Comissao comissao) {
-        return comissaoRepository.save(comissao);
-    }
-
     /** Soma das comissões aprovadas (aguardando pagamento) de um vendedor. */
     public BigDecimal sumComissoesAprovadasByVendedor(UUID tenantId, UUID vendedorId) {
         return comissaoRepository.sumComissoesAprovadasByVendedor(tenantId, vendedorId);
@@ -141,4 +138,31 @@ public class ComissaoQueryService {
     public Long countLocacoesByVendedor(UUID tenantId, UUID vendedorId) {
         return comissaoRepository.countLocacoesByVendedor(tenantId, vendedorId);
     }
+
+    /** Valor e quantidade pendentes de um vendedor. */
+    public record TotalVendedor(BigDecimal valor, int quantidade) {
+    }
+
+    /** Comissões aprovadas agrupadas por vendedor (uma consulta para todos). */
+    public Map<UUID, TotalVendedor> sumAprovadasPorVendedor(UUID tenantId) {
+        Map<UUID, TotalVendedor> totais = new HashMap<>();
+        for (Object[] r : comissaoRepository.sumAprovadasGroupByVendedor(tenantId)) {
+            totais.put((UUID) r[0], new TotalVendedor((BigDecimal) r[1], ((Number) r[2]).intValue()));
+        }
+        return totais;
+    }
+
+    /**
+     * Marca como PAGA, num UPDATE só, as comissões ainda APROVADAS do vendedor
+     * entre {@code ids}. Retorna quantas foram alteradas — o chamador compara
+     * com o esperado para detectar pagamento concorrente.
+     */
+    @Transactional
+    public int marcarPagas(UUID tenantId, UUID vendedorId, Collection<UUID> ids,
+                           UUID pagoPor, Instant pagoEm, String referencia) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return comissaoRepository.marcarPagas(tenantId, vendedorId, ids, pagoPor, pagoEm, referencia);
+    }
 }
@@ -2,11 +2,15 @@ package com.jetski.comissoes.api;
 
 import com.jetski.comissoes.domain.*;
 import com.jetski.comissoes.event.ComissaoCalculadaEvent;
+import com.jetski.comissoes.internal.PoliticaComissaoResolver;
+import com.jetski.comissoes.internal.RegraComissao;
+import com.jetski.comissoes.internal.TabelaPoliticaComissao;
 import com.jetski.comissoes.internal.repository.ComissaoRepository;
-import com.jetski.comissoes.internal.repository.PoliticaComissaoRepository;
 import com.jetski.shared.exception.BusinessException;
+import com.jetski.shared.exception.ConflictException;
 import com.jetski.shared.exception.NotFoundException;
 import com.jetski.tenant.TenantQueryService;
+import com.jetski.tenant.TenantTimeService;
 import com.jetski.tenant.domain.ComissaoConfig;
 import com.jetski.tenant.domain.Tenant;
 import lombok.RequiredArgsConstructor;
@@ -18,8 +22,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,8 +57,9 @@ import java.util.UUID;
 public class CommissionService {
 
     private final ComissaoRepository comissaoRepository;
-    private final PoliticaComissaoRepository politicaRepository;
+    private final PoliticaComissaoResolver politicaResolver;
     private final TenantQueryService tenantQueryService;
+    private final TenantTimeService tenantTimeService;
     private final ApplicationEventPublisher eventPublisher;
 
     /**
@@ -133,7 +145,7 @@ public class CommissionService {
                 valorComissionavel, valorBaseLocacao, vendaAcimaPrecoBase);
 
         // 4. Buscar política aplicável (hierarquia RN04)
-        PoliticaComissao politica = selecionarPoliticaAplicavel(
+        RegraComissao politica = selecionarPoliticaAplicavel(
                 tenantId, vendedorId, modeloId, duracaoMinutos, codigoCampanha
         );
 
@@ -147,16 +159,16 @@ public class CommissionService {
                 .tenantId(tenantId)
                 .locacaoId(locacaoId)
                 .vendedorId(vendedorId)
-                .politicaId(politica != null ? politica.getId() : null)
+                .politicaId(politica != null ? politica.id() : null)
                 .status(StatusComissao.PENDENTE)
                 .dataLocacao(Instant.now())
                 .valorTotalLocacao(valorTotalLocacao)
                 .valorCombustivel(valorCombustivel != null ? valorCombustivel : BigDecimal.ZERO)
                 .valorMultas(valorMultas != null ? valorMultas : BigDecimal.ZERO)
                 .valorTaxas(valorTaxas != null ? valorTaxas : BigDecimal.ZERO)
-                .tipoComissao(politica != null ? politica.getTipo() : TipoComissao.PERCENTUAL)
-                .politicaNome(politica != null ? politica.getNome() : "Configuração Tenant")
-                .politicaNivel(politica != null ? politica.getNivel() : null)
+                .tipoComissao(politica != null ? politica.tipo() : TipoComissao.PERCENTUAL)
+                .politicaNome(politica != null ? politica.nome() : "Configuração Tenant")
+                .politicaNivel(politica != null ? politica.nivel() : null)
                 .vendaAcimaPrecoBase(vendaAcimaPrecoBase)
                 .build();
 
@@ -190,7 +202,7 @@ public class CommissionService {
             percentualAplicado = extrairPercentualAplicado(politica, duracaoMinutos);
 
             log.info("Usando política: {} (nível: {}, tipo: {})",
-                    politica.getNome(), politica.getNivel(), politica.getTipo());
+                    politica.nome(), politica.nivel(), politica.tipo());
         } else {
             // Fallback para 10% padrão
             percentualAplicado = new BigDecimal("10.0");
@@ -245,15 +257,38 @@ public class CommissionService {
             BigDecimal valorCombustivel,
             BigDecimal valorBaseLocacao
     ) {
-        ComissaoConfig tenantConfig = getTenantComissaoConfig(tenantId);
+        return simular(getTenantComissaoConfig(tenantId), politicaResolver.tabela(tenantId),
+                vendedorId, modeloId, duracaoMinutos, valorTotalLocacao, valorCombustivel, valorBaseLocacao,
+                null, Instant.now());
+    }
+
+    /**
+     * Núcleo da simulação — puro, sem I/O: a tabela compilada e a config do
+     * tenant já vêm carregadas, então roda milhares de vezes por requisição.
+     *
+     * @param codigoCampanha campanha da locação (null = sem campanha)
+     * @param referencia     instante em que a vigência das campanhas é conferida —
+     *                       o da locação ao re-simular o passado, não o de hoje
+     */
+    private BigDecimal simular(
+            ComissaoConfig tenantConfig,
+            TabelaPoliticaComissao tabela,
+            UUID vendedorId,
+            UUID modeloId,
+            int duracaoMinutos,
+            BigDecimal valorTotalLocacao,
+            BigDecimal valorCombustivel,
+            BigDecimal valorBaseLocacao,
+            String codigoCampanha,
+            Instant referencia
+    ) {
         BigDecimal valorComissionavel = valorTotalLocacao
                 .subtract(valorCombustivel != null ? valorCombustivel : BigDecimal.ZERO);
         if (valorComissionavel.signum() <= 0) {
             return BigDecimal.ZERO;
         }
         boolean vendaAcimaPrecoBase = determinarVendaAcimaBase(valorComissionavel, valorBaseLocacao);
-        PoliticaComissao politica = selecionarPoliticaAplicavel(
-                tenantId, vendedorId, modeloId, duracaoMinutos, null);
+        RegraComissao politica = tabela.selecionar(vendedorId, modeloId, duracaoMinutos, codigoCampanha, referencia);
         if (politica == null && tenantConfig == null) {
             return null; // sem política — não inventa expectativa
         }
@@ -303,112 +338,67 @@ public class CommissionService {
     /**
      * Extrai o percentual aplicado de uma política
      */
-    private BigDecimal extrairPercentualAplicado(PoliticaComissao politica, int duracaoMinutos) {
-        if (politica.getTipo() == TipoComissao.PERCENTUAL) {
-            return politica.getPercentualComissao();
-        } else if (politica.getTipo() == TipoComissao.ESCALONADO) {
-            return duracaoMinutos >= politica.getDuracaoMinMinutos()
-                    ? politica.getPercentualExtra()
-                    : politica.getPercentualComissao();
+    private BigDecimal extrairPercentualAplicado(RegraComissao politica, int duracaoMinutos) {
+        if (politica.tipo() == TipoComissao.PERCENTUAL) {
+            return politica.percentualComissao();
+        } else if (politica.tipo() == TipoComissao.ESCALONADO) {
+            return duracaoMinutos >= politica.duracaoMinMinutos()
+                    ? politica.percentualExtra()
+                    : politica.percentualComissao();
         }
         return null;
     }
 
     /**
-     * Seleciona política aplicável seguindo hierarquia RN04
+     * Seleciona política aplicável seguindo hierarquia RN04 — resolvida na
+     * tabela compilada do tenant ({@link PoliticaComissaoResolver}), sem
+     * consulta por nível.
      */
-    private PoliticaComissao selecionarPoliticaAplicavel(
+    private RegraComissao selecionarPoliticaAplicavel(
             UUID tenantId,
             UUID vendedorId,
             UUID modeloId,
             int duracaoMinutos,
             String codigoCampanha
     ) {
-        // 1. CAMPANHA (prioridade 1) - se código fornecido
-        if (codigoCampanha != null && !codigoCampanha.isBlank()) {
-            List<PoliticaComissao> campanhas = politicaRepository.findCampanhaAtiva(
-                    tenantId, codigoCampanha, Instant.now()
-            );
-            Optional<PoliticaComissao> campanha = campanhas.stream()
-                    .filter(p -> p.aplicaParaDuracao(duracaoMinutos))
-                    .findFirst();
-            if (campanha.isPresent()) {
-                log.debug("Política CAMPANHA aplicada: {}", campanha.get().getNome());
-                return campanha.get();
-            }
-        }
-
-        // 2. MODELO (prioridade 2)
-        List<PoliticaComissao> politicasModelo = politicaRepository.findByTenantIdAndNivelAndModeloIdAndAtiva(
-                tenantId, NivelPolitica.MODELO, modeloId, true
-        );
-        Optional<PoliticaComissao> modelo = politicasModelo.stream()
-                .filter(p -> p.aplicaParaDuracao(duracaoMinutos))
-                .findFirst();
-        if (modelo.isPresent()) {
-            log.debug("Política MODELO aplicada: {}", modelo.get().getNome());
-            return modelo.get();
-        }
-
-        // 3. DURACAO (prioridade 3)
-        List<PoliticaComissao> politicasDuracao = politicaRepository
-                .findByTenantIdAndNivelAndAtivaOrderByDuracaoMinMinutosDesc(
-                        tenantId, NivelPolitica.DURACAO, true
-                );
-        Optional<PoliticaComissao> duracao = politicasDuracao.stream()
-                .filter(p -> p.aplicaParaDuracao(duracaoMinutos))
-                .findFirst();
-        if (duracao.isPresent()) {
-            log.debug("Política DURACAO aplicada: {}", duracao.get().getNome());
-            return duracao.get();
-        }
-
-        // 4. VENDEDOR (prioridade 4 - padrão)
-        List<PoliticaComissao> politicasVendedor = politicaRepository.findByTenantIdAndNivelAndVendedorIdAndAtiva(
-                tenantId, NivelPolitica.VENDEDOR, vendedorId, true
-        );
-        Optional<PoliticaComissao> vendedor = politicasVendedor.stream()
-                .filter(p -> p.aplicaParaDuracao(duracaoMinutos))
-                .findFirst();
-        if (vendedor.isPresent()) {
-            log.debug("Política VENDEDOR aplicada: {}", vendedor.get().getNome());
-            return vendedor.get();
+        RegraComissao politica = politicaResolver.tabela(tenantId)
+                .selecionar(vendedorId, modeloId, duracaoMinutos, codigoCampanha, Instant.now());
+        if (politica != null) {
+            log.debug("Política {} aplicada: {}", politica.nivel(), politica.nome());
         }
-
-        // Nenhuma política encontrada
-        return null;
+        return politica;
     }
 
     /**
      * Calcula valor da comissão baseado no tipo da política
      */
     private BigDecimal calcularValorComissao(
-            PoliticaComissao politica,
+            RegraComissao politica,
             BigDecimal valorComissionavel,
             int duracaoMinutos
     ) {
-        switch (politica.getTipo()) {
+        switch (politica.tipo()) {
             case PERCENTUAL:
                 return valorComissionavel
-                        .multiply(politica.getPercentualComissao())
+                        .multiply(politica.percentualComissao())
                         .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
 
             case VALOR_FIXO:
-                return politica.getValorFixo();
+                return politica.valorFixo();
 
             case ESCALONADO:
                 BigDecimal percentual;
-                if (duracaoMinutos >= politica.getDuracaoMinMinutos()) {
-                    percentual = politica.getPercentualExtra(); // Acima da duração = percentual extra
+                if (duracaoMinutos >= politica.duracaoMinMinutos()) {
+                    percentual = politica.percentualExtra(); // Acima da duração = percentual extra
                 } else {
-                    percentual = politica.getPercentualComissao(); // Abaixo = percentual base
+                    percentual = politica.percentualComissao(); // Abaixo = percentual base
                 }
                 return valorComissionavel
                         .multiply(percentual)
                         .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
 
             default:
-                throw new BusinessException("Tipo de comissão não suportado: " + politica.getTipo());
+                throw new BusinessException("Tipo de comissão não suportado: " + politica.tipo());
         }
     }
 
@@ -688,22 +678,21 @@ public class CommissionService {
             throw new BusinessException("Nenhuma comissão aprovada encontrada para este vendedor");
         }
 
-        // 2. Marcar todas como PAGA
-        BigDecimal valorTotal = BigDecimal.ZERO;
+        // 2. Marcar todas como PAGA — um UPDATE só, condicionado ao status
+        // APROVADA (contagem menor ⇒ outra requisição pagou no meio)
+        BigDecimal valorTotal = comissoesAprovadas.stream()
+                .map(Comissao::getValorComissao)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
         Instant agora = Instant.now();
-
-        for (Comissao comissao : comissoesAprovadas) {
-            comissao.setStatus(StatusComissao.PAGA);
-            comissao.setPagoPor(pagoPor);
-            comissao.setPagoEm(agora);
-            comissao.setReferenciaPagamento(referenciaPagamento);
-            valorTotal = valorTotal.add(comissao.getValorComissao());
+        int pagas = comissaoRepository.marcarPagas(tenantId, vendedorId,
+                comissoesAprovadas.stream().map(Comissao::getId).toList(),
+                pagoPor, agora, referenciaPagamento);
+        if (pagas != comissoesAprovadas.size()) {
+            throw new ConflictException(
+                    "Comissões do vendedor foram alteradas por outro pagamento. Atualize a lista e tente novamente.");
         }
 
-        // 3. Salvar todas
-        comissaoRepository.saveAll(comissoesAprovadas);
-
-        // 4. Buscar nome do vendedor (através da primeira comissão)
+        // 3. Buscar nome do vendedor (através da primeira comissão)
         String nomeVendedor = "Vendedor " + vendedorId.toString().substring(0, 8);
 
         log.info("Pagamento em lote concluído: {} comissões, R$ {} (ref: {})",
@@ -718,4 +707,112 @@ public class CommissionService {
                 referenciaPagamento
         );
     }
+
+    // ========== SIMULAÇÃO EM LOTE ==========
+
+    /**
+     * Resultado do "e se" de uma política sobre um mês fechado.
+     *
+     * @param semPolitica locações que ficariam sem política (o cálculo oficial recusaria)
+     * @param configTenantPrevalece true se o tenant tem percentual padrão configurado —
+     *                              nesse caso políticas não mudam o resultado (mesma regra do checkout)
+     */
+    public record SimulacaoCompetenciaResult(
+            YearMonth competencia,
+            long versaoPoliticas,
+            int locacoes,
+            int semPolitica,
+            BigDecimal totalAtual,
+            BigDecimal totalSimulado,
+            BigDecimal diferenca,
+            boolean configTenantPrevalece,
+            List<SimulacaoVendedor> porVendedor
+    ) {}
+
+    public record SimulacaoVendedor(
+            UUID vendedorId,
+            int locacoes,
+            BigDecimal totalAtual,
+            BigDecimal totalSimulado
+    ) {}
+
+    /**
+     * Re-simula as comissões de um mês inteiro sob uma política hipotética,
+     * sem persistir nada. As locações vêm de UMA consulta e a hierarquia RN04
+     * roda em memória sobre uma cópia da tabela compilada — o gerente testa a
+     * mudança antes de salvá-la, sem uma rodada de consultas por locação.
+     *
+     * @param candidata política hipotética (já validada); {@code ativa=false}
+     *                  junto com {@code substituiPoliticaId} simula desligar a política
+     * @param substituiPoliticaId política existente que a candidata substitui (null = soma)
+     */
+    @Transactional(readOnly = true)
+    public SimulacaoCompetenciaResult simularCompetencia(
+            UUID tenantId,
+            YearMonth competencia,
+            PoliticaComissao candidata,
+            UUID substituiPoliticaId
+    ) {
+        ComissaoConfig tenantConfig = getTenantComissaoConfig(tenantId);
+        TabelaPoliticaComissao vigente = politicaResolver.tabela(tenantId);
+        TabelaPoliticaComissao tabela = candidata != null
+                ? vigente.comPolitica(candidata, substituiPoliticaId)
+                : vigente;
+
+        // Bordas do mês no fuso do tenant (o mesmo do fechamento mensal)
+        ZoneId zona = tenantTimeService.getZoneIdForTenant(tenantId);
+        Instant inicio = competencia.atDay(1).atStartOfDay(zona).toInstant();
+        Instant fim = competencia.plusMonths(1).atDay(1).atStartOfDay(zona).toInstant();
+        List<Object[]> base = comissaoRepository.findBaseSimulacao(tenantId, inicio, fim);
+
+        Map<UUID, BigDecimal[]> porVendedor = new LinkedHashMap<>();
+        Map<UUID, Integer> qtdPorVendedor = new LinkedHashMap<>();
+        BigDecimal totalAtual = BigDecimal.ZERO;
+        BigDecimal totalSimulado = BigDecimal.ZERO;
+        int semPolitica = 0;
+
+        for (Object[] row : base) {
+            UUID vendedorId = (UUID) row[1];
+            BigDecimal simulado = simular(tenantConfig, tabela, vendedorId, (UUID) row[2],
+                    ((Number) row[3]).intValue(), (BigDecimal) row[4], (BigDecimal) row[5], (BigDecimal) row[6],
+                    (String) row[8], instante(row[9]));
+            BigDecimal atual = row[7] != null ? (BigDecimal) row[7] : BigDecimal.ZERO;
+            if (simulado == null) {
+                semPolitica++;
+                simulado = BigDecimal.ZERO;
+            }
+            totalAtual = totalAtual.add(atual);
+            totalSimulado = totalSimulado.add(simulado);
+            BigDecimal[] acc = porVendedor.computeIfAbsent(vendedorId,
+                    k -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            acc[0] = acc[0].add(atual);
+            acc[1] = acc[1].add(simulado);
+            qtdPorVendedor.merge(vendedorId, 1, Integer::sum);
+        }
+
+        List<SimulacaoVendedor> vendedores = new ArrayList<>(porVendedor.size());
+        porVendedor.forEach((vendedorId, acc) -> vendedores.add(
+                new SimulacaoVendedor(vendedorId, qtdPorVendedor.get(vendedorId), acc[0], acc[1])));
+
+        log.info("Simulação de comissão {} (tenant {}): {} locações, atual R$ {}, simulado R$ {}",
+                competencia, tenantId, base.size(), totalAtual, totalSimulado);
+
+        return new SimulacaoCompetenciaResult(
+                competencia,
+                tabela.versao(),
+                base.size(),
+                semPolitica,
+                totalAtual,
+                totalSimulado,
+                totalSimulado.subtract(totalAtual),
+                tenantConfig != null && tenantConfig.percentualPadrao() != null,
+                vendedores
+        );
+    }
+
+    private static Instant instante(Object v) {
+        if (v instanceof OffsetDateTime o) return o.toInstant();
+        if (v instanceof Timestamp ts) return ts.toInstant();
+        return (Instant) v;
+    }
 }
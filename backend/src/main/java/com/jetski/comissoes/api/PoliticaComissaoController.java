@@ -2,6 +2,7 @@ package com.jetski.comissoes.api;
 
 import com.jetski.comissoes.api.dto.PoliticaComissaoRequest;
 import com.jetski.comissoes.api.dto.PoliticaComissaoResponse;
+import com.jetski.comissoes.api.dto.SimulacaoComissaoRequest;
 import com.jetski.comissoes.domain.PoliticaComissao;
 import com.jetski.comissoes.internal.PoliticaComissaoService;
 import com.jetski.shared.security.TenantContext;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,6 +29,7 @@ import java.util.stream.Collectors;
  *   <li>GET /politicas-comissao/{id} - Buscar por ID</li>
  *   <li>PUT /politicas-comissao/{id} - Atualizar política (GERENTE)</li>
  *   <li>PATCH /politicas-comissao/{id}/toggle - Ativar/desativar (GERENTE)</li>
+ *   <li>POST /politicas-comissao/simular - Re-simular um mês sob uma política hipotética</li>
  * </ul>
  *
  * @author Jetski Team
@@ -39,6 +42,7 @@ import java.util.stream.Collectors;
 public class PoliticaComissaoController {
 
     private final PoliticaComissaoService politicaService;
+    private final CommissionService commissionService;
 
     /**
      * Criar nova política de comissão
@@ -129,6 +133,30 @@ public class PoliticaComissaoController {
         return ResponseEntity.ok(mapToResponse(politica));
     }
 
+    /**
+     * Re-simula as comissões de um mês sob uma política hipotética (nada é gravado)
+     * Permissão: GERENTE, ADMIN_TENANT, FINANCEIRO
+     */
+    @PostMapping("/simular")
+    public ResponseEntity<CommissionService.SimulacaoCompetenciaResult> simular(
+            @Valid @RequestBody SimulacaoComissaoRequest request
+    ) {
+        UUID tenantId = TenantContext.getTenantId();
+
+        if (request.getSubstituiPoliticaId() != null) {
+            politicaService.buscarPorId(tenantId, request.getSubstituiPoliticaId()); // 404 se não é do tenant
+        }
+        PoliticaComissao candidata = null;
+        if (request.getPolitica() != null) {
+            candidata = mapToDomain(request.getPolitica());
+            candidata.setTenantId(tenantId);
+            politicaService.validarPolitica(candidata);
+        }
+
+        return ResponseEntity.ok(commissionService.simularCompetencia(
+                tenantId, YearMonth.parse(request.getCompetencia()), candidata, request.getSubstituiPoliticaId()));
+    }
+
     // ====================
     // Mappers
     // ====================
@@ -0,0 +1,34 @@
+package com.jetski.comissoes.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Request DTO for the bulk "re-simulate month under policy X" endpoint
+ *
+ * <p>Sem {@code politica}: recalcula o mês com as políticas vigentes (mostra
+ * a divergência entre o gravado e a regra atual). Com {@code politica} e
+ * {@code substituiPoliticaId}: a candidata toma o lugar da existente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacaoComissaoRequest {
+
+    @NotBlank(message = "Competência é obrigatória")
+    @Pattern(regexp = "\\d{4}-(0[1-9]|1[0-2])", message = "Competência deve estar no formato AAAA-MM")
+    private String competencia;
+
+    @Valid
+    private PoliticaComissaoRequest politica;
+
+    private UUID substituiPoliticaId;
+}
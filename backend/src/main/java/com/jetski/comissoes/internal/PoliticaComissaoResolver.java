@@ -0,0 +1,69 @@
+package com.jetski.comissoes.internal;
+
+import com.jetski.comissoes.internal.repository.PoliticaComissaoRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela compilada de políticas de comissão por tenant (RN04).
+ *
+ * <p>Antes: até 4 consultas por cálculo (CAMPANHA → MODELO → DURACAO →
+ * VENDEDOR) em todo checkout, recálculo e simulação. Agora: as políticas
+ * ativas são carregadas UMA vez em {@link TabelaPoliticaComissao} e cada uso
+ * confere só o contador de {@code politica_versao} (PK, mantido por trigger —
+ * V063). Escrita fora da API ou em outra réplica muda o contador e força a
+ * recompilação na próxima leitura.
+ *
+ * <p>Deve ser chamado dentro de uma transação com {@code app.tenant_id} setado
+ * (o mesmo contexto em que os finders antigos rodavam).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PoliticaComissaoResolver {
+
+    private static final String VERSAO_SQL =
+        "SELECT versao FROM politica_versao WHERE tenant_id = :tenantId AND escopo = 'COMISSAO'";
+
+    private final PoliticaComissaoRepository politicaRepository;
+    private final EntityManager entityManager;
+
+    private final Map<UUID, TabelaPoliticaComissao> tabelas = new ConcurrentHashMap<>();
+
+    /** Tabela vigente do tenant — recompila só se a versão no banco mudou. */
+    public TabelaPoliticaComissao tabela(UUID tenantId) {
+        long versao = versaoAtual(tenantId);
+        TabelaPoliticaComissao atual = tabelas.get(tenantId);
+        if (atual != null && atual.versao() == versao) {
+            return atual;
+        }
+        // Versão lida ANTES das políticas: se alguém commitar no meio, a tabela
+        // fica rotulada com a versão antiga e é recompilada na próxima leitura.
+        TabelaPoliticaComissao nova = TabelaPoliticaComissao.compilar(versao,
+            politicaRepository.findByTenantIdAndAtivaOrderByNivelAsc(tenantId, true));
+        log.debug("Políticas de comissão compiladas: tenant={}, versao={}, ativas={}",
+            tenantId, versao, nova.tamanho());
+        // duas cargas concorrentes: fica no mapa a de versão maior (o contador só cresce)
+        tabelas.merge(tenantId, nova, (velha, recente) -> velha.versao() > recente.versao() ? velha : recente);
+        return nova;
+    }
+
+    /** Descarta a tabela do tenant (mutação pela API) — a próxima leitura recompila. */
+    public void invalidar(UUID tenantId) {
+        tabelas.remove(tenantId);
+    }
+
+    private long versaoAtual(UUID tenantId) {
+        List<?> rows = entityManager.createNativeQuery(VERSAO_SQL)
+            .setParameter("tenantId", tenantId)
+            .getResultList();
+        return rows.isEmpty() ? 0L : ((Number) rows.get(0)).longValue();
+    }
+}
@@ -8,6 +8,7 @@ import com.jetski.shared.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.UUID;
 public class PoliticaComissaoService {
 
     private final PoliticaComissaoRepository politicaRepository;
+    private final PoliticaComissaoResolver politicaResolver;
 
     /**
      * Cria nova política de comissão
@@ -52,6 +54,7 @@ public class PoliticaComissaoService {
         validarPolitica(politica);
 
         PoliticaComissao salva = politicaRepository.save(politica);
+        politicaResolver.invalidar(tenantId);
         log.info("Política de comissão criada: {} (nível: {}, tipo: {})",
                 salva.getNome(), salva.getNivel(), salva.getTipo());
 
@@ -81,6 +84,7 @@ public class PoliticaComissaoService {
         validarPolitica(politica);
 
         PoliticaComissao salva = politicaRepository.save(politica);
+        politicaResolver.invalidar(tenantId);
         log.info("Política de comissão atualizada: {}", id);
 
         return salva;
@@ -94,6 +98,7 @@ public class PoliticaComissaoService {
         politica.setAtiva(!politica.getAtiva());
 
         PoliticaComissao salva = politicaRepository.save(politica);
+        politicaResolver.invalidar(tenantId);
         log.info("Política {} {}", id, salva.getAtiva() ? "ativada" : "desativada");
 
         return salva;
@@ -126,9 +131,11 @@ public class PoliticaComissaoService {
     }
 
     /**
-     * Valida regras de negócio da política
+     * Valida regras de negócio da política (também aplicada à candidata da
+     * simulação em lote, antes de qualquer cálculo)
      */
-    private void validarPolitica(PoliticaComissao politica) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void validarPolitica(PoliticaComissao politica) {
         // Validar campos obrigatórios por nível
         switch (politica.getNivel()) {
             case VENDEDOR:
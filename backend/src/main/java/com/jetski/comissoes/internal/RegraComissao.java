@@ -0,0 +1,56 @@
+package com.jetski.comissoes.internal;
+
+import com.jetski.comissoes.domain.NivelPolitica;
+import com.jetski.comissoes.domain.PoliticaComissao;
+import com.jetski.comissoes.domain.TipoComissao;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cópia imutável de uma {@link PoliticaComissao} — o que a
+ * {@link TabelaPoliticaComissao} guarda e devolve. A tabela é compartilhada
+ * entre threads e sobrevive às transações; a entidade gerenciada não pode
+ * (estado de sessão, setters, lazy loading).
+ */
+public record RegraComissao(
+    UUID id,
+    NivelPolitica nivel,
+    TipoComissao tipo,
+    String nome,
+    UUID vendedorId,
+    UUID modeloId,
+    String codigoCampanha,
+    Integer duracaoMinMinutos,
+    Integer duracaoMaxMinutos,
+    BigDecimal percentualComissao,
+    BigDecimal valorFixo,
+    BigDecimal percentualExtra,
+    Instant vigenciaInicio,
+    Instant vigenciaFim
+) {
+
+    public static RegraComissao de(PoliticaComissao p) {
+        return new RegraComissao(
+            p.getId(), p.getNivel(), p.getTipo(), p.getNome(),
+            p.getVendedorId(), p.getModeloId(), p.getCodigoCampanha(),
+            p.getDuracaoMinMinutos(), p.getDuracaoMaxMinutos(),
+            p.getPercentualComissao(), p.getValorFixo(), p.getPercentualExtra(),
+            p.getVigenciaInicio(), p.getVigenciaFim());
+    }
+
+    /** Mesmo critério de {@link PoliticaComissao#aplicaParaDuracao(int)}. */
+    public boolean aplicaParaDuracao(int duracaoMinutos) {
+        if (duracaoMinMinutos != null && duracaoMinutos < duracaoMinMinutos) {
+            return false;
+        }
+        return duracaoMaxMinutos == null || duracaoMinutos <= duracaoMaxMinutos;
+    }
+
+    /** Mesmo critério de {@code findCampanhaAtiva}: limites inclusivos, null = aberto. */
+    public boolean vigenteEm(Instant instante) {
+        return (vigenciaInicio == null || !vigenciaInicio.isAfter(instante))
+            && (vigenciaFim == null || !vigenciaFim.isBefore(instante));
+    }
+}
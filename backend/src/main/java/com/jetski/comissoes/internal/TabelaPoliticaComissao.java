@@ -0,0 +1,156 @@
+package com.jetski.comissoes.internal;
+
+import com.jetski.comissoes.domain.PoliticaComissao;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Políticas de comissão ATIVAS de um tenant compiladas em índices — a
+ * hierarquia RN04 resolvida em memória, sem consulta por locação.
+ *
+ * <ul>
+ *   <li>CAMPANHA: por código; a vigência é conferida na resolução (muda com o relógio)</li>
+ *   <li>MODELO / VENDEDOR: por id</li>
+ *   <li>DURACAO: lista de faixas por duracao_min DESC, NULL primeiro — a mesma
+ *       ordem do {@code ORDER BY duracao_min_minutos DESC} do Postgres</li>
+ * </ul>
+ *
+ * <p>Imutável: a mesma instância atende checkouts concorrentes — por isso
+ * guarda {@link RegraComissao} (cópias), nunca a entidade gerenciada.
+ * {@code versao} é o contador de {@code politica_versao} no momento da carga (V063).
+ */
+public final class TabelaPoliticaComissao {
+
+    private static final Comparator<RegraComissao> FAIXA_DESC = Comparator.comparing(
+        RegraComissao::duracaoMinMinutos, Comparator.nullsFirst(Comparator.reverseOrder()));
+
+    private final long versao;
+    private final List<RegraComissao> politicas;
+    private final Map<String, List<RegraComissao>> campanhas;
+    private final Map<UUID, List<RegraComissao>> porModelo;
+    private final List<RegraComissao> faixasDuracao;
+    private final Map<UUID, List<RegraComissao>> porVendedor;
+
+    private TabelaPoliticaComissao(long versao, List<RegraComissao> politicas) {
+        this.versao = versao;
+        this.politicas = politicas;
+        Map<String, List<RegraComissao>> campanhas = new HashMap<>();
+        Map<UUID, List<RegraComissao>> porModelo = new HashMap<>();
+        Map<UUID, List<RegraComissao>> porVendedor = new HashMap<>();
+        List<RegraComissao> faixas = new ArrayList<>();
+        for (RegraComissao p : politicas) {
+            switch (p.nivel()) {
+                case CAMPANHA -> {
+                    if (p.codigoCampanha() != null) {
+                        campanhas.computeIfAbsent(p.codigoCampanha(), k -> new ArrayList<>()).add(p);
+                    }
+                }
+                case MODELO -> {
+                    if (p.modeloId() != null) {
+                        porModelo.computeIfAbsent(p.modeloId(), k -> new ArrayList<>()).add(p);
+                    }
+                }
+                case DURACAO -> faixas.add(p);
+                case VENDEDOR -> {
+                    if (p.vendedorId() != null) {
+                        porVendedor.computeIfAbsent(p.vendedorId(), k -> new ArrayList<>()).add(p);
+                    }
+                }
+            }
+        }
+        faixas.sort(FAIXA_DESC);
+        this.campanhas = congelar(campanhas);
+        this.porModelo = congelar(porModelo);
+        this.faixasDuracao = List.copyOf(faixas);
+        this.porVendedor = congelar(porVendedor);
+    }
+
+    /**
+     * Compila a tabela. Políticas inativas são descartadas aqui, então o
+     * chamador pode passar a lista crua (inclusive com candidata de simulação).
+     */
+    public static TabelaPoliticaComissao compilar(long versao, Collection<PoliticaComissao> politicas) {
+        List<RegraComissao> ativas = politicas.stream()
+            .filter(p -> Boolean.TRUE.equals(p.getAtiva()) && p.getNivel() != null)
+            .map(RegraComissao::de)
+            .toList();
+        return new TabelaPoliticaComissao(versao, ativas);
+    }
+
+    /**
+     * Cópia com uma política hipotética no lugar de {@code substituiId} (ou
+     * somada às existentes, se null) — o "e se" da simulação em lote. Não toca
+     * a tabela compartilhada.
+     */
+    public TabelaPoliticaComissao comPolitica(PoliticaComissao candidata, UUID substituiId) {
+        List<RegraComissao> novas = new ArrayList<>(politicas.size() + 1);
+        for (RegraComissao p : politicas) {
+            if (substituiId == null || !substituiId.equals(p.id())) {
+                novas.add(p);
+            }
+        }
+        if (Boolean.TRUE.equals(candidata.getAtiva()) && candidata.getNivel() != null) {
+            novas.add(RegraComissao.de(candidata));
+        }
+        return new TabelaPoliticaComissao(versao, novas);
+    }
+
+    /**
+     * RN04: primeiro match ganha — CAMPANHA → MODELO → DURACAO → VENDEDOR,
+     * cada nível filtrado por {@link RegraComissao#aplicaParaDuracao(int)}.
+     *
+     * @return política aplicável ou null
+     */
+    public RegraComissao selecionar(UUID vendedorId, UUID modeloId, int duracaoMinutos,
+                                    String codigoCampanha, Instant agora) {
+        if (codigoCampanha != null && !codigoCampanha.isBlank()) {
+            for (RegraComissao p : campanhas.getOrDefault(codigoCampanha, List.of())) {
+                if (p.vigenteEm(agora) && p.aplicaParaDuracao(duracaoMinutos)) {
+                    return p;
+                }
+            }
+        }
+        RegraComissao modelo = primeira(modeloId == null ? null : porModelo.get(modeloId), duracaoMinutos);
+        if (modelo != null) {
+            return modelo;
+        }
+        RegraComissao duracao = primeira(faixasDuracao, duracaoMinutos);
+        if (duracao != null) {
+            return duracao;
+        }
+        return primeira(vendedorId == null ? null : porVendedor.get(vendedorId), duracaoMinutos);
+    }
+
+    public long versao() {
+        return versao;
+    }
+
+    /** Quantidade de políticas ativas compiladas. */
+    public int tamanho() {
+        return politicas.size();
+    }
+
+    private static RegraComissao primeira(List<RegraComissao> candidatas, int duracaoMinutos) {
+        if (candidatas == null) {
+            return null;
+        }
+        for (RegraComissao p : candidatas) {
+            if (p.aplicaParaDuracao(duracaoMinutos)) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    private static <K> Map<K, List<RegraComissao>> congelar(Map<K, List<RegraComissao>> mapa) {
+        mapa.replaceAll((k, v) -> List.copyOf(v));
+        return Map.copyOf(mapa);
+    }
+}
@@ -3,11 +3,13 @@ package com.jetski.comissoes.internal.repository;
 import com.jetski.comissoes.domain.Comissao;
 import com.jetski.comissoes.domain.StatusComissao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -134,4 +136,73 @@ public interface ComissaoRepository extends JpaRepository<Comissao, UUID> {
      * Busca comissões por vendedor e status ordenadas por data de criação
      */
     List<Comissao> findByTenantIdAndVendedorIdAndStatusOrderByCreatedAtDesc(UUID tenantId, UUID vendedorId, StatusComissao status);
+
+    /**
+     * Base da simulação em lote: locações FINALIZADAS com vendedor no período
+     * (por check-out, quando a comissão nasce), já com o modelo do jetski e a
+     * comissão hoje gravada para o mesmo vendedor. Uma consulta para o mês
+     * inteiro — a hierarquia RN04 roda em memória sobre estas linhas.
+     *
+     * <p>Colunas: locacao_id, vendedor_id, modelo_id, minutos_faturaveis,
+     * valor_total, combustivel_custo, valor_base, valor_comissao_atual,
+     * codigo_campanha, data_referencia.
+     *
+     * <p>A locação não guarda a campanha: ela vem da política CAMPANHA que
+     * gerou a comissão gravada. {@code data_referencia} é o instante em que o
+     * cálculo oficial conferiu a vigência ({@code comissao.data_locacao}), ou o
+     * check-out quando ainda não há comissão.
+     */
+    @Query(value = """
+        SELECT l.id, l.vendedor_id, j.modelo_id,
+               COALESCE(l.minutos_faturaveis, 0) AS minutos,
+               l.valor_total, l.combustivel_custo, l.valor_base,
+               c.valor_comissao, c.codigo_campanha,
+               COALESCE(c.data_locacao, l.data_check_out) AS data_referencia
+        FROM locacao l
+        JOIN jetski j ON j.id = l.jetski_id
+        LEFT JOIN LATERAL (
+            SELECT sum(cm.valor_comissao) AS valor_comissao,
+                   min(cm.data_locacao) AS data_locacao,
+                   max(pc.codigo_campanha) FILTER (WHERE pc.nivel = 'CAMPANHA') AS codigo_campanha
+              FROM comissao cm
+              LEFT JOIN politica_comissao pc ON pc.id = cm.politica_id
+             WHERE cm.tenant_id = l.tenant_id AND cm.locacao_id = l.id
+               AND cm.vendedor_id = l.vendedor_id
+        ) c ON TRUE
+        WHERE l.tenant_id = :tenantId
+          AND l.status = 'FINALIZADA'
+          AND l.vendedor_id IS NOT NULL
+          AND l.valor_total IS NOT NULL
+          AND l.data_check_out >= :inicio AND l.data_check_out < :fim
+        """, nativeQuery = true)
+    List<Object[]> findBaseSimulacao(@Param("tenantId") UUID tenantId,
+                                     @Param("inicio") Instant inicio,
+                                     @Param("fim") Instant fim);
+
+    /**
+     * Totais de comissões APROVADAS agrupados por vendedor — uma consulta para
+     * a tela de pendências de pagamento inteira.
+     *
+     * <p>Colunas: vendedor_id, soma valor_comissao, quantidade.
+     */
+    @Query("SELECT c.vendedorId, COALESCE(SUM(c.valorComissao), 0), COUNT(c) FROM Comissao c " +
+           "WHERE c.tenantId = :tenantId AND c.status = 'APROVADA' GROUP BY c.vendedorId")
+    List<Object[]> sumAprovadasGroupByVendedor(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Marca como PAGA, em um UPDATE, as comissões informadas que ainda estão
+     * APROVADAS para o vendedor. Retorna as linhas alteradas: menos que
+     * {@code ids.size()} ⇒ alguma já foi paga/alterada por outra transação.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Comissao c SET c.status = 'PAGA', c.pagoPor = :pagoPor, c.pagoEm = :pagoEm, " +
+           "c.referenciaPagamento = :referencia, c.updatedAt = :pagoEm " +
+           "WHERE c.tenantId = :tenantId AND c.vendedorId = :vendedorId " +
+           "AND c.status = 'APROVADA' AND c.id IN :ids")
+    int marcarPagas(@Param("tenantId") UUID tenantId,
+                    @Param("vendedorId") UUID vendedorId,
+                    @Param("ids") Collection<UUID> ids,
+                    @Param("pagoPor") UUID pagoPor,
+                    @Param("pagoEm") Instant pagoEm,
+                    @Param("referencia") String referencia);
 }
@@ -9,6 +9,7 @@ import com.jetski.creditos.domain.TipoLancamento;
 import com.jetski.creditos.domain.event.CreditoLancadoEvent;
 import com.jetski.shared.exception.BusinessException;
 import com.jetski.shared.exception.NotFoundException;
+import com.jetski.shared.plataforma.PlataformaConfigRegistry;
 import com.jetski.shared.storage.StorageService;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
@@ -45,6 +46,7 @@ public class CreditoService {
     private final EntityManager entityManager;
     private final ApplicationEventPublisher eventPublisher;
     private final StorageService storageService;
+    private final PlataformaConfigRegistry plataformaConfig;
 
     @Value("${jetski.creditos.adesao:5}")
     private int creditosAdesao;
@@ -247,18 +249,14 @@ public class CreditoService {
     /** Cobrança PIX pronta para pagamento (copia-e-cola = conteúdo do QR). */
     public record PixCobranca(String copiaECola, BigDecimal valor, int quantidade) {}
 
-    /** Preço do crédito (R$) — configurável pelo super admin em plataforma_config. */
-    @Transactional(readOnly = true)
+    /**
+     * Preço do crédito (R$) — configurável pelo super admin em plataforma_config.
+     * Lido da memória ({@link PlataformaConfigRegistry}): chamado na compra e
+     * na emissão sem ida ao banco.
+     */
     public BigDecimal precoUnitario() {
-        try {
-            Object valor = entityManager.createNativeQuery(
-                    "SELECT valor FROM plataforma_config WHERE chave = ?1")
-                .setParameter(1, CONFIG_PRECO)
-                .getSingleResult();
-            return new BigDecimal(valor.toString());
-        } catch (jakarta.persistence.NoResultException e) {
-            throw new BusinessException("Preço do crédito não configurado — contate o Meu Jet");
-        }
+        return plataformaConfig.get(CONFIG_PRECO, BigDecimal.class)
+            .orElseThrow(() -> new BusinessException("Preço do crédito não configurado — contate o Meu Jet"));
     }
 
     /** Atualiza o preço do crédito (super admin). */
@@ -268,16 +266,7 @@ public class CreditoService {
             throw new BusinessException("Preço do crédito deve ser maior que zero");
         }
         BigDecimal normalizado = preco.setScale(2, RoundingMode.HALF_UP);
-        entityManager.createNativeQuery("""
-                INSERT INTO plataforma_config (chave, valor, updated_at, updated_by)
-                VALUES (?1, ?2, now(), ?3)
-                ON CONFLICT (chave) DO UPDATE SET valor = EXCLUDED.valor,
-                    updated_at = now(), updated_by = EXCLUDED.updated_by
-                """)
-            .setParameter(1, CONFIG_PRECO)
-            .setParameter(2, normalizado.toPlainString())
-            .setParameter(3, actor)
-            .executeUpdate();
+        plataformaConfig.gravar(CONFIG_PRECO, normalizado.toPlainString(), actor);
         log.info("Preço do crédito atualizado para R$ {} por {}", normalizado, actor);
         return normalizado;
     }
@@ -4,7 +4,11 @@ import com.jetski.fechamento.api.dto.*;
 import com.jetski.fechamento.domain.FechamentoDiario;
 import com.jetski.fechamento.domain.FechamentoMensal;
 import com.jetski.fechamento.internal.report.FechamentoReportService;
+import com.jetski.shared.exception.NotFoundException;
 import com.jetski.shared.security.TenantContext;
+import com.jetski.tenant.TenantInfo;
+import com.jetski.tenant.TenantRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -54,6 +59,10 @@ public class FechamentoController {
 
     private final FechamentoService fechamentoService;
     private final FechamentoReportService reportService;
+    private final TenantRegistry tenantRegistry;
+
+    private static final String CONTENT_TYPE_XLSX =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
     // ====================
     // Fechamento Diário
@@ -401,80 +410,102 @@ public class FechamentoController {
 
     /**
      * Gerar relatório de fechamento diário
-     * Formato: pdf ou excel
+     * Formato: pdf ou excel (Excel escrito direto na resposta, sem byte[] intermediário)
      */
     @GetMapping("/dia/{id}/relatorio")
-    public ResponseEntity<byte[]> gerarRelatorioDiario(
+    public void gerarRelatorioDiario(
             @PathVariable UUID id,
-            @RequestParam(defaultValue = "pdf") String formato
-    ) {
+            @RequestParam(defaultValue = "pdf") String formato,
+            HttpServletResponse response
+    ) throws IOException {
         UUID tenantId = TenantContext.getTenantId();
         FechamentoDiario fechamento = fechamentoService.buscarFechamentoDiario(tenantId, id);
 
-        // TODO: Get tenant name from TenantService
-        String tenantName = "Jetski SaaS";
-
-        byte[] content;
-        String contentType;
-        String filename;
-        String dataFormatted = fechamento.getDtReferencia().toString();
+        String tenantName = nomeTenant(tenantId);
+        String filename = "fechamento_diario_" + fechamento.getDtReferencia();
 
         if ("excel".equalsIgnoreCase(formato)) {
-            content = reportService.generateDiarioExcel(fechamento, tenantName);
-            contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-            filename = "fechamento_diario_" + dataFormatted + ".xlsx";
+            cabecalhoDownload(response, CONTENT_TYPE_XLSX, filename + ".xlsx");
+            reportService.writeDiarioExcel(fechamento, tenantName, response.getOutputStream());
         } else {
-            content = reportService.generateDiarioPdf(fechamento, tenantName);
-            contentType = "application/pdf";
-            filename = "fechamento_diario_" + dataFormatted + ".pdf";
+            byte[] pdf = reportService.generateDiarioPdf(fechamento, tenantName);
+            cabecalhoDownload(response, MediaType.APPLICATION_PDF_VALUE, filename + ".pdf");
+            response.getOutputStream().write(pdf);
         }
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(content);
     }
 
     /**
      * Gerar relatório de fechamento mensal
-     * Formato: pdf ou excel
+     * Formato: pdf ou excel (Excel escrito direto na resposta, sem byte[] intermediário)
      */
     @GetMapping("/mes/{id}/relatorio")
-    public ResponseEntity<byte[]> gerarRelatorioMensal(
+    public void gerarRelatorioMensal(
             @PathVariable UUID id,
-            @RequestParam(defaultValue = "pdf") String formato
-    ) {
+            @RequestParam(defaultValue = "pdf") String formato,
+            HttpServletResponse response
+    ) throws IOException {
         UUID tenantId = TenantContext.getTenantId();
         FechamentoMensal fechamento = fechamentoService.buscarFechamentoMensal(tenantId, id);
 
-        // TODO: Get tenant name from TenantService
-        String tenantName = "Jetski SaaS";
-
-        byte[] content;
-        String contentType;
-        String filename;
-        String periodo = fechamento.getAno() + "_" + String.format("%02d", fechamento.getMes());
+        String tenantName = nomeTenant(tenantId);
+        String filename = "fechamento_mensal_" + fechamento.getAno() + "_" + String.format("%02d", fechamento.getMes());
 
         if ("excel".equalsIgnoreCase(formato)) {
-            content = reportService.generateMensalExcel(fechamento, tenantName);
-            contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-            filename = "fechamento_mensal_" + periodo + ".xlsx";
+            cabecalhoDownload(response, CONTENT_TYPE_XLSX, filename + ".xlsx");
+            reportService.writeMensalExcel(fechamento, tenantName, response.getOutputStream());
         } else {
-            content = reportService.generateMensalPdf(fechamento, tenantName);
-            contentType = "application/pdf";
-            filename = "fechamento_mensal_" + periodo + ".pdf";
+            byte[] pdf = reportService.generateMensalPdf(fechamento, tenantName);
+            cabecalhoDownload(response, MediaType.APPLICATION_PDF_VALUE, filename + ".pdf");
+            response.getOutputStream().write(pdf);
         }
+    }
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(content);
+    /**
+     * Relatório consolidado de um período (mês, temporada): resumo por dia
+     * e todas as locações com check-out no intervalo, em Excel.
+     *
+     * A planilha é montada em streaming (SXSSF: poucas linhas no heap, o
+     * resto em arquivo temporário) e escrita direto na resposta — o tamanho
+     * do período não limita a memória.
+     */
+    @GetMapping("/relatorio/periodo")
+    public void gerarRelatorioPeriodo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            HttpServletResponse response
+    ) throws IOException {
+        UUID tenantId = TenantContext.getTenantId();
+
+        String tenantName = nomeTenant(tenantId);
+
+        try (FechamentoReportService.PlanilhaPeriodo planilha =
+                     reportService.novaPlanilhaPeriodo(tenantName, dataInicio, dataFim)) {
+            fechamentoService.preencherRelatorioPeriodo(tenantId, dataInicio, dataFim, planilha);
+
+            cabecalhoDownload(response, CONTENT_TYPE_XLSX,
+                    "fechamento_periodo_" + dataInicio + "_" + dataFim + ".xlsx");
+            planilha.escrever(response.getOutputStream());
+        }
     }
 
     // ====================
     // Helper Methods
     // ====================
 
+    private static void cabecalhoDownload(HttpServletResponse response, String contentType, String filename) {
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+    }
+
+    /**
+     * Razão social do tenant para o cabeçalho dos relatórios (registro em memória).
+     */
+    private String nomeTenant(UUID tenantId) {
+        return tenantRegistry.porId(tenantId)
+                .map(TenantInfo::razaoSocial)
+                .orElseThrow(() -> new NotFoundException("Tenant não encontrado: " + tenantId));
+    }
+
     /**
      * Obtém ID do usuário autenticado
      */
@@ -9,6 +9,7 @@ import com.jetski.fechamento.domain.FechamentoDiario;
 import com.jetski.fechamento.domain.FechamentoMensal;
 import com.jetski.fechamento.internal.repository.FechamentoDiarioRepository;
 import com.jetski.fechamento.internal.repository.FechamentoMensalRepository;
+import com.jetski.fechamento.internal.report.FechamentoReportService;
 import com.jetski.locacoes.api.FolioQueryService;
 import com.jetski.locacoes.api.LocacaoQueryService;
 import com.jetski.locacoes.domain.Locacao;
@@ -27,6 +28,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -63,6 +65,9 @@ public class FechamentoService {
     private final PresencaVendedorQueryService presencaVendedorQueryService;
     private final TenantTimeService tenantTimeService;
 
+    /** Temporada inteira cabe; acima disso, exportar em mais de um arquivo. */
+    static final int MAX_DIAS_RELATORIO_PERIODO = 366;
+
     // ====================
     // Fechamento Diário
     // ====================
@@ -284,6 +289,36 @@ public class FechamentoService {
         return fechamentoDiarioRepository.findByTenantIdAndDtReferenciaBetweenOrderByDtReferenciaDesc(tenantId, dataInicio, dataFim);
     }
 
+    /**
+     * Preenche a planilha consolidada do período: um resumo por fechamento
+     * diário e todas as locações com check-out no intervalo (cursor do banco
+     * direto para a planilha em streaming — nada materializado em lista).
+     * Só leitura do banco; a escrita do arquivo para o cliente fica fora da
+     * transação ({@link FechamentoReportService.PlanilhaPeriodo#escrever}).
+     */
+    @Transactional(readOnly = true)
+    public void preencherRelatorioPeriodo(UUID tenantId, LocalDate dataInicio, LocalDate dataFim,
+                                          FechamentoReportService.PlanilhaPeriodo planilha) {
+        validarPeriodoRelatorio(dataInicio, dataFim);
+        planilha.resumo(fechamentoDiarioRepository
+                .findByTenantIdAndDtReferenciaBetweenOrderByDtReferenciaAsc(tenantId, dataInicio, dataFim));
+        long linhas = locacaoQueryService.forEachFinalizadaNoPeriodo(tenantId,
+                dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay(), planilha::locacao);
+        log.info("Relatório por período preenchido: tenant={}, {} a {}, {} locações",
+                tenantId, dataInicio, dataFim, linhas);
+    }
+
+    /** Período do relatório consolidado: início ≤ fim, no máximo {@value #MAX_DIAS_RELATORIO_PERIODO} dias. */
+    private static void validarPeriodoRelatorio(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataFim.isBefore(dataInicio)) {
+            throw new BusinessException("Data final anterior à data inicial");
+        }
+        // Intervalo inclusivo: [início, início + 365] já são 366 dias
+        if (ChronoUnit.DAYS.between(dataInicio, dataFim) >= MAX_DIAS_RELATORIO_PERIODO) {
+            throw new BusinessException("Período máximo do relatório: " + MAX_DIAS_RELATORIO_PERIODO + " dias");
+        }
+    }
+
     /**
      * Verifica se existe fechamento diário para uma data (bloqueado ou não)
      */
@@ -2,6 +2,7 @@ package com.jetski.fechamento.internal.report;
 
 import com.jetski.fechamento.domain.FechamentoDiario;
 import com.jetski.fechamento.domain.FechamentoMensal;
+import com.jetski.locacoes.api.dto.LocacaoRelatorioLinha;
 import com.jetski.shared.exception.BusinessException;
 
 // OpenPDF imports for PDF generation
@@ -18,14 +19,17 @@ import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 
 // Apache POI imports for Excel generation
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormat;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,10 +38,14 @@ import org.springframework.stereotype.Service;
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -56,6 +64,11 @@ public class FechamentoReportService {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
 
+    /** Rows per sheet kept on the heap by the streaming (SXSSF) workbooks. */
+    static final int JANELA_LINHAS = 100;
+    /** Last data row of a "Locações" sheet before rolling over (xlsx limit is 1,048,576 rows). */
+    static final int MAX_LINHAS_PLANILHA = 1_000_000;
+
     // PDF Fonts
     private static final Font TITLE_FONT = new Font(Font.HELVETICA, 18, Font.BOLD, Color.DARK_GRAY);
     private static final Font SUBTITLE_FONT = new Font(Font.HELVETICA, 12, Font.BOLD, Color.GRAY);
@@ -284,42 +297,42 @@ public class FechamentoReportService {
     // Excel Generation
     // ========================================
 
-    public byte[] generateDiarioExcel(FechamentoDiario fechamento, String tenantName) {
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Fechamento Diário");
+    /** Daily closure spreadsheet, written straight to {@code out} (not closed). */
+    public void writeDiarioExcel(FechamentoDiario fechamento, String tenantName, OutputStream out) {
+        SXSSFWorkbook workbook = novoWorkbook();
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Fechamento Diário");
+            sheet.trackAllColumnsForAutoSizing();
 
             // Styles
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle titleStyle = createTitleStyle(workbook);
             CellStyle currencyStyle = createCurrencyStyle(workbook);
-            CellStyle dateStyle = createDateStyle(workbook);
 
             int rowNum = 0;
 
             // Title
-            org.apache.poi.ss.usermodel.Row titleRow = sheet.createRow(rowNum++);
-            org.apache.poi.ss.usermodel.Cell titleCell = titleRow.createCell(0);
+            Row titleRow = sheet.createRow(rowNum++);
+            Cell titleCell = titleRow.createCell(0);
             titleCell.setCellValue("Fechamento Diário - " + tenantName);
             titleCell.setCellStyle(titleStyle);
             sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 3));
 
             // Date
-            org.apache.poi.ss.usermodel.Row dateRow = sheet.createRow(rowNum++);
+            Row dateRow = sheet.createRow(rowNum++);
             dateRow.createCell(0).setCellValue("Data:");
             dateRow.createCell(1).setCellValue(fechamento.getDtReferencia().format(DATE_FORMAT));
 
             // Status
-            org.apache.poi.ss.usermodel.Row statusRow = sheet.createRow(rowNum++);
+            Row statusRow = sheet.createRow(rowNum++);
             statusRow.createCell(0).setCellValue("Status:");
             statusRow.createCell(1).setCellValue(fechamento.getStatus().toUpperCase());
 
             rowNum++; // Empty row
 
             // Summary Header
-            org.apache.poi.ss.usermodel.Row summaryHeader = sheet.createRow(rowNum++);
-            org.apache.poi.ss.usermodel.Cell summaryCell = summaryHeader.createCell(0);
+            Row summaryHeader = sheet.createRow(rowNum++);
+            Cell summaryCell = summaryHeader.createCell(0);
             summaryCell.setCellValue("Resumo Financeiro");
             summaryCell.setCellStyle(headerStyle);
             sheet.addMergedRegion(new CellRangeAddress(rowNum - 1, rowNum - 1, 0, 1));
@@ -333,8 +346,8 @@ public class FechamentoReportService {
             rowNum++; // Empty row
 
             // Payment Methods Header
-            org.apache.poi.ss.usermodel.Row paymentHeader = sheet.createRow(rowNum++);
-            org.apache.poi.ss.usermodel.Cell paymentCell = paymentHeader.createCell(0);
+            Row paymentHeader = sheet.createRow(rowNum++);
+            Cell paymentCell = paymentHeader.createCell(0);
             paymentCell.setCellValue("Por Forma de Pagamento");
             paymentCell.setCellStyle(headerStyle);
             sheet.addMergedRegion(new CellRangeAddress(rowNum - 1, rowNum - 1, 0, 1));
@@ -348,20 +361,22 @@ public class FechamentoReportService {
                 sheet.autoSizeColumn(i);
             }
 
-            workbook.write(baos);
-            return baos.toByteArray();
+            workbook.write(out);
 
         } catch (IOException e) {
             log.error("Error generating Excel for fechamento diario: {}", fechamento.getId(), e);
             throw new BusinessException("Erro ao gerar Excel: " + e.getMessage());
+        } finally {
+            workbook.dispose();
         }
     }
 
-    public byte[] generateMensalExcel(FechamentoMensal fechamento, String tenantName) {
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-            Sheet sheet = workbook.createSheet("Fechamento Mensal");
+    /** Monthly closure spreadsheet, written straight to {@code out} (not closed). */
+    public void writeMensalExcel(FechamentoMensal fechamento, String tenantName, OutputStream out) {
+        SXSSFWorkbook workbook = novoWorkbook();
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Fechamento Mensal");
+            sheet.trackAllColumnsForAutoSizing();
 
             // Styles
             CellStyle headerStyle = createHeaderStyle(workbook);
@@ -372,27 +387,27 @@ public class FechamentoReportService {
             int rowNum = 0;
 
             // Title
-            org.apache.poi.ss.usermodel.Row titleRow = sheet.createRow(rowNum++);
-            org.apache.poi.ss.usermodel.Cell titleCell = titleRow.createCell(0);
+            Row titleRow = sheet.createRow(rowNum++);
+            Cell titleCell = titleRow.createCell(0);
             titleCell.setCellValue("Fechamento Mensal - " + tenantName);
             titleCell.setCellStyle(titleStyle);
             sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 3));
 
             // Period
-            org.apache.poi.ss.usermodel.Row periodRow = sheet.createRow(rowNum++);
+            Row periodRow = sheet.createRow(rowNum++);
             periodRow.createCell(0).setCellValue("Período:");
             periodRow.createCell(1).setCellValue(getMonthName(fechamento.getMes()) + " / " + fechamento.getAno());
 
             // Status
-            org.apache.poi.ss.usermodel.Row statusRow = sheet.createRow(rowNum++);
+            Row statusRow = sheet.createRow(rowNum++);
             statusRow.createCell(0).setCellValue("Status:");
             statusRow.createCell(1).setCellValue(fechamento.getStatus().toUpperCase());
 
             rowNum++; // Empty row
 
             // Summary Header
-            org.apache.poi.ss.usermodel.Row summaryHeader = sheet.createRow(rowNum++);
-            org.apache.poi.ss.usermodel.Cell summaryCell = summaryHeader.createCell(0);
+            Row summaryHeader = sheet.createRow(rowNum++);
+            Cell summaryCell = summaryHeader.createCell(0);
             summaryCell.setCellValue("Resumo do Mês");
             summaryCell.setCellStyle(headerStyle);
             sheet.addMergedRegion(new CellRangeAddress(rowNum - 1, rowNum - 1, 0, 1));
@@ -407,12 +422,12 @@ public class FechamentoReportService {
             rowNum++; // Empty row
 
             // Resultado Líquido
-            org.apache.poi.ss.usermodel.Row resultRow = sheet.createRow(rowNum++);
-            org.apache.poi.ss.usermodel.Cell resultLabel = resultRow.createCell(0);
+            Row resultRow = sheet.createRow(rowNum++);
+            Cell resultLabel = resultRow.createCell(0);
             resultLabel.setCellValue("RESULTADO LÍQUIDO");
             resultLabel.setCellStyle(resultStyle);
 
-            org.apache.poi.ss.usermodel.Cell resultValue = resultRow.createCell(1);
+            Cell resultValue = resultRow.createCell(1);
             resultValue.setCellValue(fechamento.getResultadoLiquido().doubleValue());
             resultValue.setCellStyle(resultStyle);
 
@@ -421,19 +436,218 @@ public class FechamentoReportService {
                 sheet.autoSizeColumn(i);
             }
 
-            workbook.write(baos);
-            return baos.toByteArray();
+            workbook.write(out);
 
         } catch (IOException e) {
             log.error("Error generating Excel for fechamento mensal: {}", fechamento.getId(), e);
             throw new BusinessException("Erro ao gerar Excel: " + e.getMessage());
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Starts a consolidated workbook for a multi-day range (month, season):
+     * a "Resumo" sheet with one row per daily closing and a "Locações" sheet
+     * with one row per rental. Rows are streamed — only the last
+     * {@value #JANELA_LINHAS} of each sheet stay on the heap, older ones go
+     * to a temp file — so the size of the range does not bound memory.
+     *
+     * <p>Fill it ({@link PlanilhaPeriodo#resumo}, {@link PlanilhaPeriodo#locacao}),
+     * then {@link PlanilhaPeriodo#escrever} it; always close it (deletes the
+     * temp files).
+     */
+    public PlanilhaPeriodo novaPlanilhaPeriodo(String tenantName, LocalDate inicio, LocalDate fim) {
+        return new PlanilhaPeriodo(novoWorkbook(), tenantName, inicio, fim);
+    }
+
+    /** Consolidated period workbook being filled; see {@link #novaPlanilhaPeriodo}. */
+    public final class PlanilhaPeriodo implements AutoCloseable {
+
+        private static final String[] COLUNAS_LOCACOES = {
+            "Check-in", "Check-out", "Jetski", "Modelo", "Cliente",
+            "Min. usados", "Min. faturáveis", "Valor total", "Combustível", "Status"
+        };
+        private static final String[] COLUNAS_RESUMO = {
+            "Data", "Status", "Locações", "Faturado", "Combustível", "Comissões", "Dinheiro", "Cartão", "PIX"
+        };
+
+        private final SXSSFWorkbook workbook;
+        private final SXSSFSheet resumo;
+        private final CellStyle headerStyle;
+        private final CellStyle currencyStyle;
+        private final CellStyle dateTimeStyle;
+        private final CellStyle dateStyle;
+
+        private SXSSFSheet locacoes;
+        private int planilhasLocacoes;
+        private int linhaResumo;
+        private int linhaLocacao;
+        private long totalLocacoes;
+        private BigDecimal totalValor = BigDecimal.ZERO;
+        private BigDecimal totalCombustivel = BigDecimal.ZERO;
+
+        private PlanilhaPeriodo(SXSSFWorkbook workbook, String tenantName, LocalDate inicio, LocalDate fim) {
+            this.workbook = workbook;
+            this.headerStyle = createHeaderStyle(workbook);
+            this.currencyStyle = createCurrencyStyle(workbook);
+            this.dateStyle = createDateStyle(workbook);
+            this.dateTimeStyle = workbook.createCellStyle();
+            this.dateTimeStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/MM/yyyy HH:mm"));
+
+            resumo = workbook.createSheet("Resumo");
+            Cell titulo = resumo.createRow(linhaResumo++).createCell(0);
+            titulo.setCellValue("Fechamento por Período - " + tenantName);
+            titulo.setCellStyle(createTitleStyle(workbook));
+            resumo.addMergedRegion(new CellRangeAddress(0, 0, 0, 3));
+            Row periodo = resumo.createRow(linhaResumo++);
+            periodo.createCell(0).setCellValue("Período:");
+            periodo.createCell(1).setCellValue(inicio.format(DATE_FORMAT) + " a " + fim.format(DATE_FORMAT));
+            linhaResumo++; // Empty row
+            cabecalho(resumo, linhaResumo++, COLUNAS_RESUMO);
+            larguras(resumo, COLUNAS_RESUMO.length, 14);
+
+            novaPlanilhaLocacoes();
+        }
+
+        /** Appends the daily closings of the range to "Resumo" (call before {@link #escrever}). */
+        public void resumo(List<FechamentoDiario> dias) {
+            for (FechamentoDiario d : dias) {
+                Row row = resumo.createRow(linhaResumo++);
+                Cell data = row.createCell(0);
+                data.setCellValue(d.getDtReferencia());
+                data.setCellStyle(dateStyle);
+                row.createCell(1).setCellValue(d.getStatus().toUpperCase());
+                row.createCell(2).setCellValue(d.getTotalLocacoes());
+                moeda(row, 3, d.getTotalFaturado());
+                moeda(row, 4, d.getTotalCombustivel());
+                moeda(row, 5, d.getTotalComissoes());
+                moeda(row, 6, d.getTotalDinheiro());
+                moeda(row, 7, d.getTotalCartao());
+                moeda(row, 8, d.getTotalPix());
+            }
+        }
+
+        /** Appends one rental to "Locações" (rolls over to a new sheet at the xlsx row limit). */
+        public void locacao(LocacaoRelatorioLinha l) {
+            if (linhaLocacao > MAX_LINHAS_PLANILHA) {
+                novaPlanilhaLocacoes();
+            }
+            Row row = locacoes.createRow(linhaLocacao++);
+            dataHora(row, 0, l.dataCheckIn());
+            dataHora(row, 1, l.dataCheckOut());
+            texto(row, 2, l.jetskiSerie());
+            texto(row, 3, l.modeloNome());
+            texto(row, 4, l.clienteNome());
+            if (l.minutosUsados() != null) {
+                row.createCell(5).setCellValue(l.minutosUsados());
+            }
+            if (l.minutosFaturaveis() != null) {
+                row.createCell(6).setCellValue(l.minutosFaturaveis());
+            }
+            moeda(row, 7, l.valorTotal());
+            moeda(row, 8, l.combustivelCusto());
+            texto(row, 9, l.status() != null ? l.status().name() : null);
+
+            totalLocacoes++;
+            if (l.valorTotal() != null) {
+                totalValor = totalValor.add(l.valorTotal());
+            }
+            if (l.combustivelCusto() != null) {
+                totalCombustivel = totalCombustivel.add(l.combustivelCusto());
+            }
         }
+
+        public long totalLocacoes() {
+            return totalLocacoes;
+        }
+
+        /** Adds the rental totals to "Resumo" and writes the workbook to {@code out} (not closed). */
+        public void escrever(OutputStream out) {
+            linhaResumo++; // Empty row
+            Row total = resumo.createRow(linhaResumo++);
+            Cell rotulo = total.createCell(0);
+            rotulo.setCellValue("Locações no período");
+            rotulo.setCellStyle(headerStyle);
+            total.createCell(2).setCellValue(totalLocacoes);
+            moeda(total, 3, totalValor);
+            moeda(total, 4, totalCombustivel);
+            try {
+                workbook.write(out);
+            } catch (IOException e) {
+                log.error("Error writing period Excel ({} rentals)", totalLocacoes, e);
+                throw new BusinessException("Erro ao gerar Excel: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            workbook.dispose();
+        }
+
+        private void novaPlanilhaLocacoes() {
+            planilhasLocacoes++;
+            locacoes = workbook.createSheet(planilhasLocacoes == 1 ? "Locações" : "Locações (" + planilhasLocacoes + ")");
+            linhaLocacao = 0;
+            cabecalho(locacoes, linhaLocacao++, COLUNAS_LOCACOES);
+            locacoes.createFreezePane(0, 1);
+            larguras(locacoes, COLUNAS_LOCACOES.length, 16);
+        }
+
+        private void cabecalho(SXSSFSheet sheet, int rowNum, String[] colunas) {
+            Row row = sheet.createRow(rowNum);
+            for (int i = 0; i < colunas.length; i++) {
+                Cell c = row.createCell(i);
+                c.setCellValue(colunas[i]);
+                c.setCellStyle(headerStyle);
+            }
+        }
+
+        // Fixed widths: autoSizeColumn would only see the rows still in the window
+        private static void larguras(SXSSFSheet sheet, int colunas, int caracteres) {
+            for (int i = 0; i < colunas; i++) {
+                sheet.setColumnWidth(i, caracteres * 256);
+            }
+        }
+
+        private void moeda(Row row, int col, BigDecimal valor) {
+            if (valor != null) {
+                Cell c = row.createCell(col);
+                c.setCellValue(valor.doubleValue());
+                c.setCellStyle(currencyStyle);
+            }
+        }
+
+        private void dataHora(Row row, int col, LocalDateTime valor) {
+            if (valor != null) {
+                Cell c = row.createCell(col);
+                c.setCellValue(valor);
+                c.setCellStyle(dateTimeStyle);
+            }
+        }
+
+        private static void texto(Row row, int col, String valor) {
+            if (valor != null) {
+                row.createCell(col).setCellValue(valor);
+            }
+        }
+    }
+
+    /**
+     * Streaming workbook: keeps {@value #JANELA_LINHAS} rows per sheet in
+     * memory and flushes older ones to a compressed temp file. Callers must
+     * {@code dispose()} it to delete the temp files.
+     */
+    private static SXSSFWorkbook novoWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(JANELA_LINHAS);
+        workbook.setCompressTempFiles(true);
+        return workbook;
     }
 
     private void addExcelRow(Sheet sheet, int rowNum, String label, Object value, CellStyle style) {
-        org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum);
+        Row row = sheet.createRow(rowNum);
         row.createCell(0).setCellValue(label);
-        org.apache.poi.ss.usermodel.Cell valueCell = row.createCell(1);
+        Cell valueCell = row.createCell(1);
         if (value instanceof Number) {
             valueCell.setCellValue(((Number) value).doubleValue());
         } else {
@@ -445,9 +659,9 @@ public class FechamentoReportService {
     }
 
     private void addExcelCurrencyRow(Sheet sheet, int rowNum, String label, BigDecimal value, CellStyle style) {
-        org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum);
+        Row row = sheet.createRow(rowNum);
         row.createCell(0).setCellValue(label);
-        org.apache.poi.ss.usermodel.Cell valueCell = row.createCell(1);
+        Cell valueCell = row.createCell(1);
         valueCell.setCellValue(value.doubleValue());
         if (style != null) {
             valueCell.setCellStyle(style);
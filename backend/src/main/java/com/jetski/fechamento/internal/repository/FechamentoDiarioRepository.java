@@ -34,6 +34,15 @@ public interface FechamentoDiarioRepository extends JpaRepository<FechamentoDiar
             LocalDate dataFim
     );
 
+    /**
+     * Busca fechamentos diários por tenant e intervalo de datas, em ordem cronológica
+     */
+    List<FechamentoDiario> findByTenantIdAndDtReferenciaBetweenOrderByDtReferenciaAsc(
+            UUID tenantId,
+            LocalDate dataInicio,
+            LocalDate dataFim
+    );
+
     /**
      * Busca fechamentos diários bloqueados
      */
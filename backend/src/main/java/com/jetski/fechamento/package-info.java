@@ -27,6 +27,7 @@
  *   <li>{@code usuarios::api} - Resolução de usuário por email</li>
  *   <li>{@code locacoes} - Acesso a locações finalizadas</li>
  *   <li>{@code comissoes} - Acesso a comissões calculadas</li>
+ *   <li>{@code tenant} - Nome do tenant nos relatórios ({@code TenantRegistry})</li>
  *   <li>{@code shared::security} - Contexto de tenant</li>
  *   <li>{@code shared::exception} - Exceções de negócio</li>
  * </ul>
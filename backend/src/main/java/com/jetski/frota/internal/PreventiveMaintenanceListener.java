@@ -0,0 +1,43 @@
+package com.jetski.frota.internal;
+
+import com.jetski.locacoes.event.CheckOutEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Preventive Maintenance on check-out (RN07)
+ *
+ * The check-out is the only moment the hourmeter of a jetski grows, so the
+ * threshold is checked right there instead of waiting for the daily job.
+ *
+ * Runs AFTER the check-out commits (the new hourmeter is visible and a rolled
+ * back rental never opens an OS), on the request thread — the tenant context is
+ * still set for RLS. Best-effort: a failure is logged and left to the daily
+ * reconciliation; it never reaches the rental.
+ *
+ * @author Jetski Team
+ * @since 0.9.0
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PreventiveMaintenanceListener {
+
+    private final PreventiveMaintenanceService preventiveMaintenanceService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCheckOut(CheckOutEvent event) {
+        try {
+            if (preventiveMaintenanceService.verificarJetski(event.jetskiId())) {
+                log.info("Preventive maintenance OS opened on check-out: jetski={}, locacao={}",
+                        event.jetskiId(), event.locacaoId());
+            }
+        } catch (Exception e) {
+            log.warn("Preventive maintenance check failed on check-out (daily reconciliation will retry): "
+                    + "jetski={}, {}", event.jetskiId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.jetski.frota.internal;
+
+import com.jetski.manutencao.api.ManutencaoPublicService;
+import com.jetski.manutencao.domain.OSManutencao;
+import com.jetski.manutencao.domain.OSManutencaoPrioridade;
+import com.jetski.manutencao.domain.OSManutencaoTipo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Preventive Maintenance detection (RN07)
+ *
+ * Decides whether a jetski crossed its preventive maintenance threshold and opens
+ * the PREVENTIVA OS. Hours since the last preventive come from a single jetski row:
+ * {@code horimetro_atual - horimetro_ultima_preventiva} (the latter kept by a trigger
+ * on os_manutencao, V068) — no DISTINCT ON over the whole OS history.
+ *
+ * Entry points:
+ * - {@link #verificarJetski(UUID)}: on every check-out (PreventiveMaintenanceListener),
+ *   so the OS opens as soon as the threshold is crossed
+ * - {@link #reconciliar()}: daily safety net (PreventiveMaintenanceScheduler) for
+ *   hourmeter changes outside check-out and missed events
+ *
+ * Interval: modelo.intervalo_preventiva_horas, falling back to
+ * {@code jetski.manutencao.preventiva.intervalo-horas}.
+ *
+ * @author Jetski Team
+ * @since 0.9.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PreventiveMaintenanceService {
+
+    /**
+     * One row per jetski not in maintenance and without an open PREVENTIVA OS.
+     * NULL horimetro_ultima_preventiva (not backfilled yet) falls back to the
+     * latest completed preventive of that jetski (index tenant_id, jetski_id).
+     */
+    private static final String SQL_BASE = """
+            SELECT *
+            FROM (
+                SELECT
+                    j.id as jetski_id,
+                    j.tenant_id,
+                    j.serie,
+                    COALESCE(j.horimetro_atual, 0) as horimetro_atual,
+                    COALESCE(j.horimetro_ultima_preventiva, (
+                        SELECT om.horimetro_conclusao
+                        FROM os_manutencao om
+                        WHERE om.tenant_id = j.tenant_id
+                          AND om.jetski_id = j.id
+                          AND om.status = 'concluida'
+                          AND om.tipo = 'preventiva'
+                          AND om.horimetro_conclusao IS NOT NULL
+                        ORDER BY om.dt_conclusao DESC
+                        LIMIT 1
+                    ), 0) as ultimo_horimetro_manutencao,
+                    COALESCE(m.intervalo_preventiva_horas, ?) as intervalo,
+                    m.nome as modelo_nome
+                FROM jetski j
+                JOIN modelo m ON j.modelo_id = m.id
+                WHERE upper(j.status) != 'MANUTENCAO'
+                  %s
+                  AND NOT EXISTS (
+                      SELECT 1 FROM os_manutencao om2
+                      WHERE om2.tenant_id = j.tenant_id
+                        AND om2.jetski_id = j.id
+                        AND om2.tipo = 'preventiva'
+                        AND om2.status IN ('aberta', 'em_andamento', 'aguardando_pecas')
+                  )
+            ) f
+            WHERE f.horimetro_atual - f.ultimo_horimetro_manutencao >= f.intervalo - ?
+            ORDER BY f.horimetro_atual - f.ultimo_horimetro_manutencao DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ManutencaoPublicService manutencaoPublicService;
+
+    /** Default preventive maintenance interval in hours (models without their own). */
+    @Value("${jetski.manutencao.preventiva.intervalo-horas:50}")
+    private double intervaloPadrao;
+
+    /**
+     * Early warning threshold - create OS when within this many hours of maintenance.
+     * This allows managers to plan ahead before the jetski is urgently needed.
+     */
+    @Value("${jetski.manutencao.preventiva.aviso-antecipado-horas:5}")
+    private double avisoAntecipado;
+
+    /**
+     * Check a single jetski right after its check-out (one indexed row read).
+     *
+     * Runs in its own transaction: it is called after the check-out committed,
+     * and a failure here must never affect the rental.
+     *
+     * @return true if a PREVENTIVA OS was opened
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean verificarJetski(UUID jetskiId) {
+        List<JetskiMaintenanceInfo> devidos = jdbcTemplate.query(
+                SQL_BASE.formatted("AND j.id = ?"), ROW_MAPPER,
+                intervaloPadrao, jetskiId, avisoAntecipado);
+        if (devidos.isEmpty()) {
+            return false;
+        }
+        createPreventiveMaintenanceOrder(devidos.get(0));
+        return true;
+    }
+
+    /**
+     * Reconciliation over every visible jetski: catches hourmeter changes made
+     * outside check-out. Each OS is created in its own transaction
+     * (ManutencaoPublicService) — a failing jetski does not stop the others.
+     *
+     * @return number of orders created
+     */
+    public int reconciliar() {
+        List<JetskiMaintenanceInfo> devidos = jdbcTemplate.query(
+                SQL_BASE.formatted(""), ROW_MAPPER, intervaloPadrao, avisoAntecipado);
+
+        if (devidos.isEmpty()) {
+            log.info("No jetskis require preventive maintenance at this time");
+            return 0;
+        }
+
+        log.info("Reconciliation found {} jetskis requiring preventive maintenance", devidos.size());
+
+        int ordersCreated = 0;
+        for (JetskiMaintenanceInfo info : devidos) {
+            try {
+                createPreventiveMaintenanceOrder(info);
+                ordersCreated++;
+            } catch (Exception e) {
+                log.error("Failed to create preventive maintenance OS for jetski {}: {}",
+                        info.jetskiId, e.getMessage(), e);
+                // Continue processing other jetskis even if one fails
+            }
+        }
+        return ordersCreated;
+    }
+
+    private static final RowMapper<JetskiMaintenanceInfo> ROW_MAPPER = (rs, rowNum) -> {
+        BigDecimal horimetroAtual = rs.getBigDecimal("horimetro_atual");
+        BigDecimal ultimoHorimetroManutencao = rs.getBigDecimal("ultimo_horimetro_manutencao");
+        return new JetskiMaintenanceInfo(
+                UUID.fromString(rs.getString("jetski_id")),
+                UUID.fromString(rs.getString("tenant_id")),
+                rs.getString("serie"),
+                rs.getString("modelo_nome"),
+                horimetroAtual,
+                ultimoHorimetroManutencao,
+                horimetroAtual.subtract(ultimoHorimetroManutencao).doubleValue(),
+                rs.getDouble("intervalo")
+        );
+    };
+
+    /**
+     * Create preventive maintenance order for a jetski
+     *
+     * @param info Jetski maintenance information
+     */
+    private void createPreventiveMaintenanceOrder(JetskiMaintenanceInfo info) {
+        log.info("Creating preventive maintenance OS for jetski {} (serie: {}, {} hours since last maintenance)",
+                info.jetskiId, info.serie, String.format("%.1f", info.horasDesdeManutencao));
+
+        OSManutencaoPrioridade prioridade = prioridade(info.horasDesdeManutencao, info.intervalo);
+
+        String descricao = String.format(
+                "Manutenção preventiva automática - %s\n\n" +
+                "Horímetro atual: %.1fh\n" +
+                "Última manutenção: %.1fh\n" +
+                "Horas desde última manutenção: %.1fh\n" +
+                "Intervalo recomendado: %.0fh\n\n" +
+                "Serviços recomendados:\n" +
+                "- Troca de óleo\n" +
+                "- Verificação de velas\n" +
+                "- Inspeção do casco\n" +
+                "- Verificação do sistema de refrigeração\n" +
+                "- Limpeza do filtro de combustível",
+                info.modeloNome,
+                info.horimetroAtual.doubleValue(),
+                info.ultimoHorimetroManutencao.doubleValue(),
+                info.horasDesdeManutencao,
+                info.intervalo
+        );
+
+        OSManutencao os = OSManutencao.builder()
+                .tenantId(info.tenantId)
+                .jetskiId(info.jetskiId)
+                .tipo(OSManutencaoTipo.PREVENTIVA)
+                .prioridade(prioridade)
+                .descricaoProblema(descricao)
+                .horimetroAbertura(info.horimetroAtual)
+                .dtAbertura(Instant.now())
+                .observacoes("OS criada automaticamente pelo sistema de manutenção preventiva")
+                .build();
+
+        // Create the maintenance order
+        // Note: This will automatically set jetski status to MANUTENCAO (RN06)
+        OSManutencao created = manutencaoPublicService.createOrder(os);
+
+        log.info("Preventive maintenance OS created: id={}, jetski={}, prioridade={}",
+                created.getId(), created.getJetskiId(), created.getPrioridade());
+    }
+
+    /**
+     * Priority based on how overdue the maintenance is.
+     */
+    static OSManutencaoPrioridade prioridade(double horasDesdeManutencao, double intervalo) {
+        if (horasDesdeManutencao >= intervalo + 10.0) {
+            return OSManutencaoPrioridade.ALTA; // 10+ hours overdue
+        }
+        if (horasDesdeManutencao >= intervalo) {
+            return OSManutencaoPrioridade.MEDIA; // At or past threshold
+        }
+        return OSManutencaoPrioridade.BAIXA; // Within early warning period
+    }
+
+    /**
+     * DTO for jetski maintenance information
+     */
+    private record JetskiMaintenanceInfo(
+            UUID jetskiId,
+            UUID tenantId,
+            String serie,
+            String modeloNome,
+            BigDecimal horimetroAtual,
+            BigDecimal ultimoHorimetroManutencao,
+            double horasDesdeManutencao,
+            double intervalo
+    ) {}
+}
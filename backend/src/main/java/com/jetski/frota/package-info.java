@@ -27,6 +27,7 @@
  * <ul>
  *   <li><strong>shared::security</strong> - Contexto de tenant e segurança</li>
  *   <li><strong>shared::exception</strong> - Exceções de negócio padronizadas</li>
+ *   <li><strong>shared::scheduling</strong> - Lease de jobs agendados em cluster</li>
  *   <li><strong>locacoes::domain</strong> - Entidades Jetski, JetskiStatus</li>
  *   <li><strong>manutencao::api</strong> - Serviço público para criar ordens de manutenção</li>
  *   <li><strong>manutencao::domain</strong> - Entidades OSManutencao, enums (read-only)</li>
@@ -50,6 +51,7 @@
     allowedDependencies = {
         "shared::security",
         "shared::exception",
+        "shared::scheduling",
         "locacoes::domain",
         "locacoes::events",
         "manutencao::api",
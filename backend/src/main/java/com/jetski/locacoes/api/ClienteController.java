@@ -1,22 +1,30 @@
 package com.jetski.locacoes.api;
 
+import com.jetski.locacoes.api.dto.AnexoResumo;
+import com.jetski.locacoes.api.dto.AnexoUploadInicioRequest;
+import com.jetski.locacoes.api.dto.AnexoUploadSessao;
 import com.jetski.locacoes.api.dto.ClienteCreateRequest;
 import com.jetski.locacoes.api.dto.ClienteResponse;
 import com.jetski.locacoes.api.dto.ClienteUpdateRequest;
 import com.jetski.locacoes.domain.Cliente;
+import com.jetski.locacoes.domain.ClienteAnexo;
+import com.jetski.locacoes.internal.AnexoUploadService;
 import com.jetski.locacoes.internal.ClienteService;
 import com.jetski.shared.security.TenantContext;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -41,10 +49,13 @@ public class ClienteController {
     private final ClienteService clienteService;
     private final com.jetski.locacoes.internal.gru.GruClient gruClient;
     private final com.jetski.locacoes.internal.ClienteAnexoService anexoService;
+    private final AnexoUploadService anexoUploadService;
 
+    /** Compatibilidade: clientes novos usam o upload em partes (POST .../uploads). */
     @PutMapping("/{id}/anexos/{tipo}")
     @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
-    @Operation(summary = "Enviar anexo do cliente (identidade, comprovante, selfie)")
+    @Operation(summary = "Enviar anexo do cliente em base64 (compatibilidade — prefira o upload em partes)",
+        deprecated = true)
     public ResponseEntity<com.jetski.locacoes.api.dto.AnexoResumo> uploadAnexo(
         @PathVariable UUID tenantId,
         @PathVariable UUID id,
@@ -60,6 +71,82 @@ public class ClienteController {
             a.getTipo().name(), a.getContentType(), a.getUpdatedAt()));
     }
 
+    @PostMapping("/{id}/anexos/{tipo}/uploads")
+    @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
+    @Operation(summary = "Iniciar upload em partes (resumível) de anexo do cliente")
+    public ResponseEntity<AnexoUploadSessao> iniciarUploadAnexo(
+        @PathVariable UUID tenantId,
+        @PathVariable UUID id,
+        @PathVariable String tipo,
+        @Valid @RequestBody AnexoUploadInicioRequest req
+    ) {
+        validateTenantContext(tenantId);
+        var sessao = anexoUploadService.iniciar(id, ClienteAnexo.Tipo.valueOf(tipo.toUpperCase()),
+            req.contentType(), req.tamanho(), "BALCAO", null);
+        return ResponseEntity.status(HttpStatus.CREATED).body(sessao);
+    }
+
+    @GetMapping("/{id}/anexos/{tipo}/uploads/{uploadId}")
+    @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
+    @Operation(summary = "Estado do upload em partes (bytes já recebidos, para retomar)")
+    public ResponseEntity<AnexoUploadSessao> statusUploadAnexo(
+        @PathVariable UUID tenantId,
+        @PathVariable UUID id,
+        @PathVariable String tipo,
+        @PathVariable String uploadId
+    ) {
+        validateTenantContext(tenantId);
+        return ResponseEntity.ok(anexoUploadService.status(
+            uploadId, id, ClienteAnexo.Tipo.valueOf(tipo.toUpperCase())));
+    }
+
+    @PutMapping(value = "/{id}/anexos/{tipo}/uploads/{uploadId}",
+        consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
+    @Operation(summary = "Enviar uma parte do anexo (corpo binário) a partir de offset")
+    public ResponseEntity<AnexoUploadSessao> enviarParteAnexo(
+        @PathVariable UUID tenantId,
+        @PathVariable UUID id,
+        @PathVariable String tipo,
+        @PathVariable String uploadId,
+        @RequestParam long offset,
+        HttpServletRequest request
+    ) throws IOException {
+        validateTenantContext(tenantId);
+        // Corpo lido direto do socket para o storage — nada de @RequestBody byte[]
+        return ResponseEntity.ok(anexoUploadService.enviarParte(
+            uploadId, id, ClienteAnexo.Tipo.valueOf(tipo.toUpperCase()),
+            offset, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    @PostMapping("/{id}/anexos/{tipo}/uploads/{uploadId}/concluir")
+    @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
+    @Operation(summary = "Concluir o upload em partes e gravar o anexo do cliente")
+    public ResponseEntity<AnexoResumo> concluirUploadAnexo(
+        @PathVariable UUID tenantId,
+        @PathVariable UUID id,
+        @PathVariable String tipo,
+        @PathVariable String uploadId
+    ) {
+        validateTenantContext(tenantId);
+        var a = anexoUploadService.concluir(uploadId, id, ClienteAnexo.Tipo.valueOf(tipo.toUpperCase()));
+        return ResponseEntity.ok(new AnexoResumo(a.getTipo().name(), a.getContentType(), a.getUpdatedAt()));
+    }
+
+    @DeleteMapping("/{id}/anexos/{tipo}/uploads/{uploadId}")
+    @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
+    @Operation(summary = "Cancelar um upload em partes (descarta as partes enviadas)")
+    public ResponseEntity<Void> cancelarUploadAnexo(
+        @PathVariable UUID tenantId,
+        @PathVariable UUID id,
+        @PathVariable String tipo,
+        @PathVariable String uploadId
+    ) {
+        validateTenantContext(tenantId);
+        anexoUploadService.cancelar(uploadId, id, ClienteAnexo.Tipo.valueOf(tipo.toUpperCase()));
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}/anexos/{tipo}/download")
     @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE', 'OPERADOR')")
     @Operation(summary = "Baixar a imagem de um anexo do cliente (streaming)")
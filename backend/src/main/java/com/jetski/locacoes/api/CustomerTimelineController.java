@@ -0,0 +1,36 @@
+package com.jetski.locacoes.api;
+
+import com.jetski.locacoes.internal.CustomerTimelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Linha do tempo do cliente final (home do portal): locações e reservas de
+ * todas as lojas vinculadas numa única consulta paginada.
+ * Escopo /v1/customers/** (role CLIENTE, self-read por RLS, sem X-Tenant-Id).
+ */
+@RestController
+@RequestMapping("/v1/customers/timeline")
+@RequiredArgsConstructor
+@Tag(name = "Portal do Cliente — Linha do tempo", description = "Locações e reservas de todas as lojas")
+public class CustomerTimelineController {
+
+    private final CustomerTimelineService customerTimelineService;
+
+    @GetMapping
+    @Operation(summary = "Minha linha do tempo (mais recente primeiro; paginação por cursor)")
+    public ResponseEntity<CustomerTimelineService.TimelinePagina> timeline(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(customerTimelineService.pagina(jwt.getSubject(), cursor, limite));
+    }
+}
@@ -72,7 +72,7 @@ public class DocumentoController {
         if (!tenantId.equals(TenantContext.getTenantId())) {
             throw new IllegalArgumentException("Tenant ID mismatch");
         }
-        String url = pdfLinkService.criarLink(service.baixar(id).conteudo());
+        String url = pdfLinkService.criarLink(PdfLinkService.Tipo.DOCUMENTO, service.baixar(id).conteudo());
         return ResponseEntity.ok(Map.of("url", url));
     }
 
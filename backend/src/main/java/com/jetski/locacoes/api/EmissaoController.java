@@ -81,7 +81,7 @@ public class EmissaoController {
         @RequestParam(defaultValue = "CLIENTE") EmissaoService.Destino destino
     ) {
         validateTenantContext(tenantId);
-        String url = pdfLinkService.criarLink(emissaoService.preview(id, destino));
+        String url = pdfLinkService.criarLink(PdfLinkService.Tipo.EMISSAO, emissaoService.preview(id, destino));
         return ResponseEntity.ok(Map.of("url", url));
     }
 
@@ -1,5 +1,6 @@
 package com.jetski.locacoes.api;
 
+import com.jetski.locacoes.api.dto.LocacaoRelatorioLinha;
 import com.jetski.locacoes.domain.Locacao;
 import com.jetski.locacoes.internal.repository.LocacaoRepository;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Public Query Service for Locacao (Rental) operations
@@ -37,4 +40,24 @@ public class LocacaoQueryService {
     public List<Locacao> findByTenantIdAndDateRange(UUID tenantId, LocalDateTime start, LocalDateTime end) {
         return locacaoRepository.findByTenantIdAndDateRange(tenantId, start, end);
     }
+
+    /**
+     * Walks the rentals checked out in [start, end) row by row, in check-out
+     * order, handing each one to {@code linha} (streaming exports). The rows
+     * come from a database cursor and are never collected into a list.
+     *
+     * @return number of rows handed over
+     */
+    public long forEachFinalizadaNoPeriodo(UUID tenantId, LocalDateTime start, LocalDateTime end,
+                                           Consumer<LocacaoRelatorioLinha> linha) {
+        long count = 0;
+        try (Stream<LocacaoRelatorioLinha> rows =
+                 locacaoRepository.streamFinalizadasNoPeriodo(tenantId, start, end)) {
+            for (LocacaoRelatorioLinha r : (Iterable<LocacaoRelatorioLinha>) rows::iterator) {
+                linha.accept(r);
+                count++;
+            }
+        }
+        return count;
+    }
 }
@@ -466,6 +466,7 @@ public class ModeloController {
             .pacotesJson(modelo.getPacotesJson())
             .ativo(modelo.getAtivo())
             .exibirNoMarketplace(modelo.getExibirNoMarketplace())
+            .intervaloPreventivaHoras(modelo.getIntervaloPreventivaHoras())
             .createdAt(modelo.getCreatedAt())
             .updatedAt(modelo.getUpdatedAt())
             .build();
@@ -485,6 +486,7 @@ public class ModeloController {
             .caucao(request.getCaucao() != null ? request.getCaucao() : BigDecimal.ZERO)
             .fotoReferenciaUrl(request.getFotoReferenciaUrl())
             .pacotesJson(request.getPacotesJson())
+            .intervaloPreventivaHoras(request.getIntervaloPreventivaHoras())
             .ativo(true)
             .build();
     }
@@ -503,6 +505,7 @@ public class ModeloController {
             .fotoReferenciaUrl(request.getFotoReferenciaUrl())
             .pacotesJson(request.getPacotesJson())
             .exibirNoMarketplace(request.getExibirNoMarketplace())
+            .intervaloPreventivaHoras(request.getIntervaloPreventivaHoras())
             .build();
     }
 }
@@ -186,6 +186,9 @@ public class ModeloService {
         if (updates.getExibirNoMarketplace() != null) {
             existing.setExibirNoMarketplace(updates.getExibirNoMarketplace());
         }
+        if (updates.getIntervaloPreventivaHoras() != null) {
+            existing.setIntervaloPreventivaHoras(updates.getIntervaloPreventivaHoras());
+        }
 
         Modelo saved = modeloRepository.save(existing);
         log.info("Model updated successfully: id={}", saved.getId());
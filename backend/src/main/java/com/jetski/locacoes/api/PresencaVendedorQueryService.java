@@ -7,8 +7,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -44,12 +48,6 @@ public class PresencaVendedorQueryService {
         return presencaRepository.findAllById(ids);
     }
 
-    /** Persiste uma presença (ex.: marcação de pagamento pelo módulo pagamentos). */
-    @Transactional
-    public PresencaVendedor salvar(PresencaVendedor presenca) {
-        return presencaRepository.save(presenca);
-    }
-
     /** Soma das diárias não pagas de um vendedor. */
     public BigDecimal sumDiariasNaoPagasByVendedor(UUID tenantId, UUID vendedorId) {
         return presencaRepository.sumDiariasNaoPagasByVendedor(tenantId, vendedorId);
@@ -59,4 +57,30 @@ public class PresencaVendedorQueryService {
     public int countDiariasNaoPagasByVendedor(UUID tenantId, UUID vendedorId) {
         return presencaRepository.countDiariasNaoPagasByVendedor(tenantId, vendedorId);
     }
+
+    /** Valor e quantidade de diárias não pagas de um vendedor. */
+    public record TotalVendedor(BigDecimal valor, int quantidade) {
+    }
+
+    /** Diárias não pagas agrupadas por vendedor (uma consulta para todos). */
+    public Map<UUID, TotalVendedor> sumNaoPagasPorVendedor(UUID tenantId) {
+        Map<UUID, TotalVendedor> totais = new HashMap<>();
+        for (Object[] r : presencaRepository.sumDiariasNaoPagasGroupByVendedor(tenantId)) {
+            totais.put((UUID) r[0], new TotalVendedor((BigDecimal) r[1], ((Number) r[2]).intValue()));
+        }
+        return totais;
+    }
+
+    /**
+     * Marca como pagas, num UPDATE só, as diárias ainda em aberto do vendedor
+     * entre {@code ids}. Retorna quantas foram alteradas.
+     */
+    @Transactional
+    public int marcarPagas(UUID tenantId, UUID vendedorId, Collection<UUID> ids,
+                           UUID pagamentoId, UUID pagoPor, Instant pagoEm) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return presencaRepository.marcarPagas(tenantId, vendedorId, ids, pagamentoId, pagoPor, pagoEm);
+    }
 }
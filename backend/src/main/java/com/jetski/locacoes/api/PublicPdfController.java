@@ -5,6 +5,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -29,14 +31,15 @@ public class PublicPdfController {
 
     @GetMapping("/{token}")
     @Operation(summary = "Abrir um PDF por token temporário (uso único)")
-    public ResponseEntity<byte[]> abrir(@PathVariable String token) {
-        byte[] pdf = pdfLinkService.consumir(token);
+    public ResponseEntity<Resource> abrir(@PathVariable String token) {
+        PdfLinkService.Pdf pdf = pdfLinkService.consumir(token);
         if (pdf == null) {
             return ResponseEntity.status(404).build();
         }
         return ResponseEntity.ok()
             .contentType(MediaType.APPLICATION_PDF)
+            .contentLength(pdf.tamanho())
             .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"documento.pdf\"")
-            .body(pdf);
+            .body(new InputStreamResource(pdf.conteudo()));
     }
 }
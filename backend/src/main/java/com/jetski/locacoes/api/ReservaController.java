@@ -613,7 +613,7 @@ public class ReservaController {
     ) {
         validateTenantContext(tenantId);
         return ResponseEntity.ok(java.util.Map.of(
-            "url", pdfLinkService.criarLink(reservaFichaService.gerarPdf(id))));
+            "url", pdfLinkService.criarLink(com.jetski.locacoes.internal.PdfLinkService.Tipo.FICHA_RESERVA, reservaFichaService.gerarPdf(id))));
     }
 
     private ReservaLancamento.Forma parseFormaPagamento(String forma) {
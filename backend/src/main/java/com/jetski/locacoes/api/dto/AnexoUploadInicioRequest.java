@@ -0,0 +1,7 @@
+package com.jetski.locacoes.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+/** Início do upload em partes de um anexo: tipo do arquivo e tamanho total (bytes). */
+public record AnexoUploadInicioRequest(@NotBlank String contentType, @Positive long tamanho) {}
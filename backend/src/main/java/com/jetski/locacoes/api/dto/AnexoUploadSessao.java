@@ -0,0 +1,9 @@
+package com.jetski.locacoes.api.dto;
+
+/**
+ * Estado de um upload em partes de anexo. O cliente envia a partir de
+ * {@code recebido} (retomada após queda de rede), em partes de
+ * {@code tamanhoParte} bytes (a última pode ser menor), e conclui quando
+ * {@code recebido == tamanho}.
+ */
+public record AnexoUploadSessao(String uploadId, long tamanho, long tamanhoParte, long recebido) {}
@@ -35,6 +35,12 @@ public class FotoResponse {
     @Schema(description = "URL pré-assinada para download (GET)", example = "https://s3.amazonaws.com/bucket/key?X-Amz-Signature=...")
     private String downloadUrl;
 
+    @Schema(description = "URL pré-assinada da miniatura (galeria/listas); o original enquanto a variante não existe")
+    private String miniaturaUrl;
+
+    @Schema(description = "URL pré-assinada da versão média (visualização/comparação); o original enquanto a variante não existe")
+    private String mediaUrl;
+
     @Schema(description = "Tamanho do arquivo em bytes", example = "2048576")
     private Long tamanhoBytes;
 
@@ -0,0 +1,27 @@
+package com.jetski.locacoes.api.dto;
+
+import com.jetski.locacoes.domain.LocacaoStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Uma locação finalizada como linha de relatório (exportação por período).
+ * Projeção — não é entidade gerenciada: percorrer 200k delas não enche o
+ * contexto de persistência.
+ */
+public record LocacaoRelatorioLinha(
+    UUID id,
+    LocalDateTime dataCheckIn,
+    LocalDateTime dataCheckOut,
+    String jetskiSerie,
+    String modeloNome,
+    String clienteNome,
+    Integer minutosUsados,
+    Integer minutosFaturaveis,
+    BigDecimal valorTotal,
+    BigDecimal combustivelCusto,
+    LocacaoStatus status
+) {
+}
@@ -57,4 +57,7 @@ public class ModeloCreateRequest {
     private String fotoReferenciaUrl;
 
     private String pacotesJson;
+
+    @DecimalMin(value = "1.0", message = "Intervalo de manutenção preventiva deve ser de ao menos 1 hora")
+    private BigDecimal intervaloPreventivaHoras;
 }
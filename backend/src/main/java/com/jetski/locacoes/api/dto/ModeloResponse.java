@@ -38,6 +38,7 @@ public class ModeloResponse {
     private String pacotesJson;
     private Boolean ativo;
     private Boolean exibirNoMarketplace;
+    private BigDecimal intervaloPreventivaHoras;
     private Instant createdAt;
     private Instant updatedAt;
 }
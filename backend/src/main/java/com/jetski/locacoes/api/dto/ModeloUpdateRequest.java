@@ -55,5 +55,8 @@ public class ModeloUpdateRequest {
 
     private String pacotesJson;
 
+    @DecimalMin(value = "1.0", message = "Intervalo de manutenção preventiva deve ser de ao menos 1 hora")
+    private BigDecimal intervaloPreventivaHoras;
+
     private Boolean exibirNoMarketplace;
 }
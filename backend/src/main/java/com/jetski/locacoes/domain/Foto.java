@@ -114,6 +114,13 @@ public class Foto {
     @Column(name = "uploaded_at")
     private Instant uploadedAt;
 
+    /**
+     * When the reduced variants (thumbnail/medium JPEG) were written to storage.
+     * Null = not generated (yet, or undecodable format) — the original is served instead.
+     */
+    @Column(name = "variantes_geradas_em")
+    private Instant variantesGeradasEm;
+
     /**
      * Record creation timestamp
      */
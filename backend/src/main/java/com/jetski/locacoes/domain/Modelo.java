@@ -102,6 +102,13 @@ public class Modelo {
     @Builder.Default
     private Boolean exibirNoMarketplace = true;
 
+    /**
+     * Intervalo de manutenção preventiva (RN07) em horas de uso.
+     * Null = padrão da aplicação (jetski.manutencao.preventiva.intervalo-horas)
+     */
+    @Column(name = "intervalo_preventiva_horas", precision = 6, scale = 1)
+    private BigDecimal intervaloPreventivaHoras;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
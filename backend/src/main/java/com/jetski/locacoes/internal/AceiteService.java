@@ -10,6 +10,7 @@ import com.jetski.shared.security.TenantContext;
 import com.jetski.shared.storage.StorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +32,7 @@ public class AceiteService {
     private final ReservaRepository reservaRepository;
     private final StorageService storageService;
     private final AceiteOtpService otpService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Optional<ReservaAceite> getUltimo(UUID reservaId) {
@@ -112,6 +114,7 @@ public class AceiteService {
         if (reserva.getStatus() == Reserva.ReservaStatus.RASCUNHO) {
             reserva.setStatus(Reserva.ReservaStatus.PENDENTE);
             reservaRepository.save(reserva);
+            eventPublisher.publishEvent(TimelineOrigemAlterada.reserva(reserva.getTenantId(), reservaId));
             log.info("Reserva {} confirmada pelos termos: RASCUNHO → PENDENTE", reservaId);
         }
         return saved;
@@ -0,0 +1,187 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.locacoes.api.dto.AnexoUploadSessao;
+import com.jetski.locacoes.domain.ClienteAnexo;
+import com.jetski.shared.exception.BusinessException;
+import com.jetski.shared.exception.NotFoundException;
+import com.jetski.shared.security.TenantContext;
+import com.jetski.shared.storage.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Upload de anexo do cliente em partes, resumível: início → PUT de cada parte
+ * no seu offset → conclusão. Cada parte vai do corpo da requisição direto
+ * para o storage (multipart no MinIO, arquivos de parte no local) — memória
+ * constante, sem o base64 (+33%) nem a string e o byte[] juntos no heap.
+ *
+ * <p>A sessão fica no Redis (compartilhada entre réplicas), com TTL renovado a
+ * cada parte: o cliente que perdeu a rede consulta o estado e continua de
+ * {@code recebido}. Partes em sequência — a de offset já recebido pode ser
+ * reenviada (substitui); pular adiante é recusado.
+ *
+ * <p>Tamanho da parte = mínimo do S3 ({@link StorageService#MULTIPART_MIN_PART_SIZE}):
+ * só a última pode ser menor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnexoUploadService {
+
+    static final long TAMANHO_PARTE = StorageService.MULTIPART_MIN_PART_SIZE;
+
+    /** Sessão abandonada expira (mesma janela do expurgo de multipart do MinIO). */
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final String PREFIX = "anexo-upload:";
+
+    private static final Set<String> TIPOS_ARQUIVO = Set.of(
+        "image/jpeg", "image/png", "image/webp", "application/pdf");
+
+    private final StringRedisTemplate redis;
+    private final StorageService storageService;
+    private final ClienteAnexoService clienteAnexoService;
+
+    /** Campos da sessão no hash do Redis. */
+    private record Sessao(UUID tenantId, UUID clienteId, ClienteAnexo.Tipo tipo, String contentType,
+                          long tamanho, long recebido, String key, String storageUploadId,
+                          String origem, String registradoPor) {
+
+        Map<String, String> campos() {
+            Map<String, String> m = new HashMap<>();
+            m.put("tenantId", tenantId.toString());
+            m.put("clienteId", clienteId.toString());
+            m.put("tipo", tipo.name());
+            m.put("contentType", contentType);
+            m.put("tamanho", Long.toString(tamanho));
+            m.put("recebido", Long.toString(recebido));
+            m.put("key", key);
+            m.put("storageUploadId", storageUploadId);
+            m.put("origem", origem);
+            if (registradoPor != null) {
+                m.put("registradoPor", registradoPor);
+            }
+            return m;
+        }
+
+        static Sessao de(Map<String, String> m) {
+            return new Sessao(UUID.fromString(m.get("tenantId")), UUID.fromString(m.get("clienteId")),
+                ClienteAnexo.Tipo.valueOf(m.get("tipo")), m.get("contentType"),
+                Long.parseLong(m.get("tamanho")), Long.parseLong(m.get("recebido")),
+                m.get("key"), m.get("storageUploadId"), m.get("origem"), m.get("registradoPor"));
+        }
+
+        int partes() {
+            return (int) ((tamanho + TAMANHO_PARTE - 1) / TAMANHO_PARTE);
+        }
+    }
+
+    /** Abre a sessão e o upload em partes no storage. */
+    public AnexoUploadSessao iniciar(UUID clienteId, ClienteAnexo.Tipo tipo, String contentType, long tamanho,
+                                     String origem, String registradoPor) {
+        String mime = contentType == null ? "" : contentType.trim().toLowerCase();
+        if (!TIPOS_ARQUIVO.contains(mime)) {
+            throw new BusinessException("Tipo de arquivo não suportado: " + contentType);
+        }
+        if (tamanho <= 0 || tamanho > ClienteAnexoService.MAX_BYTES) {
+            throw new BusinessException("Arquivo muito grande (máximo 8 MB)");
+        }
+        UUID tenantId = TenantContext.getTenantId();
+        String key = ClienteAnexoService.chave(tenantId, clienteId, tipo, mime);
+        String storageUploadId = storageService.createMultipartUpload(key, mime);
+
+        String uploadId = UUID.randomUUID().toString();
+        Sessao s = new Sessao(tenantId, clienteId, tipo, mime, tamanho, 0, key, storageUploadId,
+            origem, registradoPor);
+        hash().putAll(PREFIX + uploadId, s.campos());
+        redis.expire(PREFIX + uploadId, TTL);
+        log.info("Upload em partes de anexo iniciado: cliente={}, tipo={}, tamanho={} bytes, upload={}",
+            clienteId, tipo, tamanho, uploadId);
+        return resposta(uploadId, s);
+    }
+
+    /** Estado atual — o cliente retoma a partir de {@code recebido}. */
+    public AnexoUploadSessao status(String uploadId, UUID clienteId, ClienteAnexo.Tipo tipo) {
+        return resposta(uploadId, carregar(uploadId, clienteId, tipo));
+    }
+
+    /**
+     * Grava a parte que começa em {@code offset}. {@code tamanho} é o
+     * Content-Length: precisa ser a parte inteira (ou o resto, na última).
+     */
+    public AnexoUploadSessao enviarParte(String uploadId, UUID clienteId, ClienteAnexo.Tipo tipo,
+                                         long offset, InputStream conteudo, long tamanho) {
+        Sessao s = carregar(uploadId, clienteId, tipo);
+        if (offset < 0 || offset % TAMANHO_PARTE != 0 || offset >= s.tamanho()) {
+            throw new BusinessException("Offset inválido: " + offset);
+        }
+        if (offset > s.recebido()) {
+            throw new BusinessException("Parte fora de ordem: esperado offset " + s.recebido());
+        }
+        long esperado = Math.min(TAMANHO_PARTE, s.tamanho() - offset);
+        if (tamanho != esperado) {
+            throw new BusinessException("Parte com " + tamanho + " bytes; esperado " + esperado);
+        }
+        storageService.uploadPart(s.key(), s.storageUploadId(), (int) (offset / TAMANHO_PARTE) + 1,
+            conteudo, tamanho);
+
+        long recebido = Math.max(s.recebido(), offset + tamanho);
+        hash().put(PREFIX + uploadId, "recebido", Long.toString(recebido));
+        redis.expire(PREFIX + uploadId, TTL);
+        return new AnexoUploadSessao(uploadId, s.tamanho(), TAMANHO_PARTE, recebido);
+    }
+
+    /** Junta as partes no objeto final e aponta o anexo do cliente para ele. */
+    @Transactional
+    public ClienteAnexo concluir(String uploadId, UUID clienteId, ClienteAnexo.Tipo tipo) {
+        Sessao s = carregar(uploadId, clienteId, tipo);
+        if (s.recebido() != s.tamanho()) {
+            throw new BusinessException("Upload incompleto: " + s.recebido() + " de " + s.tamanho() + " bytes");
+        }
+        storageService.completeMultipartUpload(s.key(), s.storageUploadId(), s.partes());
+        ClienteAnexo anexo = clienteAnexoService.registrar(
+            clienteId, tipo, s.key(), s.contentType(), s.origem(), s.registradoPor());
+        redis.delete(PREFIX + uploadId);
+        log.info("Upload em partes de anexo concluído: cliente={}, tipo={}, upload={}", clienteId, tipo, uploadId);
+        return anexo;
+    }
+
+    /** Desiste do upload: descarta as partes já enviadas. */
+    public void cancelar(String uploadId, UUID clienteId, ClienteAnexo.Tipo tipo) {
+        Sessao s = carregar(uploadId, clienteId, tipo);
+        storageService.abortMultipartUpload(s.key(), s.storageUploadId());
+        redis.delete(PREFIX + uploadId);
+    }
+
+    /** Sessão do upload, se for deste tenant/cliente/tipo — senão, 404 (sem vazar existência). */
+    private Sessao carregar(String uploadId, UUID clienteId, ClienteAnexo.Tipo tipo) {
+        Map<String, String> campos = hash().entries(PREFIX + uploadId);
+        if (campos == null || campos.isEmpty()) {
+            throw new NotFoundException("Upload não encontrado ou expirado");
+        }
+        Sessao s = Sessao.de(campos);
+        if (!s.tenantId().equals(TenantContext.getTenantId())
+                || !s.clienteId().equals(clienteId) || s.tipo() != tipo) {
+            throw new NotFoundException("Upload não encontrado ou expirado");
+        }
+        return s;
+    }
+
+    private HashOperations<String, String, String> hash() {
+        return redis.opsForHash();
+    }
+
+    private static AnexoUploadSessao resposta(String uploadId, Sessao s) {
+        return new AnexoUploadSessao(uploadId, s.tamanho(), TAMANHO_PARTE, s.recebido());
+    }
+}
@@ -20,8 +20,9 @@ import java.util.UUID;
 
 /**
  * Armazena/recupera os anexos do cliente (identidade, comprovante, selfie).
- * Recebe dataURL/base64 do balcão ou do portal, grava no storage e mantém
- * uma linha por tipo. Toda gravação publica {@link ClienteAnexoAtualizadoEvent}
+ * O arquivo chega em partes pelo {@link AnexoUploadService} (binário,
+ * resumível) ou, por compatibilidade, como dataURL/base64 do balcão ou do
+ * portal; vai para o storage e o serviço mantém uma linha por tipo. Toda gravação publica {@link ClienteAnexoAtualizadoEvent}
  * (trilha LGPD — sem conteúdo, só o fato).
  */
 @Slf4j
@@ -30,7 +31,7 @@ import java.util.UUID;
 public class ClienteAnexoService {
 
     /** Limite de upload (LGPD/minimização + proteção do storage). */
-    private static final int MAX_BYTES = 8 * 1024 * 1024;
+    static final int MAX_BYTES = 8 * 1024 * 1024;
 
     /** Tipos que o CLIENTE pode gerenciar pelo portal (CHA é do balcão/GRU). */
     public static final Set<ClienteAnexo.Tipo> TIPOS_PORTAL = Set.of(
@@ -64,21 +65,39 @@ public class ClienteAnexoService {
         return salvar(clienteId, tipo, conteudoBase64, "BALCAO", null);
     }
 
+    /**
+     * Caminho base64 (dataURL no JSON) — mantido só por compatibilidade: o
+     * arquivo inteiro e a string decodificada ficam no heap juntos. Clientes
+     * novos usam o upload em partes ({@link AnexoUploadService}).
+     */
     @Transactional
     public ClienteAnexo salvar(UUID clienteId, ClienteAnexo.Tipo tipo, String conteudoBase64,
                                String origem, String registradoPor) {
-        UUID tenantId = TenantContext.getTenantId();
         Decoded d = decode(conteudoBase64);
-        String key = String.format("%s/cliente/%s/anexo-%s.%s",
-            tenantId, clienteId, tipo.name().toLowerCase(), ext(d.mime));
+        String key = chave(TenantContext.getTenantId(), clienteId, tipo, d.mime);
+        storageService.putObject(key, d.bytes, d.mime);
+        return registrar(clienteId, tipo, key, d.mime, origem, registradoPor);
+    }
+
+    /** Chave do anexo no storage (uma por tipo; a extensão segue o content type). */
+    static String chave(UUID tenantId, UUID clienteId, ClienteAnexo.Tipo tipo, String mime) {
+        return String.format("%s/cliente/%s/anexo-%s.%s",
+            tenantId, clienteId, tipo.name().toLowerCase(), ext(mime));
+    }
 
+    /**
+     * Aponta o anexo do tipo para o objeto JÁ gravado em {@code key} (por
+     * qualquer caminho de upload) e publica o evento de trilha.
+     */
+    @Transactional
+    public ClienteAnexo registrar(UUID clienteId, ClienteAnexo.Tipo tipo, String key, String mime,
+                                  String origem, String registradoPor) {
+        UUID tenantId = TenantContext.getTenantId();
         ClienteAnexo anexo = repository.findByClienteIdAndTipo(clienteId, tipo)
             .orElseGet(() -> ClienteAnexo.builder()
                 .tenantId(tenantId).clienteId(clienteId).tipo(tipo).build());
         String keyAntiga = anexo.getS3Key();
 
-        storageService.putObject(key, d.bytes, d.mime);
-
         // Substituição com extensão diferente muda a key — remover o objeto
         // antigo (best-effort) para não acumular cópias de documento no storage.
         if (keyAntiga != null && !keyAntiga.equals(key)) {
@@ -91,7 +110,7 @@ public class ClienteAnexoService {
         }
 
         anexo.setS3Key(key);
-        anexo.setContentType(d.mime);
+        anexo.setContentType(mime);
         anexo.setUpdatedAt(Instant.now());
         ClienteAnexo salvo = repository.save(anexo);
 
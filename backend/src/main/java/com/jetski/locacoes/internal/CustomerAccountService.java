@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -59,16 +60,12 @@ public class CustomerAccountService {
     @Transactional(readOnly = true)
     @SuppressWarnings("unchecked")
     public List<VinculoLoja> vinculos(String providerUserId) {
-        var usuarioId = identityProviderMappingService
-            .tryResolveUsuarioId(PROVIDER, providerUserId);
+        var usuarioId = fixarEscopoCliente(providerUserId);
         if (usuarioId.isEmpty()) {
             // Sem pessoa = sem vínculos (F4): toda ficha vinculada tem
             // usuario_id; a tabela legada cliente_identity_provider morreu.
             return List.of();
         }
-        entityManager.createNativeQuery("SELECT set_config('app.customer_usuario', :uid, true)")
-            .setParameter("uid", usuarioId.get().toString())
-            .getSingleResult();
         List<Object[]> rows = entityManager.createNativeQuery("""
                 SELECT c.tenant_id, c.id, t.slug, t.razao_social
                   FROM cliente c
@@ -81,6 +78,21 @@ public class CustomerAccountService {
         return mapearVinculos(rows);
     }
 
+    /**
+     * Resolve a pessoa do login (sub → usuario_id) e seta app.customer_usuario
+     * (transaction-local): libera as policies de self-read (cliente, linha do
+     * tempo). Vazio = login sem pessoa, nada a ler.
+     */
+    Optional<UUID> fixarEscopoCliente(String providerUserId) {
+        Optional<UUID> usuarioId = identityProviderMappingService
+            .tryResolveUsuarioId(PROVIDER, providerUserId);
+        usuarioId.ifPresent(uid -> entityManager
+            .createNativeQuery("SELECT set_config('app.customer_usuario', :uid, true)")
+            .setParameter("uid", uid.toString())
+            .getSingleResult());
+        return usuarioId;
+    }
+
     private List<VinculoLoja> mapearVinculos(List<Object[]> rows) {
         return rows.stream()
             .map(r -> VinculoLoja.builder()
@@ -58,6 +58,7 @@ public class CustomerReservaService {
 
     private final EntityManager entityManager;
     private final com.jetski.tenant.PlanoLimiteService planoLimiteService;
+    private final com.jetski.tenant.TenantRegistry tenantRegistry;
     private final ReservaService reservaService;
     private final ModeloService modeloService;
     private final ClienteRepository clienteRepository;
@@ -423,6 +424,8 @@ public class CustomerReservaService {
                 "/conta/reservas/" + r[0]);
         }
         if (!expiradas.isEmpty()) {
+            eventPublisher.publishEvent(new TimelineOrigemAlterada(tenantId,
+                expiradas.stream().map(r -> (UUID) r[0]).toList()));
             log.info("Pré-reservas de portal expiradas: tenant={}, quantidade={}", tenantId, expiradas.size());
         }
         return expiradas.size();
@@ -624,24 +627,21 @@ public class CustomerReservaService {
         return lojaBySlug(slug);
     }
 
+    /** Slug → loja ATIVA, da memória ({@code TenantRegistry}) — sem consulta por request. */
     private Optional<Loja> lojaBySlug(String slug) {
-        return lojaQuery("SELECT id, slug, razao_social, cidade, pix_chave, cnpj FROM tenant " +
-            "WHERE slug = :param AND status = 'ATIVO'", slug);
+        return tenantRegistry.porSlug(slug)
+            .filter(com.jetski.tenant.TenantInfo::ativo)
+            .map(CustomerReservaService::toLoja);
     }
 
     private Loja lojaByTenantId(UUID tenantId) {
-        return lojaQuery("SELECT id, slug, razao_social, cidade, pix_chave, cnpj FROM tenant " +
-            "WHERE id = :param", tenantId)
+        return tenantRegistry.porId(tenantId)
+            .map(CustomerReservaService::toLoja)
             .orElseThrow(() -> new NotFoundException("Loja não encontrada: " + tenantId));
     }
 
-    private Optional<Loja> lojaQuery(String sql, Object param) {
-        @SuppressWarnings("unchecked")
-        List<Object[]> rows = entityManager.createNativeQuery(sql)
-            .setParameter("param", param)
-            .getResultList();
-        return rows.stream().findFirst().map(r -> new Loja(
-            (UUID) r[0], (String) r[1], (String) r[2], (String) r[3], (String) r[4], (String) r[5]));
+    private static Loja toLoja(com.jetski.tenant.TenantInfo t) {
+        return new Loja(t.id(), t.slug(), t.razaoSocial(), t.cidade(), t.pixChave(), t.cnpj());
     }
 
     /** Fixa app.tenant_id (transaction-local) — RLS estrita continua valendo. */
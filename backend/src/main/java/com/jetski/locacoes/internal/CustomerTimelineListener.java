@@ -0,0 +1,136 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.locacoes.event.CheckInEvent;
+import com.jetski.locacoes.event.CheckOutEvent;
+import com.jetski.locacoes.event.ContaAtivadaEvent;
+import com.jetski.locacoes.event.DataCheckInAlteradaEvent;
+import com.jetski.locacoes.event.LocacaoEditadaEvent;
+import com.jetski.reservas.domain.event.DocumentosEmitidosEvent;
+import com.jetski.reservas.domain.event.PagamentoConfirmadoEvent;
+import com.jetski.reservas.domain.event.PagamentoRecusadoEvent;
+import com.jetski.reservas.domain.event.ReservaNoShowEvent;
+import com.jetski.reservas.domain.event.ReservationCancelledEvent;
+import com.jetski.reservas.domain.event.ReservationConfirmedEvent;
+import com.jetski.reservas.domain.event.ReservationCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mantém a customer_timeline (portal) a partir dos eventos de locação/reserva.
+ *
+ * Roda APÓS o commit da escrita de origem (a fonte relida já está visível e
+ * um rollback nunca projeta nada); cada projeção abre a própria transação.
+ * Best-effort: falha é logada e NÃO chega à operação — a linha é corrigida
+ * na próxima mudança da mesma locação/reserva.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerTimelineListener {
+
+    private final CustomerTimelineService customerTimelineService;
+
+    // ---------------------------- locação ----------------------------
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCheckIn(CheckInEvent event) {
+        locacao(event.tenantId(), event.locacaoId());
+        if (event.reservaId() != null) {
+            reserva(event.tenantId(), List.of(event.reservaId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCheckOut(CheckOutEvent event) {
+        locacao(event.tenantId(), event.locacaoId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLocacaoEditada(LocacaoEditadaEvent event) {
+        locacao(event.tenantId(), event.locacaoId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataCheckInAlterada(DataCheckInAlteradaEvent event) {
+        locacao(event.tenantId(), event.locacaoId());
+    }
+
+    // ---------------------------- reserva ----------------------------
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaCriada(ReservationCreatedEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaConfirmada(ReservationConfirmedEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaCancelada(ReservationCancelledEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNoShow(ReservaNoShowEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPagamentoConfirmado(PagamentoConfirmadoEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPagamentoRecusado(PagamentoRecusadoEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDocumentosEmitidos(DocumentosEmitidosEvent event) {
+        reserva(event.tenantId(), List.of(event.reservaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrigemAlterada(TimelineOrigemAlterada event) {
+        reserva(event.tenantId(), event.reservaIds());
+    }
+
+    // ---------------------------- ficha ----------------------------
+
+    /** Ficha ligada a um login: o histórico anterior ao vínculo entra no portal. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContaAtivada(ContaAtivadaEvent event) {
+        try {
+            customerTimelineService.projetarCliente(event.tenantId(), event.clienteId());
+        } catch (Exception e) {
+            log.warn("customer_timeline: falha ao projetar cliente {} (tenant={}): {}",
+                event.clienteId(), event.tenantId(), e.getMessage());
+        }
+    }
+
+    private void locacao(UUID tenantId, UUID locacaoId) {
+        try {
+            customerTimelineService.projetarLocacoes(tenantId, List.of(locacaoId));
+        } catch (Exception e) {
+            log.warn("customer_timeline: falha ao projetar locação {} (tenant={}): {}",
+                locacaoId, tenantId, e.getMessage());
+        }
+    }
+
+    private void reserva(UUID tenantId, List<UUID> reservaIds) {
+        try {
+            customerTimelineService.projetarReservas(tenantId, reservaIds);
+        } catch (Exception e) {
+            log.warn("customer_timeline: falha ao projetar reserva(s) {} (tenant={}): {}",
+                reservaIds, tenantId, e.getMessage());
+        }
+    }
+}
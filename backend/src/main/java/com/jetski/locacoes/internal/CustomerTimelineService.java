@@ -0,0 +1,256 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.shared.exception.BusinessException;
+import com.jetski.tenant.TenantInfo;
+import com.jetski.tenant.TenantRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Linha do tempo do CLIENTE FINAL (portal): projeção cross-tenant de
+ * locações e reservas por pessoa (tabela customer_timeline, V069).
+ *
+ * Escrita: cada projetar* RELÊ a fonte (locacao/reserva + cliente, modelo,
+ * jetski) sob o tenant da linha e faz upsert — idempotente, o chamador só diz
+ * o que mudou. Acionada pelo CustomerTimelineListener (pós-commit).
+ *
+ * Leitura: UMA consulta sob a policy de self-read (app.customer_usuario),
+ * paginada por keyset (ocorrido_em, origem_id) — sem alternar tenant loja a
+ * loja como minhasLocacoes/minhasReservas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerTimelineService {
+
+    public static final String LOCACAO = "LOCACAO";
+    public static final String RESERVA = "RESERVA";
+
+    /**
+     * Mesmo fuso de hibernate.jdbc.time_zone: as datas saem iguais às das
+     * entidades (minhasLocacoes/minhasReservas).
+     */
+    private static final ZoneId ZONA = ZoneId.of("America/Sao_Paulo");
+
+    static final int LIMITE_PADRAO = 20;
+    static final int LIMITE_MAXIMO = 100;
+
+    private static final String UPSERT = """
+            ON CONFLICT (tipo, origem_id) DO UPDATE SET
+                cliente_id = EXCLUDED.cliente_id, usuario_id = EXCLUDED.usuario_id,
+                ocorrido_em = EXCLUDED.ocorrido_em, termino_em = EXCLUDED.termino_em,
+                status = EXCLUDED.status, modelo_nome = EXCLUDED.modelo_nome,
+                jetski_serie = EXCLUDED.jetski_serie, valor_total = EXCLUDED.valor_total,
+                atualizado_em = now()
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO customer_timeline
+                (tipo, origem_id, tenant_id, cliente_id, usuario_id, ocorrido_em, termino_em,
+                 status, modelo_nome, jetski_serie, valor_total)
+            """;
+
+    private static final String SELECT_LOCACAO = """
+            SELECT 'LOCACAO', l.id, l.tenant_id, l.cliente_id, c.usuario_id, l.data_check_in,
+                   l.data_check_out, l.status, m.nome, j.serie, l.valor_total
+              FROM locacao l
+              JOIN cliente c ON c.id = l.cliente_id AND c.tenant_id = l.tenant_id
+              LEFT JOIN jetski j ON j.id = l.jetski_id AND j.tenant_id = l.tenant_id
+              LEFT JOIN modelo m ON m.id = j.modelo_id AND m.tenant_id = l.tenant_id
+             WHERE l.tenant_id = :tenantId AND c.usuario_id IS NOT NULL
+            """;
+
+    private static final String SELECT_RESERVA = """
+            SELECT 'RESERVA', r.id, r.tenant_id, r.cliente_id, c.usuario_id, r.data_inicio,
+                   r.data_fim_prevista, COALESCE(r.status, 'PENDENTE'), m.nome, j.serie, r.valor_total
+              FROM reserva r
+              JOIN cliente c ON c.id = r.cliente_id AND c.tenant_id = r.tenant_id
+              LEFT JOIN jetski j ON j.id = r.jetski_id AND j.tenant_id = r.tenant_id
+              LEFT JOIN modelo m ON m.id = r.modelo_id AND m.tenant_id = r.tenant_id
+             WHERE r.tenant_id = :tenantId AND c.usuario_id IS NOT NULL
+               AND COALESCE(r.status, 'PENDENTE') <> 'RASCUNHO'
+            """;
+
+    private final EntityManager entityManager;
+    private final CustomerAccountService customerAccountService;
+    private final TenantRegistry tenantRegistry;
+
+    public record TimelineItem(
+        String tipo, UUID id, String lojaSlug, String lojaNome,
+        LocalDateTime inicio, LocalDateTime fim, String status,
+        String modeloNome, String jetskiSerie, BigDecimal valorTotal
+    ) {}
+
+    /** Página da linha do tempo; proximoCursor null = fim. */
+    public record TimelinePagina(List<TimelineItem> itens, String proximoCursor) {}
+
+    // ============================ escrita ============================
+
+    /** Re-projeta as locações informadas (upsert a partir da fonte). */
+    @Transactional
+    public void projetarLocacoes(UUID tenantId, Collection<UUID> locacaoIds) {
+        if (locacaoIds.isEmpty()) return;
+        fixarTenant(tenantId);
+        remover(LOCACAO, tenantId, locacaoIds);
+        executar(INSERT + SELECT_LOCACAO + " AND l.id IN (:ids) " + UPSERT, tenantId, locacaoIds);
+    }
+
+    /** Re-projeta as reservas informadas (rascunho não entra na linha do tempo). */
+    @Transactional
+    public void projetarReservas(UUID tenantId, Collection<UUID> reservaIds) {
+        if (reservaIds.isEmpty()) return;
+        fixarTenant(tenantId);
+        remover(RESERVA, tenantId, reservaIds);
+        executar(INSERT + SELECT_RESERVA + " AND r.id IN (:ids) " + UPSERT, tenantId, reservaIds);
+    }
+
+    /**
+     * Re-projeta tudo de uma ficha — usado quando ela ganha (ou troca) a pessoa
+     * vinculada: o histórico anterior ao vínculo passa a aparecer no portal.
+     */
+    @Transactional
+    public void projetarCliente(UUID tenantId, UUID clienteId) {
+        fixarTenant(tenantId);
+        entityManager.createNativeQuery(
+                "DELETE FROM customer_timeline WHERE tenant_id = :tenantId AND cliente_id = :clienteId")
+            .setParameter("tenantId", tenantId)
+            .setParameter("clienteId", clienteId)
+            .executeUpdate();
+        for (String sql : List.of(SELECT_LOCACAO + " AND l.cliente_id = :clienteId ",
+                                  SELECT_RESERVA + " AND r.cliente_id = :clienteId ")) {
+            entityManager.createNativeQuery(INSERT + sql + UPSERT)
+                .setParameter("tenantId", tenantId)
+                .setParameter("clienteId", clienteId)
+                .executeUpdate();
+        }
+    }
+
+    /**
+     * Remove antes de reinserir: a fonte que deixou de ser projetável (ficha
+     * desvinculada, registro apagado) some da linha do tempo; as válidas voltam
+     * no INSERT logo em seguida, na mesma transação.
+     */
+    private void remover(String tipo, UUID tenantId, Collection<UUID> ids) {
+        entityManager.createNativeQuery("""
+                DELETE FROM customer_timeline
+                 WHERE tipo = :tipo AND tenant_id = :tenantId AND origem_id IN (:ids)
+                """)
+            .setParameter("tipo", tipo)
+            .setParameter("tenantId", tenantId)
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+
+    private void executar(String sql, UUID tenantId, Collection<UUID> ids) {
+        int linhas = entityManager.createNativeQuery(sql)
+            .setParameter("tenantId", tenantId)
+            .setParameter("ids", ids)
+            .executeUpdate();
+        log.debug("customer_timeline: {} linha(s) projetada(s), tenant={}", linhas, tenantId);
+    }
+
+    private void fixarTenant(UUID tenantId) {
+        entityManager.createNativeQuery("SELECT set_config('app.tenant_id', :t, true)")
+            .setParameter("t", tenantId.toString())
+            .getSingleResult();
+    }
+
+    // ============================ leitura ============================
+
+    /**
+     * Página da linha do tempo do login (todas as lojas), mais recente primeiro.
+     *
+     * @param cursor opaco, devolvido na página anterior (null = início)
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public TimelinePagina pagina(String providerUserId, String cursor, Integer limite) {
+        int n = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        Optional<UUID> usuarioId = customerAccountService.fixarEscopoCliente(providerUserId);
+        if (usuarioId.isEmpty()) {
+            return new TimelinePagina(List.of(), null);
+        }
+        Cursor posicao = cursor == null || cursor.isBlank() ? null : Cursor.decodificar(cursor);
+
+        var query = entityManager.createNativeQuery("""
+                SELECT tipo, origem_id, tenant_id, ocorrido_em, termino_em, status,
+                       modelo_nome, jetski_serie, valor_total
+                  FROM customer_timeline
+                 WHERE usuario_id = :uid
+                """ + (posicao == null ? "" : " AND (ocorrido_em, origem_id) < (:em, :id) ") + """
+                 ORDER BY ocorrido_em DESC, origem_id DESC
+                 LIMIT :n
+                """)
+            .setParameter("uid", usuarioId.get())
+            .setParameter("n", n + 1);
+        if (posicao != null) {
+            query.setParameter("em", OffsetDateTime.ofInstant(posicao.ocorridoEm(), ZONA))
+                 .setParameter("id", posicao.origemId());
+        }
+        List<Object[]> rows = query.getResultList();
+
+        List<TimelineItem> itens = new ArrayList<>(Math.min(rows.size(), n));
+        String proximo = null;
+        for (int i = 0; i < rows.size() && i < n; i++) {
+            Object[] r = rows.get(i);
+            UUID tenantId = (UUID) r[2];
+            Optional<TenantInfo> loja = tenantRegistry.porId(tenantId);
+            itens.add(new TimelineItem(
+                (String) r[0], (UUID) r[1],
+                loja.map(TenantInfo::slug).orElse(null),
+                loja.map(TenantInfo::razaoSocial).orElse(null),
+                local(r[3]), local(r[4]), (String) r[5],
+                (String) r[6], (String) r[7], (BigDecimal) r[8]));
+            if (i == n - 1 && rows.size() > n) {
+                proximo = new Cursor(instante(r[3]), (UUID) r[1]).codificar();
+            }
+        }
+        return new TimelinePagina(itens, proximo);
+    }
+
+    /** Posição do keyset: (ocorrido_em, origem_id) do último item entregue. */
+    record Cursor(Instant ocorridoEm, UUID origemId) {
+
+        String codificar() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (ocorridoEm + "|" + origemId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decodificar(String valor) {
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(valor), StandardCharsets.UTF_8)
+                    .split("\\|", 2);
+                return new Cursor(Instant.parse(partes[0]), UUID.fromString(partes[1]));
+            } catch (RuntimeException e) {
+                throw new BusinessException("Cursor inválido");
+            }
+        }
+    }
+
+    private static Instant instante(Object v) {
+        if (v instanceof OffsetDateTime o) return o.toInstant();
+        if (v instanceof Timestamp ts) return ts.toInstant();
+        return (Instant) v;
+    }
+
+    private static LocalDateTime local(Object v) {
+        return v == null ? null : LocalDateTime.ofInstant(instante(v), ZONA);
+    }
+}
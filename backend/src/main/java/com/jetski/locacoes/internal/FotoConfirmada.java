@@ -0,0 +1,11 @@
+package com.jetski.locacoes.internal;
+
+import java.util.UUID;
+
+/**
+ * Aviso interno ao FotoVarianteService: upload da foto confirmado. Consumido
+ * pós-commit e fora da thread da requisição — gerar miniatura/média nunca
+ * atrasa nem derruba a confirmação.
+ */
+record FotoConfirmada(UUID tenantId, UUID fotoId) {
+}
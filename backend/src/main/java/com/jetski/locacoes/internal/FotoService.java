@@ -15,6 +15,7 @@ import com.jetski.locacoes.api.dto.UploadUrlResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +31,10 @@ import java.util.stream.Collectors;
  *
  * Orquestra a geração de presigned URLs, validação de uploads
  * e persistência de metadados no banco de dados.
+ *
+ * Fotos confirmadas ganham miniatura e versão média em background
+ * ({@link FotoVarianteService}); a resposta traz as URLs delas, ou a do
+ * original enquanto não existirem.
  */
 @Service
 @RequiredArgsConstructor
@@ -39,6 +44,8 @@ public class FotoService {
     private final StorageService storageService;
     private final FotoRepository fotoRepository;
     private final LocacaoRepository locacaoRepository;
+    private final FotoVarianteService fotoVarianteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${storage.presigned-url-expiration-minutes:15}")
     private int presignedUrlExpirationMinutes;
@@ -137,6 +144,7 @@ public class FotoService {
         // Atualiza registro
         foto.setUploadedAt(Instant.now());
         fotoRepository.save(foto);
+        eventPublisher.publishEvent(new FotoConfirmada(tenantId, fotoId));
 
         log.info("Upload confirmed: fotoId={}, key={}", fotoId, foto.getS3Key());
     }
@@ -182,6 +190,9 @@ public class FotoService {
         if (storageService.fileExists(foto.getS3Key())) {
             storageService.deleteFile(foto.getS3Key());
         }
+        if (foto.getVariantesGeradasEm() != null) {
+            fotoVarianteService.remover(foto.getS3Key());
+        }
 
         // Deleta do banco
         fotoRepository.delete(foto);
@@ -192,6 +203,8 @@ public class FotoService {
     private FotoResponse toFotoResponse(Foto foto) {
         // Gera download URL se foto foi confirmada
         String downloadUrl = null;
+        String miniaturaUrl = null;
+        String mediaUrl = null;
         LocalDateTime downloadUrlExpiresAt = null;
 
         if (foto.getUploadedAt() != null) {
@@ -201,6 +214,14 @@ public class FotoService {
             );
             downloadUrl = presignedUrl.getUrl();
             downloadUrlExpiresAt = presignedUrl.getExpiresAt();
+
+            // Variantes ainda não geradas (ou WebP): galeria usa o original
+            miniaturaUrl = downloadUrl;
+            mediaUrl = downloadUrl;
+            if (foto.getVariantesGeradasEm() != null) {
+                miniaturaUrl = urlVariante(foto, FotoVarianteService.Variante.MINIATURA);
+                mediaUrl = urlVariante(foto, FotoVarianteService.Variante.MEDIA);
+            }
         }
 
         return FotoResponse.builder()
@@ -209,6 +230,8 @@ public class FotoService {
             .tipo(foto.getTipo())
             .storageKey(foto.getS3Key())
             .downloadUrl(downloadUrl)
+            .miniaturaUrl(miniaturaUrl)
+            .mediaUrl(mediaUrl)
             .tamanhoBytes(foto.getSizeBytes())
             .contentType(foto.getContentType())
             .sha256Hash(foto.getSha256Hash())
@@ -218,6 +241,13 @@ public class FotoService {
             .build();
     }
 
+    private String urlVariante(Foto foto, FotoVarianteService.Variante variante) {
+        return storageService.generatePresignedDownloadUrl(
+            FotoVarianteService.chave(foto.getS3Key(), variante),
+            downloadUrlExpirationMinutes
+        ).getUrl();
+    }
+
     private String getExtensionFromContentType(String contentType) {
         return switch (contentType) {
             case "image/jpeg" -> ".jpg";
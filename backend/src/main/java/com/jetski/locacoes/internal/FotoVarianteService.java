@@ -0,0 +1,341 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.locacoes.domain.Foto;
+import com.jetski.locacoes.internal.repository.FotoRepository;
+import com.jetski.shared.security.TenantContext;
+import com.jetski.shared.storage.StorageService;
+import com.jetski.tenant.ImagemPresetService;
+import com.jetski.tenant.api.dto.ImagemCompressaoConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Variantes reduzidas das fotos de check-in/check-out: miniatura (galeria,
+ * listas) e média (visualização, comparação de avarias), em JPEG, gravadas ao
+ * lado do original em {@code {chave sem extensão}-miniatura.jpg} /
+ * {@code -media.jpg}. Tamanho e qualidade vêm dos presets FOTO_MINIATURA /
+ * FOTO_MEDIA da config de compressão de imagem da plataforma.
+ *
+ * <p>Gerada APÓS o commit da confirmação e em thread própria (padrão
+ * {@link ClaimAutoConviteListener}): o original já está no storage e é relido
+ * de lá. Best-effort — sem variante, a API serve o original (como antes).
+ * WebP não é decodificado pelo ImageIO (mesma limitação do
+ * {@code LogoAssetService}): fica sem variante.
+ *
+ * <p>A orientação EXIF da câmera é aplicada na redução: o navegador gira o
+ * original pela tag, e a miniatura precisa sair igual.
+ *
+ * <p>Métrica {@code jetski.foto.bytes} (tag {@code variante}: original,
+ * miniatura, media) registra o tamanho de cada arquivo gerado — a economia
+ * de transferência da galeria é a razão entre as séries. Os handles são
+ * registrados uma vez, no construtor — nada de lookup no registry por foto.
+ *
+ * <p>As dimensões são lidas do cabeçalho antes de decodificar: acima de
+ * {@code jetski.foto.variantes.max-pixels} a foto fica sem variante. Um
+ * PNG/JPEG pequeno em bytes mas enorme em pixels esgotaria o heap da thread
+ * async (o raster decodificado ocupa ~4 bytes por pixel).
+ */
+@Slf4j
+@Service
+public class FotoVarianteService {
+
+    /** Variantes geradas por foto, com o sufixo da chave e o tipo do preset. */
+    public enum Variante {
+        MINIATURA("miniatura", ImagemPresetService.FOTO_MINIATURA),
+        MEDIA("media", ImagemPresetService.FOTO_MEDIA);
+
+        private final String sufixo;
+        private final String preset;
+
+        Variante(String sufixo, String preset) {
+            this.sufixo = sufixo;
+            this.preset = preset;
+        }
+    }
+
+    /** ~50 MP: cobre as câmeras de celular comuns; o raster fica em ~200 MB. */
+    static final long MAX_PIXELS_PADRAO = 50_000_000L;
+
+    private final FotoRepository fotoRepository;
+    private final StorageService storageService;
+    private final ImagemPresetService imagemPresetService;
+    private final MeterRegistry meterRegistry;
+    private final long maxPixels;
+
+    private final DistributionSummary bytesOriginal;
+    private final Map<Variante, DistributionSummary> bytesVariante = new EnumMap<>(Variante.class);
+    private final Timer duracao;
+
+    public FotoVarianteService(FotoRepository fotoRepository, StorageService storageService,
+                               ImagemPresetService imagemPresetService, MeterRegistry meterRegistry) {
+        this(fotoRepository, storageService, imagemPresetService, meterRegistry, MAX_PIXELS_PADRAO);
+    }
+
+    @Autowired
+    public FotoVarianteService(FotoRepository fotoRepository, StorageService storageService,
+                               ImagemPresetService imagemPresetService, MeterRegistry meterRegistry,
+                               @Value("${jetski.foto.variantes.max-pixels:" + MAX_PIXELS_PADRAO + "}") long maxPixels) {
+        this.fotoRepository = fotoRepository;
+        this.storageService = storageService;
+        this.imagemPresetService = imagemPresetService;
+        this.meterRegistry = meterRegistry;
+        this.maxPixels = maxPixels;
+        this.bytesOriginal = resumoBytes("original");
+        for (Variante v : Variante.values()) {
+            bytesVariante.put(v, resumoBytes(v.sufixo));
+        }
+        this.duracao = meterRegistry.timer("jetski.foto.variantes.duracao");
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFotoConfirmada(FotoConfirmada event) {
+        try {
+            // Thread async: o TenantAwareDataSource lê o ThreadLocal para a RLS
+            TenantContext.setTenantId(event.tenantId());
+            gerar(event.tenantId(), event.fotoId());
+        } catch (Exception e) {
+            // best-effort: a foto JÁ está confirmada e é servida pelo original
+            log.warn("Variantes da foto {} não geradas: {}", event.fotoId(), e.getMessage());
+        } finally {
+            TenantContext.clear(); // thread de pool é reutilizada
+        }
+    }
+
+    /** Gera e grava as variantes da foto (idempotente: já geradas = nada a fazer). */
+    void gerar(UUID tenantId, UUID fotoId) throws IOException {
+        Foto foto = fotoRepository.findByIdAndTenantId(fotoId, tenantId).orElse(null);
+        if (foto == null || !foto.isUploaded() || foto.getVariantesGeradasEm() != null) {
+            return;
+        }
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        byte[] original = storageService.getObject(foto.getS3Key());
+        BufferedImage src = decodificar(foto, original);
+        if (src == null) {
+            return;
+        }
+        int orientacao = orientacaoExif(original);
+        bytesOriginal.record(original.length);
+
+        List<String> gravadas = new ArrayList<>();
+        for (Variante v : Variante.values()) {
+            ImagemCompressaoConfig.Preset p = imagemPresetService.preset(v.preset);
+            byte[] jpeg = reduzir(src, orientacao, p.maxDimensao(), p.qualidade());
+            String key = chave(foto.getS3Key(), v);
+            storageService.putObject(key, jpeg, "image/jpeg");
+            gravadas.add(key);
+            bytesVariante.get(v).record(jpeg.length);
+        }
+
+        if (fotoRepository.marcarVariantesGeradas(fotoId, tenantId, Instant.now()) == 0) {
+            // apagada enquanto gerávamos: não deixar variante órfã no storage
+            gravadas.forEach(this::apagar);
+            return;
+        }
+        amostra.stop(duracao);
+        log.debug("Variantes geradas: foto={}, original={} bytes", fotoId, original.length);
+    }
+
+    /** Remove as variantes da foto (best-effort — storage órfão não quebra nada). */
+    public void remover(String s3Key) {
+        for (Variante v : Variante.values()) {
+            apagar(chave(s3Key, v));
+        }
+    }
+
+    /** Chave da variante, derivada da do original: {@code a/b/CHECKIN_FRENTE-miniatura.jpg}. */
+    public static String chave(String s3Key, Variante variante) {
+        int barra = s3Key.lastIndexOf('/');
+        int ponto = s3Key.lastIndexOf('.');
+        String base = ponto > barra ? s3Key.substring(0, ponto) : s3Key;
+        return base + "-" + variante.sufixo + ".jpg";
+    }
+
+    private void apagar(String key) {
+        try {
+            storageService.deleteFile(key);
+        } catch (Exception e) {
+            log.warn("Falha ao remover variante de foto (key={}): {}", key, e.getMessage());
+        }
+    }
+
+    private DistributionSummary resumoBytes(String variante) {
+        return DistributionSummary.builder("jetski.foto.bytes")
+            .description("Tamanho das fotos de locação (original e variantes)")
+            .baseUnit("bytes")
+            .tag("variante", variante)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decodifica o original só se couber no limite de pixels — largura e
+     * altura vêm do cabeçalho, sem alocar o raster. {@code null} (foto servida
+     * pelo original) quando não há leitor para o formato ou passa do limite.
+     */
+    private BufferedImage decodificar(Foto foto, byte[] original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(in);
+            if (!leitores.hasNext()) {
+                log.info("Foto {} em formato não decodificável ({}): servida pelo original",
+                    foto.getId(), foto.getContentType());
+                return null;
+            }
+            ImageReader reader = leitores.next();
+            try {
+                reader.setInput(in, true, true);
+                int largura = reader.getWidth(0);
+                int altura = reader.getHeight(0);
+                if ((long) largura * altura > maxPixels) {
+                    log.warn("Foto {} com {}x{} px acima do limite de {} px: servida pelo original",
+                        foto.getId(), largura, altura, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz para caber em {@code maxDimensao} px no lado maior (sem ampliar),
+     * aplica a orientação EXIF e codifica em JPEG com {@code qualidade}.
+     * Transparência (PNG) vira fundo branco.
+     */
+    static byte[] reduzir(BufferedImage src, int orientacao, int maxDimensao, double qualidade) throws IOException {
+        double escala = Math.min(1.0, (double) maxDimensao / Math.max(src.getWidth(), src.getHeight()));
+        int w = Math.max(1, (int) Math.round(src.getWidth() * escala));
+        int h = Math.max(1, (int) Math.round(src.getHeight() * escala));
+        boolean transposta = orientacao >= 5 && orientacao <= 8;
+
+        BufferedImage dst = new BufferedImage(transposta ? h : w, transposta ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, dst.getWidth(), dst.getHeight());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.transform(transformacao(orientacao, w, h));
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality((float) qualidade);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(dst, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /** Leva a imagem {@code w x h} à orientação de exibição (tag EXIF 1–8). */
+    private static AffineTransform transformacao(int orientacao, int w, int h) {
+        return switch (orientacao) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // espelhada
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180°
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // espelhada vertical
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transposta
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 90° horário
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversa
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 90° anti-horário
+            default -> new AffineTransform();
+        };
+    }
+
+    /**
+     * Tag EXIF Orientation (0x0112) do IFD0 de um JPEG; 1 (normal) quando
+     * ausente, ilegível ou não-JPEG. Varre só os segmentos do cabeçalho.
+     */
+    static int orientacaoExif(byte[] b) {
+        if (b.length < 4 || (b[0] & 0xFF) != 0xFF || (b[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        int i = 2;
+        while (i + 4 <= b.length && (b[i] & 0xFF) == 0xFF) {
+            int marker = b[i + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                return 1; // início dos dados da imagem: sem APP1
+            }
+            int len = u16(b, i + 2, false);
+            if (marker == 0xE1 && len >= 14 && i + 10 <= b.length
+                    && "Exif".equals(new String(b, i + 4, 4, StandardCharsets.US_ASCII))) {
+                return orientacaoTiff(b, i + 10, Math.min(b.length, i + 2 + len));
+            }
+            i += 2 + len;
+        }
+        return 1;
+    }
+
+    private static int orientacaoTiff(byte[] b, int tiff, int fim) {
+        if (tiff + 8 > fim) {
+            return 1;
+        }
+        boolean le = b[tiff] == 'I' && b[tiff + 1] == 'I';
+        long ifd = tiff + u32(b, tiff + 4, le);
+        if (ifd + 2 > fim) {
+            return 1;
+        }
+        int n = u16(b, (int) ifd, le);
+        for (int k = 0; k < n; k++) {
+            int e = (int) ifd + 2 + k * 12;
+            if (e + 12 > fim) {
+                return 1;
+            }
+            if (u16(b, e, le) == 0x0112) {
+                int v = u16(b, e + 8, le);
+                return v >= 1 && v <= 8 ? v : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int u16(byte[] b, int i, boolean le) {
+        int a = b[i] & 0xFF, c = b[i + 1] & 0xFF;
+        return le ? (c << 8) | a : (a << 8) | c;
+    }
+
+    private static long u32(byte[] b, int i, boolean le) {
+        long hi = u16(b, le ? i + 2 : i, le);
+        long lo = u16(b, le ? i : i + 2, le);
+        return (hi << 16) | lo;
+    }
+}
@@ -37,13 +37,16 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Assinatura digital PAdES do PDF emitido (Fase C2): torna o documento
@@ -67,7 +70,14 @@ public class PadesSignatureService {
     private final AssinaturaCertificadoRepository repository;
     private final SecretCipher secretCipher;
 
-    private record Chave(PrivateKey pk, Certificate[] chain) {}
+    private record Chave(UUID id, PrivateKey pk, Certificate[] chain) {}
+
+    /** De quanto em quanto tempo um nó confere se o certificado no banco mudou. */
+    Duration intervaloConferencia = Duration.ofMinutes(5);
+
+    private final ReentrantLock carga = new ReentrantLock();
+    private volatile Chave chave;
+    private volatile long conferidaEm;
 
     /**
      * Assina o PDF em PAdES (SHA-256). Se {@code tsaUrl} for informado, embute um
@@ -141,11 +151,54 @@ public class PadesSignatureService {
         return baos.toByteArray();
     }
 
-    /** Carrega o certificado da plataforma; cria (auto-assinado) na primeira vez. */
-    private synchronized Chave getOrCreate() {
-        return repository.findFirstByOrderByCreatedAtDesc()
-            .map(this::carregar)
-            .orElseGet(this::gerarEArmazenar);
+    /**
+     * Carrega o certificado da plataforma; cria (auto-assinado) na primeira vez.
+     * Fica em memória: antes toda assinatura lia o banco e decifrava a chave
+     * dentro de um {@code synchronized} — serializava as emissões e, em virtual
+     * thread, prendia a carrier durante o I/O.
+     *
+     * <p>A cada {@link #intervaloConferencia} UMA thread (tryLock; as demais seguem
+     * com a chave atual) relê a linha mais recente e troca a chave se o id mudou —
+     * rotação do certificado no banco vale em todos os nós sem restart. Falha nessa
+     * conferência mantém a chave em uso e tenta de novo no próximo intervalo.
+     */
+    private Chave getOrCreate() {
+        Chave c = chave;
+        if (c != null && !conferenciaVencida()) {
+            return c;
+        }
+        if (c == null) {
+            carga.lock();
+        } else if (!carga.tryLock()) {
+            return c;
+        }
+        try {
+            if (chave != null && !conferenciaVencida()) {
+                return chave;
+            }
+            try {
+                Optional<AssinaturaCertificado> atual = repository.findFirstByOrderByCreatedAtDesc();
+                if (chave == null) {
+                    chave = atual.map(this::carregar).orElseGet(this::gerarEArmazenar);
+                } else if (atual.isPresent() && !atual.get().getId().equals(chave.id())) {
+                    chave = carregar(atual.get());
+                    log.info("Certificado de assinatura PAdES recarregado (id={})", chave.id());
+                }
+            } catch (RuntimeException e) {
+                if (chave == null) {
+                    throw e;
+                }
+                log.warn("Conferência do certificado PAdES falhou; segue com o atual: {}", e.getMessage());
+            }
+            conferidaEm = System.nanoTime();
+            return chave;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private boolean conferenciaVencida() {
+        return System.nanoTime() - conferidaEm >= intervaloConferencia.toNanos();
     }
 
     private Chave carregar(AssinaturaCertificado ent) {
@@ -155,7 +208,7 @@ public class PadesSignatureService {
                 .generateCertificate(new ByteArrayInputStream(certDer));
             byte[] keyDer = Base64.getDecoder().decode(secretCipher.decrypt(ent.getKeyPemEnc()));
             PrivateKey pk = KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(keyDer));
-            return new Chave(pk, new Certificate[]{cert});
+            return new Chave(ent.getId(), pk, new Certificate[]{cert});
         } catch (Exception e) {
             throw new IllegalStateException("Certificado de assinatura inválido", e);
         }
@@ -187,7 +240,7 @@ public class PadesSignatureService {
                 .build();
             repository.save(ent);
             log.info("Certificado de assinatura PAdES gerado (subject={})", dn);
-            return new Chave(kp.getPrivate(), new Certificate[]{cert});
+            return new Chave(ent.getId(), kp.getPrivate(), new Certificate[]{cert});
         } catch (Exception e) {
             throw new IllegalStateException("Falha ao gerar o certificado de assinatura", e);
         }
@@ -1,13 +1,27 @@
 package com.jetski.locacoes.internal;
 
-import lombok.RequiredArgsConstructor;
+import com.jetski.shared.storage.StorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Links temporários de uso único para abrir PDFs por uma URL https real
@@ -16,38 +30,164 @@ import java.util.UUID;
  *
  * <p>O PDF (já gerado e autorizado) é guardado no Redis sob um token aleatório
  * com TTL curto; o endpoint público o entrega uma vez e o remove.
+ *
+ * <p>Valor no Redis: 1 byte de marcador + conteúdo. {@code P} = bytes do PDF
+ * crus (sem Base64, que inflava 33%); {@code S} = chave no object storage, usada
+ * para PDFs acima de {@code jetski.pdf-link.inline-max-kb} ou quando os bytes
+ * em voo no Redis por este nó passariam de {@code jetski.pdf-link.redis-max-kb}.
+ * O consumo é um {@code GETDEL} — atômico: dois opens concorrentes do mesmo
+ * link nunca recebem o PDF os dois.
+ *
+ * <p>Métricas por tipo de link: {@code jetski.pdf_link.bytes_em_voo}
+ * (gauge, bytes no Redis criados por este nó e ainda não consumidos/expirados)
+ * e {@code jetski.pdf_link.criados} (contador por destino redis|storage).
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class PdfLinkService {
 
+    /** Origem do link — só para contabilidade de memória/métricas. */
+    public enum Tipo { DOCUMENTO, EMISSAO, FICHA_RESERVA }
+
     private static final String PREFIX = "pdflink:";
+    private static final String STORAGE_PREFIX = "_pdf-links/";
     private static final Duration TTL = Duration.ofMinutes(2);
+    private static final byte INLINE = 'P';
+    private static final byte STORAGE = 'S';
 
     private final StringRedisTemplate redis;
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+
+    /** Links criados por este nó ainda pendentes (token → tipo/bytes/destino). */
+    private final Map<String, Pendente> pendentes = new ConcurrentHashMap<>();
+    private final Map<Tipo, AtomicLong> bytesEmVoo = new EnumMap<>(Tipo.class);
+
+    @Value("${jetski.pdf-link.inline-max-kb:1024}")
+    private long inlineMaxKb;
+
+    @Value("${jetski.pdf-link.redis-max-kb:65536}")
+    private long redisMaxKb;
+
+    public PdfLinkService(StringRedisTemplate redis, StorageService storageService, MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+        for (Tipo tipo : Tipo.values()) {
+            AtomicLong bytes = new AtomicLong();
+            bytesEmVoo.put(tipo, bytes);
+            Gauge.builder("jetski.pdf_link.bytes_em_voo", bytes, AtomicLong::get)
+                .description("Bytes de PDF no Redis aguardando abertura (por nó)")
+                .tag("tipo", tipo.name().toLowerCase())
+                .register(meterRegistry);
+        }
+    }
+
+    private record Pendente(Tipo tipo, long bytes, String storageKey, long expiraEmNanos) {
+    }
 
-    /** Guarda os bytes e devolve a URL pública (relativa) para abrir o PDF. */
-    public String criarLink(byte[] pdf) {
+    /** Guarda o PDF e devolve a URL pública (relativa) para abri-lo uma vez. */
+    public String criarLink(Tipo tipo, byte[] pdf) {
         String token = UUID.randomUUID().toString().replace("-", "")
             + Long.toHexString(System.nanoTime());
-        redis.opsForValue().set(PREFIX + token, Base64.getEncoder().encodeToString(pdf), TTL);
+        expirarPendentes();
+
+        boolean inline = pdf.length <= inlineMaxKb * 1024
+            && emVooNoRedis() + pdf.length <= redisMaxKb * 1024;
+        byte[] valor;
+        String storageKey = null;
+        if (inline) {
+            valor = new byte[pdf.length + 1];
+            valor[0] = INLINE;
+            System.arraycopy(pdf, 0, valor, 1, pdf.length);
+        } else {
+            storageKey = STORAGE_PREFIX + token + ".pdf";
+            storageService.putObject(storageKey, pdf, "application/pdf");
+            byte[] ref = storageKey.getBytes(StandardCharsets.UTF_8);
+            valor = new byte[ref.length + 1];
+            valor[0] = STORAGE;
+            System.arraycopy(ref, 0, valor, 1, ref.length);
+        }
+
+        byte[] key = (PREFIX + token).getBytes(StandardCharsets.UTF_8);
+        redis.execute((RedisCallback<Boolean>) c -> c.stringCommands()
+            .set(key, valor, Expiration.from(TTL), RedisStringCommands.SetOption.upsert()));
+
+        long noRedis = inline ? pdf.length : valor.length;
+        pendentes.put(token, new Pendente(tipo, noRedis, storageKey, System.nanoTime() + TTL.toNanos()));
+        bytesEmVoo.get(tipo).addAndGet(noRedis);
+        Counter.builder("jetski.pdf_link.criados")
+            .tag("tipo", tipo.name().toLowerCase())
+            .tag("destino", inline ? "redis" : "storage")
+            .register(meterRegistry)
+            .increment();
         return "/api/v1/pdf/" + token;
     }
 
-    /** Consome o token (uso único): devolve os bytes e remove a chave. Null se inválido/expirado. */
-    public byte[] consumir(String token) {
-        String key = PREFIX + token;
-        String b64 = redis.opsForValue().get(key);
-        if (b64 == null) {
+    /** PDF pronto para ser copiado na resposta, sem cópia extra dos bytes do Redis. */
+    public record Pdf(InputStream conteudo, long tamanho) {
+    }
+
+    /**
+     * Consome o token (uso único, {@code GETDEL} atômico). Null se inválido,
+     * expirado ou já consumido.
+     */
+    public Pdf consumir(String token) {
+        byte[] key = (PREFIX + token).getBytes(StandardCharsets.UTF_8);
+        byte[] valor = redis.execute((RedisCallback<byte[]>) c -> c.stringCommands().getDel(key));
+        Pendente p = pendentes.remove(token);
+        if (p != null) {
+            bytesEmVoo.get(p.tipo()).addAndGet(-p.bytes());
+        }
+        if (valor == null || valor.length == 0) {
             return null;
         }
-        redis.delete(key);
+        if (valor[0] == INLINE) {
+            return new Pdf(new ByteArrayInputStream(valor, 1, valor.length - 1), valor.length - 1);
+        }
+        if (valor[0] == STORAGE) {
+            String storageKey = new String(valor, 1, valor.length - 1, StandardCharsets.UTF_8);
+            try {
+                byte[] pdf = storageService.getObject(storageKey);
+                return new Pdf(new ByteArrayInputStream(pdf), pdf.length);
+            } finally {
+                apagar(storageKey);
+            }
+        }
+        log.warn("Token de PDF com conteúdo inválido: {}", token);
+        return null;
+    }
+
+    /**
+     * Links deste nó que expiraram sem abrir: libera a contabilidade e apaga o
+     * objeto no storage (o Redis já expirou a chave sozinho). Objetos de nó que
+     * reiniciou antes disso ficam órfãos sob {@code _pdf-links/}.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void expirarPendentes() {
+        long agora = System.nanoTime();
+        pendentes.entrySet().removeIf(e -> {
+            Pendente p = e.getValue();
+            if (agora - p.expiraEmNanos() < 0) {
+                return false;
+            }
+            bytesEmVoo.get(p.tipo()).addAndGet(-p.bytes());
+            if (p.storageKey() != null) {
+                apagar(p.storageKey());
+            }
+            return true;
+        });
+    }
+
+    long emVooNoRedis() {
+        return bytesEmVoo.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private void apagar(String storageKey) {
         try {
-            return Base64.getDecoder().decode(b64);
-        } catch (IllegalArgumentException e) {
-            log.warn("Token de PDF com conteúdo inválido: {}", token);
-            return null;
+            storageService.deleteFile(storageKey);
+        } catch (Exception e) {
+            log.warn("Falha ao remover PDF temporário do storage (key={}): {}", storageKey, e.getMessage());
         }
     }
 }
@@ -9,6 +9,7 @@ import com.jetski.locacoes.domain.Vendedor;
 import com.jetski.locacoes.internal.repository.PresencaVendedorRepository;
 import com.jetski.locacoes.internal.repository.VendedorRepository;
 import com.jetski.shared.exception.BusinessException;
+import com.jetski.shared.persistence.BulkUpsert;
 import com.jetski.shared.security.TenantContext;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
@@ -19,8 +20,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -46,11 +52,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PresencaVendedorService {
 
+    /** Upsert das presenças do dia (chave = constraint presenca_unique). */
+    private static final List<String> COLUNAS_UPSERT = List.of(
+            "id", "tenant_id", "vendedor_id", "dt_referencia", "tipo", "valor_diaria",
+            "valor_ajustado", "motivo_ajuste", "registrado_por", "updated_at");
+    private static final List<String> CHAVE_UPSERT = List.of("tenant_id", "vendedor_id", "dt_referencia");
+    private static final List<String> ATUALIZAR_UPSERT = List.of(
+            "tipo", "valor_diaria", "valor_ajustado", "motivo_ajuste", "registrado_por", "updated_at");
+
     private final PresencaVendedorRepository presencaRepository;
     private final VendedorRepository vendedorRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final FechamentoLockChecker fechamentoLockChecker;
     private final EntityManager entityManager;
+    private final BulkUpsert bulkUpsert;
 
     /**
      * Register daily attendance for multiple sellers (batch).
@@ -69,24 +84,24 @@ public class PresencaVendedorService {
         // Validate: closing must be OPEN or not exist yet
         validateFechamentoAberto(tenantId, dtReferencia);
 
-        // Delete existing records for the date (re-registration)
-        presencaRepository.deleteAllByDtReferencia(dtReferencia);
-        // Force flush to execute DELETE before INSERTs (avoids unique constraint violation)
-        entityManager.flush();
-        entityManager.clear();
-
-        List<PresencaVendedor> savedRecords = new ArrayList<>();
-
-        for (PresencaVendedorRequest presencaReq : request.getPresencas()) {
-            // Skip AUSENTE type - don't create records for absent sellers
-            if (presencaReq.getTipo() == null) {
-                continue;
+        // Validate and resolve all sellers up front: one findAllById instead of
+        // one findById per entry
+        List<PresencaVendedorRequest> presentes = request.getPresencas().stream()
+                // Skip AUSENTE type - don't create records for absent sellers
+                .filter(p -> p.getTipo() != null)
+                .toList();
+        Map<UUID, Vendedor> vendedores = new HashMap<>();
+        vendedorRepository.findAllById(presentes.stream().map(PresencaVendedorRequest::getVendedorId).toList())
+                .forEach(v -> vendedores.put(v.getId(), v));
+
+        OffsetDateTime agora = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> linhas = new ArrayList<>(presentes.size());
+        for (PresencaVendedorRequest presencaReq : presentes) {
+            Vendedor vendedor = vendedores.get(presencaReq.getVendedorId());
+            if (vendedor == null) {
+                throw new BusinessException("Vendedor não encontrado: " + presencaReq.getVendedorId());
             }
 
-            // Validate seller exists
-            Vendedor vendedor = vendedorRepository.findById(presencaReq.getVendedorId())
-                    .orElseThrow(() -> new BusinessException("Vendedor não encontrado: " + presencaReq.getVendedorId()));
-
             // Validate adjustment reason if value is adjusted
             if (presencaReq.getValorAjustado() != null &&
                 (presencaReq.getMotivoAjuste() == null || presencaReq.getMotivoAjuste().isBlank())) {
@@ -96,20 +111,32 @@ public class PresencaVendedorService {
             // Calculate base value
             BigDecimal valorDiaria = calculateValorDiaria(vendedor.getDiariaBase(), presencaReq.getTipo());
 
-            // Create attendance record
-            PresencaVendedor presenca = PresencaVendedor.builder()
-                    .tenantId(tenantId)
-                    .vendedor(vendedor)
-                    .dtReferencia(dtReferencia)
-                    .tipo(presencaReq.getTipo())
-                    .valorDiaria(valorDiaria)
-                    .valorAjustado(presencaReq.getValorAjustado())
-                    .motivoAjuste(presencaReq.getMotivoAjuste())
-                    .registradoPor(registradoPor)
-                    .build();
-
-            savedRecords.add(presencaRepository.save(presenca));
+            linhas.add(new Object[]{
+                    UUID.randomUUID(), tenantId, vendedor.getId(), dtReferencia,
+                    presencaReq.getTipo().name(), valorDiaria,
+                    presencaReq.getValorAjustado(), presencaReq.getMotivoAjuste(),
+                    registradoPor, agora});
+        }
+
+        // Paid attendance is final: rejected before any write if the request would
+        // drop or change it. The upsert also skips paid rows (pago_em IS NULL) so a
+        // payment committed concurrently is not rewritten either.
+        validarPresencasPagas(dtReferencia, presentes);
+
+        // Re-registration: sellers no longer present lose the day's record (one
+        // DELETE), the rest are upserted in JDBC batches on (tenant, seller, date).
+        // Existing rows keep id and payment linkage (pagamento_id/pago_em).
+        entityManager.flush();
+        List<UUID> mantidos = presentes.stream().map(PresencaVendedorRequest::getVendedorId).toList();
+        if (mantidos.isEmpty()) {
+            presencaRepository.deleteAllByDtReferencia(dtReferencia);
+        } else {
+            presencaRepository.deleteByDtReferenciaExceto(dtReferencia, mantidos);
         }
+        bulkUpsert.upsert("presenca_vendedor", COLUNAS_UPSERT, CHAVE_UPSERT, ATUALIZAR_UPSERT, "pago_em", linhas);
+        entityManager.clear();
+
+        List<PresencaVendedor> savedRecords = presencaRepository.findAllByDtReferencia(dtReferencia);
 
         log.info("Registered {} attendance records for date: {}", savedRecords.size(), dtReferencia);
 
@@ -257,6 +284,33 @@ public class PresencaVendedorService {
         return diariaBase.multiply(BigDecimal.valueOf(tipo.getFator()));
     }
 
+    /**
+     * Reject re-registration that would drop or change an already paid attendance
+     * (type or manual adjustment). Unchanged paid entries pass and are left as they are.
+     */
+    private void validarPresencasPagas(LocalDate dtReferencia, List<PresencaVendedorRequest> presentes) {
+        Map<UUID, PresencaVendedorRequest> porVendedor = new HashMap<>();
+        presentes.forEach(p -> porVendedor.put(p.getVendedorId(), p));
+        for (PresencaVendedor existente : presencaRepository.findAllByDtReferencia(dtReferencia)) {
+            if (!existente.isPaga()) {
+                continue;
+            }
+            PresencaVendedorRequest novo = porVendedor.get(existente.getVendedorId());
+            boolean alterada = novo == null
+                    || novo.getTipo() != existente.getTipo()
+                    || !mesmoValor(novo.getValorAjustado(), existente.getValorAjustado())
+                    || !Objects.equals(novo.getMotivoAjuste(), existente.getMotivoAjuste());
+            if (alterada) {
+                throw new BusinessException("Diária já paga não pode ser alterada: "
+                        + existente.getVendedor().getNome() + " em " + dtReferencia);
+            }
+        }
+    }
+
+    private static boolean mesmoValor(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
     /**
      * Validate that daily closing is open or doesn't exist yet.
      */
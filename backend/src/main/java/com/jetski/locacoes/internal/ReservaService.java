@@ -26,11 +26,13 @@ import com.jetski.reservas.domain.event.ReservationCreatedEvent;
 import com.jetski.shared.exception.BusinessException;
 import com.jetski.shared.security.TenantContext;
 import com.jetski.tenant.TenantTimeService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -80,6 +82,8 @@ public class ReservaService {
     private final ApplicationEventPublisher eventPublisher;
     private final TenantTimeService tenantTimeService;
     private final ClienteNotificacaoService clienteNotificacaoService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * List all active reservations for current tenant.
@@ -519,6 +523,7 @@ public class ReservaService {
 
         Reserva saved = reservaRepository.save(existing);
         log.info("Reservation updated successfully: id={}", saved.getId());
+        eventPublisher.publishEvent(TimelineOrigemAlterada.reserva(saved.getTenantId(), saved.getId()));
         return saved;
     }
 
@@ -648,6 +653,7 @@ public class ReservaService {
 
         reserva.setStatus(ReservaStatus.FINALIZADA);
         Reserva saved = reservaRepository.save(reserva);
+        eventPublisher.publishEvent(TimelineOrigemAlterada.reserva(saved.getTenantId(), saved.getId()));
 
         log.info("Reservation finalized successfully: id={}", saved.getId());
         return saved;
@@ -1061,6 +1067,7 @@ public class ReservaService {
 
         log.info("Jetski allocated successfully: reserva={}, jetski={}",
                  saved.getId(), saved.getJetskiId());
+        eventPublisher.publishEvent(TimelineOrigemAlterada.reserva(saved.getTenantId(), saved.getId()));
         return saved;
     }
 
@@ -1145,6 +1152,7 @@ public class ReservaService {
 
         reserva.setStatus(ReservaStatus.EXPIRADA);
         Reserva saved = reservaRepository.save(reserva);
+        eventPublisher.publishEvent(TimelineOrigemAlterada.reserva(saved.getTenantId(), saved.getId()));
 
         log.info("Reservation expired successfully: id={}, expiraEm={}",
                  saved.getId(), saved.getExpiraEm());
@@ -1155,26 +1163,90 @@ public class ReservaService {
      * Process expiration for all reservations that should expire.
      * Used by scheduled job.
      *
+     * Set-based, in batches: per tenant (set_config — no RLS bypass), each
+     * batch is one short transaction that claims up to {@code lote} due
+     * reservations with {@code FOR UPDATE SKIP LOCKED} and expires them in the
+     * same UPDATE ... RETURNING. Rows locked by an operator (or by another
+     * instance running the same job) are skipped, not waited on — they are
+     * picked up by the next cycle. Events go out once per batch.
+     *
+     * Not @Transactional: each batch commits on its own (TransactionTemplate).
+     *
+     * @param lote Max reservations claimed per batch/transaction
      * @return Count of expired reservations
      */
-    @Transactional
-    public int processarExpiracao() {
-        log.debug("Processing reservation expirations");
-
-        List<Reserva> paraExpirar = reservaRepository.findReservasParaExpirar(LocalDateTime.now());
-
-        int count = 0;
-        for (Reserva reserva : paraExpirar) {
-            try {
-                expirarReserva(reserva.getId());
-                count++;
-            } catch (Exception e) {
-                log.error("Failed to expire reservation id={}: {}", reserva.getId(), e.getMessage());
+    public int processarExpiracao(int lote) {
+        log.debug("Processing reservation expirations (batch size {})", lote);
+
+        // Thread de SCHEDULER: fixarTenant seta o TenantContext a cada tenant;
+        // limpar no fim para não vazar o último tenant para os jobs seguintes.
+        try {
+            // Todo tenant que pode ter pré-reserva segurando vaga: TRIAL opera como
+            // ATIVO, e SUSPENSO é temporário — a vaga precisa estar livre na reativação
+            List<UUID> tenants = transactionTemplate.execute(tx -> {
+                @SuppressWarnings("unchecked")
+                List<UUID> ids = entityManager
+                    .createNativeQuery("SELECT id FROM tenant WHERE status IN ('TRIAL', 'ATIVO', 'SUSPENSO')")
+                    .getResultList();
+                return ids;
+            });
+
+            int count = 0;
+            for (UUID tenantId : tenants) {
+                Integer n;
+                do {
+                    n = transactionTemplate.execute(tx -> expirarLote(tenantId, lote));
+                    count += n != null ? n : 0;
+                } while (n != null && n == lote);
             }
+
+            log.info("Processed expiration for {} reservations", count);
+            return count;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Claims and expires one batch of the tenant's due reservations
+     * (same criteria as {@link Reserva#deveExpirar()}; partial index
+     * idx_reserva_expiracao, V071).
+     */
+    private int expirarLote(UUID tenantId, int lote) {
+        fixarTenant(tenantId);
+        @SuppressWarnings("unchecked")
+        List<UUID> expiradas = entityManager.createNativeQuery("""
+                UPDATE reserva
+                   SET status = 'EXPIRADA'
+                 WHERE id IN (
+                       SELECT id
+                         FROM reserva
+                        WHERE tenant_id = :tenant
+                          AND expira_em IS NOT NULL
+                          AND expira_em <= now()
+                          AND sinal_pago = false
+                          AND ativo = true
+                          AND status IN ('PENDENTE', 'CONFIRMADA')
+                        ORDER BY expira_em
+                        LIMIT :lote
+                          FOR UPDATE SKIP LOCKED)
+                RETURNING id
+                """)
+            .setParameter("tenant", tenantId)
+            .setParameter("lote", lote)
+            .getResultList();
+        if (!expiradas.isEmpty()) {
+            eventPublisher.publishEvent(new TimelineOrigemAlterada(tenantId, expiradas));
+            log.info("Reservations expired: tenant={}, count={}", tenantId, expiradas.size());
         }
+        return expiradas.size();
+    }
 
-        log.info("Processed expiration for {} reservations", count);
-        return count;
+    private void fixarTenant(UUID tenantId) {
+        entityManager.createNativeQuery("SELECT set_config('app.tenant_id', :tid, true)")
+            .setParameter("tid", tenantId.toString())
+            .getSingleResult();
+        TenantContext.setTenantId(tenantId);
     }
 
     /**
@@ -0,0 +1,17 @@
+package com.jetski.locacoes.internal;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aviso interno ao CustomerTimelineListener: reserva(s) mudaram por um
+ * caminho que não publica evento de domínio (edição, expiração, finalização,
+ * aceite do rascunho, pré-reserva do portal). Consumido pós-commit como os
+ * demais — a escrita de origem nunca depende da projeção.
+ */
+record TimelineOrigemAlterada(UUID tenantId, List<UUID> reservaIds) {
+
+    static TimelineOrigemAlterada reserva(UUID tenantId, UUID reservaId) {
+        return new TimelineOrigemAlterada(tenantId, List.of(reservaId));
+    }
+}
@@ -2,12 +2,15 @@ package com.jetski.locacoes.internal.jobs;
 
 import com.jetski.locacoes.internal.CustomerReservaService;
 import com.jetski.locacoes.internal.ReservaService;
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Scheduled Job: Reservation Expiration
  *
@@ -25,8 +28,12 @@ import org.springframework.stereotype.Component;
  * - Fixed delay ensures job completes before next execution
  *
  * Multi-tenant Handling:
- * - Currently processes all tenants' reservations
- * - TODO: Future enhancement could partition by tenant for scalability
+ * - Processes all tenants' reservations in a single pass, tenant by tenant
+ * - Set-based: each batch of up to {@code jetski.reserva.expiracao-lote}
+ *   reservations is claimed (FOR UPDATE SKIP LOCKED) and expired in one short
+ *   transaction, so a slow cycle never holds row locks across the whole pass
+ * - Cluster: one replica per cycle (lease via ClusterJobRunner); the lease is
+ *   held a bit less than the interval so the next cycle is free to any node
  *
  * @author Jetski Team
  * @since 0.3.0
@@ -38,11 +45,16 @@ public class ReservaExpiracaoJob {
 
     private final ReservaService reservaService;
     private final CustomerReservaService customerReservaService;
+    private final ClusterJobRunner jobRunner;
 
     /** Prazo (horas) para a pré-reserva do portal ser paga antes de expirar. */
     @Value("${jetski.portal.pre-reserva-expiracao-horas:24}")
     private int preReservaExpiracaoHoras;
 
+    /** Reservas expiradas por lote (uma transação curta cada). */
+    @Value("${jetski.reserva.expiracao-lote:500}")
+    private int expiracaoLote;
+
     /**
      * Execute expiration processing for all tenants.
      * Runs every 5 minutes with fixed delay.
@@ -52,19 +64,20 @@ public class ReservaExpiracaoJob {
      */
     @Scheduled(fixedDelay = 300000) // 5 minutes = 300,000ms
     public void processExpiredReservations() {
-        log.debug("Starting scheduled reservation expiration job");
+        jobRunner.executar("reserva-expiracao", Duration.ofMinutes(4), Duration.ofMinutes(15),
+            this::expirarReservas);
+    }
 
-        try {
-            int expiredCount = reservaService.processarExpiracao();
+    /** Exceptions propagate to the runner: logged, counted as failure and kept in job history. */
+    private void expirarReservas() {
+        log.debug("Starting scheduled reservation expiration job");
 
-            if (expiredCount > 0) {
-                log.info("Reservation expiration job completed: {} reservations expired", expiredCount);
-            } else {
-                log.debug("Reservation expiration job completed: no reservations to expire");
-            }
+        int expiredCount = reservaService.processarExpiracao(expiracaoLote);
 
-        } catch (Exception e) {
-            log.error("Error during reservation expiration job: {}", e.getMessage(), e);
+        if (expiredCount > 0) {
+            log.info("Reservation expiration job completed: {} reservations expired", expiredCount);
+        } else {
+            log.debug("Reservation expiration job completed: no reservations to expire");
         }
     }
 
@@ -75,13 +88,14 @@ public class ReservaExpiracaoJob {
      */
     @Scheduled(fixedDelay = 900000) // 15 minutos
     public void expirarPreReservasPortal() {
-        try {
-            int n = customerReservaService.expirarPreReservasPortal(preReservaExpiracaoHoras);
-            if (n > 0) {
-                log.info("Pré-reservas de portal expiradas pelo job: {}", n);
-            }
-        } catch (Exception e) {
-            log.error("Erro ao expirar pré-reservas do portal: {}", e.getMessage(), e);
+        jobRunner.executar("pre-reserva-portal-expiracao", Duration.ofMinutes(14), Duration.ofMinutes(30),
+            this::expirarPreReservas);
+    }
+
+    private void expirarPreReservas() {
+        int n = customerReservaService.expirarPreReservasPortal(preReservaExpiracaoHoras);
+        if (n > 0) {
+            log.info("Pré-reservas de portal expiradas pelo job: {}", n);
         }
     }
 }
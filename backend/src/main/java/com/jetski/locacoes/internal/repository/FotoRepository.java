@@ -3,8 +3,13 @@ package com.jetski.locacoes.internal.repository;
 import com.jetski.locacoes.domain.Foto;
 import com.jetski.locacoes.domain.FotoTipo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -63,4 +68,14 @@ public interface FotoRepository extends JpaRepository<Foto, UUID> {
      * Find foto by S3 key (for integrity checks)
      */
     Optional<Foto> findByTenantIdAndS3Key(UUID tenantId, String s3Key);
+
+    /**
+     * Mark the reduced variants as generated. Targeted UPDATE (not save): the
+     * generator runs after the request, and a photo deleted meanwhile must not
+     * be re-inserted — 0 rows means it is gone.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Foto f SET f.variantesGeradasEm = :em WHERE f.id = :id AND f.tenantId = :tenantId")
+    int marcarVariantesGeradas(@Param("id") UUID id, @Param("tenantId") UUID tenantId, @Param("em") Instant em);
 }
@@ -1,9 +1,13 @@
 package com.jetski.locacoes.internal.repository;
 
+import com.jetski.locacoes.api.dto.LocacaoRelatorioLinha;
 import com.jetski.locacoes.domain.Locacao;
 import com.jetski.locacoes.domain.LocacaoStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository: LocacaoRepository
@@ -61,6 +66,33 @@ public interface LocacaoRepository extends JpaRepository<Locacao, UUID> {
         @Param("dataFim") LocalDateTime dataFim
     );
 
+    /**
+     * Rentals checked out in [inicio, fim), as report rows, in check-out order.
+     * Server-side cursor (fetch size) — consume inside a transaction and close.
+     */
+    @Query("""
+        SELECT new com.jetski.locacoes.api.dto.LocacaoRelatorioLinha(
+               l.id, l.dataCheckIn, l.dataCheckOut, j.serie, m.nome, c.nome,
+               l.minutosUsados, l.minutosFaturaveis, l.valorTotal, l.combustivelCusto, l.status)
+          FROM Locacao l
+          LEFT JOIN Jetski j ON j.id = l.jetskiId
+          LEFT JOIN Modelo m ON m.id = j.modeloId
+          LEFT JOIN Cliente c ON c.id = l.clienteId
+         WHERE l.tenantId = :tenantId
+           AND l.dataCheckOut >= :inicio
+           AND l.dataCheckOut < :fim
+         ORDER BY l.dataCheckOut
+        """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<LocacaoRelatorioLinha> streamFinalizadasNoPeriodo(
+        @Param("tenantId") UUID tenantId,
+        @Param("inicio") LocalDateTime inicio,
+        @Param("fim") LocalDateTime fim
+    );
+
     /**
      * Find active rental for a specific jetski (status = EM_CURSO)
      * Used to prevent double check-in
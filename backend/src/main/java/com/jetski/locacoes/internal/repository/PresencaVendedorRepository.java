@@ -2,12 +2,15 @@ package com.jetski.locacoes.internal.repository;
 
 import com.jetski.locacoes.domain.PresencaVendedor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -120,12 +123,26 @@ public interface PresencaVendedorRepository extends JpaRepository<PresencaVended
     int countMeiaDiariaByDtReferencia(@Param("dtReferencia") LocalDate dtReferencia);
 
     /**
-     * Delete all attendance records for a specific date.
+     * Delete all attendance records for a specific date (single DELETE).
      * Used when re-registering attendance for a day.
      *
      * @param dtReferencia Reference date
      */
-    void deleteAllByDtReferencia(LocalDate dtReferencia);
+    @Modifying
+    @Query("DELETE FROM PresencaVendedor p WHERE p.dtReferencia = :dtReferencia")
+    int deleteAllByDtReferencia(@Param("dtReferencia") LocalDate dtReferencia);
+
+    /**
+     * Delete the date's attendance records of sellers NOT in {@code vendedorIds}
+     * (single DELETE). Used by re-registration before upserting the rest.
+     *
+     * @param dtReferencia Reference date
+     * @param vendedorIds Sellers that remain present
+     */
+    @Modifying
+    @Query("DELETE FROM PresencaVendedor p WHERE p.dtReferencia = :dtReferencia AND p.vendedorId NOT IN :vendedorIds")
+    int deleteByDtReferenciaExceto(@Param("dtReferencia") LocalDate dtReferencia,
+                                   @Param("vendedorIds") Collection<UUID> vendedorIds);
 
     /**
      * List attendance records for a seller in a date range.
@@ -252,4 +269,50 @@ public interface PresencaVendedorRepository extends JpaRepository<PresencaVended
     int countDiariasNaoPagasByVendedor(
             @Param("tenantId") UUID tenantId,
             @Param("vendedorId") UUID vendedorId);
+
+    /**
+     * Unpaid diarias totals grouped by seller — one query for the whole
+     * payables screen.
+     *
+     * <p>Columns: vendedor_id, sum of effective value, count.
+     *
+     * @param tenantId Tenant UUID
+     * @return Rows per seller with unpaid diarias
+     */
+    @Query(value = """
+        SELECT vendedor_id,
+               COALESCE(SUM(
+                   CASE WHEN valor_ajustado IS NOT NULL THEN valor_ajustado
+                        ELSE valor_diaria END
+               ), 0),
+               COUNT(*)
+        FROM presenca_vendedor
+        WHERE tenant_id = :tenantId
+          AND pago_em IS NULL
+        GROUP BY vendedor_id
+    """, nativeQuery = true)
+    List<Object[]> sumDiariasNaoPagasGroupByVendedor(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Mark the given diarias as paid in a single UPDATE, only those still
+     * unpaid for the seller. Returns the affected row count — fewer than
+     * {@code ids.size()} means a concurrent payment got there first.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE PresencaVendedor p
+           SET p.pagamentoId = :pagamentoId, p.pagoEm = :pagoEm, p.pagoPor = :pagoPor,
+               p.updatedAt = :pagoEm
+         WHERE p.tenantId = :tenantId
+           AND p.vendedorId = :vendedorId
+           AND p.pagoEm IS NULL
+           AND p.id IN :ids
+    """)
+    int marcarPagas(
+            @Param("tenantId") UUID tenantId,
+            @Param("vendedorId") UUID vendedorId,
+            @Param("ids") Collection<UUID> ids,
+            @Param("pagamentoId") UUID pagamentoId,
+            @Param("pagoPor") UUID pagoPor,
+            @Param("pagoEm") Instant pagoEm);
 }
@@ -43,7 +43,8 @@ public class MarketplaceService {
 
     /**
      * Gate por plano (V046): o filtro é em Java, por tenant distinto, via
-     * {@link PlanoLimiteService#moduloHabilitado} (cacheado em Redis). Não dá
+     * {@link PlanoLimiteService#moduloHabilitado} (snapshot em memória — custo
+     * de leitura de mapa por linha). Não dá
      * para filtrar na SQL: a RLS de {@code assinatura} bloquearia a subquery
      * em produção (estas consultas rodam sem tenant no contexto).
      */
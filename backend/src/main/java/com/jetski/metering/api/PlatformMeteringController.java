@@ -5,9 +5,16 @@ import com.jetski.metering.internal.PlatformMeteringService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.List;
@@ -28,14 +35,44 @@ public class PlatformMeteringController {
 
     private final PlatformMeteringService platformMeteringService;
 
+    /**
+     * Sem {@code size}: todas as empresas (contrato original). Com {@code size}:
+     * página {@code page} (0-based) e o total de empresas em {@code X-Total-Count}.
+     */
     @GetMapping("/emissoes")
     @Operation(summary = "Emissões por empresa na competência (YYYY-MM; default mês atual)")
-    public List<PlatformEmissaoTenantDTO> emissoes(
-            @RequestParam(required = false) String competencia) {
-        YearMonth ym = (competencia == null || competencia.isBlank())
+    public ResponseEntity<List<PlatformEmissaoTenantDTO>> emissoes(
+            @RequestParam(required = false) String competencia,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        YearMonth ym = competencia(competencia);
+        log.info("GET /v1/platform/metering/emissoes?competencia={}&page={}&size={}", ym, page, size);
+        if (size == null) {
+            return ResponseEntity.ok(platformMeteringService.emissoesPorTenant(ym));
+        }
+        return ResponseEntity.ok()
+            .header("X-Total-Count", String.valueOf(platformMeteringService.contarEmpresas()))
+            .body(platformMeteringService.emissoesPorTenant(ym, page, size));
+    }
+
+    /** CSV da competência, escrito em streaming na resposta (todas as empresas). */
+    @GetMapping("/emissoes/export")
+    @Operation(summary = "Exportar emissões por empresa da competência (CSV)")
+    public void exportarCsv(@RequestParam(required = false) String competencia,
+                            HttpServletResponse response) throws IOException {
+        YearMonth ym = competencia(competencia);
+        log.info("GET /v1/platform/metering/emissoes/export?competencia={}", ym);
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"emissoes_" + ym + ".csv\"");
+        PrintWriter writer = new PrintWriter(
+            new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        platformMeteringService.exportarCsv(ym, writer);
+    }
+
+    private static YearMonth competencia(String competencia) {
+        return (competencia == null || competencia.isBlank())
             ? YearMonth.now(ZoneId.of("America/Sao_Paulo"))
             : YearMonth.parse(competencia);
-        log.info("GET /v1/platform/metering/emissoes?competencia={}", ym);
-        return platformMeteringService.emissoesPorTenant(ym);
     }
 }
@@ -4,81 +4,125 @@ import com.jetski.metering.api.dto.PlatformEmissaoTenantDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.PrintWriter;
 import java.time.YearMonth;
-import java.time.ZoneId;
-import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Agregado de emissões por tenant para o super admin (plataforma).
  *
- * <p>Doutrina da plataforma: <b>sem bypass de RLS</b> — itera os tenants (a tabela
- * {@code tenant} não tem RLS) trocando o tenant da transação com
- * {@code set_config('app.tenant_id', ..., true)} ({@code local=true}: o valor
- * reverte automaticamente ao fim da transação). Mesmo padrão de
- * {@code PlatformTenantService}/{@code PlatformSecretsService}.
+ * <p>Lê o rollup {@code plataforma_emissao_mensal} (V066) — empresa × mês ×
+ * tipo, mantido por trigger em {@code emissao_uso} — em UMA consulta agrupada,
+ * em vez de trocar o {@code app.tenant_id} e contar {@code emissao_uso}
+ * empresa por empresa (N+1). O rollup é tabela de plataforma (sem RLS, como o
+ * read model da V056): nenhum bypass de RLS sobre a fonte.
+ *
+ * <p>Empresas sem emissão na competência aparecem zeradas (LEFT JOIN), na
+ * mesma ordem da listagem de empresas.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PlatformMeteringService {
 
-    private static final ZoneId ZONA = ZoneId.of("America/Sao_Paulo");
+    /** Teto da página (a tela pagina de 50 em 50; o CSV é o caminho para tudo). */
+    static final int TAMANHO_MAXIMO = 500;
+
+    private static final String EMISSOES_SQL = """
+        SELECT t.id, t.slug, t.razao_social,
+               COALESCE(SUM(m.total) FILTER (WHERE m.tipo = 'DOCUMENTO'), 0),
+               COALESCE(SUM(m.total) FILTER (WHERE m.tipo = 'GRU'), 0),
+               COALESCE(SUM(m.total) FILTER (WHERE m.tipo = 'PREVIA'), 0)
+          FROM tenant t
+          LEFT JOIN plataforma_emissao_mensal m
+                 ON m.tenant_id = t.id AND m.competencia = ?1
+         GROUP BY t.id, t.slug, t.razao_social
+         ORDER BY t.razao_social, t.id
+        """;
 
     private final EntityManager entityManager;
 
-    @Transactional
+    /** Todas as empresas na competência (contrato original do painel). */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
     public List<PlatformEmissaoTenantDTO> emissoesPorTenant(YearMonth competencia) {
-        Instant inicio = competencia.atDay(1).atStartOfDay(ZONA).toInstant();
-        Instant fim = competencia.plusMonths(1).atDay(1).atStartOfDay(ZONA).toInstant();
-
-        @SuppressWarnings("unchecked")
-        List<Object[]> tenants = entityManager.createNativeQuery(
-                "SELECT id, slug, razao_social FROM tenant ORDER BY razao_social")
-            .getResultList();
+        return ((List<Object[]>) consulta(competencia).getResultList()).stream()
+            .map(PlatformMeteringService::toDto)
+            .toList();
+    }
 
-        List<PlatformEmissaoTenantDTO> resultado = new ArrayList<>(tenants.size());
-        for (Object[] t : tenants) {
-            UUID tenantId = (UUID) t[0];
-            entityManager.createNativeQuery("SELECT set_config('app.tenant_id', ?1, true)")
-                .setParameter(1, tenantId.toString())
-                .getSingleResult();
+    /** Uma página (0-based) da mesma listagem; total em {@link #contarEmpresas()}. */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<PlatformEmissaoTenantDTO> emissoesPorTenant(YearMonth competencia, int pagina, int tamanho) {
+        int size = Math.clamp(tamanho, 1, TAMANHO_MAXIMO);
+        return ((List<Object[]>) consulta(competencia)
+                .setFirstResult(Math.max(0, pagina) * size)
+                .setMaxResults(size)
+                .getResultList()).stream()
+            .map(PlatformMeteringService::toDto)
+            .toList();
+    }
 
-            @SuppressWarnings("unchecked")
-            List<Object[]> counts = entityManager.createNativeQuery(
-                    """
-                    SELECT tipo, count(*) FROM emissao_uso
-                    WHERE tenant_id = ?3
-                      AND ocorrido_em >= ?1 AND ocorrido_em < ?2
-                    GROUP BY tipo
-                    """)
-                .setParameter(1, inicio)
-                .setParameter(2, fim)
-                // tenant explícito ALÉM do GUC/RLS (regra nº 1: nunca confiar só na
-                // RLS — como superuser, cada tenant mostraria a contagem GLOBAL)
-                .setParameter(3, tenantId)
-                .getResultList();
+    @Transactional(readOnly = true)
+    public long contarEmpresas() {
+        return ((Number) entityManager.createNativeQuery("SELECT count(*) FROM tenant")
+            .getSingleResult()).longValue();
+    }
 
-            long documento = 0;
-            long gru = 0;
-            long previa = 0;
-            for (Object[] c : counts) {
-                long v = ((Number) c[1]).longValue();
-                switch ((String) c[0]) {
-                    case "DOCUMENTO" -> documento = v;
-                    case "GRU" -> gru = v;
-                    case "PREVIA" -> previa = v;
-                    default -> { }
-                }
+    /**
+     * Escreve o CSV da competência direto no {@code writer}, linha a linha
+     * (cursor com fetch size — não materializa as N empresas em memória).
+     *
+     * @return quantas empresas foram escritas
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public int exportarCsv(YearMonth competencia, PrintWriter writer) {
+        writer.println("Empresa,Slug,Documentos,GRUs,Prévias,Total cobrável");
+        int linhas = 0;
+        try (Stream<Object[]> rows = consulta(competencia)
+                .setHint("org.hibernate.fetchSize", 500)
+                .getResultStream()) {
+            for (Object[] r : (Iterable<Object[]>) rows::iterator) {
+                PlatformEmissaoTenantDTO d = toDto(r);
+                writer.printf("%s,%s,%d,%d,%d,%d%n",
+                    escapeCsv(d.razaoSocial()), escapeCsv(d.slug()),
+                    d.documento(), d.gru(), d.previa(), d.total());
+                linhas++;
             }
-            resultado.add(new PlatformEmissaoTenantDTO(
-                tenantId, (String) t[1], (String) t[2], documento, gru, previa, documento + gru));
         }
-        return resultado;
+        writer.flush();
+        log.info("[PLATFORM] CSV de emissões {}: {} empresa(s)", competencia, linhas);
+        return linhas;
+    }
+
+    private Query consulta(YearMonth competencia) {
+        return entityManager.createNativeQuery(EMISSOES_SQL)
+            .setParameter(1, competencia.atDay(1));
+    }
+
+    private static PlatformEmissaoTenantDTO toDto(Object[] r) {
+        long documento = ((Number) r[3]).longValue();
+        long gru = ((Number) r[4]).longValue();
+        long previa = ((Number) r[5]).longValue();
+        return new PlatformEmissaoTenantDTO(
+            (UUID) r[0], (String) r[1], (String) r[2], documento, gru, previa, documento + gru);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
 }
@@ -18,6 +18,7 @@ import com.jetski.pagamentos.api.dto.RegistrarPagamentoRequest;
 import com.jetski.pagamentos.domain.PagamentoVendedor;
 import com.jetski.pagamentos.internal.repository.PagamentoVendedorRepository;
 import com.jetski.shared.exception.BusinessException;
+import com.jetski.shared.exception.ConflictException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,6 +31,7 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -58,6 +60,10 @@ public class PagamentoVendedorService {
     /**
      * List all sellers with pending payments.
      *
+     * <p>One grouped query per item type (commissions, diárias, bonuses) for
+     * all sellers at once, plus the seller list — 4 queries regardless of the
+     * number of sellers (was 6 per seller).
+     *
      * @param tenantId Tenant UUID
      * @return List of sellers with pending commissions and/or diárias
      */
@@ -65,10 +71,25 @@ public class PagamentoVendedorService {
     public List<PendenciasPagamentoResponse> listarPendencias(UUID tenantId) {
         log.debug("Listing pending payments for tenant: {}", tenantId);
 
+        Map<UUID, ComissaoQueryService.TotalVendedor> comissoes =
+                comissaoQueryService.sumAprovadasPorVendedor(tenantId);
+        Map<UUID, PresencaVendedorQueryService.TotalVendedor> diarias =
+                presencaQueryService.sumNaoPagasPorVendedor(tenantId);
+        Map<UUID, BonusService.TotalVendedor> bonus =
+                bonusService.sumAprovadosPorVendedor(tenantId);
+
         List<Vendedor> vendedores = vendedorService.listActiveSellers();
 
         return vendedores.stream()
-                .map(v -> buildPendenciasResponse(tenantId, v))
+                .map(v -> {
+                    var c = comissoes.get(v.getId());
+                    var d = diarias.get(v.getId());
+                    var b = bonus.get(v.getId());
+                    return buildPendenciasResponse(v,
+                            c != null ? c.valor() : null, c != null ? c.quantidade() : 0,
+                            d != null ? d.valor() : null, d != null ? d.quantidade() : 0,
+                            b != null ? b.valor() : null, b != null ? b.quantidade() : 0);
+                })
                 .filter(p -> p.getValorTotal().compareTo(BigDecimal.ZERO) > 0)
                 .sorted(Comparator.comparing(PendenciasPagamentoResponse::getValorTotal).reversed())
                 .collect(Collectors.toList());
@@ -87,13 +108,25 @@ public class PagamentoVendedorService {
 
         Vendedor vendedor = vendedorService.findById(vendedorId);
 
-        return buildPendenciasResponse(tenantId, vendedor);
+        return buildPendenciasResponse(vendedor,
+                comissaoQueryService.sumComissoesAprovadasByVendedor(tenantId, vendedorId),
+                comissaoQueryService.countComissoesAprovadasByVendedor(tenantId, vendedorId),
+                presencaQueryService.sumDiariasNaoPagasByVendedor(tenantId, vendedorId),
+                presencaQueryService.countDiariasNaoPagasByVendedor(tenantId, vendedorId),
+                bonusService.sumBonusAprovadosByVendedor(tenantId, vendedorId),
+                bonusService.countBonusAprovadosByVendedor(tenantId, vendedorId));
     }
 
     /**
      * Register a payment for a seller.
      * Supports both full payment (all pending items) and partial payment (selected items).
      *
+     * <p>Items are marked paid with one set-based UPDATE per type, guarded by
+     * their current state (APROVADA / not paid). If any item was paid or
+     * changed by a concurrent request since it was read, the affected row
+     * count falls short and the whole payment is rolled back with a 409 —
+     * the same item can never be paid twice.
+     *
      * @param tenantId Tenant UUID
      * @param vendedorId Seller UUID
      * @param request Payment details (includes optional item IDs for partial payment)
@@ -224,31 +257,24 @@ public class PagamentoVendedorService {
         UUID pagamentoId = pagamento.getId();
         Instant agora = Instant.now();
 
-        // 7. Mark commissions as PAGA
-        for (Comissao comissao : comissoes) {
-            comissao.setStatus(StatusComissao.PAGA);
-            comissao.setPagoPor(pagoPor);
-            comissao.setPagoEm(agora);
-            comissao.setReferenciaPagamento(request.getReferenciaPagamento());
-            comissaoQueryService.salvar(comissao);
-        }
-
-        // 8. Mark diárias as paid
-        for (PresencaVendedor presenca : diarias) {
-            presenca.setPagamentoId(pagamentoId);
-            presenca.setPagoEm(agora);
-            presenca.setPagoPor(pagoPor);
-            presencaQueryService.salvar(presenca);
-        }
-
-        // 9. Mark bonuses as PAGO
-        for (BonusVendedor b : bonus) {
-            b.setStatus(StatusBonus.PAGO);
-            b.setPagoPor(pagoPor);
-            b.setPagoEm(agora);
-            b.setPagamentoId(pagamentoId);
-            b.setReferenciaPagamento(request.getReferenciaPagamento());
-            bonusService.salvar(b);
+        // 7-9. Mark commissions, diárias and bonuses as paid (one UPDATE each,
+        // guarded by current state — a short count means a concurrent payment)
+        int comissoesPagas = comissaoQueryService.marcarPagas(tenantId, vendedorId,
+                comissoes.stream().map(Comissao::getId).toList(),
+                pagoPor, agora, request.getReferenciaPagamento());
+        int diariasPagas = presencaQueryService.marcarPagas(tenantId, vendedorId,
+                diarias.stream().map(PresencaVendedor::getId).toList(),
+                pagamentoId, pagoPor, agora);
+        int bonusPagos = bonusService.marcarPagos(tenantId, vendedorId,
+                bonus.stream().map(BonusVendedor::getId).toList(),
+                pagamentoId, pagoPor, agora, request.getReferenciaPagamento());
+
+        if (comissoesPagas != comissoes.size() || diariasPagas != diarias.size() || bonusPagos != bonus.size()) {
+            log.warn("Concurrent payment detected for vendor {}: comissoes {}/{}, diarias {}/{}, bonus {}/{}",
+                    vendedorId, comissoesPagas, comissoes.size(), diariasPagas, diarias.size(),
+                    bonusPagos, bonus.size());
+            throw new ConflictException(
+                    "Pendências do vendedor foram alteradas por outro pagamento. Atualize a lista e tente novamente.");
         }
 
         log.info("Payment registered: id={}, vendor={}, type={}, total={}, comissoes={}, diarias={}, bonus={}",
@@ -355,31 +381,14 @@ public class PagamentoVendedorService {
 
     // ========== Private Helper Methods ==========
 
-    private PendenciasPagamentoResponse buildPendenciasResponse(UUID tenantId, Vendedor vendedor) {
-        // Get approved commissions
-        BigDecimal valorComissoes = comissaoQueryService
-                .sumComissoesAprovadasByVendedor(tenantId, vendedor.getId());
+    private PendenciasPagamentoResponse buildPendenciasResponse(Vendedor vendedor,
+                                                                 BigDecimal valorComissoes, int qtdComissoes,
+                                                                 BigDecimal valorDiarias, int qtdDiarias,
+                                                                 BigDecimal valorBonus, int qtdBonus) {
         if (valorComissoes == null) valorComissoes = BigDecimal.ZERO;
-
-        int qtdComissoes = comissaoQueryService
-                .countComissoesAprovadasByVendedor(tenantId, vendedor.getId());
-
-        // Get unpaid diárias
-        BigDecimal valorDiarias = presencaQueryService
-                .sumDiariasNaoPagasByVendedor(tenantId, vendedor.getId());
         if (valorDiarias == null) valorDiarias = BigDecimal.ZERO;
-
-        int qtdDiarias = presencaQueryService
-                .countDiariasNaoPagasByVendedor(tenantId, vendedor.getId());
-
-        // Get approved bonuses
-        BigDecimal valorBonus = bonusService
-                .sumBonusAprovadosByVendedor(tenantId, vendedor.getId());
         if (valorBonus == null) valorBonus = BigDecimal.ZERO;
 
-        int qtdBonus = bonusService
-                .countBonusAprovadosByVendedor(tenantId, vendedor.getId());
-
         BigDecimal valorTotal = valorComissoes.add(valorDiarias).add(valorBonus);
 
         return PendenciasPagamentoResponse.builder()
@@ -1,10 +1,13 @@
 package com.jetski.plataforma.internal;
 
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Recalcula o read model da plataforma (F4).
  *
@@ -12,6 +15,9 @@ import org.springframework.stereotype.Component;
  * {@code TenantExclusaoJob} (05:45) e do backup — se o expurgo rodasse primeiro, o
  * agregado do dia da exclusão nasceria zerado sem ninguém entender por quê.
  *
+ * <p>Uma réplica só recalcula ({@link ClusterJobRunner}): o upsert é idempotente,
+ * mas N nós recalculando a janela em paralelo só multiplicam a carga.
+ *
  * @since 0.9.0
  */
 @Component
@@ -20,18 +26,26 @@ import org.springframework.stereotype.Component;
 public class PlataformaMetricasJob {
 
     private final PlataformaMetricasService service;
+    private final ClusterJobRunner jobRunner;
 
     @Scheduled(cron = "0 15 4 * * *", zone = "America/Sao_Paulo")
     public void recalcular() {
-        try {
-            var r = service.recalcularJanela();
-            log.info("[METRICAS] Job concluído: {} empresas, {} dias, {} linhas",
-                r.empresas(), r.dias(), r.linhas());
-        } catch (Exception e) {
-            // Falha aqui não pode derrubar os demais jobs agendados — o dashboard fica
-            // com o dado da última execução boa, o que é visível (atualizado_em) em vez
-            // de silencioso.
-            log.error("[METRICAS] Falha ao recalcular o read model: {}", e.getMessage(), e);
+        jobRunner.executar("plataforma-metricas", Duration.ofMinutes(10), Duration.ofHours(1),
+            this::recalcularJanela);
+    }
+
+    /**
+     * Exceção vai para o runner (log + jetski.job.falhas + histórico) e não derruba
+     * os demais jobs agendados — o dashboard fica com o dado da última execução boa,
+     * o que é visível (atualizado_em) em vez de silencioso. Empresa que falhou não
+     * para as demais, mas marca o ciclo como FALHA.
+     */
+    private void recalcularJanela() {
+        var r = service.recalcularJanela();
+        log.info("[METRICAS] Job concluído: {} empresas, {} dias, {} linhas recalculadas",
+            r.empresas(), r.dias(), r.linhas());
+        if (r.falhas() > 0) {
+            throw new IllegalStateException(r.falhas() + " empresa(s) falharam no recálculo do read model");
         }
     }
 }
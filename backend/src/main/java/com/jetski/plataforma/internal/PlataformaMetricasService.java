@@ -3,14 +3,27 @@ package com.jetski.plataforma.internal;
 import com.jetski.shared.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Read model da plataforma (F4): agregado diário por empresa.
@@ -29,6 +42,14 @@ import java.util.UUID;
  * fechamento, estorno e pagamento tardio mudam o passado recente. Recalcular os últimos
  * dias custa pouco e evita número errado congelado.
  *
+ * <p><strong>Execução</strong>: empresas em paralelo
+ * ({@code jetski.plataforma.metricas.paralelismo} threads, cada uma com sua conexão e
+ * transação — o {@code set_config} local não vaza entre empresas), e a empresa inteira
+ * em UM upsert agrupado por dia em vez de um por dia. No job, só os dias cujas fontes
+ * mudaram desde a última execução (marca d'água V065) ou cuja contagem gravada não bate
+ * mais com a fonte (linha apagada ou movida de dia); {@link #recalcular} explícito
+ * continua recalculando tudo o que foi pedido.
+ *
  * @since 0.9.0
  */
 @Service
@@ -39,60 +60,316 @@ public class PlataformaMetricasService {
     /** Dias recalculados a cada execução — cobre ajuste retroativo sem varrer a história. */
     static final int JANELA_DIAS = 7;
 
+    /**
+     * Folga na comparação com a marca d'água: {@code updated_at} é gravado no statement,
+     * mas a linha só fica visível no commit — transação que estava aberta durante o
+     * cálculo anterior ainda é pega na próxima.
+     */
+    static final String MARGEM_MARCA = "10 minutes";
+
+    private static final String ZONA = "America/Sao_Paulo";
+
     private final JdbcTemplate jdbc;
 
-    /** @param empresas empresas processadas; @param dias dias recalculados por empresa */
-    public record Resultado(int empresas, int dias, int linhas) {}
+    /** Empresas calculadas ao mesmo tempo (cada uma segura uma conexão do pool). */
+    @Value("${jetski.plataforma.metricas.paralelismo:4}")
+    private int paralelismo = 4;
+
+    /**
+     * @param empresas   empresas processadas
+     * @param dias       dias da janela pedida
+     * @param linhas     linhas efetivamente recalculadas (soma dos dias por empresa)
+     * @param falhas     empresas que falharam (as demais seguem)
+     * @param porEmpresa tempo e dias recalculados de cada empresa, mais lenta primeiro
+     */
+    public record Resultado(int empresas, int dias, int linhas, int falhas, List<TempoEmpresa> porEmpresa) {}
+
+    /** Custo de uma empresa numa execução. */
+    public record TempoEmpresa(UUID tenantId, String slug, int dias, long millis, boolean falhou) {}
 
     /**
-     * Recalcula o intervalo [de, ate] para TODAS as empresas.
+     * Recalcula o intervalo [de, ate] para TODAS as empresas — todos os dias, sem
+     * consultar a marca d'água (recálculo manual / correção).
      *
-     * <p>O {@code TenantContext} é limpo no {@code finally} de cada empresa: este código
-     * roda na thread do scheduler, e um ThreadLocal vazado ali contamina o
+     * <p>O {@code TenantContext} de quem chamou não é tocado: o cálculo roda nas threads
+     * do pool e o tenant de cada empresa vai só no {@code set_config} transaction-local.
+     * Um ThreadLocal vazado na thread do scheduler contamina o
      * {@code TenantAwareDataSource} de todos os jobs seguintes — já aconteceu neste
      * projeto e é caro de diagnosticar (job A escrevendo com o tenant do job B).
      */
-    @Transactional
     public Resultado recalcular(LocalDate de, LocalDate ate) {
-        UUID tenantAnterior = TenantContext.getTenantId();
+        return executar(de, ate, false);
+    }
+
+    /**
+     * Janela padrão do job: os últimos {@link #JANELA_DIAS} dias, incluindo hoje —
+     * incremental (só dias com fonte alterada desde a última execução da empresa).
+     */
+    public Resultado recalcularJanela() {
+        LocalDate hoje = LocalDate.now(java.time.ZoneId.of(ZONA));
+        return executar(hoje.minusDays(JANELA_DIAS - 1L), hoje, true);
+    }
+
+    private Resultado executar(LocalDate de, LocalDate ate, boolean incremental) {
         List<Map<String, Object>> empresas = jdbc.queryForList(
             "SELECT id, slug FROM tenant WHERE excluido_em IS NULL ORDER BY slug");
-        int linhas = 0;
-        try {
+        List<TempoEmpresa> tempos = new ArrayList<>(empresas.size());
+        try (ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, paralelismo),
+                Thread.ofPlatform().name("metricas-", 0).factory())) {
+            List<Future<TempoEmpresa>> futuros = new ArrayList<>(empresas.size());
             for (Map<String, Object> empresa : empresas) {
                 UUID tenantId = (UUID) empresa.get("id");
-                for (LocalDate dia = de; !dia.isAfter(ate); dia = dia.plusDays(1)) {
-                    linhas += calcularDia(tenantId, dia);
-                }
+                String slug = (String) empresa.get("slug");
+                futuros.add(pool.submit(() -> calcularEmpresa(tenantId, slug, de, ate, incremental)));
             }
-        } finally {
-            TenantContext.clear();
-            if (tenantAnterior != null) {
-                TenantContext.setTenantId(tenantAnterior);
+            for (Future<TempoEmpresa> f : futuros) {
+                tempos.add(f.get());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recálculo do read model interrompido", e);
+        } catch (ExecutionException e) {
+            // calcularEmpresa não lança — só chega aqui erro de programação
+            throw new IllegalStateException("Falha inesperada no recálculo do read model", e.getCause());
         }
+
+        tempos.sort(Comparator.comparingLong(TempoEmpresa::millis).reversed());
+        int linhas = tempos.stream().mapToInt(TempoEmpresa::dias).sum();
+        int falhas = (int) tempos.stream().filter(TempoEmpresa::falhou).count();
         long dias = de.datesUntil(ate.plusDays(1)).count();
-        log.info("[METRICAS] Read model atualizado: {} empresa(s) × {} dia(s) = {} linha(s)",
-            empresas.size(), dias, linhas);
-        return new Resultado(empresas.size(), (int) dias, linhas);
+        log.info("[METRICAS] Read model atualizado ({}): {} empresa(s) × {} dia(s), {} linha(s) recalculada(s), "
+                + "{} falha(s); mais lentas: {}", incremental ? "incremental" : "completo",
+            empresas.size(), dias, linhas, falhas,
+            tempos.stream().limit(5).map(t -> t.slug() + "=" + t.millis() + "ms/" + t.dias() + "d").toList());
+        return new Resultado(empresas.size(), (int) dias, linhas, falhas, List.copyOf(tempos));
     }
 
-    /** Janela padrão do job: os últimos {@link #JANELA_DIAS} dias, incluindo hoje. */
-    @Transactional
-    public Resultado recalcularJanela() {
-        LocalDate hoje = LocalDate.now(java.time.ZoneId.of("America/Sao_Paulo"));
-        return recalcular(hoje.minusDays(JANELA_DIAS - 1L), hoje);
+    /**
+     * Uma empresa, numa ÚNICA conexão física e transação manual ({@link ConnectionCallback},
+     * mesmo motivo do {@code UsuariosMetricsService}): {@code set_config(..., true)}, leitura
+     * da marca, dias alterados, upsert agrupado e nova marca — commit ou rollback juntos.
+     * Falha fica registrada no resultado e não interrompe as demais.
+     */
+    private TempoEmpresa calcularEmpresa(UUID tenantId, String slug, LocalDate de, LocalDate ate,
+                                         boolean incremental) {
+        long t0 = System.nanoTime();
+        try {
+            int dias = jdbc.execute((ConnectionCallback<Integer>) con -> {
+                boolean autoCommit = con.getAutoCommit();
+                con.setAutoCommit(false);
+                try {
+                    try (PreparedStatement ps = con.prepareStatement(
+                            "SELECT set_config('app.tenant_id', ?, true)")) {
+                        ps.setString(1, tenantId.toString());
+                        ps.execute();
+                    }
+                    List<LocalDate> alvo = incremental
+                        ? diasAlterados(con, tenantId, de, ate)
+                        : de.datesUntil(ate.plusDays(1)).toList();
+                    if (!alvo.isEmpty()) {
+                        upsert(con, tenantId, alvo);
+                    }
+                    if (incremental) {
+                        gravarMarca(con, tenantId, alvo.size(), (System.nanoTime() - t0) / 1_000_000);
+                    }
+                    con.commit();
+                    return alvo.size();
+                } catch (SQLException | RuntimeException e) {
+                    con.rollback();
+                    throw e;
+                } finally {
+                    con.setAutoCommit(autoCommit);
+                }
+            });
+            long millis = (System.nanoTime() - t0) / 1_000_000;
+            log.debug("[METRICAS] {}: {} dia(s) em {} ms", slug, dias, millis);
+            return new TempoEmpresa(tenantId, slug, dias, millis, false);
+        } catch (Exception e) {
+            log.error("[METRICAS] Falha ao recalcular {} ({}) — segue para as demais: {}",
+                slug, tenantId, e.getMessage(), e);
+            return new TempoEmpresa(tenantId, slug, 0, (System.nanoTime() - t0) / 1_000_000, true);
+        } finally {
+            // defesa: a thread do pool nunca deve carregar tenant para a próxima empresa
+            TenantContext.clear();
+        }
     }
 
     /**
-     * Um dia de uma empresa. Escopa a RLS por transação ({@code set_config local=true}) —
-     * mesmo padrão dos demais serviços de plataforma, sem bypass.
+     * Dias da janela a recalcular: sem marca = todos; senão os dias tocados por
+     * locação/reserva/emissão alterada, todo dia a partir do primeiro lançamento de
+     * crédito novo (o saldo de fim de dia propaga), a janela inteira se assinatura ou
+     * plano mudou (MRR), hoje se alguma fatura mudou (estado em aberto) e todo dia
+     * ainda sem linha.
+     *
+     * <p>{@code updated_at} só aponta o dia ONDE a linha está agora: locação apagada,
+     * ou cujo {@code data_check_in} foi movido, deixaria o dia antigo com o total velho.
+     * Por isso também entra todo dia cuja contagem gravada (locações, reservas,
+     * emissões) não bate mais com as linhas-fonte da janela — uma contagem agrupada por
+     * dia, pelo índice {@code (tenant_id, data)} de cada fonte. Linha que sai de um dia
+     * sem outra tocada entrar no lugar muda a contagem; se outra entrou, o dia já está
+     * em {@code tocados}.
      */
-    private int calcularDia(UUID tenantId, LocalDate dia) {
-        jdbc.queryForObject("SELECT set_config('app.tenant_id', ?, true)",
-            String.class, tenantId.toString());
+    private List<LocalDate> diasAlterados(Connection con, UUID tenantId, LocalDate de, LocalDate ate)
+            throws SQLException {
+        String sql = """
+            WITH p AS (
+                SELECT ?::uuid AS tenant_id, ?::date AS de, ?::date AS ate,
+                       (SELECT calculado_em - interval '%1$s'
+                          FROM plataforma_metrica_marca WHERE tenant_id = ?::uuid) AS desde
+            ),
+            janela AS (
+                SELECT d::date AS dia FROM p, generate_series(p.de, p.ate, interval '1 day') d
+            ),
+            limites AS (
+                SELECT (p.de::timestamp AT TIME ZONE '%2$s') AS inicio,
+                       ((p.ate + 1)::timestamp AT TIME ZONE '%2$s') AS fim
+                  FROM p
+            ),
+            fontes AS (
+                SELECT x.dia, sum(x.loc) AS locacoes, sum(x.res) AS reservas, sum(x.em) AS emissoes
+                  FROM (
+                    SELECT (l.data_check_in AT TIME ZONE '%2$s')::date AS dia, 1 AS loc, 0 AS res, 0 AS em
+                      FROM locacao l, p, limites lim
+                     WHERE l.tenant_id = p.tenant_id
+                       AND l.data_check_in >= lim.inicio AND l.data_check_in < lim.fim
+                    UNION ALL
+                    SELECT (r.created_at AT TIME ZONE '%2$s')::date, 0, 1, 0
+                      FROM reserva r, p, limites lim
+                     WHERE r.tenant_id = p.tenant_id
+                       AND r.created_at >= lim.inicio AND r.created_at < lim.fim
+                    UNION ALL
+                    SELECT (e.ocorrido_em AT TIME ZONE '%2$s')::date, 0, 0, 1
+                      FROM emissao_uso e, p, limites lim
+                     WHERE e.tenant_id = p.tenant_id
+                       AND e.tipo IN ('DOCUMENTO', 'GRU', 'PREVIA')
+                       AND e.ocorrido_em >= lim.inicio AND e.ocorrido_em < lim.fim
+                  ) x
+                 GROUP BY x.dia
+            ),
+            divergentes AS (
+                SELECT m.dia
+                  FROM plataforma_metrica_diaria m
+                  JOIN p ON m.tenant_id = p.tenant_id AND m.dia BETWEEN p.de AND p.ate
+                  LEFT JOIN fontes f ON f.dia = m.dia
+                 WHERE m.locacoes <> COALESCE(f.locacoes, 0)
+                    OR m.reservas <> COALESCE(f.reservas, 0)
+                    OR m.emissoes_documento + m.emissoes_gru + m.emissoes_previa
+                           <> COALESCE(f.emissoes, 0)
+            ),
+            tocados AS (
+                SELECT (l.data_check_in AT TIME ZONE '%2$s')::date AS dia
+                  FROM locacao l, p WHERE l.tenant_id = p.tenant_id AND l.updated_at > p.desde
+                UNION
+                SELECT (r.created_at AT TIME ZONE '%2$s')::date
+                  FROM reserva r, p WHERE r.tenant_id = p.tenant_id AND r.updated_at > p.desde
+                UNION
+                SELECT (e.ocorrido_em AT TIME ZONE '%2$s')::date
+                  FROM emissao_uso e, p WHERE e.tenant_id = p.tenant_id AND e.created_at > p.desde
+            ),
+            sinais AS (
+                SELECT
+                    (SELECT min((c.created_at AT TIME ZONE '%2$s')::date)
+                       FROM credito_lancamento c WHERE c.tenant_id = p.tenant_id
+                        AND c.created_at > p.desde) AS credito_desde,
+                    EXISTS (SELECT 1 FROM assinatura a JOIN plano pl ON pl.id = a.plano_id
+                             WHERE a.tenant_id = p.tenant_id
+                               AND (a.updated_at > p.desde OR pl.updated_at > p.desde)) AS assinatura,
+                    EXISTS (SELECT 1 FROM fatura f
+                             WHERE f.tenant_id = p.tenant_id AND f.updated_at > p.desde) AS fatura
+                  FROM p
+            )
+            SELECT j.dia
+              FROM janela j, p, sinais s
+             WHERE p.desde IS NULL
+                OR s.assinatura
+                OR j.dia IN (SELECT dia FROM tocados)
+                OR j.dia IN (SELECT dia FROM divergentes)
+                OR j.dia >= s.credito_desde
+                OR (s.fatura AND j.dia = p.ate)
+                OR NOT EXISTS (SELECT 1 FROM plataforma_metrica_diaria m
+                                WHERE m.tenant_id = p.tenant_id AND m.dia = j.dia)
+             ORDER BY j.dia
+            """.formatted(MARGEM_MARCA, ZONA);
+        List<LocalDate> dias = new ArrayList<>();
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setObject(1, tenantId);
+            ps.setObject(2, de);
+            ps.setObject(3, ate);
+            ps.setObject(4, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    dias.add(rs.getObject(1, LocalDate.class));
+                }
+            }
+        }
+        return dias;
+    }
 
-        jdbc.update("""
+    /**
+     * Todos os dias pedidos da empresa num único statement: cada fonte é lida UMA vez e
+     * agrupada por dia; dia sem movimento vira linha zerada (LEFT JOIN a partir da lista
+     * de dias), não linha ausente.
+     *
+     * <p>Cada fonte é cortada primeiro por {@code [início do menor dia, fim do maior dia)}
+     * na coluna crua — range no índice {@code (tenant_id, data)}, como em
+     * {@link #diasAlterados} — e só então filtrada pelo dia local {@code = ANY (dias)}.
+     */
+    private void upsert(Connection con, UUID tenantId, List<LocalDate> dias) throws SQLException {
+        String sql = """
+            WITH p AS (
+                SELECT ?::uuid AS tenant_id, ?::date[] AS dias,
+                       (?::date::timestamp AT TIME ZONE '%1$s') AS inicio,
+                       ((?::date + 1)::timestamp AT TIME ZONE '%1$s') AS fim
+            ),
+            d AS (SELECT unnest(p.dias) AS dia FROM p),
+            op AS (
+                SELECT (l.data_check_in AT TIME ZONE '%1$s')::date AS dia,
+                       count(*) AS locacoes,
+                       SUM(COALESCE(l.valor_total, 0)) AS receita_bruta,
+                       -- RN04: base comissionável exclui combustível
+                       SUM(COALESCE(l.valor_total, 0) - COALESCE(l.combustivel_custo, 0))
+                           AS receita_comissionavel
+                  FROM locacao l, p
+                 WHERE l.tenant_id = p.tenant_id
+                   AND l.data_check_in >= p.inicio AND l.data_check_in < p.fim
+                   AND (l.data_check_in AT TIME ZONE '%1$s')::date = ANY (p.dias)
+                 GROUP BY 1
+            ),
+            rv AS (
+                SELECT (r.created_at AT TIME ZONE '%1$s')::date AS dia,
+                       count(*) AS reservas,
+                       count(*) FILTER (WHERE r.status = 'NO_SHOW') AS no_shows
+                  FROM reserva r, p
+                 WHERE r.tenant_id = p.tenant_id
+                   AND r.created_at >= p.inicio AND r.created_at < p.fim
+                   AND (r.created_at AT TIME ZONE '%1$s')::date = ANY (p.dias)
+                 GROUP BY 1
+            ),
+            em AS (
+                SELECT (e.ocorrido_em AT TIME ZONE '%1$s')::date AS dia,
+                       count(*) FILTER (WHERE e.tipo = 'DOCUMENTO') AS documento,
+                       count(*) FILTER (WHERE e.tipo = 'GRU') AS gru,
+                       count(*) FILTER (WHERE e.tipo = 'PREVIA') AS previa
+                  FROM emissao_uso e, p
+                 WHERE e.tenant_id = p.tenant_id
+                   AND e.ocorrido_em >= p.inicio AND e.ocorrido_em < p.fim
+                   AND (e.ocorrido_em AT TIME ZONE '%1$s')::date = ANY (p.dias)
+                 GROUP BY 1
+            ),
+            cr AS (
+                SELECT (c.created_at AT TIME ZONE '%1$s')::date AS dia,
+                       COALESCE(SUM(-c.quantidade) FILTER (WHERE c.tipo = 'CONSUMO'), 0) AS consumidos
+                  FROM credito_lancamento c, p
+                 WHERE c.tenant_id = p.tenant_id
+                   AND c.created_at >= p.inicio AND c.created_at < p.fim
+                   AND (c.created_at AT TIME ZONE '%1$s')::date = ANY (p.dias)
+                 GROUP BY 1
+            ),
+            fa AS (
+                SELECT count(*) AS abertas, COALESCE(SUM(f.valor), 0) AS valor
+                  FROM fatura f, p
+                 WHERE f.tenant_id = p.tenant_id AND f.status NOT IN ('PAGA', 'CANCELADA')
+            )
             INSERT INTO plataforma_metrica_diaria (
                 tenant_id, dia, locacoes, reservas, no_shows,
                 receita_bruta, receita_comissionavel,
@@ -100,62 +377,34 @@ public class PlataformaMetricasService {
                 creditos_consumidos, saldo_creditos_fim,
                 mrr, plano_nome, faturas_abertas, valor_em_aberto, atualizado_em)
             SELECT
-                ?::uuid, ?::date,
+                p.tenant_id, d.dia,
                 COALESCE(op.locacoes, 0), COALESCE(rv.reservas, 0), COALESCE(rv.no_shows, 0),
                 COALESCE(op.receita_bruta, 0), COALESCE(op.receita_comissionavel, 0),
                 COALESCE(em.documento, 0), COALESCE(em.gru, 0), COALESCE(em.previa, 0),
-                COALESCE(cr.consumidos, 0), COALESCE(cr.saldo_fim, 0),
+                COALESCE(cr.consumidos, 0), COALESCE(sf.saldo_apos, 0),
                 COALESCE(pl.preco_mensal, 0), pl.nome,
-                COALESCE(fa.abertas, 0), COALESCE(fa.valor, 0), now()
-            FROM (SELECT 1) AS _
-            LEFT JOIN LATERAL (
-                SELECT count(*) AS locacoes,
-                       SUM(COALESCE(valor_total, 0)) AS receita_bruta,
-                       -- RN04: base comissionável exclui combustível
-                       SUM(COALESCE(valor_total, 0) - COALESCE(combustivel_custo, 0))
-                           AS receita_comissionavel
-                  FROM locacao
-                 WHERE tenant_id = ?::uuid
-                   AND (data_check_in AT TIME ZONE 'America/Sao_Paulo')::date = ?::date
-            ) op ON TRUE
-            LEFT JOIN LATERAL (
-                SELECT count(*) FILTER (WHERE TRUE) AS reservas,
-                       count(*) FILTER (WHERE status = 'NO_SHOW') AS no_shows
-                  FROM reserva
-                 WHERE tenant_id = ?::uuid
-                   AND (created_at AT TIME ZONE 'America/Sao_Paulo')::date = ?::date
-            ) rv ON TRUE
-            LEFT JOIN LATERAL (
-                SELECT count(*) FILTER (WHERE tipo = 'DOCUMENTO') AS documento,
-                       count(*) FILTER (WHERE tipo = 'GRU') AS gru,
-                       count(*) FILTER (WHERE tipo = 'PREVIA') AS previa
-                  FROM emissao_uso
-                 WHERE tenant_id = ?::uuid
-                   AND (ocorrido_em AT TIME ZONE 'America/Sao_Paulo')::date = ?::date
-            ) em ON TRUE
-            LEFT JOIN LATERAL (
-                SELECT COALESCE(SUM(-quantidade) FILTER (WHERE tipo = 'CONSUMO'), 0) AS consumidos,
-                       (SELECT saldo_apos FROM credito_lancamento
-                         WHERE tenant_id = ?::uuid
-                           AND (created_at AT TIME ZONE 'America/Sao_Paulo')::date <= ?::date
-                         ORDER BY created_at DESC, id DESC LIMIT 1) AS saldo_fim
-                  FROM credito_lancamento
-                 WHERE tenant_id = ?::uuid
-                   AND (created_at AT TIME ZONE 'America/Sao_Paulo')::date = ?::date
-            ) cr ON TRUE
-            LEFT JOIN LATERAL (
-                SELECT p.nome, p.preco_mensal
-                  FROM assinatura a JOIN plano p ON p.id = a.plano_id
-                 WHERE a.tenant_id = ?::uuid
-                   AND a.dt_inicio <= ?::date
-                   AND (a.dt_fim IS NULL OR a.dt_fim >= ?::date)
-                 ORDER BY a.dt_inicio DESC LIMIT 1
-            ) pl ON TRUE
-            LEFT JOIN LATERAL (
-                SELECT count(*) AS abertas, COALESCE(SUM(valor), 0) AS valor
-                  FROM fatura
-                 WHERE tenant_id = ?::uuid AND status NOT IN ('PAGA', 'CANCELADA')
-            ) fa ON TRUE
+                fa.abertas, fa.valor, now()
+              FROM d
+              CROSS JOIN p
+              CROSS JOIN fa
+              LEFT JOIN op ON op.dia = d.dia
+              LEFT JOIN rv ON rv.dia = d.dia
+              LEFT JOIN em ON em.dia = d.dia
+              LEFT JOIN cr ON cr.dia = d.dia
+              LEFT JOIN LATERAL (
+                  SELECT c.saldo_apos FROM credito_lancamento c
+                   WHERE c.tenant_id = p.tenant_id
+                     AND c.created_at < ((d.dia + 1)::timestamp AT TIME ZONE '%1$s')
+                   ORDER BY c.created_at DESC, c.id DESC LIMIT 1
+              ) sf ON TRUE
+              LEFT JOIN LATERAL (
+                  SELECT pn.nome, pn.preco_mensal
+                    FROM assinatura a JOIN plano pn ON pn.id = a.plano_id
+                   WHERE a.tenant_id = p.tenant_id
+                     AND a.dt_inicio <= d.dia
+                     AND (a.dt_fim IS NULL OR a.dt_fim >= d.dia)
+                   ORDER BY a.dt_inicio DESC LIMIT 1
+              ) pl ON TRUE
             ON CONFLICT (tenant_id, dia) DO UPDATE SET
                 locacoes = EXCLUDED.locacoes, reservas = EXCLUDED.reservas,
                 no_shows = EXCLUDED.no_shows, receita_bruta = EXCLUDED.receita_bruta,
@@ -169,9 +418,33 @@ public class PlataformaMetricasService {
                 faturas_abertas = EXCLUDED.faturas_abertas,
                 valor_em_aberto = EXCLUDED.valor_em_aberto,
                 atualizado_em = now()
-            """,
-            tenantId, dia, tenantId, dia, tenantId, dia, tenantId, dia,
-            tenantId, dia, tenantId, dia, tenantId, dia, dia, tenantId);
-        return 1;
+            """.formatted(ZONA);
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setObject(1, tenantId);
+            ps.setArray(2, con.createArrayOf("date", dias.stream().map(Date::valueOf).toArray()));
+            ps.setObject(3, Collections.min(dias));
+            ps.setObject(4, Collections.max(dias));
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Nova marca = {@code now()} da transação (início do cálculo): o que for commitado
+     * depois disso é pego na próxima execução.
+     */
+    private void gravarMarca(Connection con, UUID tenantId, int dias, long millis) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("""
+                INSERT INTO plataforma_metrica_marca (tenant_id, calculado_em, dias_recalculados, duracao_ms)
+                VALUES (?, now(), ?, ?)
+                ON CONFLICT (tenant_id) DO UPDATE SET
+                    calculado_em = EXCLUDED.calculado_em,
+                    dias_recalculados = EXCLUDED.dias_recalculados,
+                    duracao_ms = EXCLUDED.duracao_ms
+                """)) {
+            ps.setObject(1, tenantId);
+            ps.setInt(2, dias);
+            ps.setLong(3, millis);
+            ps.executeUpdate();
+        }
     }
 }
@@ -35,6 +35,9 @@ public class ActionExtractor {
     // Padrões de regex para extração de resource e sub-action
     private static final Pattern RESOURCE_PATTERN = Pattern.compile("^/v1/([^/]+)");
     private static final Pattern SUB_ACTION_PATTERN = Pattern.compile("/([^/]+)$");
+    // Upload em partes de anexo: .../anexos/{tipo}/uploads[/{uploadId}[/concluir]]
+    private static final Pattern ANEXO_UPLOAD_PATTERN = Pattern.compile(
+        "/anexos/[^/]+/uploads(/[^/]+(/concluir)?)?$");
     private static final Pattern UUID_SEGMENT_PATTERN = Pattern.compile(
         "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
 
@@ -236,6 +239,14 @@ public class ActionExtractor {
      * Extrai action baseada em HTTP method + URI pattern.
      */
     private String extractActionFromMethodAndUri(String method, String uri, String resource) {
+        // Upload em partes de anexo: iniciar, enviar parte, concluir e cancelar
+        // alteram o anexo do recurso → update; só o GET do estado é view. Sem isto,
+        // POST .../uploads virava create e DELETE .../uploads/{id} (cancelar) virava
+        // delete — ação que OPERADOR não tem, embora possa anexar documento.
+        if (ANEXO_UPLOAD_PATTERN.matcher(uri).find()) {
+            return resource + ("GET".equals(method) ? ":view" : ":update");
+        }
+
         // Verifica se URI tem sub-action (ex: /checkin, /checkout, /desconto)
         String subAction = extractSubAction(uri);
 
@@ -285,6 +296,8 @@ public class ActionExtractor {
             // Emissão delegada (V048/V049): vínculo operadora×EAMA + painel do emissor
             "aceitar", "bloquear", "liberar", "revogar", "termo",
             "instrutores-parceiro", "contagens", "instrutores-designados",
+            // Simulação em lote de política de comissão (não grava nada)
+            "simular",
             // Perfil self-service do staff (/v1/user/me[/senha|/avatar]) —
             // ações user:me/user:senha/user:avatar puladas no ABACAuthorizationInterceptor
             "me", "senha", "avatar",
@@ -2,13 +2,17 @@ package com.jetski.shared.config;
 
 import com.jetski.shared.security.TenantContext;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Executor;
 
@@ -21,9 +25,10 @@ import java.util.concurrent.Executor;
  *
  * <p><strong>How it works:</strong>
  * <ol>
- *   <li>Before submitting a task, captures current TenantContext (tenantId, usuarioId)</li>
- *   <li>Wraps the task in a decorator that restores the context in the new thread</li>
- *   <li>After task completion, clears the context to prevent leaks</li>
+ *   <li>Before submitting a task, captures current TenantContext (tenantId, usuarioId)
+ *       and the logging MDC (traceId, tenant, request id...)</li>
+ *   <li>Wraps the task in a decorator that restores both in the new thread</li>
+ *   <li>After task completion, clears both to prevent leaks</li>
  * </ol>
  *
  * <p><strong>Thread Pool Settings:</strong>
@@ -34,6 +39,10 @@ import java.util.concurrent.Executor;
  *   <li>Thread prefix: "async-audit-" (for easy identification in logs)</li>
  * </ul>
  *
+ * <p><strong>Virtual threads</strong> ({@code spring.threads.virtual.enabled=true}):
+ * one virtual thread per task, capped by {@code jetski.async.virtual-concurrency-limit}
+ * (callers wait instead of queueing); same context propagation.
+ *
  * @author Jetski Team
  * @since 0.10.0
  * @see TenantContext
@@ -43,8 +52,32 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+    /** Modo virtual threads (opt-in): o mesmo flag do Spring Boot que move o Tomcat. */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Tarefas @Async simultâneas no modo virtual. Virtual threads não têm fila nem
+     * teto próprios; o que limita de verdade é o pool do Hikari e o SMTP/storage
+     * do outro lado — sem este teto, uma rajada de eventos abriria milhares de
+     * tarefas disputando 10 conexões.
+     */
+    @Value("${jetski.async.virtual-concurrency-limit:64}")
+    private int virtualConcurrencyLimit;
+
     @Override
     public Executor getAsyncExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-vt-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            executor.setTaskDecorator(AsyncConfig::propagarTenantContext);
+            executor.setTaskTerminationTimeout(30_000);
+            log.info("Async executor on virtual threads (limit {}) with TenantContext propagation",
+                    virtualConcurrencyLimit);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // Pool sizing - conservative for audit workload
@@ -58,36 +91,7 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setAwaitTerminationSeconds(30);
 
         // TaskDecorator to propagate TenantContext to async threads
-        executor.setTaskDecorator(runnable -> {
-            // Capture context from the calling thread
-            UUID tenantId = TenantContext.getTenantId();
-            UUID usuarioId = TenantContext.getUsuarioId();
-
-            log.debug("Capturing context for async task: tenantId={}, usuarioId={}", tenantId, usuarioId);
-
-            return () -> {
-                try {
-                    // Restore context in the async thread
-                    if (tenantId != null) {
-                        TenantContext.setTenantId(tenantId);
-                    }
-                    if (usuarioId != null) {
-                        TenantContext.setUsuarioId(usuarioId);
-                    }
-
-                    log.debug("Restored context in async thread: tenantId={}, usuarioId={}",
-                            TenantContext.getTenantId(), TenantContext.getUsuarioId());
-
-                    // Execute the actual task
-                    runnable.run();
-
-                } finally {
-                    // Always clear context to prevent leaks between tasks
-                    TenantContext.clear();
-                    log.debug("Cleared context after async task completion");
-                }
-            };
-        });
+        executor.setTaskDecorator(AsyncConfig::propagarTenantContext);
 
         executor.initialize();
         log.info("Async executor initialized with TenantContext propagation support");
@@ -95,6 +99,47 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Captures TenantContext and the MDC on the calling thread and restores them
+     * in the task. Works the same for platform and virtual threads: a virtual
+     * thread has its own ThreadLocal copy, and it is cleared at the end either way.
+     */
+    static Runnable propagarTenantContext(Runnable runnable) {
+        // Capture context from the calling thread
+        UUID tenantId = TenantContext.getTenantId();
+        UUID usuarioId = TenantContext.getUsuarioId();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        log.debug("Capturing context for async task: tenantId={}, usuarioId={}", tenantId, usuarioId);
+
+        return () -> {
+            try {
+                // Restore context in the async thread
+                if (tenantId != null) {
+                    TenantContext.setTenantId(tenantId);
+                }
+                if (usuarioId != null) {
+                    TenantContext.setUsuarioId(usuarioId);
+                }
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+
+                log.debug("Restored context in async thread: tenantId={}, usuarioId={}",
+                        TenantContext.getTenantId(), TenantContext.getUsuarioId());
+
+                // Execute the actual task
+                runnable.run();
+
+            } finally {
+                // Always clear context to prevent leaks between tasks
+                TenantContext.clear();
+                MDC.clear();
+                log.debug("Cleared context after async task completion");
+            }
+        };
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -4,9 +4,12 @@ import com.jetski.shared.security.TenantContext;
 import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.datasource.DelegatingDataSource;
 
 import javax.sql.DataSource;
@@ -36,17 +39,27 @@ public class TenantAwareDataSourceConfig {
 
     @Bean
     @Primary
-    public DataSource dataSource(DataSourceProperties properties) {
+    public DataSource dataSource(DataSourceProperties properties, Environment environment) {
         // Create the actual HikariDataSource
         HikariDataSource hikariDataSource = properties.initializeDataSourceBuilder()
                 .type(HikariDataSource.class)
                 .build();
 
+        // O builder só aplica url/usuário/senha: sem este bind, o bloco
+        // spring.datasource.hikari (maximum-pool-size etc.) era ignorado e o pool
+        // ficava nos defaults do Hikari. Com virtual threads, este pool é o teto
+        // real de concorrência no banco — precisa ser o configurado.
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(hikariDataSource));
+
         // Apply additional properties from application.yml
         if (properties.getName() != null) {
             hikariDataSource.setPoolName(properties.getName());
         }
 
+        // pgjdbc: lote de INSERTs (hibernate.jdbc.batch_size, BulkUpsert) vira um
+        // INSERT multi-VALUES — uma ida ao servidor por lote em vez de por linha
+        hikariDataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+
         log.info("Creating TenantAwareDataSource wrapper for PostgreSQL RLS support");
         return new TenantAwareDataSource(hikariDataSource);
     }
@@ -2,6 +2,7 @@ package com.jetski.shared.internal;
 
 import com.jetski.shared.exception.InvalidTenantException;
 import com.jetski.shared.observability.BusinessMetrics;
+import com.jetski.shared.observability.MDCKeys;
 import com.jetski.shared.security.PlatformAccessInfo;
 import com.jetski.shared.security.SessaoSuporte;
 import com.jetski.shared.security.SessaoSuporteValidator;
@@ -14,6 +15,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -101,6 +103,7 @@ public class TenantFilter extends OncePerRequestFilter {
                 aplicarPapeisDePlataforma(request);
                 concederAutoridadeDeEmpresa();
                 businessMetrics.recordTenantContextSwitch(suporte.tenantId().toString());
+                MDC.put(MDCKeys.TENANT_ID, suporte.tenantId().toString());
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -141,6 +144,9 @@ public class TenantFilter extends OncePerRequestFilter {
 
             // 6. Record tenant context switch metric
             businessMetrics.recordTenantContextSwitch(tenantId.toString());
+            // tenant resolvido por subdomínio não vem no header: o MDC passa a
+            // refletir o tenant efetivo (logs e debug por tenant)
+            MDC.put(MDCKeys.TENANT_ID, tenantId.toString());
 
             log.debug("Tenant context set successfully: tenantId={}, path={}, method={}",
                     tenantId, requestPath, request.getMethod());
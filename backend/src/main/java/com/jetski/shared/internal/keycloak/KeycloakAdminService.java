@@ -1,12 +1,12 @@
 package com.jetski.shared.internal.keycloak;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.core.Response;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
 import org.keycloak.admin.client.resource.AuthenticationManagementResource;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UserResource;
@@ -20,13 +20,18 @@ import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Serviço para integração com Keycloak Admin API.
@@ -36,6 +41,9 @@ import java.util.concurrent.TimeUnit;
  * - Atribuir roles aos usuários
  * - Gerenciar credenciais (senha)
  *
+ * Um único client admin por nó ({@link #adminClient()}), com pool de conexões
+ * e token reaproveitado entre chamadas; representações de role em cache.
+ *
  * @author Jetski Team
  */
 @Slf4j
@@ -63,6 +71,20 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
     @Value("${keycloak.admin.target-realm}")
     private String targetRealm;
 
+    /** Conexões HTTP simultâneas do client admin compartilhado. */
+    @Value("${keycloak.admin.connection-pool-size:20}")
+    private int connectionPoolSize;
+
+    /** Renova o token admin quando faltar menos que isto (s) para expirar. */
+    private static final long TOKEN_MIN_VALIDITY_SECONDS = 30;
+
+    private final ReentrantLock criacao = new ReentrantLock();
+    private volatile Keycloak keycloak;
+
+    /** Realm → (nome da role → representação); ver {@link #representacoes}. */
+    private final ConcurrentMap<String, Map<String, RoleRepresentation>> rolesPorRealm =
+        new ConcurrentHashMap<>();
+
     /**
      * Cria um usuário no Keycloak com senha temporária (Option 2 flow).
      *
@@ -87,7 +109,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
             return tentarCriarUsuario(usuarioId, email, nome, tenantId, roles, password);
         } catch (TransientKeycloakException e) {
             // 401/timeout transiente (ex.: Keycloak lento e o token admin de 60s venceu
-            // na fila — visto ao vivo em 10/jul/2026). Client novo = token novo.
+            // na fila — visto ao vivo em 10/jul/2026). O BearerAuthFilter já invalidou
+            // o token no 401: a nova tentativa sai com token novo.
             log.warn("Falha transiente do Keycloak ao criar usuário ({}) — repetindo uma vez: email={}",
                 e.getMessage(), email);
             return tentarCriarUsuario(usuarioId, email, nome, tenantId, roles, password);
@@ -96,11 +119,11 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
 
     private String tentarCriarUsuario(UUID usuarioId, String email, String nome,
                                       UUID tenantId, List<String> roles, String password) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
+        try {
 
             log.info("Criando usuário no Keycloak com senha temporária (Option 2): email={}, realm={}", email, targetRealm);
 
-            RealmResource realmResource = keycloak.realm(targetRealm);
+            RealmResource realmResource = realm();
             UsersResource usersResource = realmResource.users();
 
             // 1. Criar representação do usuário
@@ -158,11 +181,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
             log.info("Usuário criado no Keycloak com sucesso: keycloakId={}, postgresId={}, email={}",
                     keycloakUserId, usuarioId, email);
 
-            // 5. Obter recurso do usuário criado
-            UserResource userResource = usersResource.get(keycloakUserId);
-
-            // 6. Atribuir roles ao usuário
-            assignRolesToUser(realmResource, userResource, roles);
+            // 5. Atribuir roles ao usuário (representações do cache — uma ida só)
+            assignRolesToUser(realmResource, keycloakUserId, roles);
 
             log.info("Usuário criado e configurado com sucesso no Keycloak: keycloakId={}, postgresId={}, email={}, roles={}",
                     keycloakUserId, usuarioId, email, roles);
@@ -200,10 +220,10 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @throws com.jetski.shared.security.DuplicateUserException se e-mail já existir (409)
      */
     public String createCustomerUser(String email, String nome, String senha) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
+        try {
             log.info("Criando cliente final no Keycloak (self-signup): email={}, realm={}", email, targetRealm);
 
-            RealmResource realmResource = keycloak.realm(targetRealm);
+            RealmResource realmResource = realm();
             UsersResource usersResource = realmResource.users();
 
             UserRepresentation user = new UserRepresentation();
@@ -235,7 +255,7 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
             }
 
             String keycloakUserId = locationHeader.substring(locationHeader.lastIndexOf('/') + 1);
-            assignRolesToUser(realmResource, usersResource.get(keycloakUserId), List.of("CLIENTE"));
+            assignRolesToUser(realmResource, keycloakUserId, List.of("CLIENTE"));
 
             // Best-effort: dispara o e-mail de verificação (exige SMTP no realm).
             try {
@@ -262,8 +282,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return true se atualizado
      */
     public boolean updateUserName(String keycloakUserId, String nome) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            UserResource userResource = keycloak.realm(targetRealm).users().get(keycloakUserId);
+        try {
+            UserResource userResource = realm().users().get(keycloakUserId);
             UserRepresentation rep = userResource.toRepresentation();
             rep.setFirstName(extractFirstName(nome));
             rep.setLastName(extractLastName(nome));
@@ -284,8 +304,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @throws com.jetski.shared.security.DuplicateUserException CPF em uso
      */
     public boolean definirCpf(String keycloakUserId, String cpfDigits) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            RealmResource realmResource = keycloak.realm(targetRealm);
+        try {
+            RealmResource realmResource = realm();
 
             // CPF já usado como username por OUTRO usuário?
             List<UserRepresentation> existentes =
@@ -323,9 +343,9 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return Keycloak user ID ou null se não existir (ou em erro)
      */
     public String findUserIdByEmail(String email) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
+        try {
             List<UserRepresentation> found =
-                keycloak.realm(targetRealm).users().searchByEmail(email, true);
+                realm().users().searchByEmail(email, true);
             return found.isEmpty() ? null : found.get(0).getId();
         } catch (Exception e) {
             log.error("Erro ao buscar usuário por e-mail no Keycloak: email={}, error={}",
@@ -339,8 +359,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * (CLIENTE é atribuída direto tanto no self-signup quanto no claim).
      */
     public boolean userHasRealmRole(String keycloakUserId, String role) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).users().get(keycloakUserId)
+        try {
+            return realm().users().get(keycloakUserId)
                 .roles().realmLevel().listAll().stream()
                 .anyMatch(r -> role.equals(r.getName()));
         } catch (Exception e) {
@@ -356,8 +376,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * e-mail — provou a posse do endereço). Falha não interrompe o fluxo.
      */
     public void marcarEmailVerificado(String keycloakUserId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            UserResource userResource = keycloak.realm(targetRealm).users().get(keycloakUserId);
+        try {
+            UserResource userResource = realm().users().get(keycloakUserId);
             UserRepresentation rep = userResource.toRepresentation();
             rep.setEmailVerified(true);
             if (rep.getRequiredActions() != null) {
@@ -380,8 +400,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return e-mail ou null se usuário inexistente/sem e-mail/erro
      */
     public String findEmailById(String keycloakUserId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).users().get(keycloakUserId)
+        try {
+            return realm().users().get(keycloakUserId)
                 .toRepresentation().getEmail();
         } catch (Exception e) {
             log.error("Erro ao buscar e-mail por id no Keycloak: userId={}, error={}",
@@ -398,9 +418,9 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return Keycloak user ID ou null se não existir (ou em erro)
      */
     public String findUserIdByUsername(String username) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
+        try {
             List<UserRepresentation> found =
-                keycloak.realm(targetRealm).users().searchByUsername(username, true);
+                realm().users().searchByUsername(username, true);
             return found.isEmpty() ? null : found.get(0).getId();
         } catch (Exception e) {
             log.error("Erro ao buscar usuário por username no Keycloak: error={}", e.getMessage(), e);
@@ -415,8 +435,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      */
     public com.jetski.shared.security.FederatedIdentity findFederatedIdentity(
             String keycloakUserId, String idpAlias) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).users().get(keycloakUserId)
+        try {
+            return realm().users().get(keycloakUserId)
                 .getFederatedIdentity().stream()
                 .filter(f -> idpAlias.equals(f.getIdentityProvider()))
                 .findFirst()
@@ -439,8 +459,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return true se o link ficou no usuário destino
      */
     public boolean transferFederatedIdentity(String fromUserId, String toUserId, String idpAlias) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            RealmResource realmResource = keycloak.realm(targetRealm);
+        try {
+            RealmResource realmResource = realm();
             UserResource fromResource = realmResource.users().get(fromUserId);
 
             FederatedIdentityRepresentation rep = fromResource.getFederatedIdentity().stream()
@@ -480,8 +500,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return true se removido (204)
      */
     public boolean deleteUser(String keycloakUserId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            try (Response response = keycloak.realm(targetRealm).users().delete(keycloakUserId)) {
+        try {
+            try (Response response = realm().users().delete(keycloakUserId)) {
                 boolean ok = response.getStatus() == 204;
                 if (ok) {
                     log.info("Usuário removido do Keycloak: userId={}", keycloakUserId);
@@ -508,8 +528,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return true se a senha foi redefinida
      */
     public boolean resetPassword(String keycloakUserId, String novaSenha) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            UserResource userResource = keycloak.realm(targetRealm).users().get(keycloakUserId);
+        try {
+            UserResource userResource = realm().users().get(keycloakUserId);
             CredentialRepresentation credential = new CredentialRepresentation();
             credential.setType(CredentialRepresentation.PASSWORD);
             credential.setValue(novaSenha);
@@ -532,8 +552,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * bloqueada; o log distingue as causas).
      */
     public boolean hasPasswordCredential(String keycloakUserId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).users().get(keycloakUserId)
+        try {
+            return realm().users().get(keycloakUserId)
                 .credentials().stream()
                 .anyMatch(c -> CredentialRepresentation.PASSWORD.equals(c.getType()));
         } catch (Exception e) {
@@ -569,8 +589,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      *         (ou em erro — o chamador não deve tratar isso como bloqueio)
      */
     public boolean exigirSegundoFator(String keycloakUserId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            var resource = keycloak.realm(targetRealm).users().get(keycloakUserId);
+        try {
+            var resource = realm().users().get(keycloakUserId);
             boolean temFator = resource.credentials().stream()
                 .anyMatch(c -> java.util.Set.of("otp", "webauthn", "webauthn-passwordless")
                     .contains(c.getType()));
@@ -599,8 +619,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
     public java.util.List<java.util.Map<String, Object>> listSecondFactorCredentials(String keycloakUserId) {
         final java.util.Set<String> tiposSegundoFator =
             java.util.Set.of("otp", "webauthn", "webauthn-passwordless");
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).users().get(keycloakUserId)
+        try {
+            return realm().users().get(keycloakUserId)
                 .credentials().stream()
                 .filter(c -> tiposSegundoFator.contains(c.getType()))
                 .map(c -> {
@@ -628,8 +648,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * Fail-closed: erro retorna lista vazia.
      */
     public java.util.List<java.util.Map<String, Object>> listTrustedDevices(String keycloakUserId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).users().get(keycloakUserId)
+        try {
+            return realm().users().get(keycloakUserId)
                 .credentials().stream()
                 .filter(c -> "mj-trusted-device".equals(c.getType()))
                 .map(c -> {
@@ -666,8 +686,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * @return true se removida
      */
     public boolean removeCredential(String keycloakUserId, String credentialId) {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            keycloak.realm(targetRealm).users().get(keycloakUserId).removeCredential(credentialId);
+        try {
+            realm().users().get(keycloakUserId).removeCredential(credentialId);
             log.info("Credential removida no Keycloak: userId={}, credentialId={}", keycloakUserId, credentialId);
             return true;
         } catch (Exception e) {
@@ -690,38 +710,81 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
      * de "zero sessões" para manter o último valor do gauge.
      */
     public List<Map<String, String>> getClientSessionStats() {
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            return keycloak.realm(targetRealm).getClientSessionStats();
+        return realm().getClientSessionStats();
+    }
+
+    /**
+     * Atribui as mesmas roles realm-level a vários usuários.
+     *
+     * <p>As representações vêm do cache por realm ({@link #representacoes}): cada
+     * usuário custa um único POST de role-mapping, em vez de um GET por role
+     * antes dele. Para de atribuir no primeiro usuário que falhar.
+     *
+     * @param userIds   Keycloak user IDs
+     * @param roleNames nomes das realm roles
+     * @throws IllegalArgumentException se alguma role não existir no realm
+     */
+    public void assignRoles(Collection<String> userIds, Collection<String> roleNames) {
+        if (userIds.isEmpty() || roleNames.isEmpty()) {
+            return;
         }
+        RealmResource realmResource = realm();
+        List<RoleRepresentation> rolesToAdd = representacoes(realmResource, roleNames);
+        for (String userId : userIds) {
+            realmResource.users().get(userId).roles().realmLevel().add(rolesToAdd);
+        }
+        log.info("Roles atribuídas: usuarios={}, roles={}", userIds.size(), roleNames);
     }
 
     /**
-     * Atribui roles realm-level ao usuário.
+     * Atribui roles realm-level ao usuário recém-criado.
      *
      * @param realmResource Recurso do realm
-     * @param userResource Recurso do usuário
+     * @param userId Keycloak user ID
      * @param roleNames Lista de nomes de roles
      */
-    private void assignRolesToUser(RealmResource realmResource, UserResource userResource,
-                                    List<String> roleNames) {
+    private void assignRolesToUser(RealmResource realmResource, String userId, List<String> roleNames) {
         try {
-            // Buscar representações das roles
-            List<RoleRepresentation> rolesToAdd = roleNames.stream()
-                .map(roleName -> realmResource.roles().get(roleName).toRepresentation())
-                .toList();
-
-            // Atribuir roles ao usuário
-            userResource.roles().realmLevel().add(rolesToAdd);
-
-            log.info("Roles atribuídas ao usuário: userId={}, roles={}",
-                     userResource.toRepresentation().getId(), roleNames);
-
+            realmResource.users().get(userId).roles().realmLevel()
+                .add(representacoes(realmResource, roleNames));
+            log.info("Roles atribuídas ao usuário: userId={}, roles={}", userId, roleNames);
         } catch (Exception e) {
             log.error("Erro ao atribuir roles ao usuário: roles={}, error={}", roleNames, e.getMessage(), e);
             throw new RuntimeException("Falha ao atribuir roles no Keycloak", e);
         }
     }
 
+    /**
+     * Representações das realm roles pedidas, do cache do realm. O cache é
+     * carregado com UMA listagem ({@code GET /roles}) e recarregado quando
+     * falta um nome — role criada depois da carga aparece sem restart.
+     */
+    private List<RoleRepresentation> representacoes(RealmResource realmResource, Collection<String> roleNames) {
+        Map<String, RoleRepresentation> porNome = rolesPorRealm.computeIfAbsent(targetRealm,
+            r -> carregarRoles(realmResource));
+        if (!porNome.keySet().containsAll(roleNames)) {
+            porNome = carregarRoles(realmResource);
+            rolesPorRealm.put(targetRealm, porNome);
+        }
+        List<RoleRepresentation> reps = new ArrayList<>(roleNames.size());
+        for (String nome : roleNames) {
+            RoleRepresentation rep = porNome.get(nome);
+            if (rep == null) {
+                throw new IllegalArgumentException("Role inexistente no realm " + targetRealm + ": " + nome);
+            }
+            reps.add(rep);
+        }
+        return reps;
+    }
+
+    private static Map<String, RoleRepresentation> carregarRoles(RealmResource realmResource) {
+        Map<String, RoleRepresentation> porNome = new HashMap<>();
+        for (RoleRepresentation role : realmResource.roles().list(false)) {
+            porNome.put(role.getName(), role);
+        }
+        return Map.copyOf(porNome);
+    }
+
     /**
      * Extrai primeiro nome do nome completo.
      */
@@ -765,8 +828,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
     @Override
     public Map<String, String> lerClientsSemTrustedDevice(List<String> subflows) {
         Map<String, String> porSubflow = new LinkedHashMap<>();
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            var flows = keycloak.realm(targetRealm).flows();
+        try {
+            var flows = realm().flows();
             for (String alias : subflows) {
                 var exec = acharTrustedDeviceCheck(flows, alias);
                 if (exec == null || exec.getAuthenticationConfig() == null) {
@@ -795,8 +858,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
     @Override
     public int definirClientsSemTrustedDevice(List<String> subflows, String clients) {
         int alterados = 0;
-        try (Keycloak keycloak = buildKeycloakClient()) {
-            var flows = keycloak.realm(targetRealm).flows();
+        try {
+            var flows = realm().flows();
             for (String alias : subflows) {
                 var exec = acharTrustedDeviceCheck(flows, alias);
                 if (exec == null) {
@@ -837,20 +900,66 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
         }
     }
 
+    /** Realm alvo no client admin compartilhado. */
+    private RealmResource realm() {
+        return adminClient().realm(targetRealm);
+    }
+
+    /**
+     * Client admin compartilhado (thread-safe), criado na primeira chamada.
+     *
+     * <p>Antes cada método montava o próprio client: um RESTEasy novo, um grant
+     * de senha no realm admin e o handshake TCP/TLS a cada chamada — inclusive o
+     * poll de sessões do {@code UsuariosMetricsService} a cada minuto. Agora o
+     * token é reaproveitado: o {@code TokenManager} renova pelo refresh token
+     * quando faltam menos de {@value #TOKEN_MIN_VALIDITY_SECONDS}s de validade,
+     * e um 401 invalida o token (a próxima chamada faz grant novo).
+     *
+     * <p>O lock (ReentrantLock, não pina virtual thread) só é disputado até a
+     * primeira criação.
+     */
+    private Keycloak adminClient() {
+        Keycloak k = keycloak;
+        if (k != null) {
+            return k;
+        }
+        criacao.lock();
+        try {
+            if (keycloak == null) {
+                keycloak = buildKeycloakClient();
+            }
+            return keycloak;
+        } finally {
+            criacao.unlock();
+        }
+    }
+
+    @PreDestroy
+    void fechar() {
+        Keycloak k = keycloak;
+        if (k != null) {
+            k.close();
+        }
+    }
+
     /**
-     * Constrói cliente Keycloak Admin com credenciais configuradas.
+     * Constrói o cliente Keycloak Admin com pool de conexões HTTP.
      *
      * <p>Timeouts explícitos: sem eles, um Keycloak sob carga segura a chamada por
      * minutos e o token admin (60s de vida no realm master) vence na fila — o
      * request então falha com 401 confuso (visto ao vivo em dev, 10/jul/2026).
-     * Falhar rápido + retry único no chamador resolve o caso transiente.
+     * Falhar rápido + retry único no chamador resolve o caso transiente. O
+     * checkout do pool também tem teto: pool esgotado falha em vez de enfileirar.
      */
     private Keycloak buildKeycloakClient() {
-        Client resteasyClient = ClientBuilder.newBuilder()
+        Client resteasyClient = new ResteasyClientBuilderImpl()
+                .connectionPoolSize(connectionPoolSize)
+                .maxPooledPerRoute(connectionPoolSize)
+                .connectionCheckoutTimeout(5, TimeUnit.SECONDS)
                 .connectTimeout(5, TimeUnit.SECONDS)
                 .readTimeout(15, TimeUnit.SECONDS)
                 .build();
-        return KeycloakBuilder.builder()
+        Keycloak client = KeycloakBuilder.builder()
                 .serverUrl(serverUrl)
                 .realm(adminRealm)
                 .clientId(clientId)
@@ -858,5 +967,8 @@ public class KeycloakAdminService implements com.jetski.shared.security.TrustedD
                 .password(password)
                 .resteasyClient(resteasyClient)
                 .build();
+        client.tokenManager().setMinTokenValidity(TOKEN_MIN_VALIDITY_SECONDS);
+        log.info("Client admin do Keycloak criado: server={}, pool={}", serverUrl, connectionPoolSize);
+        return client;
     }
 }
@@ -100,6 +100,11 @@ class KeycloakUserProvisioningAdapter implements UserProvisioningService {
         return keycloakAdminService.createCustomerUser(email, nome, senha);
     }
 
+    @Override
+    public void assignRoles(java.util.Collection<String> providerUserIds, List<String> roles) {
+        keycloakAdminService.assignRoles(providerUserIds, roles);
+    }
+
     @Override
     public boolean updateUserName(String providerUserId, String nome) {
         return keycloakAdminService.updateUserName(providerUserId, nome);
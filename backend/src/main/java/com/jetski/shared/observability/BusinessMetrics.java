@@ -2,13 +2,21 @@ package com.jetski.shared.observability;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Business Metrics - Custom metrics for Jetski SaaS application
@@ -25,16 +33,49 @@ import java.util.concurrent.TimeUnit;
  * a different tag set (Prometheus rejects the same name with different tag keys,
  * which silently drops the metric).
  *
+ * Hot path: each (name, tags) handle is registered once and cached here, so a
+ * record is a map lookup + increment — no builder/registry lookup per request
+ * ({@code recordTenantContextSwitch} runs on every request in TenantFilter).
+ *
+ * Cardinality: only the first {@code jetski.metrics.max-tenant-tags} tenants seen
+ * by this node get their own tenant_id value; the long tail is folded into
+ * {@value #OUTROS_TENANTS} (per-tenant detail for those stays in the logs, which
+ * carry tenant_id in the MDC). Series count is bounded by the limit, not by the
+ * number of tenants.
+ *
  * @author Jetski Team
  * @since 0.7.5
  */
+@Slf4j
 @Component
 public class BusinessMetrics {
 
+    /** tenant_id para tenants além do limite de cardinalidade. */
+    public static final String OUTROS_TENANTS = "other";
+
+    /** tenant_id de operações sem tenant (super admin da plataforma). */
+    public static final String SEM_TENANT = "platform";
+
+    static final int MAX_TENANT_TAGS_PADRAO = 200;
+
     private final MeterRegistry registry;
+    private final int maxTenantTags;
+
+    /** Handles já registrados por nome + tags (sempre limitados: tenant já dobrado). */
+    private final ConcurrentMap<String, Meter> meters = new ConcurrentHashMap<>();
+
+    /** Tenants com série própria neste nó (no máximo maxTenantTags). */
+    private final Set<String> tenantsComSerie = ConcurrentHashMap.newKeySet();
 
     public BusinessMetrics(MeterRegistry registry) {
+        this(registry, MAX_TENANT_TAGS_PADRAO);
+    }
+
+    @Autowired
+    public BusinessMetrics(MeterRegistry registry,
+                           @Value("${jetski.metrics.max-tenant-tags:" + MAX_TENANT_TAGS_PADRAO + "}") int maxTenantTags) {
         this.registry = registry;
+        this.maxTenantTags = maxTenantTags;
     }
 
     // ========================================
@@ -46,10 +87,7 @@ public class BusinessMetrics {
      * @param tenantId Tenant identifier
      */
     public void recordCheckin(String tenantId) {
-        Counter.builder("jetski.rental.checkin")
-                .tag("tenant_id", tenantId)
-                .register(registry)
-                .increment();
+        counter("jetski.rental.checkin", null, "tenant_id", tenantTag(tenantId)).increment();
     }
 
     /**
@@ -57,10 +95,7 @@ public class BusinessMetrics {
      * @param tenantId Tenant identifier
      */
     public void recordCheckout(String tenantId) {
-        Counter.builder("jetski.rental.checkout")
-                .tag("tenant_id", tenantId)
-                .register(registry)
-                .increment();
+        counter("jetski.rental.checkout", null, "tenant_id", tenantTag(tenantId)).increment();
     }
 
     /**
@@ -69,9 +104,7 @@ public class BusinessMetrics {
      * @param durationMinutes Duration in minutes
      */
     public void recordRentalDuration(String tenantId, long durationMinutes) {
-        Timer.builder("jetski.rental.duration")
-                .tag("tenant_id", tenantId)
-                .register(registry)
+        timer("jetski.rental.duration", null, "tenant_id", tenantTag(tenantId))
                 .record(durationMinutes, TimeUnit.MINUTES);
     }
 
@@ -111,11 +144,9 @@ public class BusinessMetrics {
      * instead of one metric per lifecycle step.
      */
     private void reservaEvento(String tenantId, String evento) {
-        Counter.builder("jetski.reserva")
-                .description("Eventos do ciclo de vida de reservas")
-                .tag("tenant_id", tenantId)
-                .tag("evento", evento)
-                .register(registry)
+        counter("jetski.reserva", "Eventos do ciclo de vida de reservas",
+                "tenant_id", tenantTag(tenantId),
+                "evento", evento)
                 .increment();
     }
 
@@ -133,10 +164,8 @@ public class BusinessMetrics {
         if (valorTotal == null) {
             return;
         }
-        DistributionSummary.builder("jetski.rental.valor")
-                .description("Valor total das locações finalizadas (BRL)")
-                .tag("tenant_id", tenantId)
-                .register(registry)
+        summary("jetski.rental.valor", "Valor total das locações finalizadas (BRL)",
+                "tenant_id", tenantTag(tenantId))
                 .record(valorTotal.doubleValue());
     }
 
@@ -147,11 +176,9 @@ public class BusinessMetrics {
      * @param valorPago Amount paid (nullable)
      */
     public void recordPagamentoConfirmado(String tenantId, String tipo, BigDecimal valorPago) {
-        DistributionSummary.builder("jetski.pagamento.valor")
-                .description("Pagamentos de reserva confirmados (BRL)")
-                .tag("tenant_id", tenantId)
-                .tag("tipo", tipo != null ? tipo : "desconhecido")
-                .register(registry)
+        summary("jetski.pagamento.valor", "Pagamentos de reserva confirmados (BRL)",
+                "tenant_id", tenantTag(tenantId),
+                "tipo", tipo != null ? tipo : "desconhecido")
                 .record(valorPago != null ? valorPago.doubleValue() : 0.0);
     }
 
@@ -160,10 +187,8 @@ public class BusinessMetrics {
      * @param tenantId Tenant identifier
      */
     public void recordPagamentoRecusado(String tenantId) {
-        Counter.builder("jetski.pagamento.recusado")
-                .description("Pagamentos de reserva recusados")
-                .tag("tenant_id", tenantId)
-                .register(registry)
+        counter("jetski.pagamento.recusado", "Pagamentos de reserva recusados",
+                "tenant_id", tenantTag(tenantId))
                 .increment();
     }
 
@@ -177,11 +202,9 @@ public class BusinessMetrics {
      * @param tipo Emission type: DOCUMENTO, GRU or PREVIA
      */
     public void recordEmissao(String tenantId, String tipo) {
-        Counter.builder("jetski.emissao")
-                .description("Emissões contabilizadas (metering)")
-                .tag("tenant_id", tenantId)
-                .tag("tipo", tipo)
-                .register(registry)
+        counter("jetski.emissao", "Emissões contabilizadas (metering)",
+                "tenant_id", tenantTag(tenantId),
+                "tipo", tipo)
                 .increment();
     }
 
@@ -192,11 +215,9 @@ public class BusinessMetrics {
      * @param quantidade Signed quantity; recorded as absolute amount under the tipo tag
      */
     public void recordCreditoMovimento(String tenantId, String tipo, int quantidade) {
-        Counter.builder("jetski.creditos.movimento")
-                .description("Movimentações de créditos de emissão")
-                .tag("tenant_id", tenantId)
-                .tag("tipo", tipo)
-                .register(registry)
+        counter("jetski.creditos.movimento", "Movimentações de créditos de emissão",
+                "tenant_id", tenantTag(tenantId),
+                "tipo", tipo)
                 .increment(Math.abs(quantidade));
     }
 
@@ -209,10 +230,7 @@ public class BusinessMetrics {
      * @param tenantId Tenant identifier (optional, can be null for platform admins)
      */
     public void recordLoginSuccess(String tenantId) {
-        Counter.builder("jetski.auth.login.success")
-                .tag("tenant_id", tenantId != null ? tenantId : "platform")
-                .register(registry)
-                .increment();
+        counter("jetski.auth.login.success", null, "tenant_id", tenantTag(tenantId)).increment();
     }
 
     /**
@@ -220,10 +238,7 @@ public class BusinessMetrics {
      * @param reason Failure reason (invalid_credentials, account_locked, etc.)
      */
     public void recordLoginFailure(String reason) {
-        Counter.builder("jetski.auth.login.failure")
-                .tag("reason", reason)
-                .register(registry)
-                .increment();
+        counter("jetski.auth.login.failure", null, "reason", reason).increment();
     }
 
     /**
@@ -231,10 +246,7 @@ public class BusinessMetrics {
      * @param tenantId Tenant identifier
      */
     public void recordTokenRefresh(String tenantId) {
-        Counter.builder("jetski.auth.token.refresh")
-                .tag("tenant_id", tenantId != null ? tenantId : "platform")
-                .register(registry)
-                .increment();
+        counter("jetski.auth.token.refresh", null, "tenant_id", tenantTag(tenantId)).increment();
     }
 
     // ========================================
@@ -246,10 +258,7 @@ public class BusinessMetrics {
      * @param tenantId Tenant identifier
      */
     public void recordTenantContextSwitch(String tenantId) {
-        Counter.builder("jetski.tenant.context.switch")
-                .tag("tenant_id", tenantId)
-                .register(registry)
-                .increment();
+        counter("jetski.tenant.context.switch", null, "tenant_id", tenantTag(tenantId)).increment();
     }
 
     // ========================================
@@ -263,11 +272,10 @@ public class BusinessMetrics {
      * @param policy Policy name
      */
     public void recordOpaDecision(String tenantId, String decision, String policy) {
-        Counter.builder("jetski.opa.decision")
-                .tag("tenant_id", tenantId)
-                .tag("decision", decision)
-                .tag("policy", policy)
-                .register(registry)
+        counter("jetski.opa.decision", null,
+                "tenant_id", tenantTag(tenantId),
+                "decision", decision,
+                "policy", policy)
                 .increment();
     }
 
@@ -277,12 +285,61 @@ public class BusinessMetrics {
      * @param durationMs Duration in milliseconds
      */
     public void recordOpaDecisionDuration(String tenantId, long durationMs) {
-        Timer.builder("jetski.opa.decision.duration")
-                .tag("tenant_id", tenantId)
-                .register(registry)
+        timer("jetski.opa.decision.duration", null, "tenant_id", tenantTag(tenantId))
                 .record(Duration.ofMillis(durationMs));
     }
 
+    // ========================================
+    // Cached handles & cardinality limit
+    // ========================================
+
+    /**
+     * Valor da tag tenant_id: o próprio id enquanto houver vaga (primeiros
+     * {@code maxTenantTags} vistos por este nó), senão {@value #OUTROS_TENANTS}.
+     */
+    String tenantTag(String tenantId) {
+        if (tenantId == null) {
+            return SEM_TENANT;
+        }
+        if (tenantsComSerie.contains(tenantId)) {
+            return tenantId;
+        }
+        synchronized (tenantsComSerie) {
+            if (tenantsComSerie.size() < maxTenantTags) {
+                tenantsComSerie.add(tenantId);
+                return tenantId;
+            }
+        }
+        log.debug("Métrica do tenant {} agregada em tenant_id={} (limite de {} séries por tenant)",
+                tenantId, OUTROS_TENANTS, maxTenantTags);
+        return OUTROS_TENANTS;
+    }
+
+    private Counter counter(String name, String description, String... tags) {
+        return cached(name, tags, () -> Counter.builder(name).description(description).tags(tags)
+                .register(registry));
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return cached(name, tags, () -> Timer.builder(name).description(description).tags(tags)
+                .register(registry));
+    }
+
+    private DistributionSummary summary(String name, String description, String... tags) {
+        return cached(name, tags, () -> DistributionSummary.builder(name).description(description).tags(tags)
+                .register(registry));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M extends Meter> M cached(String name, String[] tags, Supplier<M> registrar) {
+        String chave = tags.length == 2 ? name + '|' + tags[1] : name + '|' + String.join("|", tags);
+        Meter meter = meters.get(chave);
+        if (meter == null) {
+            meter = meters.computeIfAbsent(chave, k -> registrar.get());
+        }
+        return (M) meter;
+    }
+
     /**
      * Get the meter registry for advanced metrics operations
      */
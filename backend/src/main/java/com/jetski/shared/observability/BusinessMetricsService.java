@@ -1,5 +1,6 @@
 package com.jetski.shared.observability;
 
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MultiGauge;
@@ -9,6 +10,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,6 +23,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>Contadores de eventos (check-ins, reservas, emissões…) NÃO vivem aqui —
  * são incrementados por evento de domínio no {@code MetricsEventListener}
  * (módulo {@code metrics}) via {@link BusinessMetrics}, com tag de tenant.
+ *
+ * <p>Em cluster só o nó que detém o lease ({@link ClusterJobRunner}) consulta o
+ * banco; nas demais réplicas os gauges ficam em 0 — agregue com {@code max} no
+ * Prometheus/Grafana, não por instância.
  */
 @Service
 @Slf4j
@@ -28,6 +34,7 @@ public class BusinessMetricsService {
 
     private final MeterRegistry meterRegistry;
     private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobRunner jobRunner;
 
     // Gauges - valores que variam ao longo do tempo
     private final AtomicInteger locacoesAtivas = new AtomicInteger(0);
@@ -40,9 +47,11 @@ public class BusinessMetricsService {
     // Saldo de créditos de emissão por tenant (ledger append-only)
     private MultiGauge creditosSaldo;
 
-    public BusinessMetricsService(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate) {
+    public BusinessMetricsService(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate,
+                                  ClusterJobRunner jobRunner) {
         this.meterRegistry = meterRegistry;
         this.jdbcTemplate = jdbcTemplate;
+        this.jobRunner = jobRunner;
 
         initializeMetrics();
     }
@@ -91,10 +100,18 @@ public class BusinessMetricsService {
     }
 
     /**
-     * Atualiza as métricas de gauge consultando o banco de dados.
-     * Executado a cada 30 segundos.
+     * Tick de 30s em todo nó; só o dono do lease atualiza. O dono renova a cada
+     * tick e segura o lease por 90s — outro nó assume só se ele parar.
      */
     @Scheduled(fixedRate = 30000)
+    public void agendarAtualizacao() {
+        jobRunner.executar("metricas-negocio", Duration.ofSeconds(90), Duration.ofMinutes(5),
+            this::atualizarMetricasGauge);
+    }
+
+    /**
+     * Atualiza as métricas de gauge consultando o banco de dados.
+     */
     public void atualizarMetricasGauge() {
         try {
             // Atualizar locações ativas
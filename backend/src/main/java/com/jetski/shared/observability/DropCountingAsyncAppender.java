@@ -0,0 +1,51 @@
+package com.jetski.shared.observability;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AsyncAppender} que conta o que descarta.
+ *
+ * <p>A thread da requisição só enfileira o evento (ring buffer de
+ * {@code queueSize}); a escrita do JSON no stdout acontece numa thread do
+ * appender. Com a fila acima de {@code 100% - discardingThreshold} cheia,
+ * TRACE/DEBUG/INFO são descartados; com {@code neverBlock} e a fila lotada,
+ * até WARN/ERROR são descartados em vez de travar a requisição.
+ *
+ * <p>Os contadores (estáticos — o Logback instancia o appender fora do Spring)
+ * viram a métrica {@code jetski.log.descartados} em {@link LogPipelineMetrics}.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private static final AtomicLong DESCARTADOS_NIVEL = new AtomicLong();
+    private static final AtomicLong DESCARTADOS_FILA_CHEIA = new AtomicLong();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // isDiscardable() (abaixo) só é consultado com a fila acima do limiar;
+        // aqui fica o caso restante: fila lotada + evento que não seria descartado
+        if (isNeverBlock() && getRemainingCapacity() == 0 && !super.isDiscardable(event)) {
+            DESCARTADOS_FILA_CHEIA.incrementAndGet();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean descartavel = super.isDiscardable(event);
+        if (descartavel) {
+            DESCARTADOS_NIVEL.incrementAndGet();
+        }
+        return descartavel;
+    }
+
+    static long descartadosPorNivel() {
+        return DESCARTADOS_NIVEL.get();
+    }
+
+    static long descartadosFilaCheia() {
+        return DESCARTADOS_FILA_CHEIA.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.jetski.shared.observability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas do pipeline de log: descartes do appender assíncrono e linhas de
+ * INFO suprimidas pela amostragem. Descarte por fila cheia &gt; 0 = o stdout não
+ * está dando vazão (coletor lento, log demais) — sinal para alerta.
+ */
+@Component
+public class LogPipelineMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jetski.log.descartados", DropCountingAsyncAppender.class,
+                c -> DropCountingAsyncAppender.descartadosPorNivel())
+            .description("Eventos de log descartados pelo appender assíncrono")
+            .tag("motivo", "nivel")
+            .register(registry);
+        FunctionCounter.builder("jetski.log.descartados", DropCountingAsyncAppender.class,
+                c -> DropCountingAsyncAppender.descartadosFilaCheia())
+            .description("Eventos de log descartados pelo appender assíncrono")
+            .tag("motivo", "fila_cheia")
+            .register(registry);
+        FunctionCounter.builder("jetski.log.amostragem", LogSamplingTurboFilter.class,
+                c -> LogSamplingTurboFilter.suprimidas())
+            .description("Linhas INFO de loggers amostrados")
+            .tag("resultado", "suprimida")
+            .register(registry);
+        FunctionCounter.builder("jetski.log.amostragem", LogSamplingTurboFilter.class,
+                c -> LogSamplingTurboFilter.amostradas())
+            .description("Linhas INFO de loggers amostrados")
+            .tag("resultado", "registrada")
+            .register(registry);
+    }
+}
@@ -0,0 +1,133 @@
+package com.jetski.shared.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro global do Logback (roda antes do teste de nível, em toda chamada de log):
+ *
+ * <ul>
+ *   <li><strong>Debug por tenant</strong> — tenants ligados via actuator
+ *       ({@code /actuator/tenantdebug}) logam DEBUG de {@code com.jetski} mesmo com
+ *       o nível global em INFO, por um prazo. Investiga um cliente em produção sem
+ *       ligar DEBUG para todos.</li>
+ *   <li><strong>Amostragem de INFO ruidoso</strong> — para os loggers listados
+ *       (decisões OPA, troca de tenant), só 1 a cada {@code taxa} requisições
+ *       registra suas linhas INFO. A decisão é pelo {@code trace_id} da requisição:
+ *       uma requisição amostrada loga TODAS as suas linhas (história completa), as
+ *       demais nenhuma. WARN/ERROR nunca são amostrados.</li>
+ * </ul>
+ *
+ * <p>Configurado no {@code logback-spring.xml}. O estado de debug é estático porque o
+ * Logback instancia o filtro fora do contexto Spring. Caminho comum (nenhum tenant
+ * em debug, logger fora da lista) = duas leituras de campo e NEUTRAL.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private static final String PREFIXO_APP = "com.jetski";
+
+    /** tenant_id → instante em que o debug expira. */
+    private static final Map<String, Instant> TENANTS_DEBUG = new ConcurrentHashMap<>();
+
+    private static final AtomicLong AMOSTRADAS = new AtomicLong();
+    private static final AtomicLong SUPRIMIDAS = new AtomicLong();
+
+    private final Set<String> loggersAmostrados = ConcurrentHashMap.newKeySet();
+    private final AtomicLong semTrace = new AtomicLong();
+    private volatile int taxa = 1;
+
+    // ===== Configuração (setters chamados pelo Logback) =====
+
+    /** Loggers cujo INFO é amostrado, separados por vírgula. */
+    public void setLoggers(String nomes) {
+        for (String nome : nomes.split(",")) {
+            if (!nome.isBlank()) {
+                loggersAmostrados.add(nome.trim());
+            }
+        }
+    }
+
+    /** 1 em {@code taxa} requisições loga o INFO dos loggers amostrados (1 = tudo). */
+    public void setTaxa(int taxa) {
+        this.taxa = Math.max(1, taxa);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                              Object[] params, Throwable t) {
+        if (!TENANTS_DEBUG.isEmpty() && level.levelInt >= Level.DEBUG_INT
+                && logger.getName().startsWith(PREFIXO_APP) && emDebug(MDC.get(MDCKeys.TENANT_ID))) {
+            return FilterReply.ACCEPT;
+        }
+        if (taxa > 1 && level.levelInt == Level.INFO_INT && loggersAmostrados.contains(logger.getName())) {
+            if (amostrada(MDC.get(MDCKeys.TRACE_ID))) {
+                AMOSTRADAS.incrementAndGet();
+                return FilterReply.NEUTRAL;
+            }
+            SUPRIMIDAS.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private boolean amostrada(String traceId) {
+        if (traceId == null) {
+            // fora de requisição (job, listener async): 1 a cada N linhas
+            return semTrace.getAndIncrement() % taxa == 0;
+        }
+        return Math.floorMod(traceId.hashCode(), taxa) == 0;
+    }
+
+    private static boolean emDebug(String tenantId) {
+        if (tenantId == null) {
+            return false;
+        }
+        Instant ate = TENANTS_DEBUG.get(tenantId);
+        if (ate == null) {
+            return false;
+        }
+        if (Instant.now().isAfter(ate)) {
+            TENANTS_DEBUG.remove(tenantId, ate);
+            return false;
+        }
+        return true;
+    }
+
+    // ===== Controle (TenantDebugEndpoint) =====
+
+    static Instant ativarDebug(String tenantId, Duration prazo) {
+        Instant ate = Instant.now().plus(prazo);
+        TENANTS_DEBUG.put(tenantId, ate);
+        return ate;
+    }
+
+    static boolean desativarDebug(String tenantId) {
+        return TENANTS_DEBUG.remove(tenantId) != null;
+    }
+
+    /** Tenants em debug ainda no prazo (expirados são removidos aqui). */
+    static Map<String, Instant> tenantsEmDebug() {
+        Instant agora = Instant.now();
+        TENANTS_DEBUG.entrySet().removeIf(e -> agora.isAfter(e.getValue()));
+        return Map.copyOf(TENANTS_DEBUG);
+    }
+
+    static long amostradas() {
+        return AMOSTRADAS.get();
+    }
+
+    static long suprimidas() {
+        return SUPRIMIDAS.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.jetski.shared.observability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Liga/desliga DEBUG de {@code com.jetski} para UM tenant, com prazo
+ * ({@code /actuator/tenantdebug}). Sem redeploy e sem DEBUG para todos.
+ *
+ * <pre>
+ * GET    /actuator/tenantdebug                      → tenants em debug (e até quando)
+ * POST   /actuator/tenantdebug/{tenantId}?minutos=30 → liga (padrão 15, máx. 240)
+ * DELETE /actuator/tenantdebug/{tenantId}            → desliga
+ * </pre>
+ *
+ * <p>Estado por nó (em memória): com várias réplicas, chame em cada uma. O
+ * actuator não é exposto no edge e este endpoint exige PLATFORM_ADMIN
+ * ({@code AdminPlataformaAuthorizationManager}).
+ */
+@Slf4j
+@Component
+@Endpoint(id = "tenantdebug")
+public class TenantDebugEndpoint {
+
+    private static final int PRAZO_PADRAO_MIN = 15;
+    private static final int PRAZO_MAX_MIN = 240;
+
+    @ReadOperation
+    public Map<String, Instant> ativos() {
+        return LogSamplingTurboFilter.tenantsEmDebug();
+    }
+
+    @WriteOperation
+    public Map<String, Instant> ativar(@Selector String tenantId, @Nullable Integer minutos) {
+        String id = UUID.fromString(tenantId).toString();
+        int prazo = Math.min(PRAZO_MAX_MIN, Math.max(1, minutos != null ? minutos : PRAZO_PADRAO_MIN));
+        Instant ate = LogSamplingTurboFilter.ativarDebug(id, Duration.ofMinutes(prazo));
+        log.warn("DEBUG ligado para o tenant {} até {}", id, ate);
+        return Map.of(id, ate);
+    }
+
+    @DeleteOperation
+    public boolean desativar(@Selector String tenantId) {
+        boolean estava = LogSamplingTurboFilter.desativarDebug(tenantId);
+        log.warn("DEBUG desligado para o tenant {}", tenantId);
+        return estava;
+    }
+}
@@ -1,6 +1,7 @@
 package com.jetski.shared.observability;
 
 import com.jetski.shared.internal.keycloak.KeycloakAdminService;
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MultiGauge;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +57,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p><b>Resiliência</b>: Keycloak/banco fora do ar NUNCA derruba o scheduler —
  * exceção vira log warn e o gauge mantém o último valor publicado.
  *
+ * <p><b>Cluster</b>: só o nó com o lease ({@link ClusterJobRunner}) consulta
+ * Keycloak/banco; nas demais réplicas os gauges ficam no valor inicial —
+ * agregue com {@code max} no Grafana.
+ *
  * <p>Nomes de métrica sem sufixo reservado do Prometheus ({@code .total},
  * {@code .count}…) — sufixo reservado já quebrou o scrape neste projeto.
  */
@@ -64,6 +70,7 @@ public class UsuariosMetricsService {
 
     private final KeycloakAdminService keycloakAdminService;
     private final JdbcTemplate jdbcTemplate;
+    private final ClusterJobRunner jobRunner;
 
     /** Registrado UMA vez; linhas re-registradas a cada tick (overwrite=true). */
     private final MultiGauge sessoesAtivas;
@@ -73,9 +80,11 @@ public class UsuariosMetricsService {
 
     public UsuariosMetricsService(MeterRegistry meterRegistry,
                                   KeycloakAdminService keycloakAdminService,
-                                  JdbcTemplate jdbcTemplate) {
+                                  JdbcTemplate jdbcTemplate,
+                                  ClusterJobRunner jobRunner) {
         this.keycloakAdminService = keycloakAdminService;
         this.jdbcTemplate = jdbcTemplate;
+        this.jobRunner = jobRunner;
 
         this.sessoesAtivas = MultiGauge.builder("jetski.keycloak.sessoes.ativas")
                 .description("Sessões ativas no Keycloak por client (client-session-stats)")
@@ -91,10 +100,19 @@ public class UsuariosMetricsService {
     }
 
     /**
-     * Poll das sessões ativas do Keycloak (~60s). Em falha, mantém o último
-     * conjunto de linhas publicado (não re-registra o MultiGauge).
+     * Tick de ~60s em todo nó; só o dono do lease consulta o Keycloak (renova a
+     * cada tick e segura o lease por 3min — outro nó assume só se ele parar).
      */
     @Scheduled(fixedDelay = 60_000, initialDelay = 15_000)
+    public void agendarSessoesKeycloak() {
+        jobRunner.executar("metricas-sessoes-keycloak", Duration.ofMinutes(3), Duration.ofMinutes(5),
+                this::atualizarSessoesKeycloak);
+    }
+
+    /**
+     * Poll das sessões ativas do Keycloak. Em falha, mantém o último
+     * conjunto de linhas publicado (não re-registra o MultiGauge).
+     */
     public void atualizarSessoesKeycloak() {
         try {
             List<Map<String, String>> stats = keycloakAdminService.getClientSessionStats();
@@ -117,11 +135,19 @@ public class UsuariosMetricsService {
     }
 
     /**
-     * Cadastrados (~5min): staff ativo (global) e clientes por tenant (RLS).
+     * Tick de ~5min em todo nó; só o dono do lease conta (lease de 15min).
+     */
+    @Scheduled(fixedDelay = 300_000, initialDelay = 20_000)
+    public void agendarCadastrados() {
+        jobRunner.executar("metricas-cadastrados", Duration.ofMinutes(15), Duration.ofMinutes(20),
+                this::atualizarCadastrados);
+    }
+
+    /**
+     * Cadastrados: staff ativo (global) e clientes por tenant (RLS).
      * Try/catch independentes: falha em um não impede o outro; em falha o
      * gauge mantém o último valor.
      */
-    @Scheduled(fixedDelay = 300_000, initialDelay = 20_000)
     public void atualizarCadastrados() {
         try {
             Integer usuarios = jdbcTemplate.queryForObject(
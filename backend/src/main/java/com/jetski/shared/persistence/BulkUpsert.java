@@ -0,0 +1,115 @@
+package com.jetski.shared.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Upsert em lote ({@code INSERT ... ON CONFLICT}) via JDBC batch.
+ *
+ * <p>Para endpoints que gravam N linhas de uma vez (presenças do dia etc.):
+ * em vez de um {@code save()} por linha — com {@code findById} antes e, no
+ * caso de {@code merge}, um SELECT extra — as linhas vão em lotes de
+ * {@code hibernate.jdbc.batch_size}; com {@code reWriteBatchedInserts} no
+ * driver (ver {@code TenantAwareDataSourceConfig}) cada lote vira UM
+ * {@code INSERT ... VALUES (...), (...)} no servidor.
+ *
+ * <p>Roda na transação corrente (mesma conexão do JPA — RLS pelo
+ * {@code app.tenant_id} da conexão). Alterações JPA pendentes na mesma
+ * tabela precisam de {@code flush()} antes; entidades já carregadas ficam
+ * desatualizadas (releia depois, se precisar).
+ *
+ * <p>Tabela/colunas vêm do código (constantes), nunca de entrada do usuário;
+ * mesmo assim são validadas como identificadores simples.
+ */
+@Slf4j
+@Component
+public class BulkUpsert {
+
+    private static final Pattern IDENTIFICADOR = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLote;
+
+    public BulkUpsert(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insere {@code linhas} (valores na ordem de {@code colunas}); conflito em
+     * {@code chave} atualiza {@code atualizar} com os valores novos
+     * ({@code EXCLUDED}) — lista vazia = {@code DO NOTHING}.
+     *
+     * @return linhas enviadas (o driver não reporta contagem por linha com
+     *         reWriteBatchedInserts)
+     */
+    public int upsert(String tabela, List<String> colunas, List<String> chave,
+                      List<String> atualizar, List<Object[]> linhas) {
+        return upsert(tabela, colunas, chave, atualizar, null, linhas);
+    }
+
+    /**
+     * Como {@link #upsert(String, List, List, List, List)}, mas o conflito só
+     * atualiza a linha existente se {@code somenteSeNulo} estiver NULL nela
+     * (ex.: {@code pago_em} — linha já paga fica como está).
+     */
+    public int upsert(String tabela, List<String> colunas, List<String> chave,
+                      List<String> atualizar, String somenteSeNulo, List<Object[]> linhas) {
+        if (linhas.isEmpty()) {
+            return 0;
+        }
+        String sql = sql(tabela, colunas, chave, atualizar, somenteSeNulo);
+        int lote = Math.max(1, tamanhoLote);
+        int enviadas = 0;
+        for (int i = 0; i < linhas.size(); i += lote) {
+            List<Object[]> parte = linhas.subList(i, Math.min(i + lote, linhas.size()));
+            int[] r = jdbcTemplate.batchUpdate(sql, parte);
+            for (int n : r) {
+                enviadas += n == Statement.SUCCESS_NO_INFO ? 1 : n;
+            }
+        }
+        log.debug("Bulk upsert {}: {} linhas em lotes de {}", tabela, linhas.size(), lote);
+        return enviadas;
+    }
+
+    static String sql(String tabela, List<String> colunas, List<String> chave, List<String> atualizar) {
+        return sql(tabela, colunas, chave, atualizar, null);
+    }
+
+    static String sql(String tabela, List<String> colunas, List<String> chave, List<String> atualizar,
+                      String somenteSeNulo) {
+        validar(tabela);
+        colunas.forEach(BulkUpsert::validar);
+        chave.forEach(BulkUpsert::validar);
+        atualizar.forEach(BulkUpsert::validar);
+        if (colunas.isEmpty() || chave.isEmpty()) {
+            throw new IllegalArgumentException("Upsert exige colunas e chave de conflito");
+        }
+        String conflito = atualizar.isEmpty()
+            ? "DO NOTHING"
+            : "DO UPDATE SET " + atualizar.stream()
+                .map(c -> c + " = EXCLUDED." + c)
+                .collect(Collectors.joining(", "));
+        if (somenteSeNulo != null && !atualizar.isEmpty()) {
+            validar(somenteSeNulo);
+            conflito += " WHERE " + tabela + "." + somenteSeNulo + " IS NULL";
+        }
+        return "INSERT INTO " + tabela + " (" + String.join(", ", colunas) + ") VALUES ("
+            + colunas.stream().map(c -> "?").collect(Collectors.joining(", ")) + ") "
+            + "ON CONFLICT (" + String.join(", ", chave) + ") " + conflito;
+    }
+
+    private static void validar(String identificador) {
+        if (identificador == null || !IDENTIFICADOR.matcher(identificador).matches()) {
+            throw new IllegalArgumentException("Identificador SQL inválido: " + identificador);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Persistence API - Named Interface
+ *
+ * <p>Escrita em lote: {@code INSERT ... ON CONFLICT} via JDBC batch na
+ * transação corrente (mesma conexão do JPA, RLS já aplicado).
+ *
+ * <p><strong>Public API:</strong>
+ * <ul>
+ *   <li>{@link com.jetski.shared.persistence.BulkUpsert} - upsert de N linhas
+ *       em lotes (uma ida ao banco por lote com reWriteBatchedInserts)</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+@org.springframework.modulith.NamedInterface("persistence")
+package com.jetski.shared.persistence;
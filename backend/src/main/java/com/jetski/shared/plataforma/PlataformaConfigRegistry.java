@@ -0,0 +1,256 @@
+package com.jetski.shared.plataforma;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@code plataforma_config} em memória: todas as chaves carregadas na
+ * subida, valores já convertidos servidos de um mapa — o preço do crédito
+ * (compra, emissão) e os presets de imagem deixam de custar uma ida ao banco
+ * e um parse de JSON por chamada.
+ *
+ * <p><b>Invalidação entre nós:</b> o trigger de V072 dispara
+ * {@code NOTIFY plataforma_config, '<chave>'} no commit de qualquer escrita —
+ * inclusive direto no banco. Cada nó mantém uma conexão dedicada (fora do
+ * pool Hikari) em {@code LISTEN} e relê só a chave avisada. Ao (re)conectar,
+ * relê tudo: o que mudou enquanto a conexão estava caída não se perde.
+ *
+ * <p>Escrita pelo {@link #gravar}: o próprio nó atualiza o mapa no commit,
+ * sem esperar o NOTIFY (quem gravou lê o valor novo em seguida). Nos demais
+ * nós a propagação é assíncrona — milissegundos em operação normal.
+ *
+ * <p>Os valores convertidos são compartilhados entre threads: os tipos
+ * pedidos precisam ser imutáveis (BigDecimal, String, records sem coleções
+ * mutáveis).
+ */
+@Slf4j
+@Component
+public class PlataformaConfigRegistry implements SmartLifecycle {
+
+    /** Canal do NOTIFY (payload = chave alterada). */
+    static final String CANAL = "plataforma_config";
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO plataforma_config (chave, valor, updated_at, updated_by)
+        VALUES (?, ?, now(), ?)
+        ON CONFLICT (chave) DO UPDATE SET valor = EXCLUDED.valor,
+            updated_at = now(), updated_by = EXCLUDED.updated_by
+        """;
+
+    /** Bloqueio máximo de cada espera por notificação (também o tempo de parada). */
+    private static final int ESPERA_NOTIFICACAO_MS = 10_000;
+    private static final long PAUSA_RECONEXAO_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ConcurrentMap<String, Valor> valores = new ConcurrentHashMap<>();
+    private volatile boolean carregado;
+    private volatile boolean ativo;
+    private volatile Connection conexaoOuvinte;
+    private Thread ouvinte;
+
+    public PlataformaConfigRegistry(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                    DataSourceProperties dataSourceProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * Valor da chave convertido para {@code tipo} ({@code String} = texto
+     * cru, {@code BigDecimal} = número, demais = JSON via Jackson). A
+     * conversão é feita uma vez por valor gravado.
+     *
+     * @return vazio se a chave não existe
+     * @throws IllegalStateException se o valor gravado não converte para o tipo
+     */
+    public <T> Optional<T> get(String chave, Class<T> tipo) {
+        if (!carregado) {
+            recarregar();
+        }
+        Valor valor = valores.get(chave);
+        if (valor == null) {
+            return Optional.empty();
+        }
+        Object convertido = valor.convertidos.computeIfAbsent(tipo, t -> converter(chave, valor.bruto, t));
+        if (convertido instanceof Invalido invalido) {
+            throw new IllegalStateException(invalido.mensagem());
+        }
+        return Optional.of(tipo.cast(convertido));
+    }
+
+    /**
+     * Upsert da chave na transação corrente (super admin). O mapa local é
+     * atualizado no commit; os outros nós, pelo NOTIFY do trigger.
+     *
+     * <p>No commit a chave é RELIDA, não preenchida com {@code valor}: se a
+     * gravação de outro nó commitou depois desta e o NOTIFY dela já chegou
+     * aqui, escrever o próprio valor às cegas voltaria o mapa para o mais
+     * antigo — e ele ficaria assim até a chave mudar de novo.
+     */
+    public void gravar(String chave, String valor, UUID actor) {
+        jdbcTemplate.update(UPSERT_SQL, chave, valor, actor);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recarregar(chave);
+                }
+            });
+        } else {
+            recarregar(chave);
+        }
+    }
+
+    /** Relê todas as chaves (subida, reconexão do LISTEN, alteração fora da aplicação). */
+    public void recarregar() {
+        Map<String, String> lidos = new HashMap<>();
+        jdbcTemplate.query("SELECT chave, valor FROM plataforma_config",
+            rs -> { lidos.put(rs.getString("chave"), rs.getString("valor")); });
+        valores.keySet().retainAll(lidos.keySet());
+        lidos.forEach(this::atualizar);
+        carregado = true;
+        log.debug("plataforma_config carregada: {} chave(s)", lidos.size());
+    }
+
+    /** Relê uma chave (notificação); ausente no banco sai do mapa. */
+    void recarregar(String chave) {
+        List<String> lido = jdbcTemplate.queryForList(
+            "SELECT valor FROM plataforma_config WHERE chave = ?", String.class, chave);
+        if (lido.isEmpty()) {
+            valores.remove(chave);
+        } else {
+            atualizar(chave, lido.get(0));
+        }
+    }
+
+    /** Valor igual ao atual mantém as conversões já feitas. */
+    private void atualizar(String chave, String bruto) {
+        valores.compute(chave, (k, atual) -> atual != null && atual.bruto.equals(bruto) ? atual : new Valor(bruto));
+    }
+
+    private Object converter(String chave, String bruto, Class<?> tipo) {
+        try {
+            if (tipo == String.class) {
+                return bruto;
+            }
+            if (tipo == BigDecimal.class) {
+                return new BigDecimal(bruto.trim());
+            }
+            return objectMapper.readValue(bruto, tipo);
+        } catch (Exception e) {
+            log.warn("plataforma_config.{} inválido para {}: {}", chave, tipo.getSimpleName(), e.getMessage());
+            return new Invalido("plataforma_config." + chave + " inválido: " + e.getMessage());
+        }
+    }
+
+    // ==================== LISTEN/NOTIFY ====================
+
+    @Override
+    public void start() {
+        try {
+            recarregar();
+        } catch (Exception e) {
+            // a primeira leitura (get ou reconexão do ouvinte) tenta de novo
+            log.warn("Falha ao carregar plataforma_config na subida: {}", e.getMessage());
+        }
+        ativo = true;
+        ouvinte = Thread.ofPlatform().daemon().name("plataforma-config-listener").start(this::escutar);
+    }
+
+    @Override
+    public void stop() {
+        ativo = false;
+        fecharConexao();
+        if (ouvinte != null) {
+            ouvinte.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    private void escutar() {
+        while (ativo) {
+            try (Connection conexao = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                conexaoOuvinte = conexao;
+                try (Statement st = conexao.createStatement()) {
+                    st.execute("LISTEN " + CANAL);
+                }
+                recarregar();
+                PGConnection pg = conexao.unwrap(PGConnection.class);
+                while (ativo) {
+                    PGNotification[] notificacoes = pg.getNotifications(ESPERA_NOTIFICACAO_MS);
+                    if (notificacoes != null) {
+                        for (PGNotification n : notificacoes) {
+                            recarregar(n.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!ativo) {
+                    return;
+                }
+                log.warn("LISTEN {} interrompido, reconectando em {} ms: {}", CANAL, PAUSA_RECONEXAO_MS, e.getMessage());
+                try {
+                    Thread.sleep(PAUSA_RECONEXAO_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                conexaoOuvinte = null;
+            }
+        }
+    }
+
+    private void fecharConexao() {
+        Connection conexao = conexaoOuvinte;
+        if (conexao != null) {
+            try {
+                conexao.close();
+            } catch (SQLException e) {
+                log.debug("Falha ao fechar a conexão do LISTEN: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Texto gravado e suas conversões por tipo (feitas sob demanda, uma vez). */
+    private static final class Valor {
+        private final String bruto;
+        private final ConcurrentMap<Class<?>, Object> convertidos = new ConcurrentHashMap<>(2);
+
+        private Valor(String bruto) {
+            this.bruto = bruto;
+        }
+    }
+
+    /** Conversão que falhou — guardada para não repetir o parse a cada leitura. */
+    private record Invalido(String mensagem) {}
+}
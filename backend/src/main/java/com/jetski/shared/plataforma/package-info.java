@@ -0,0 +1,16 @@
+/**
+ * Plataforma API - Named Interface
+ *
+ * <p>Configuração global da plataforma ({@code plataforma_config}, chave-valor
+ * sem tenant): lida da memória, invalidada entre nós por LISTEN/NOTIFY (V072).
+ *
+ * <p><strong>Public API:</strong>
+ * <ul>
+ *   <li>{@link com.jetski.shared.plataforma.PlataformaConfigRegistry} - valores
+ *       tipados por chave e upsert pelo super admin</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+@org.springframework.modulith.NamedInterface("plataforma")
+package com.jetski.shared.plataforma;
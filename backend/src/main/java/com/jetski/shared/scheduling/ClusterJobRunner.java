@@ -0,0 +1,262 @@
+package com.jetski.shared.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Execução de jobs agendados com lease no banco (V064) — exatamente um nó
+ * executa cada disparo, mesmo com várias réplicas rodando o mesmo cron.
+ *
+ * <p>Os {@code @Scheduled} continuam disparando em TODOS os nós; o método
+ * agendado só delega para cá:
+ * <ul>
+ *   <li>{@link #executar}: job singleton — quem obtiver o lease de
+ *       {@code job_lease.nome} executa, os demais pulam (sem log, sem histórico);</li>
+ *   <li>{@link #executarEmShards}: varredura por tenant particionada em
+ *       {@code jetski.jobs.shards} leases ({@code nome#0..N-1}). Cada nó tenta
+ *       todos os shards a partir de um deslocamento aleatório, então réplicas
+ *       que disparam juntas dividem o trabalho em vez de uma esperar a outra.</li>
+ * </ul>
+ *
+ * <p><b>Trava mínima / máxima</b> (mesma semântica do ShedLock):
+ * a máxima é a validade do lease enquanto o job roda — se o nó morrer, outro
+ * assume depois dela, então precisa ser MAIOR que a pior duração esperada. A
+ * mínima segura o lease após o término, para que um nó cujo cron dispare
+ * segundos depois não repita o mesmo ciclo. O dono atual sempre pode
+ * renovar: jobs de intervalo curto (gauges) ficam "grudados" num nó enquanto
+ * ele estiver vivo.
+ *
+ * <p>Chamar FORA de transação: lease e histórico são gravados em autocommit
+ * para ficarem visíveis aos outros nós na hora.
+ *
+ * <p>Métricas: {@code jetski.job.duracao} (timer, tags job/status),
+ * {@code jetski.job.falhas} (counter) e {@code jetski.job.atraso} (segundos
+ * desde o último sucesso em QUALQUER nó, por lease).
+ */
+@Component
+@Slf4j
+public class ClusterJobRunner {
+
+    private static final String ADQUIRIR_SQL = """
+        INSERT INTO job_lease (nome, dono, travado_em, travado_ate)
+        VALUES (?, ?, now(), now() + ? * interval '1 millisecond')
+        ON CONFLICT (nome) DO UPDATE
+           SET dono = EXCLUDED.dono,
+               travado_em = EXCLUDED.travado_em,
+               travado_ate = EXCLUDED.travado_ate
+         WHERE job_lease.travado_ate <= now() OR job_lease.dono = EXCLUDED.dono
+        """;
+
+    private static final String LIBERAR_SQL = """
+        UPDATE job_lease
+           SET travado_ate = GREATEST(now(), travado_em + ? * interval '1 millisecond')
+         WHERE nome = ? AND dono = ?
+        """;
+
+    private static final String LIBERAR_SUCESSO_SQL = """
+        UPDATE job_lease
+           SET travado_ate = GREATEST(now(), travado_em + ? * interval '1 millisecond'),
+               ultimo_sucesso_em = now()
+         WHERE nome = ? AND dono = ?
+        """;
+
+    private static final String HISTORICO_SQL = """
+        INSERT INTO job_execucao
+            (job, shard, instancia, iniciado_em, concluido_em, duracao_ms, status, erro)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final int ERRO_MAX = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String instancia;
+
+    /** Registrado UMA vez; linhas re-registradas a cada refresh (overwrite=true). */
+    private final MultiGauge atraso;
+
+    /** Partições das varreduras por tenant. Igual em todos os nós (muda a partição). */
+    @Value("${jetski.jobs.shards:8}")
+    private int shards;
+
+    @Value("${jetski.jobs.historico-dias:30}")
+    private int historicoDias;
+
+    public ClusterJobRunner(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.instancia = identificarInstancia();
+        this.atraso = MultiGauge.builder("jetski.job.atraso")
+            .description("Segundos desde a última execução bem-sucedida do job (qualquer nó)")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Executa {@code tarefa} se este nó obtiver o lease de {@code job}.
+     * Exceção da tarefa é logada, contada e gravada no histórico — nunca
+     * propaga para o scheduler.
+     *
+     * @return true se executou aqui (com sucesso ou não)
+     */
+    public boolean executar(String job, Duration travaMinima, Duration travaMaxima, Runnable tarefa) {
+        return rodar(job, job, null, travaMinima, travaMaxima, tarefa);
+    }
+
+    /**
+     * Varredura particionada: para cada shard cujo lease este nó obtiver,
+     * chama {@code tarefa.executar(shard, total)}. A tarefa filtra seus itens
+     * com {@link #pertence(UUID, int, int)}.
+     *
+     * @return quantos shards este nó executou
+     */
+    public int executarEmShards(String job, Duration travaMinima, Duration travaMaxima, TarefaShard tarefa) {
+        int total = Math.max(1, shards);
+        int inicio = ThreadLocalRandom.current().nextInt(total);
+        int executados = 0;
+        for (int i = 0; i < total; i++) {
+            int shard = (inicio + i) % total;
+            if (rodar(job, job + "#" + shard, shard, travaMinima, travaMaxima,
+                    () -> tarefa.executar(shard, total))) {
+                executados++;
+            }
+        }
+        return executados;
+    }
+
+    /** Shard de um tenant — estável entre nós e execuções. */
+    public static boolean pertence(UUID id, int shard, int total) {
+        return Math.floorMod(id.hashCode(), total) == shard;
+    }
+
+    /**
+     * Atualiza o gauge de atraso a partir de {@code job_lease} — em TODO nó
+     * (leitura barata de estado compartilhado), sem lease de propósito.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 30_000)
+    public void atualizarAtraso() {
+        try {
+            List<MultiGauge.Row<?>> rows = jdbcTemplate.query(
+                "SELECT nome, EXTRACT(EPOCH FROM now() - ultimo_sucesso_em) AS atraso "
+                    + "FROM job_lease WHERE ultimo_sucesso_em IS NOT NULL",
+                (rs, i) -> MultiGauge.Row.of(Tags.of("job", rs.getString("nome")), rs.getDouble("atraso")));
+            atraso.register(rows, true);
+        } catch (Exception e) {
+            log.warn("Falha ao atualizar atraso dos jobs (gauge mantém último valor): {}", e.getMessage());
+        }
+    }
+
+    /** Expurgo do histórico além de {@code jetski.jobs.historico-dias}. */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void limparHistorico() {
+        executar("job-execucao-limpeza", Duration.ofMinutes(5), Duration.ofMinutes(30), () -> {
+            int removidas = jdbcTemplate.update(
+                "DELETE FROM job_execucao WHERE iniciado_em < now() - ? * interval '1 day'", historicoDias);
+            log.info("[JOBS] Histórico de execução: {} linha(s) com +{} dias removida(s)",
+                removidas, historicoDias);
+        });
+    }
+
+    private boolean rodar(String job, String lease, Integer shard,
+                          Duration travaMinima, Duration travaMaxima, Runnable tarefa) {
+        if (!adquirir(lease, travaMaxima)) {
+            return false;
+        }
+        Instant inicio = Instant.now();
+        long t0 = System.nanoTime();
+        Exception falha = null;
+        try {
+            tarefa.run();
+        } catch (Exception e) {
+            falha = e;
+            log.error("[JOBS] Falha no job {} (instância {}): {}", lease, instancia, e.getMessage(), e);
+        }
+        long nanos = System.nanoTime() - t0;
+        Timer.builder("jetski.job.duracao")
+            .description("Duração das execuções de jobs agendados")
+            .tags("job", job, "status", falha == null ? "sucesso" : "falha")
+            .register(meterRegistry)
+            .record(Duration.ofNanos(nanos));
+        if (falha != null) {
+            Counter.builder("jetski.job.falhas")
+                .description("Execuções de jobs agendados que terminaram em exceção")
+                .tag("job", job)
+                .register(meterRegistry)
+                .increment();
+        }
+        liberar(lease, travaMinima, falha == null);
+        registrarHistorico(job, shard, inicio, nanos, falha);
+        return true;
+    }
+
+    private boolean adquirir(String lease, Duration travaMaxima) {
+        try {
+            return jdbcTemplate.update(ADQUIRIR_SQL, lease, instancia, travaMaxima.toMillis()) > 0;
+        } catch (Exception e) {
+            // banco indisponível: não executa (não dá para garantir exclusividade)
+            log.warn("[JOBS] Não foi possível obter o lease {}: {}", lease, e.getMessage());
+            return false;
+        }
+    }
+
+    private void liberar(String lease, Duration travaMinima, boolean sucesso) {
+        try {
+            jdbcTemplate.update(sucesso ? LIBERAR_SUCESSO_SQL : LIBERAR_SQL,
+                travaMinima.toMillis(), lease, instancia);
+        } catch (Exception e) {
+            // lease expira sozinho na trava máxima
+            log.warn("[JOBS] Falha ao liberar o lease {}: {}", lease, e.getMessage());
+        }
+    }
+
+    private void registrarHistorico(String job, Integer shard, Instant inicio, long nanos, Exception falha) {
+        try {
+            String erro = falha == null ? null : String.valueOf(falha.getMessage());
+            if (erro != null && erro.length() > ERRO_MAX) {
+                erro = erro.substring(0, ERRO_MAX);
+            }
+            jdbcTemplate.update(HISTORICO_SQL, job, shard, instancia,
+                Timestamp.from(inicio), Timestamp.from(inicio.plusNanos(nanos)), nanos / 1_000_000,
+                falha == null ? "SUCESSO" : "FALHA", erro);
+        } catch (Exception e) {
+            log.warn("[JOBS] Falha ao gravar histórico do job {}: {}", job, e.getMessage());
+        }
+    }
+
+    /** Hostname (nome do container) + sufixo aleatório: duas JVMs nunca dividem a identidade. */
+    private static String identificarInstancia() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "desconhecido";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    String instancia() {
+        return instancia;
+    }
+
+    /** Trabalho de um shard de uma varredura particionada. */
+    @FunctionalInterface
+    public interface TarefaShard {
+        void executar(int shard, int total);
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Scheduling API - Named Interface
+ *
+ * <p>Execução de jobs agendados em cluster: lease por job/shard no banco
+ * (V064), histórico de execução e métricas de duração, falha e atraso.
+ *
+ * <p><strong>Public API:</strong>
+ * <ul>
+ *   <li>{@link com.jetski.shared.scheduling.ClusterJobRunner} - executa um
+ *       {@code @Scheduled} em exatamente um nó, ou particionado em shards</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+@org.springframework.modulith.NamedInterface("scheduling")
+package com.jetski.shared.scheduling;
@@ -0,0 +1,43 @@
+package com.jetski.shared.security;
+
+import com.jetski.shared.internal.JwtAuthenticationConverter;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Libera a rota só para {@link PapelPlataforma#PLATFORM_ADMIN}, resolvido no banco.
+ *
+ * <p>Papel de plataforma nunca vira autoridade Spring: o {@code JwtAuthenticationConverter}
+ * mapeia só os realm roles do Keycloak, e os {@code PLATFORM_*} vêm de
+ * {@code usuario_global_roles} para o {@link TenantContext} via {@code TenantFilter} — que
+ * pula {@code /actuator}. Um {@code hasRole("PLATFORM_ADMIN")} nunca passaria; aqui a
+ * identidade do JWT é resolvida com o mesmo {@link TenantAccessValidator#resolvePlatformAccess}
+ * das rotas {@code /v1/platform/**}.
+ */
+class AdminPlataformaAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final TenantAccessValidator tenantAccessValidator;
+
+    AdminPlataformaAuthorizationManager(TenantAccessValidator tenantAccessValidator) {
+        this.tenantAccessValidator = tenantAccessValidator;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof Jwt jwt)) {
+            return new AuthorizationDecision(false);
+        }
+        PlatformAccessInfo acesso = tenantAccessValidator.resolvePlatformAccess(
+            JwtAuthenticationConverter.extractProvider(jwt),
+            JwtAuthenticationConverter.extractProviderUserId(jwt));
+        boolean admin = acesso != null
+            && PapelPlataforma.filtrar(acesso.roles()).contains(PapelPlataforma.PLATFORM_ADMIN);
+        return new AuthorizationDecision(admin);
+    }
+}
@@ -246,6 +246,12 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.POST, "/v1/locacoes/*/checkout").hasAnyRole("OPERADOR", "GERENTE", "ADMIN_TENANT")
                 .requestMatchers(HttpMethod.POST, "/v1/fechamentos/**").hasAnyRole("GERENTE", "FINANCEIRO", "ADMIN_TENANT")
 
+                // Actuator não-público (ex.: /actuator/tenantdebug liga DEBUG por tenant):
+                // só administrador da plataforma. PLATFORM_* não é autoridade Spring
+                // (vem do banco), então hasRole(...) nunca passaria — o papel é
+                // resolvido pela identidade do JWT
+                .requestMatchers("/actuator/**").access(new AdminPlataformaAuthorizationManager(tenantAccessValidator))
+
                 // Todos os outros endpoints requerem autenticação
                 .anyRequest().authenticated()
             )
@@ -125,6 +125,15 @@ public interface UserProvisioningService {
         String senhaTemporaria
     );
 
+    /**
+     * Atribui as mesmas roles a vários usuários já provisionados (carga/backfill
+     * administrativo). Uma ida ao provedor por usuário — as representações das
+     * roles ficam em cache no adapter.
+     *
+     * @throws IllegalArgumentException se alguma role não existir no provedor
+     */
+    void assignRoles(java.util.Collection<String> providerUserIds, List<String> roles);
+
     /**
      * Atualiza o nome (first/last) de um usuário já provisionado.
      *
@@ -22,6 +22,9 @@ import java.util.UUID;
  * Armazena arquivos em: {base-path}/{tenantId}/{locacaoId}/{tipo}.jpg
  *
  * Simula presigned URLs usando tokens temporários armazenados em memória.
+ *
+ * Upload em partes: cada parte é um arquivo em {base-path}/.multipart/{uploadId}/;
+ * a conclusão anexa as partes, em ordem, ao arquivo final (stream, sem juntar em memória).
  */
 @Service
 @ConditionalOnProperty(name = "storage.type", havingValue = "local")
@@ -118,6 +121,55 @@ public class LocalFileStorageService implements StorageService {
         }
     }
 
+    @Override
+    public void deleteBatch(java.util.Collection<String> keys) {
+        log.info("Deleting local files in batch: keys={}", keys.size());
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(Paths.get(basePath, key));
+            } catch (IOException e) {
+                log.error("Failed to delete file: {}", key, e);
+                throw new BusinessException("Erro ao deletar arquivo: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Remoção recursiva do diretório do prefixo (arquivos e subdiretórios). */
+    @Override
+    public long deletePrefix(String prefix) {
+        StorageService.validarPrefixoRemocao(prefix);
+        Path dir = Paths.get(basePath, prefix);
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        long[] arquivos = {0};
+        try {
+            Files.walkFileTree(dir, new java.nio.file.SimpleFileVisitor<>() {
+                @Override
+                public java.nio.file.FileVisitResult visitFile(Path file,
+                        java.nio.file.attribute.BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    arquivos[0]++;
+                    return java.nio.file.FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public java.nio.file.FileVisitResult postVisitDirectory(Path d, IOException exc) throws IOException {
+                    if (exc != null) {
+                        throw exc;
+                    }
+                    Files.delete(d);
+                    return java.nio.file.FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.error("Falha ao remover prefixo local: {}", prefix, e);
+            throw new BusinessException("Erro ao deletar arquivos: " + e.getMessage());
+        }
+        log.info("Local prefix deleted: prefix={}, files={}", prefix, arquivos[0]);
+        return arquivos[0];
+    }
+
     @Override
     public boolean fileExists(String key) {
         Path filePath = Paths.get(basePath, key);
@@ -230,6 +282,90 @@ public class LocalFileStorageService implements StorageService {
         }
     }
 
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(partesDir(uploadId));
+        } catch (IOException e) {
+            log.error("Falha ao iniciar upload em partes local: {}", key, e);
+            throw new BusinessException("Erro ao iniciar upload: " + e.getMessage());
+        }
+        return uploadId;
+    }
+
+    @Override
+    public void uploadPart(String key, String uploadId, int partNumber, java.io.InputStream content, long size) {
+        Path dir = partesDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new BusinessException("Upload não encontrado: " + uploadId);
+        }
+        try {
+            Files.copy(content, dir.resolve(Integer.toString(partNumber)),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Falha ao gravar parte {} local: {}", partNumber, key, e);
+            throw new BusinessException("Erro ao salvar parte do arquivo: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, int partCount) {
+        Path dir = partesDir(uploadId);
+        Path filePath = Paths.get(basePath, key);
+        Path tmp = Paths.get(basePath, key + ".upload-" + uploadId);
+        try {
+            Files.createDirectories(filePath.getParent());
+            try (var out = Files.newOutputStream(tmp)) {
+                for (int n = 1; n <= partCount; n++) {
+                    Path parte = dir.resolve(Integer.toString(n));
+                    if (!Files.exists(parte)) {
+                        throw new BusinessException("Parte " + n + " do upload não recebida");
+                    }
+                    Files.copy(parte, out);
+                }
+            }
+            Files.move(tmp, filePath, java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+            apagarPartes(dir);
+        } catch (IOException e) {
+            log.error("Falha ao concluir upload em partes local: {}", key, e);
+            throw new BusinessException("Erro ao concluir upload: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // só sobra se o move falhou — já reportado acima
+            }
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            apagarPartes(partesDir(uploadId));
+        } catch (IOException e) {
+            log.warn("Falha ao descartar upload em partes local (key={}): {}", key, e.getMessage());
+        }
+    }
+
+    private Path partesDir(String uploadId) {
+        // uploadId vira diretório: só aceita o UUID gerado aqui (nada de ../)
+        return Paths.get(basePath, ".multipart", UUID.fromString(uploadId).toString());
+    }
+
+    private static void apagarPartes(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (var partes = Files.list(dir)) {
+            for (Path p : partes.toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
     /**
      * Salva arquivo local (usado internamente pelo endpoint de upload simulado).
      */
@@ -1,9 +1,15 @@
 package com.jetski.shared.storage;
 
 import com.jetski.shared.exception.BusinessException;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
 import io.minio.*;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
 import io.minio.messages.Item;
+import io.minio.messages.Part;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -11,6 +17,13 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -37,17 +50,28 @@ public class MinIOStorageService implements StorageService {
      */
     private final MinioClient presignClient;
 
+    /** Upload em partes (resumível) — operações que o MinioClient não expõe. */
+    private final MultipartClient multipartClient;
+
     @Value("${storage.minio.bucket}")
     private String bucket;
 
     @Value("${storage.minio.presigned-url-expiration-minutes:15}")
     private int presignedUrlExpirationMinutes;
 
+    /**
+     * Requisições DeleteObjects do {@link #deleteBatch}. Um pool só, do bean:
+     * {@code storage.minio.delete-concurrency} limita o total contra o MinIO,
+     * não o de cada chamada — expurgos simultâneos dividem as mesmas threads.
+     */
+    private final ThreadPoolExecutor deleteExecutor;
+
     public MinIOStorageService(
         @Value("${storage.minio.endpoint}") String endpoint,
         @Value("${storage.minio.access-key}") String accessKey,
         @Value("${storage.minio.secret-key}") String secretKey,
-        @Value("${storage.minio.public-url:}") String publicUrl
+        @Value("${storage.minio.public-url:}") String publicUrl,
+        @Value("${storage.minio.delete-concurrency:4}") int deleteConcurrency
     ) {
         log.info("Initializing MinIO client: endpoint={}, publicUrl={}",
             endpoint, publicUrl.isBlank() ? "(interno)" : publicUrl);
@@ -64,6 +88,64 @@ public class MinIOStorageService implements StorageService {
                 .region("us-east-1")
                 .credentials(accessKey, secretKey)
                 .build();
+        this.multipartClient = new MultipartClient(MinioAsyncClient.builder()
+            .endpoint(endpoint)
+            .credentials(accessKey, secretKey)
+            .build());
+        int threads = Math.max(1, deleteConcurrency);
+        this.deleteExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), Thread.ofPlatform().name("minio-delete-", 0).daemon().factory());
+        this.deleteExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void fechar() throws InterruptedException {
+        deleteExecutor.shutdown();
+        if (!deleteExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("MinIO delete executor did not finish in 30s; interrupting pending pages");
+            deleteExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * As chamadas de multipart do S3 (create/uploadPart/listParts/complete/abort)
+     * são protegidas no SDK 8.x — a subclasse só as expõe. Bloqueia no
+     * {@code get()}: quem chama já está fora do caminho crítico (upload do cliente).
+     */
+    private static final class MultipartClient extends MinioAsyncClient {
+
+        MultipartClient(MinioAsyncClient client) {
+            super(client);
+        }
+
+        String criar(String bucket, String key, String contentType) throws Exception {
+            Multimap<String, String> headers = HashMultimap.create();
+            headers.put("Content-Type", contentType);
+            return createMultipartUploadAsync(bucket, null, key, headers, null).get().result().uploadId();
+        }
+
+        void enviarParte(String bucket, String key, String uploadId, int numero,
+                         java.io.InputStream content, long size) throws Exception {
+            uploadPartAsync(bucket, null, key, content, size, uploadId, numero, null, null).get();
+        }
+
+        void concluir(String bucket, String key, String uploadId, int partes) throws Exception {
+            java.util.List<Part> recebidas = listPartsAsync(bucket, null, key, partes, null, uploadId, null, null)
+                .get().result().partList();
+            if (recebidas.size() != partes) {
+                throw new IllegalStateException("upload " + uploadId + " tem " + recebidas.size()
+                    + " de " + partes + " partes");
+            }
+            Part[] ordem = recebidas.stream()
+                .sorted(java.util.Comparator.comparingInt(Part::partNumber))
+                .map(p -> new Part(p.partNumber(), p.etag()))
+                .toArray(Part[]::new);
+            completeMultipartUploadAsync(bucket, null, key, uploadId, ordem, null, null).get();
+        }
+
+        void abortar(String bucket, String key, String uploadId) throws Exception {
+            abortMultipartUploadAsync(bucket, null, key, uploadId, null, null).get();
+        }
     }
 
     @Override
@@ -145,6 +227,50 @@ public class MinIOStorageService implements StorageService {
         }
     }
 
+    @Override
+    public String createMultipartUpload(String key, String contentType) {
+        try {
+            ensureBucketExists();
+            String uploadId = multipartClient.criar(bucket, key, contentType);
+            log.info("Upload em partes iniciado no MinIO: bucket={}, key={}, uploadId={}", bucket, key, uploadId);
+            return uploadId;
+        } catch (Exception e) {
+            log.error("Falha ao iniciar upload em partes no MinIO: {}", key, e);
+            throw new BusinessException("Erro ao iniciar upload no MinIO: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void uploadPart(String key, String uploadId, int partNumber, java.io.InputStream content, long size) {
+        log.debug("Enviando parte {} ao MinIO: key={}, size={} bytes", partNumber, key, size);
+        try {
+            multipartClient.enviarParte(bucket, key, uploadId, partNumber, content, size);
+        } catch (Exception e) {
+            log.error("Falha ao enviar parte {} ao MinIO: {}", partNumber, key, e);
+            throw new BusinessException("Erro ao enviar parte do arquivo ao MinIO: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, int partCount) {
+        try {
+            multipartClient.concluir(bucket, key, uploadId, partCount);
+            log.info("Upload em partes concluído no MinIO: key={}, partes={}", key, partCount);
+        } catch (Exception e) {
+            log.error("Falha ao concluir upload em partes no MinIO: {}", key, e);
+            throw new BusinessException("Erro ao concluir upload no MinIO: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            multipartClient.abortar(bucket, key, uploadId);
+        } catch (Exception e) {
+            log.warn("Falha ao descartar upload em partes no MinIO (key={}): {}", key, e.getMessage());
+        }
+    }
+
     @Override
     public PresignedUrl generatePresignedUploadUrl(String key, String contentType, int expirationMinutes) {
         log.info("Generating MinIO presigned upload URL: bucket={}, key={}", bucket, key);
@@ -233,6 +359,72 @@ public class MinIOStorageService implements StorageService {
         }
     }
 
+    @Override
+    public void deleteBatch(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<List<String>> paginas = new ArrayList<>();
+        List<String> todas = List.copyOf(keys);
+        for (int i = 0; i < todas.size(); i += DELETE_BATCH_MAX) {
+            paginas.add(todas.subList(i, Math.min(i + DELETE_BATCH_MAX, todas.size())));
+        }
+        log.info("Deleting MinIO objects in batch: bucket={}, keys={}, pages={}", bucket, todas.size(), paginas.size());
+
+        long falhas = 0;
+        String primeiraFalha = null;
+        List<Future<List<String>>> resultados = new ArrayList<>(paginas.size());
+        for (List<String> pagina : paginas) {
+            resultados.add(deleteExecutor.submit(() -> removerPagina(pagina)));
+        }
+        try {
+            for (Future<List<String>> r : resultados) {
+                List<String> erros = r.get();
+                falhas += erros.size();
+                if (primeiraFalha == null && !erros.isEmpty()) {
+                    primeiraFalha = erros.get(0);
+                }
+            }
+        } catch (InterruptedException e) {
+            resultados.forEach(r -> r.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Remoção em lote interrompida");
+        } catch (ExecutionException e) {
+            log.error("Failed to delete MinIO objects in batch: bucket={}", bucket, e.getCause());
+            throw new BusinessException("Erro ao deletar arquivos: " + e.getCause().getMessage());
+        }
+        if (falhas > 0) {
+            throw new BusinessException("Erro ao deletar " + falhas + " arquivo(s): " + primeiraFalha);
+        }
+    }
+
+    /**
+     * Uma requisição DeleteObjects (até {@link #DELETE_BATCH_MAX} chaves). O
+     * SDK só envia ao percorrer o resultado — que traz apenas as falhas.
+     */
+    private List<String> removerPagina(List<String> pagina) throws Exception {
+        List<DeleteObject> objetos = new ArrayList<>(pagina.size());
+        for (String key : pagina) {
+            objetos.add(new DeleteObject(key));
+        }
+        List<String> erros = new ArrayList<>();
+        for (Result<DeleteError> r : minioClient.removeObjects(
+                RemoveObjectsArgs.builder().bucket(bucket).objects(objetos).build())) {
+            DeleteError erro = r.get();
+            erros.add(erro.objectName() + " (" + erro.code() + ": " + erro.message() + ")");
+        }
+        return erros;
+    }
+
+    @Override
+    public long deletePrefix(String prefix) {
+        StorageService.validarPrefixoRemocao(prefix);
+        List<String> keys = listObjectKeys(prefix);
+        deleteBatch(keys);
+        log.info("MinIO prefix deleted: bucket={}, prefix={}, objects={}", bucket, prefix, keys.size());
+        return keys.size();
+    }
+
     @Override
     public boolean fileExists(String key) {
         log.debug("Checking if MinIO object exists: bucket={}, key={}", bucket, key);
@@ -38,6 +38,39 @@ public interface StorageService {
      */
     void deleteFile(String key);
 
+    /**
+     * Máximo de chaves por requisição de remoção em lote (limite do
+     * DeleteObjects do protocolo S3/MinIO).
+     */
+    int DELETE_BATCH_MAX = 1000;
+
+    /**
+     * Remove vários arquivos. Chave inexistente não é erro. No MinIO vira
+     * requisições de até {@link #DELETE_BATCH_MAX} chaves, algumas em
+     * paralelo — em vez de um DELETE por arquivo.
+     *
+     * @param keys chaves a remover
+     * @throws com.jetski.shared.exception.BusinessException se alguma chave
+     *         não pôde ser removida (as demais já foram — repetir é seguro)
+     */
+    void deleteBatch(java.util.Collection<String> keys);
+
+    /**
+     * Remove tudo sob um prefixo (recursivo). Usado no expurgo de tenant —
+     * prefixo {tenantId}/.
+     *
+     * @param prefix prefixo terminado em "/" (vazio é recusado: apagaria o bucket)
+     * @return quantidade de arquivos removidos
+     */
+    long deletePrefix(String prefix);
+
+    /** Recusa prefixo vazio, raiz ou sem "/" final (não apaga "tenant-1" junto com "tenant-10"). */
+    static void validarPrefixoRemocao(String prefix) {
+        if (prefix == null || prefix.isBlank() || prefix.equals("/") || !prefix.endsWith("/")) {
+            throw new IllegalArgumentException("Prefixo inválido para remoção: '" + prefix + "'");
+        }
+    }
+
     /**
      * Verifica se um arquivo existe no storage.
      *
@@ -105,4 +138,42 @@ public interface StorageService {
      * @return stream do conteúdo (o chamador fecha)
      */
     java.io.InputStream getObjectStream(String key);
+
+    /**
+     * Tamanho mínimo de cada parte de um upload em partes, exceto a última
+     * (limite do protocolo S3/MinIO).
+     */
+    long MULTIPART_MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * Inicia um upload em partes (resumível) — o objeto só aparece em
+     * {@code key} no {@link #completeMultipartUpload}. Cada parte vai direto
+     * para o storage, sem o arquivo inteiro em memória.
+     *
+     * @param key         chave final do objeto
+     * @param contentType tipo MIME
+     * @return id do upload no storage (usar nas demais chamadas)
+     */
+    String createMultipartUpload(String key, String contentType);
+
+    /**
+     * Envia uma parte. Reenviar o mesmo número substitui a parte anterior
+     * (retomada após queda de rede). Partes têm ao menos
+     * {@link #MULTIPART_MIN_PART_SIZE} bytes, exceto a última.
+     *
+     * @param partNumber número da parte, a partir de 1
+     * @param content    stream da parte (o chamador fecha)
+     * @param size       tamanho da parte em bytes
+     */
+    void uploadPart(String key, String uploadId, int partNumber, java.io.InputStream content, long size);
+
+    /**
+     * Junta as partes 1..{@code partCount} no objeto final em {@code key}.
+     */
+    void completeMultipartUpload(String key, String uploadId, int partCount);
+
+    /**
+     * Descarta um upload em partes não concluído (best-effort).
+     */
+    void abortMultipartUpload(String key, String uploadId);
 }
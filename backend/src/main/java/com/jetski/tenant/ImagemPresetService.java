@@ -0,0 +1,28 @@
+package com.jetski.tenant;
+
+import com.jetski.tenant.api.dto.ImagemCompressaoConfig;
+import com.jetski.tenant.internal.ImagemConfigService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * API pública do módulo tenant (padrão {@link TenantQueryService}) para os
+ * presets de compressão de imagem da plataforma — outros módulos leem o preset
+ * de um tipo sem depender do {@code ImagemConfigService} interno.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImagemPresetService {
+
+    /** Miniatura das fotos de check-in/check-out (galeria, listas). */
+    public static final String FOTO_MINIATURA = "FOTO_MINIATURA";
+    /** Versão média das fotos (visualização/comparação de avarias). */
+    public static final String FOTO_MEDIA = "FOTO_MEDIA";
+
+    private final ImagemConfigService imagemConfigService;
+
+    /** Preset vigente do tipo (config da plataforma ou default do código). */
+    public ImagemCompressaoConfig.Preset preset(String tipo) {
+        return imagemConfigService.get().preset(tipo);
+    }
+}
@@ -0,0 +1,68 @@
+package com.jetski.tenant;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot imutável do que o plano do tenant libera (módulos V046 + limites
+ * {@code plano.limites}) — montado uma vez por {@link PlanoLimiteService} e
+ * servido da memória nos caminhos quentes (interceptor de módulos,
+ * marketplace, disponibilidade pública).
+ *
+ * <p>Mesma convenção do serviço: {@code todosModulos} cobre plano.modulos
+ * NULL/sem assinatura/falha de leitura; limite ausente ou {@code -1} não
+ * entra no mapa (= ilimitado).
+ *
+ * @param todosModulos true = todos os módulos (sentinela {@code "*"})
+ * @param modulos      módulos incluídos (ignorado se {@code todosModulos})
+ * @param limites      chave → teto; só tetos válidos (>= 0)
+ */
+public record PlanoEntitlements(boolean todosModulos, Set<ModuloPlano> modulos,
+                                Map<String, Integer> limites) {
+
+    /** Plano sem restrição (sem assinatura ativa ou falha de leitura). */
+    public static final PlanoEntitlements ILIMITADO =
+        new PlanoEntitlements(true, EnumSet.noneOf(ModuloPlano.class), Map.of());
+
+    public PlanoEntitlements {
+        // EnumSet: contains() é um teste de bit; o wrapper só impede mutação
+        modulos = Collections.unmodifiableSet(modulos.isEmpty()
+            ? EnumSet.noneOf(ModuloPlano.class) : EnumSet.copyOf(modulos));
+        limites = Map.copyOf(limites);
+    }
+
+    /** True se o módulo está incluído no plano. */
+    public boolean habilita(ModuloPlano modulo) {
+        return todosModulos || modulos.contains(modulo);
+    }
+
+    /** True se QUALQUER um dos módulos está no plano (paths cobertos por mais de um). */
+    public boolean habilitaAlgum(Collection<ModuloPlano> candidatos) {
+        if (todosModulos) {
+            return true;
+        }
+        for (ModuloPlano m : candidatos) {
+            if (modulos.contains(m)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Teto da chave; null = ilimitado. */
+    public Integer limite(String chave) {
+        return limites.get(chave);
+    }
+
+    /** Chaves dos módulos no formato legado ({@code ["*"]} = todos). */
+    public List<String> chavesModulos() {
+        if (todosModulos) {
+            return List.of("*");
+        }
+        return modulos.stream().map(Enum::name).toList();
+    }
+}
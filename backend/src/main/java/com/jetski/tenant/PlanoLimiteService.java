@@ -1,14 +1,27 @@
 package com.jetski.tenant;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.jetski.shared.exception.BusinessException;
 import jakarta.persistence.EntityManager;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Enforcement de limites do plano (v2, item 2) — API pública do módulo tenant
@@ -22,35 +35,76 @@ import java.util.UUID;
  * <p>Chaves em uso: {@code usuarios_max} (enforçado no convite/membro),
  * {@code frota_max} (criação de jetski), {@code locacoes_mes} (check-in).
  * {@code storage_gb} não é enforçado (medir custa caro; aviso fica p/ v3).
+ *
+ * <p><b>Snapshot em memória</b>: módulos e limites vêm de um
+ * {@link PlanoEntitlements} por tenant, carregado numa única consulta e
+ * guardado localmente por {@code jetski.plano.entitlements-ttl-seconds}.
+ * Antes era {@code @Cacheable} em Redis — mas {@link #moduloHabilitado}
+ * chamava {@link #modulosDoPlano} via {@code this} (fora do proxy), então
+ * TODA checagem de módulo abria transação REQUIRES_NEW + set_config + join,
+ * inclusive por linha no marketplace. Os caminhos de troca de plano/módulos
+ * ({@code PlatformFaturaService}, provisionamento, expiração de trial)
+ * chamam {@link #invalidar}/{@link #invalidarTodos}; o TTL curto cobre as
+ * demais réplicas (o cache é por nó).
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PlanoLimiteService {
 
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
     private final EntityManager entityManager;
+    private final TransactionTemplate novaTransacao;
+
+    /** Snapshots por tenant; {@code geracao} descarta carga que cruzou uma invalidação. */
+    private final Map<UUID, Entrada> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    @Value("${jetski.plano.entitlements-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public PlanoLimiteService(EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        // REQUIRES_NEW: este caminho também atende chamadas SEM tenant no
+        // contexto (ex.: /v1/user/tenants lista várias empresas). Erro de RLS
+        // aqui não pode marcar a transação do chamador como rollback-only.
+        // TransactionTemplate (não @Transactional): a carga é chamada via this.
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.novaTransacao.setReadOnly(true);
+    }
+
+    private record Entrada(PlanoEntitlements snapshot, long expiraEmNanos) {
+    }
+
+    /**
+     * Snapshot do plano do tenant (módulos + limites). Servido da memória;
+     * recarrega após o TTL ou invalidação. Falha de leitura devolve
+     * {@link PlanoEntitlements#ILIMITADO} sem cachear (tenta de novo na
+     * próxima chamada — nunca degrada a oferta por erro).
+     */
+    public PlanoEntitlements entitlements(UUID tenantId) {
+        long agora = System.nanoTime();
+        Entrada e = snapshots.get(tenantId);
+        if (e != null && agora - e.expiraEmNanos() < 0) {
+            return e.snapshot();
+        }
+        long geracaoLida = geracao.get();
+        PlanoEntitlements snapshot = carregar(tenantId);
+        if (snapshot == null) {
+            return PlanoEntitlements.ILIMITADO;
+        }
+        if (geracao.get() == geracaoLida) {
+            snapshots.put(tenantId,
+                new Entrada(snapshot, agora + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return snapshot;
+    }
 
     /** Limite da chave para o tenant; null = ilimitado (ausente, -1 ou sem assinatura). */
-    @Transactional(readOnly = true)
     public Integer limite(UUID tenantId, String chave) {
-        try {
-            List<?> rows = entityManager.createNativeQuery(
-                    "SELECT (p.limites->>:chave)::int FROM assinatura a "
-                    + "JOIN plano p ON p.id = a.plano_id "
-                    + "WHERE a.tenant_id = :tid AND a.status = 'ativa' "
-                    + "ORDER BY a.created_at DESC LIMIT 1")
-                .setParameter("chave", chave)
-                .setParameter("tid", tenantId)
-                .getResultList();
-            if (rows.isEmpty() || rows.get(0) == null) {
-                return null;
-            }
-            Integer limite = ((Number) rows.get(0)).intValue();
-            return limite < 0 ? null : limite;
-        } catch (Exception e) {
-            log.warn("Falha ao ler limite '{}' do tenant {}: {}", chave, tenantId, e.getMessage());
-            return null; // nunca bloquear por falha de leitura
-        }
+        return entitlements(tenantId).limite(chave);
     }
 
     /**
@@ -58,7 +112,6 @@ public class PlanoLimiteService {
      *
      * @param usoAtual quantos o tenant JÁ tem (o novo item estouraria o limite)
      */
-    @Transactional(readOnly = true)
     public void verificar(UUID tenantId, String chave, long usoAtual, String recurso) {
         Integer max = limite(tenantId, chave);
         if (max != null && usoAtual >= max) {
@@ -72,50 +125,15 @@ public class PlanoLimiteService {
     /**
      * Módulos do plano do tenant (V046). Sentinela {@code "*"} = todos
      * (plano.modulos NULL, sem assinatura ou falha de leitura — nunca
-     * degrada a oferta por erro). Cacheado (evict na troca de plano e ao
-     * salvar módulos — {@code PlatformFaturaService}).
+     * degrada a oferta por erro).
      */
-    @org.springframework.cache.annotation.Cacheable(value = "plano-modulos", key = "#tenantId")
-    @Transactional(readOnly = true,
-        propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
     public List<String> modulosDoPlano(UUID tenantId) {
-        try {
-            // GUC transaction-local: este método também atende chamadas SEM tenant
-            // no contexto (ex.: /v1/user/tenants lista várias empresas). Sem isto a
-            // RLS de assinatura estoura cast de '' para uuid; REQUIRES_NEW evita que
-            // esse erro marque a transação do chamador como rollback-only.
-            entityManager.createNativeQuery("SELECT set_config('app.tenant_id', :tid, true)")
-                .setParameter("tid", tenantId.toString())
-                .getSingleResult();
-            List<?> rows = entityManager.createNativeQuery(
-                    "SELECT p.modulos::text FROM assinatura a "
-                    + "JOIN plano p ON p.id = a.plano_id "
-                    + "WHERE a.tenant_id = :tid AND a.status = 'ativa' "
-                    + "ORDER BY a.created_at DESC LIMIT 1")
-                .setParameter("tid", tenantId)
-                .getResultList();
-            // ArrayList (não List.of/copyOf): o serializer do cache Redis só
-            // grava type info para tipos concretos — ImmutableCollections volta
-            // como array cru e explode na desserialização.
-            if (rows.isEmpty() || rows.get(0) == null) {
-                return new java.util.ArrayList<>(List.of("*"));
-            }
-            List<String> modulos = new java.util.ArrayList<>();
-            for (Object o : com.fasterxml.jackson.databind.json.JsonMapper.builder().build()
-                    .readValue((String) rows.get(0), java.util.List.class)) {
-                modulos.add(String.valueOf(o));
-            }
-            return modulos;
-        } catch (Exception e) {
-            log.warn("Falha ao ler módulos do plano do tenant {}: {}", tenantId, e.getMessage());
-            return new java.util.ArrayList<>(List.of("*"));
-        }
+        return entitlements(tenantId).chavesModulos();
     }
 
     /** True se o módulo está incluído no plano do tenant. */
     public boolean moduloHabilitado(UUID tenantId, ModuloPlano modulo) {
-        List<String> modulos = modulosDoPlano(tenantId);
-        return modulos.contains("*") || modulos.contains(modulo.name());
+        return entitlements(tenantId).habilita(modulo);
     }
 
     /** Nega (400) com mensagem de upgrade se o módulo não está no plano. */
@@ -126,4 +144,93 @@ public class PlanoLimiteService {
                 + "Faça upgrade em Plano e Faturas para habilitá-lo.");
         }
     }
+
+    /**
+     * Descarta o snapshot do tenant (troca de plano, nova assinatura,
+     * expiração). Dentro de transação, descarta de novo após o commit — uma
+     * leitura concorrente antes do commit recarregaria o plano antigo.
+     */
+    public void invalidar(UUID tenantId) {
+        geracao.incrementAndGet();
+        snapshots.remove(tenantId);
+        aposCommit(() -> {
+            geracao.incrementAndGet();
+            snapshots.remove(tenantId);
+        });
+    }
+
+    /** Descarta todos os snapshots (edição de módulos de um plano afeta N tenants). */
+    public void invalidarTodos() {
+        geracao.incrementAndGet();
+        snapshots.clear();
+        aposCommit(() -> {
+            geracao.incrementAndGet();
+            snapshots.clear();
+        });
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+
+    /** Uma consulta (módulos + limites da assinatura ativa); null = falha de leitura. */
+    private PlanoEntitlements carregar(UUID tenantId) {
+        try {
+            Object[] row = novaTransacao.execute(tx -> {
+                // GUC transaction-local: sem isto a RLS de assinatura estoura
+                // cast de '' para uuid em chamadas sem tenant no contexto.
+                entityManager.createNativeQuery("SELECT set_config('app.tenant_id', :tid, true)")
+                    .setParameter("tid", tenantId.toString())
+                    .getSingleResult();
+                List<?> rows = entityManager.createNativeQuery(
+                        "SELECT p.modulos::text, p.limites::text FROM assinatura a "
+                        + "JOIN plano p ON p.id = a.plano_id "
+                        + "WHERE a.tenant_id = :tid AND a.status = 'ativa' "
+                        + "ORDER BY a.created_at DESC LIMIT 1")
+                    .setParameter("tid", tenantId)
+                    .getResultList();
+                return rows.isEmpty() ? null : (Object[]) rows.get(0);
+            });
+            if (row == null) {
+                return PlanoEntitlements.ILIMITADO;
+            }
+            return montar((String) row[0], (String) row[1]);
+        } catch (Exception e) {
+            log.warn("Falha ao ler plano do tenant {}: {}", tenantId, e.getMessage());
+            return null;
+        }
+    }
+
+    static PlanoEntitlements montar(String modulosJson, String limitesJson) throws Exception {
+        boolean todos = modulosJson == null;
+        EnumSet<ModuloPlano> modulos = EnumSet.noneOf(ModuloPlano.class);
+        if (!todos) {
+            for (JsonNode n : JSON.readTree(modulosJson)) {
+                try {
+                    modulos.add(ModuloPlano.valueOf(n.asText()));
+                } catch (IllegalArgumentException ignored) {
+                    // chave fora do catálogo (módulo removido) — não libera nada
+                }
+            }
+        }
+        Map<String, Integer> limites = new HashMap<>();
+        if (limitesJson != null) {
+            Iterator<Map.Entry<String, JsonNode>> it = JSON.readTree(limitesJson).fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> f = it.next();
+                JsonNode v = f.getValue();
+                if ((v.isIntegralNumber() || v.isTextual()) && v.asInt(-1) >= 0) {
+                    limites.put(f.getKey(), v.asInt());
+                }
+            }
+        }
+        return new PlanoEntitlements(todos, modulos, limites);
+    }
 }
@@ -0,0 +1,68 @@
+package com.jetski.tenant;
+
+import com.jetski.tenant.domain.Branding;
+import com.jetski.tenant.domain.Tenant;
+import com.jetski.tenant.domain.TenantStatus;
+
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Snapshot imutável dos metadados de um tenant usados em caminho quente
+ * (fuso, gate de status/marketplace, dados públicos da loja, branding).
+ * Servido pelo {@link TenantRegistry}; nunca carrega segredos (SMTP etc).
+ *
+ * @param zona     fuso já resolvido — inválido/nulo cai em America/Sao_Paulo
+ * @param branding nunca nulo ({@link Branding#padrao()} sem customização)
+ */
+public record TenantInfo(
+        UUID id,
+        String slug,
+        String razaoSocial,
+        ZoneId zona,
+        TenantStatus status,
+        boolean exibirNoMarketplace,
+        int prioridadeMarketplace,
+        String cidade,
+        String cnpj,
+        String pixChave,
+        Branding branding
+) {
+
+    static final ZoneId ZONA_PADRAO = ZoneId.of("America/Sao_Paulo");
+
+    public boolean ativo() {
+        return status == TenantStatus.ATIVO;
+    }
+
+    /** Loja pública: ATIVA e visível no marketplace. */
+    public boolean visivelNoMarketplace() {
+        return ativo() && exibirNoMarketplace;
+    }
+
+    static TenantInfo de(Tenant t) {
+        return new TenantInfo(
+            t.getId(),
+            t.getSlug(),
+            t.getRazaoSocial(),
+            zona(t.getTimezone()),
+            t.getStatus(),
+            Boolean.TRUE.equals(t.getExibirNoMarketplace()),
+            t.getPrioridadeMarketplace() != null ? t.getPrioridadeMarketplace() : 0,
+            t.getCidade(),
+            t.getCnpj(),
+            t.getPixChave(),
+            t.getBranding() != null ? t.getBranding() : Branding.padrao());
+    }
+
+    private static ZoneId zona(String timezone) {
+        if (timezone == null || timezone.isBlank()) {
+            return ZONA_PADRAO;
+        }
+        try {
+            return ZoneId.of(timezone);
+        } catch (Exception e) {
+            return ZONA_PADRAO;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.jetski.tenant;
+
+import com.jetski.tenant.domain.Tenant;
+import com.jetski.tenant.domain.event.TenantStatusChangedEvent;
+import com.jetski.tenant.internal.repository.TenantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Registro em memória dos metadados de tenant ({@link TenantInfo}) — API
+ * pública do módulo (padrão {@link PlanoLimiteService}) para os caminhos
+ * quentes que só precisam de id/slug/fuso/status/branding:
+ * {@link TenantTimeService} (chamado várias vezes por request), resolução
+ * de loja por slug nos endpoints públicos e no portal do cliente.
+ *
+ * <p>Índices por id e por slug; a leitura servida da memória é um
+ * {@code get} no mapa. Carga sob demanda, uma consulta por tenant, em
+ * transação própria (read-only, REQUIRES_NEW — não mistura com o
+ * persistence context do chamador). Ausência não é cacheada: slug
+ * inexistente consulta de novo (o tenant pode acabar de ter sido criado).
+ *
+ * <p>Frescor: toda escrita JPA em {@link Tenant} invalida a entrada após o
+ * commit ({@link TenantRegistryEntityListener}); mudanças de status também
+ * chegam por {@link TenantStatusChangedEvent}. As demais réplicas (o registro
+ * é por nó) e escritas por SQL direto convergem pelo TTL
+ * ({@code jetski.tenant.registro-ttl-seconds}).
+ */
+@Slf4j
+@Service
+public class TenantRegistry {
+
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate novaTransacao;
+
+    private final Map<UUID, Entrada> porId = new ConcurrentHashMap<>();
+    private final Map<String, Entrada> porSlug = new ConcurrentHashMap<>();
+
+    /** Descarta carga que cruzou uma invalidação (mesmo padrão do PlanoLimiteService). */
+    private final AtomicLong geracao = new AtomicLong();
+
+    @Value("${jetski.tenant.registro-ttl-seconds:30}")
+    private long ttlSeconds;
+
+    public TenantRegistry(TenantRepository tenantRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.tenantRepository = tenantRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.novaTransacao.setReadOnly(true);
+    }
+
+    private record Entrada(TenantInfo info, long expiraEmNanos) {
+    }
+
+    public Optional<TenantInfo> porId(UUID tenantId) {
+        if (tenantId == null) {
+            return Optional.empty();
+        }
+        return obter(porId.get(tenantId),
+            () -> tenantRepository.findById(tenantId), "id " + tenantId);
+    }
+
+    public Optional<TenantInfo> porSlug(String slug) {
+        if (slug == null || slug.isBlank()) {
+            return Optional.empty();
+        }
+        Entrada e = porSlug.get(slug);
+        // slug renomeado: a entrada antiga aponta para um tenant que não tem mais esse slug
+        if (e != null && !slug.equals(e.info().slug())) {
+            e = null;
+        }
+        return obter(e, () -> tenantRepository.findBySlug(slug), "slug " + slug);
+    }
+
+    /** Fuso do tenant; America/Sao_Paulo se desconhecido (mesmo fallback de antes). */
+    public ZoneId zona(UUID tenantId) {
+        return porId(tenantId).map(TenantInfo::zona).orElse(TenantInfo.ZONA_PADRAO);
+    }
+
+    /**
+     * Descarta a entrada do tenant. Dentro de transação, descarta de novo após
+     * o commit — uma leitura concorrente antes do commit recarregaria o valor
+     * antigo.
+     */
+    public void invalidar(UUID tenantId) {
+        remover(tenantId);
+        aposCommit(() -> remover(tenantId));
+    }
+
+    public void invalidarTodos() {
+        geracao.incrementAndGet();
+        porId.clear();
+        porSlug.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusAlterado(TenantStatusChangedEvent event) {
+        remover(event.tenantId());
+    }
+
+    private Optional<TenantInfo> obter(Entrada e, Supplier<Optional<Tenant>> carga, String chave) {
+        long agora = System.nanoTime();
+        if (e != null && agora - e.expiraEmNanos() < 0) {
+            return Optional.of(e.info());
+        }
+        long geracaoLida = geracao.get();
+        TenantInfo info;
+        try {
+            info = novaTransacao.execute(tx -> carga.get().map(TenantInfo::de).orElse(null));
+        } catch (Exception ex) {
+            log.warn("Falha ao carregar tenant ({}) no registro: {}", chave, ex.getMessage());
+            return Optional.empty();
+        }
+        if (info == null) {
+            return Optional.empty();
+        }
+        if (geracao.get() == geracaoLida) {
+            Entrada nova = new Entrada(info, agora + TimeUnit.SECONDS.toNanos(ttlSeconds));
+            porId.put(info.id(), nova);
+            porSlug.put(info.slug(), nova);
+        }
+        return Optional.of(info);
+    }
+
+    private void remover(UUID tenantId) {
+        geracao.incrementAndGet();
+        Entrada e = porId.remove(tenantId);
+        if (e != null) {
+            porSlug.remove(e.info().slug(), e);
+        }
+        porSlug.values().removeIf(s -> s.info().id().equals(tenantId));
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+}
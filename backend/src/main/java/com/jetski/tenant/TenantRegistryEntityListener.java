@@ -0,0 +1,35 @@
+package com.jetski.tenant;
+
+import com.jetski.tenant.domain.Tenant;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalida o {@link TenantRegistry} em toda escrita JPA de {@link Tenant}
+ * (config geral, branding, status, marketplace, exclusão...) — sem depender
+ * de cada serviço lembrar de chamar {@code invalidar}.
+ *
+ * <p>Instanciado pelo Hibernate via container do Spring durante a criação do
+ * EntityManagerFactory: o registro (que depende do repositório, que depende
+ * do EMF) é resolvido só no callback, via {@link ObjectProvider}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantRegistryEntityListener {
+
+    private final ObjectProvider<TenantRegistry> tenantRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void alterado(Tenant tenant) {
+        TenantRegistry registry = tenantRegistry.getIfAvailable();
+        if (registry != null && tenant.getId() != null) {
+            registry.invalidar(tenant.getId());
+        }
+    }
+}
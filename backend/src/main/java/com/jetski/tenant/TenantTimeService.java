@@ -1,7 +1,6 @@
 package com.jetski.tenant;
 
 import com.jetski.shared.security.TenantContext;
-import com.jetski.tenant.domain.Tenant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +20,10 @@ import java.util.UUID;
  * This is crucial for multi-tenant SaaS where tenants can be in different
  * timezones (e.g., America/Sao_Paulo, America/Fortaleza, etc.).
  *
+ * The ZoneId comes already parsed from the {@link TenantRegistry} snapshot:
+ * now()/today() are called several times per request and must not hit the
+ * database (nor re-parse the zone) on each call.
+ *
  * @author Jetski Team
  * @since 0.9.0
  */
@@ -30,8 +33,9 @@ import java.util.UUID;
 public class TenantTimeService {
 
     private static final String DEFAULT_TIMEZONE = "America/Sao_Paulo";
+    private static final ZoneId DEFAULT_ZONE = ZoneId.of(DEFAULT_TIMEZONE);
 
-    private final TenantQueryService tenantQueryService;
+    private final TenantRegistry tenantRegistry;
 
     /**
      * Get the current LocalDateTime in the tenant's timezone.
@@ -87,7 +91,7 @@ public class TenantTimeService {
         UUID tenantId = TenantContext.getTenantId();
         if (tenantId == null) {
             log.warn("No tenant in context, using default timezone: {}", DEFAULT_TIMEZONE);
-            return ZoneId.of(DEFAULT_TIMEZONE);
+            return DEFAULT_ZONE;
         }
         return getZoneIdForTenant(tenantId);
     }
@@ -99,16 +103,7 @@ public class TenantTimeService {
      * @return ZoneId for the tenant, or default if not found
      */
     public ZoneId getZoneIdForTenant(UUID tenantId) {
-        try {
-            Tenant tenant = tenantQueryService.findById(tenantId);
-            if (tenant != null && tenant.getTimezone() != null) {
-                return ZoneId.of(tenant.getTimezone());
-            }
-        } catch (Exception e) {
-            log.warn("Error getting timezone for tenant {}: {}", tenantId, e.getMessage());
-        }
-        log.debug("Using default timezone for tenant {}: {}", tenantId, DEFAULT_TIMEZONE);
-        return ZoneId.of(DEFAULT_TIMEZONE);
+        return tenantRegistry.zona(tenantId);
     }
 
     /**
@@ -7,6 +7,7 @@ import com.jetski.tenant.api.dto.TenantStatusResult;
 import com.jetski.tenant.internal.PlatformSecretsService;
 import com.jetski.tenant.internal.PlatformTenantService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -93,19 +94,32 @@ public class PlatformTenantController {
     /**
      * RESET da empresa (zona de perigo): zera os dados do nível escolhido,
      * preservando tenant/assinatura/créditos/metering/auditoria. Exige o slug
-     * digitado. Ação OPA: {@code platform:reset} (só super admin).
+     * digitado. O expurgo roda em segundo plano (TenantResetJob): responde 202
+     * com o pedido; o andamento é lido em {@code GET /tenants/{id}/reset}.
+     * Ação OPA: {@code platform:reset} (só super admin).
      */
     @PostMapping("/tenants/{id}/reset")
-    public java.util.Map<String, Object> reset(
+    public ResponseEntity<com.jetski.tenant.internal.TenantResetService.Andamento> reset(
             @PathVariable("id") UUID id,
             @jakarta.validation.Valid @RequestBody com.jetski.tenant.api.dto.ResetTenantRequest body) {
-        var resultado = tenantResetService.reset(id, body.nivel(), body.confirmacaoSlug());
-        return java.util.Map.of(
-            "nivel", body.nivel().name(),
-            "apagados", resultado.apagados(),
-            "totalLinhas", resultado.apagados().values().stream().mapToLong(Long::longValue).sum(),
-            "exportKey", resultado.exportKey(),
-            "exportBytes", resultado.exportBytes());
+        return ResponseEntity.accepted()
+            .body(tenantResetService.solicitar(id, body.nivel(), body.confirmacaoSlug()));
+    }
+
+    /** Andamento do reset mais recente da empresa (204 se nunca houve). */
+    @GetMapping("/tenants/{id}/reset")
+    public ResponseEntity<com.jetski.tenant.internal.TenantResetService.Andamento> ultimoReset(
+            @PathVariable("id") UUID id) {
+        return tenantResetService.ultimo(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /** Andamento de um pedido de reset: status, passada e linhas apagadas por tabela. */
+    @GetMapping("/tenants/{id}/reset/{resetId}")
+    public com.jetski.tenant.internal.TenantResetService.Andamento reset(
+            @PathVariable("id") UUID id, @PathVariable("resetId") UUID resetId) {
+        return tenantResetService.andamento(id, resetId);
     }
 
     /**
@@ -128,6 +142,18 @@ public class PlatformTenantController {
         return java.util.Map.of("modo", "CARENCIA", "expurgoEm", quando.toString());
     }
 
+    /**
+     * Andamento da remoção dos arquivos de uma empresa expurgada (etapa em
+     * segundo plano do expurgo); 204 se a empresa não foi expurgada.
+     */
+    @GetMapping("/tenants/{id}/excluir")
+    public ResponseEntity<com.jetski.tenant.internal.TenantExclusaoService.ArquivosAndamento> exclusaoArquivos(
+            @PathVariable("id") UUID id) {
+        return tenantExclusaoService.arquivos(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     /** Cancela uma exclusão agendada (empresa segue SUSPENSA). Ação OPA: {@code platform:cancelar-exclusao}. */
     @PostMapping("/tenants/{id}/cancelar-exclusao")
     public java.util.Map<String, String> cancelarExclusao(@PathVariable("id") UUID id) {
@@ -0,0 +1,54 @@
+package com.jetski.tenant.api;
+
+import com.jetski.tenant.internal.LogoAssetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Assets públicos endereçados por conteúdo (logo do tenant). A URL carrega o
+ * hash do conteúdo, então a resposta é {@code immutable} por um ano — o
+ * navegador/CDN nunca revalida; logo novo = URL nova. ETag forte para
+ * clientes que revalidam mesmo assim ({@code If-None-Match} → 304).
+ */
+@RestController
+@RequestMapping("/v1/public/assets")
+@RequiredArgsConstructor
+@Tag(name = "Marketplace Público", description = "Assets endereçados por conteúdo (sem autenticação)")
+public class PublicAssetController {
+
+    private static final CacheControl IMUTAVEL =
+        CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final LogoAssetService logoAssetService;
+
+    @GetMapping("/logos/{tenantId}/{hash}")
+    @Operation(summary = "Logo do tenant (w=64|256 para as variantes reduzidas)")
+    public ResponseEntity<byte[]> logo(@PathVariable UUID tenantId,
+                                       @PathVariable String hash,
+                                       @RequestParam(required = false) Integer w,
+                                       @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return logoAssetService.logo(tenantId, hash, w)
+            .map(a -> a.etag().equals(ifNoneMatch)
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(IMUTAVEL).eTag(a.etag()).<byte[]>build()
+                : ResponseEntity.ok()
+                    .cacheControl(IMUTAVEL)
+                    .eTag(a.etag())
+                    .contentType(MediaType.parseMediaType(a.contentType()))
+                    .body(a.bytes()))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -1,24 +1,30 @@
 package com.jetski.tenant.api;
 
+import com.jetski.tenant.TenantInfo;
+import com.jetski.tenant.TenantRegistry;
 import com.jetski.tenant.domain.Branding;
-import com.jetski.tenant.internal.TenantConfigService;
+import com.jetski.tenant.internal.LogoAssetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Branding público da loja (P4 do portal): cores + logo para o white-label
  * nas páginas da loja no portal do cliente. Sem autenticação — só lojas
  * visíveis no marketplace.
+ *
+ * <p>O logo vem como URL do asset endereçado por conteúdo
+ * ({@link PublicAssetController}), não mais inline: o JSON fica com poucas
+ * centenas de bytes e pode ser cacheado por um minuto.
  */
 @RestController
 @RequestMapping("/v1/public/lojas")
@@ -26,27 +32,23 @@ import java.util.UUID;
 @Tag(name = "Marketplace Público", description = "Branding da loja (sem autenticação)")
 public class PublicBrandingController {
 
-    private final TenantConfigService tenantConfigService;
-    private final EntityManager entityManager;
+    private final TenantRegistry tenantRegistry;
+    private final LogoAssetService logoAssetService;
 
-    public record BrandingPublico(String corPrimaria, String corSecundaria, String logoDataUrl) {}
+    /** {@code logoUrl} relativo à base da API (ex.: {@code /v1/public/assets/logos/{tenant}/{hash}}). */
+    public record BrandingPublico(String corPrimaria, String corSecundaria, String logoUrl) {}
 
     @GetMapping("/{slug}/branding")
     @Operation(summary = "Cores e logo da loja (white-label do portal)")
     public ResponseEntity<BrandingPublico> branding(@PathVariable String slug) {
-        @SuppressWarnings("unchecked")
-        List<UUID> ids = entityManager.createNativeQuery(
-                "SELECT id FROM tenant WHERE slug = :slug AND status = 'ATIVO' " +
-                "AND exibir_no_marketplace = true")
-            .setParameter("slug", slug)
-            .getResultList();
-        if (ids.isEmpty()) {
+        Optional<TenantInfo> loja = tenantRegistry.porSlug(slug).filter(TenantInfo::visivelNoMarketplace);
+        if (loja.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        UUID tenantId = ids.get(0);
-        Branding b = tenantConfigService.getBranding(tenantId);
-        return ResponseEntity.ok(new BrandingPublico(
-            b.corPrimaria(), b.corSecundaria(),
-            tenantConfigService.getLogoDataUrl(tenantId)));
+        Branding b = loja.get().branding();
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
+            .body(new BrandingPublico(b.corPrimaria(), b.corSecundaria(),
+                logoAssetService.url(loja.get().id(), b)));
     }
 }
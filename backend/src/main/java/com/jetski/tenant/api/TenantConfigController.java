@@ -11,6 +11,7 @@ import com.jetski.tenant.domain.AssinaturaConfig;
 import com.jetski.tenant.domain.Branding;
 import com.jetski.tenant.domain.ComissaoConfig;
 import com.jetski.tenant.domain.DocumentoConfig;
+import com.jetski.tenant.internal.LogoAssetService;
 import com.jetski.tenant.internal.TenantConfigService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -47,6 +48,7 @@ import java.util.UUID;
 public class TenantConfigController {
 
     private final TenantConfigService tenantConfigService;
+    private final LogoAssetService logoAssetService;
     private final com.jetski.shared.authorization.OPAAuthorizationService opaAuthorizationService;
 
     /**
@@ -183,7 +185,7 @@ public class TenantConfigController {
 
     @GetMapping("/branding")
     @PreAuthorize("hasAnyRole('ADMIN_TENANT', 'GERENTE')")
-    @Operation(summary = "Obter branding do tenant (cores + logo como data URL)")
+    @Operation(summary = "Obter branding do tenant (cores + URL do logo)")
     public ResponseEntity<BrandingResponse> getBranding(@PathVariable UUID tenantId) {
         log.info("GET /v1/tenants/{}/config/branding", tenantId);
         return ResponseEntity.ok(toBrandingResponse(tenantId, tenantConfigService.getBranding(tenantId)));
@@ -197,7 +199,7 @@ public class TenantConfigController {
             @RequestBody BrandingRequest request) {
         log.info("PUT /v1/tenants/{}/config/branding", tenantId);
         Branding cfg = tenantConfigService.updateBranding(tenantId,
-            new Branding(request.corPrimaria(), request.corSecundaria(), null, null,
+            new Branding(request.corPrimaria(), request.corSecundaria(), null, null, null,
                 request.vitrineDescricao(), request.vitrineEndereco(), request.vitrinePraia(),
                 request.vitrineHorario(), request.vitrineInstagram(), request.vitrineSite()));
         return ResponseEntity.ok(toBrandingResponse(tenantId, cfg));
@@ -241,8 +243,7 @@ public class TenantConfigController {
     }
 
     private BrandingResponse toBrandingResponse(UUID tenantId, Branding cfg) {
-        String logoDataUrl = cfg.temLogo() ? tenantConfigService.getLogoDataUrl(tenantId) : null;
-        return new BrandingResponse(cfg.corPrimaria(), cfg.corSecundaria(), logoDataUrl,
+        return new BrandingResponse(cfg.corPrimaria(), cfg.corSecundaria(), logoAssetService.url(tenantId, cfg),
             cfg.vitrineDescricao(), cfg.vitrineEndereco(), cfg.vitrinePraia(),
             cfg.vitrineHorario(), cfg.vitrineInstagram(), cfg.vitrineSite());
     }
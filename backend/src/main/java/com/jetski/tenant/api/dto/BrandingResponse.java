@@ -2,12 +2,13 @@ package com.jetski.tenant.api.dto;
 
 /**
  * Branding do tenant para a UI. Não expõe a chave interna de storage do logo:
- * o logo trafega como data URL pronto para {@code <img src>}.
+ * {@code logoUrl} é o asset endereçado por conteúdo (relativo à base da API),
+ * cacheável como immutable — muda de URL quando o logo muda.
  */
 public record BrandingResponse(
         String corPrimaria,
         String corSecundaria,
-        String logoDataUrl,
+        String logoUrl,
         String vitrineDescricao,
         String vitrineEndereco,
         String vitrinePraia,
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -16,13 +17,19 @@ import java.util.Map;
  *
  * <p>Persistida como JSON no {@code plataforma_config.valor} (chave
  * {@code imagem_compressao}). Tipos previstos: IDENTIDADE, COMPROVANTE_RESIDENCIA,
- * SELFIE, CHA, GRU_COMPROVANTE.
+ * SELFIE, CHA, GRU_COMPROVANTE — e FOTO_MINIATURA/FOTO_MEDIA, aplicados no
+ * servidor às variantes das fotos de check-in/check-out ({@code FotoVarianteService}).
  *
- * @param tipos preset por tipo de documento
+ * @param tipos preset por tipo de documento (cópia imutável, na ordem recebida)
  */
 public record ImagemCompressaoConfig(
     @Valid Map<String, Preset> tipos
 ) {
+    /** Imutável: a instância lida da plataforma é compartilhada entre requisições. */
+    public ImagemCompressaoConfig {
+        tipos = tipos == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(tipos));
+    }
+
     /**
      * @param maxDimensao lado maior (px) para o qual a imagem é reduzida antes do envio
      * @param qualidade   qualidade JPEG (0.3–1.0)
@@ -40,6 +47,17 @@ public record ImagemCompressaoConfig(
         t.put("CHA", new Preset(2000, 0.85));
         t.put("GRU_COMPROVANTE", new Preset(2000, 0.85));
         t.put("SELFIE", new Preset(1280, 0.80));
+        t.put("FOTO_MINIATURA", new Preset(400, 0.70));
+        t.put("FOTO_MEDIA", new Preset(1280, 0.80));
         return new ImagemCompressaoConfig(t);
     }
+
+    /**
+     * Preset do tipo; tipo ausente na config gravada (gravada antes do tipo
+     * existir) cai no default do código.
+     */
+    public Preset preset(String tipo) {
+        Preset p = tipos == null ? null : tipos.get(tipo);
+        return p != null ? p : defaults().tipos().get(tipo);
+    }
 }
@@ -17,6 +17,7 @@ public record Branding(
         @JsonProperty("cor_secundaria") String corSecundaria,
         @JsonProperty("logo_key") String logoKey,
         @JsonProperty("logo_content_type") String logoContentType,
+        @JsonProperty("logo_hash") String logoHash,
         @JsonProperty("vitrine_descricao") String vitrineDescricao,
         @JsonProperty("vitrine_endereco") String vitrineEndereco,
         @JsonProperty("vitrine_praia") String vitrinePraia,
@@ -27,7 +28,7 @@ public record Branding(
 
     /** Padrão = sem customização: a UI cai nos tokens Meu Jet. */
     public static Branding padrao() {
-        return new Branding(null, null, null, null, null, null, null, null, null, null);
+        return new Branding(null, null, null, null, null, null, null, null, null, null, null);
     }
 
     public Branding comDefaults() {
@@ -39,25 +40,25 @@ public record Branding(
     }
 
     public Branding semLogo() {
-        return new Branding(corPrimaria, corSecundaria, null, null,
+        return new Branding(corPrimaria, corSecundaria, null, null, null,
             vitrineDescricao, vitrineEndereco, vitrinePraia, vitrineHorario, vitrineInstagram, vitrineSite);
     }
 
-    public Branding comLogo(String key, String contentType) {
-        return new Branding(corPrimaria, corSecundaria, key, contentType,
+    public Branding comLogo(String key, String contentType, String hash) {
+        return new Branding(corPrimaria, corSecundaria, key, contentType, hash,
             vitrineDescricao, vitrineEndereco, vitrinePraia, vitrineHorario, vitrineInstagram, vitrineSite);
     }
 
     /** Novas cores preservando logo e vitrine (logo é read-only no PUT de cores). */
     public Branding comCores(String primaria, String secundaria) {
-        return new Branding(primaria, secundaria, logoKey, logoContentType,
+        return new Branding(primaria, secundaria, logoKey, logoContentType, logoHash,
             vitrineDescricao, vitrineEndereco, vitrinePraia, vitrineHorario, vitrineInstagram, vitrineSite);
     }
 
     /** Novo conteúdo da vitrine preservando cores e logo. */
     public Branding comVitrine(String descricao, String endereco, String praia, String horario,
                                String instagram, String site) {
-        return new Branding(corPrimaria, corSecundaria, logoKey, logoContentType,
+        return new Branding(corPrimaria, corSecundaria, logoKey, logoContentType, logoHash,
             descricao, endereco, praia, horario, instagram, site);
     }
 }
@@ -24,6 +24,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "tenant")
+@EntityListeners(com.jetski.tenant.TenantRegistryEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
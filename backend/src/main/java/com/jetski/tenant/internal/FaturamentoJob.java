@@ -1,15 +1,19 @@
 package com.jetski.tenant.internal;
 
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Job diário do billing (06:00, após trial 05:15 e exclusões 05:45):
  * gera as faturas da competência corrente (idempotente — única por
  * tenant/competência) e suspende inadimplentes (ABERTA vencida além
- * da carência). Falhas são logadas sem interromper o ciclo.
+ * da carência). Falhas são logadas sem interromper o ciclo. Em cluster,
+ * uma réplica só executa o ciclo ({@link ClusterJobRunner}).
  */
 @Slf4j
 @Component
@@ -17,16 +21,27 @@ import org.springframework.stereotype.Component;
 public class FaturamentoJob {
 
     private final PlatformFaturaService platformFaturaService;
+    private final ClusterJobRunner jobRunner;
 
     @Scheduled(cron = "0 0 6 * * *") // diário às 06:00 (TZ do backend: America/Sao_Paulo)
     public void executar() {
+        jobRunner.executar("faturamento", Duration.ofMinutes(10), Duration.ofHours(1), this::faturar);
+    }
+
+    /**
+     * Geração e suspensão são independentes (uma falhar não impede a outra);
+     * a primeira falha é relançada no fim para o runner contar o ciclo como FALHA.
+     */
+    private void faturar() {
+        RuntimeException falha = null;
         try {
             int criadas = platformFaturaService.gerarFaturasDoMes();
             if (criadas > 0) {
                 log.info("[PLATFORM] Faturamento: {} fatura(s) gerada(s)", criadas);
             }
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("[PLATFORM] Falha na geração de faturas", e);
+            falha = e;
         }
         try {
             int suspensos = platformFaturaService.suspenderInadimplentes();
@@ -34,8 +49,16 @@ public class FaturamentoJob {
                 log.warn("[PLATFORM] Faturamento: {} tenant(s) suspenso(s) por inadimplência",
                     suspensos);
             }
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("[PLATFORM] Falha na suspensão de inadimplentes", e);
+            if (falha == null) {
+                falha = e;
+            } else {
+                falha.addSuppressed(e);
+            }
+        }
+        if (falha != null) {
+            throw falha;
         }
     }
 }
@@ -0,0 +1,262 @@
+package com.jetski.tenant.internal;
+
+import com.jetski.shared.storage.StorageService;
+import com.jetski.tenant.TenantInfo;
+import com.jetski.tenant.TenantRegistry;
+import com.jetski.tenant.domain.Branding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logo do tenant como asset endereçado por conteúdo.
+ *
+ * <p>Antes o logo ia como data URL base64 dentro do JSON de branding, lido do
+ * storage e codificado a CADA request do portal white-label: resposta grande,
+ * sem cache e cara de gerar. Agora o JSON só referencia
+ * {@code /v1/public/assets/logos/{tenantId}/{hash}} — o hash é o SHA-256 do
+ * conteúdo, então a URL muda quando o logo muda e a resposta pode ser
+ * {@code immutable} no navegador/CDN.
+ *
+ * <p>No upload o original vai para {@code {tenant}/branding/logo-{hash}.{ext}}
+ * e as variantes reduzidas ({@link #LARGURAS}, PNG) para
+ * {@code logo-{hash}-{largura}.png}. Logos antigos (sem {@code logo_hash})
+ * têm o hash calculado na primeira leitura e as variantes geradas em memória.
+ * WebP não é decodificado pelo ImageIO: serve o original em qualquer largura.
+ *
+ * <p>Bytes servidos ficam num LRU em memória limitado por
+ * {@code jetski.branding.cache-max-kb} — o storage só é lido no primeiro
+ * acesso de cada variante por nó.
+ */
+@Slf4j
+@Service
+public class LogoAssetService {
+
+    /** Larguras pré-geradas: ícone da sidebar (32px @2x) e cabeçalho da vitrine. */
+    public static final List<Integer> LARGURAS = List.of(64, 256);
+
+    private static final int HASH_HEX = 16;
+
+    private final StorageService storageService;
+    private final TenantRegistry tenantRegistry;
+
+    /** Hash de logos gravados antes do {@code logo_hash} (chave de storage → hash). */
+    private final Map<String, String> hashLegado = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<String, Asset> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cacheBytes;
+
+    @Value("${jetski.branding.cache-max-kb:8192}")
+    private long cacheMaxKb;
+
+    public LogoAssetService(StorageService storageService, TenantRegistry tenantRegistry) {
+        this.storageService = storageService;
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    /** Conteúdo pronto para a resposta HTTP; {@code etag} já entre aspas. */
+    public record Asset(byte[] bytes, String contentType, String etag) {
+    }
+
+    /** Resultado do upload: chave do original + hash do conteúdo. */
+    public record Armazenado(String key, String hash) {
+    }
+
+    /** Grava o original (chave por hash) e as variantes reduzidas. */
+    public Armazenado armazenar(UUID tenantId, byte[] content, String contentType) {
+        String hash = hash(content);
+        String ext = switch (contentType) {
+            case "image/jpeg" -> "jpg";
+            case "image/webp" -> "webp";
+            default -> "png";
+        };
+        String key = tenantId + "/branding/logo-" + hash + "." + ext;
+        storageService.putObject(key, content, contentType);
+        for (int largura : LARGURAS) {
+            byte[] variante = reduzir(content, largura);
+            if (variante != null) {
+                storageService.putObject(chaveVariante(tenantId, hash, largura), variante, "image/png");
+            }
+        }
+        return new Armazenado(key, hash);
+    }
+
+    /** Remove original e variantes (best-effort — storage órfão não quebra nada). */
+    public void remover(UUID tenantId, Branding b) {
+        if (!b.temLogo()) {
+            return;
+        }
+        apagar(tenantId, b.logoKey());
+        if (b.logoHash() != null) {
+            for (int largura : LARGURAS) {
+                apagar(tenantId, chaveVariante(tenantId, b.logoHash(), largura));
+            }
+        }
+    }
+
+    /** URL (relativa à base da API) do logo atual; null sem logo ou storage inacessível. */
+    public String url(UUID tenantId, Branding b) {
+        if (b == null || !b.temLogo()) {
+            return null;
+        }
+        String hash = hashDoLogo(b);
+        return hash == null ? null : "/v1/public/assets/logos/" + tenantId + "/" + hash;
+    }
+
+    /**
+     * Bytes do logo do tenant se {@code hash} for o do logo ATUAL (hash antigo
+     * = 404: a URL antiga foi servida como immutable e não pode mudar de
+     * conteúdo). {@code largura} fora de {@link #LARGURAS} serve o original.
+     */
+    public Optional<Asset> logo(UUID tenantId, String hash, Integer largura) {
+        Optional<TenantInfo> tenant = tenantRegistry.porId(tenantId);
+        if (tenant.isEmpty() || !tenant.get().branding().temLogo()) {
+            return Optional.empty();
+        }
+        Branding b = tenant.get().branding();
+        if (!hash.equals(hashDoLogo(b))) {
+            return Optional.empty();
+        }
+        Integer w = largura != null && LARGURAS.contains(largura) ? largura : null;
+        String chaveCache = hash + (w == null ? "" : "-" + w);
+        Asset asset = doCache(chaveCache);
+        if (asset != null) {
+            return Optional.of(asset);
+        }
+        asset = carregar(tenantId, b, hash, w, "\"" + chaveCache + "\"");
+        if (asset != null) {
+            guardar(chaveCache, asset);
+        }
+        return Optional.ofNullable(asset);
+    }
+
+    private Asset carregar(UUID tenantId, Branding b, String hash, Integer largura, String etag) {
+        String contentType = b.logoContentType() != null ? b.logoContentType() : "image/png";
+        try {
+            if (largura != null) {
+                if (b.logoHash() != null) {
+                    try {
+                        return new Asset(storageService.getObject(chaveVariante(tenantId, hash, largura)),
+                            "image/png", etag);
+                    } catch (Exception e) {
+                        // WebP (sem variante) — cai na geração/original abaixo
+                    }
+                }
+                byte[] original = storageService.getObject(b.logoKey());
+                byte[] variante = reduzir(original, largura);
+                return variante != null
+                    ? new Asset(variante, "image/png", etag)
+                    : new Asset(original, contentType, etag);
+            }
+            return new Asset(storageService.getObject(b.logoKey()), contentType, etag);
+        } catch (Exception e) {
+            log.warn("Logo do tenant {} inacessível no storage (key={}): {}", tenantId, b.logoKey(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String hashDoLogo(Branding b) {
+        if (b.logoHash() != null) {
+            return b.logoHash();
+        }
+        String h = hashLegado.get(b.logoKey());
+        if (h == null) {
+            try {
+                h = hash(storageService.getObject(b.logoKey()));
+                hashLegado.put(b.logoKey(), h);
+            } catch (Exception e) {
+                log.warn("Logo inacessível no storage (key={}): {}", b.logoKey(), e.getMessage());
+                return null;
+            }
+        }
+        return h;
+    }
+
+    private synchronized Asset doCache(String chave) {
+        return cache.get(chave);
+    }
+
+    private synchronized void guardar(String chave, Asset asset) {
+        long limite = cacheMaxKb * 1024;
+        if (asset.bytes().length > limite) {
+            return;
+        }
+        Asset anterior = cache.put(chave, asset);
+        if (anterior != null) {
+            cacheBytes -= anterior.bytes().length;
+        }
+        cacheBytes += asset.bytes().length;
+        var it = cache.entrySet().iterator();
+        while (cacheBytes > limite && it.hasNext()) {
+            cacheBytes -= it.next().getValue().bytes().length;
+            it.remove();
+        }
+    }
+
+    private void apagar(UUID tenantId, String key) {
+        try {
+            storageService.deleteFile(key);
+        } catch (Exception e) {
+            log.warn("Falha ao remover logo do tenant {} (key={}): {}", tenantId, key, e.getMessage());
+        }
+    }
+
+    private static String chaveVariante(UUID tenantId, String hash, int largura) {
+        return tenantId + "/branding/logo-" + hash + "-" + largura + ".png";
+    }
+
+    static String hash(byte[] content) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(d).substring(0, HASH_HEX);
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Reduz para {@code largura} px (proporção mantida, PNG com alfa). Imagem
+     * já menor volta como PNG do mesmo tamanho; formato que o ImageIO não lê
+     * (WebP) devolve null.
+     */
+    static byte[] reduzir(byte[] content, int largura) {
+        try {
+            BufferedImage src = ImageIO.read(new ByteArrayInputStream(content));
+            if (src == null) {
+                return null;
+            }
+            int w = Math.min(largura, src.getWidth());
+            int h = Math.max(1, Math.round((float) src.getHeight() * w / src.getWidth()));
+            BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = dst.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(src, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(dst, "png", out);
+            return out.toByteArray();
+        } catch (Exception e) {
+            log.warn("Falha ao gerar variante {}px do logo: {}", largura, e.getMessage());
+            return null;
+        }
+    }
+}
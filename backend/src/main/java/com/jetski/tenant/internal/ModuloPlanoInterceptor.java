@@ -25,8 +25,8 @@ import java.util.regex.Pattern;
  * mensagem de upgrade.
  *
  * <p>Superadmin (unrestricted) e paths não-tenant passam direto. Lê os
- * módulos via {@link PlanoLimiteService#modulosDoPlano} (cache Redis;
- * evict na troca de plano/módulos).
+ * módulos do snapshot em memória {@link PlanoLimiteService#entitlements}
+ * (invalidado na troca de plano/módulos).
  */
 @Component
 @RequiredArgsConstructor
@@ -58,10 +58,7 @@ public class ModuloPlanoInterceptor implements HandlerInterceptor {
         if (cobridores.isEmpty()) {
             return true;
         }
-        List<String> modulos = planoLimiteService.modulosDoPlano(tenantId);
-        boolean liberado = modulos.contains("*")
-            || cobridores.stream().anyMatch(mod -> modulos.contains(mod.name()));
-        if (!liberado) {
+        if (!planoLimiteService.entitlements(tenantId).habilitaAlgum(cobridores)) {
             String rotulos = cobridores.stream()
                 .map(mod -> "\"" + mod.rotulo() + "\"")
                 .collect(java.util.stream.Collectors.joining(" ou "));
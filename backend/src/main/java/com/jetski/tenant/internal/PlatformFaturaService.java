@@ -1,5 +1,7 @@
 package com.jetski.tenant.internal;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jetski.shared.email.EmailService;
 import com.jetski.shared.exception.BusinessException;
 import com.jetski.shared.exception.NotFoundException;
@@ -20,7 +22,11 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -31,8 +37,8 @@ import java.util.UUID;
  *       corrente para cada tenant ATIVO com assinatura ativa de plano PAGO
  *       (Trial/preço 0 não fatura), com PIX da plataforma (mesma chave dos
  *       créditos) e e-mail best-effort ao admin da empresa;</li>
- *   <li>{@link #pendentesConferencia()}: fila global (iteração por tenant,
- *       padrão {@code PlatformCreditoService});</li>
+ *   <li>{@link #pendentesConferencia()}: fila global (uma consulta
+ *       cross-tenant, V066 — sem iterar empresa a empresa);</li>
  *   <li>{@link #confirmar}/{@link #cancelar}: decisão humana pós-extrato;</li>
  *   <li>{@link #suspenderInadimplentes()} (job): ABERTA vencida além da
  *       carência → suspensão automática (padrão do trial);</li>
@@ -54,6 +60,8 @@ public class PlatformFaturaService {
     private final EntityManager entityManager;
     private final com.jetski.tenant.internal.repository.TenantRepository tenantRepository;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final com.jetski.tenant.PlanoLimiteService planoLimiteService;
+    private final ObjectMapper objectMapper;
 
     /** Mesma chave PIX da plataforma usada na venda de créditos. */
     @Value("${jetski.creditos.pix-chave:pix@meujet.com.br}")
@@ -72,45 +80,64 @@ public class PlatformFaturaService {
 
     public record FaturaPlataforma(Fatura fatura, String slug, String razaoSocial) {}
 
-    /** Gera (idempotente) as faturas da competência corrente. @return quantas criou. */
+    /**
+     * Gera (idempotente) as faturas da competência corrente. @return quantas criou.
+     *
+     * <p>Uma instrução para todas as empresas ({@code plataforma_gerar_faturas},
+     * V067 — INSERT ... ON CONFLICT DO NOTHING na unique tenant/competência),
+     * em vez de trocar de tenant e fazer EXISTS + INSERT empresa a empresa. Só
+     * as faturas efetivamente criadas voltam, para o e-mail.
+     */
     @Transactional
+    @SuppressWarnings("unchecked")
     public int gerarFaturasDoMes() {
         LocalDate competencia = LocalDate.now(ZONA).withDayOfMonth(1);
-        int criadas = 0;
-        for (Object[] t : tenantsFaturaveis()) {
+        LocalDate vencimento = LocalDate.now(ZONA).plusDays(vencimentoDias);
+        List<Object[]> faturaveis = tenantsFaturaveis();
+        if (faturaveis.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Object[]> porTenant = new HashMap<>();
+        List<Map<String, Object>> itens = new ArrayList<>(faturaveis.size());
+        for (Object[] t : faturaveis) {
             UUID tenantId = (UUID) t[0];
-            String planoNome = (String) t[3];
             BigDecimal valor = (BigDecimal) t[4];
-            setTenant(tenantId);
-            if (faturaRepository.existsByTenantIdAndCompetencia(tenantId, competencia)) {
-                continue;
-            }
-            LocalDate vencimento = LocalDate.now(ZONA).plusDays(vencimentoDias);
-            Fatura fatura = faturaRepository.save(Fatura.builder()
-                .tenantId(tenantId)
-                .competencia(competencia)
-                .planoNome(planoNome)
-                .valor(valor)
-                .vencimento(vencimento)
-                .pixCopiaECola(BrCodePix.gerar(pixChave.trim(), valor, pixNome, pixCidade))
-                .build());
-            criadas++;
-            notificarFaturaGerada(tenantId, (String) t[2], fatura);
+            porTenant.put(tenantId, t);
+            itens.add(Map.of(
+                "tenant_id", tenantId,
+                "plano_nome", t[3],
+                "valor", valor,
+                "pix_copia_e_cola", BrCodePix.gerar(pixChave.trim(), valor, pixNome, pixCidade)));
+        }
+        escopoPlataforma();
+        List<Fatura> criadas = entityManager.createNativeQuery(
+                "SELECT * FROM plataforma_gerar_faturas(:competencia, :vencimento, CAST(:itens AS jsonb))",
+                Fatura.class)
+            .setParameter("competencia", competencia)
+            .setParameter("vencimento", vencimento)
+            .setParameter("itens", json(itens))
+            .getResultList();
+        for (Fatura fatura : criadas) {
+            Object[] t = porTenant.get(fatura.getTenantId());
+            setTenant(fatura.getTenantId());
+            notificarFaturaGerada(fatura.getTenantId(), (String) t[2], fatura);
             log.info("[PLATFORM] Fatura gerada: tenant={} ({}), competencia={}, valor={}",
-                tenantId, t[1], MES.format(competencia), valor);
+                fatura.getTenantId(), t[1], MES.format(competencia), fatura.getValor());
         }
-        return criadas;
+        return criadas.size();
     }
 
-    /** Fila global de conferência (EM_CONFERENCIA) + abertas vencidas, por tenant. */
-    @Transactional
+    /**
+     * Fila global de conferência (EM_CONFERENCIA): uma consulta cross-tenant
+     * ({@code plataforma_faturas_por_status}, V066) + a lista de empresas —
+     * sem iterar tenant a tenant. Ordem da listagem de empresas.
+     */
+    @Transactional(readOnly = true)
     public List<FaturaPlataforma> pendentesConferencia() {
+        Map<UUID, List<Fatura>> porTenant = faturasPorTenant(Fatura.Status.EM_CONFERENCIA);
         List<FaturaPlataforma> resultado = new ArrayList<>();
         for (Object[] t : todosOsTenants()) {
-            UUID tenantId = (UUID) t[0];
-            setTenant(tenantId);
-            for (Fatura f : faturaRepository.findByTenantIdAndStatus(
-                    tenantId, Fatura.Status.EM_CONFERENCIA)) {
+            for (Fatura f : porTenant.getOrDefault((UUID) t[0], List.of())) {
                 resultado.add(new FaturaPlataforma(f, (String) t[1], (String) t[2]));
             }
         }
@@ -160,17 +187,20 @@ public class PlatformFaturaService {
     @Transactional
     public int suspenderInadimplentes() {
         LocalDate limite = LocalDate.now(ZONA).minusDays(carenciaDias);
+        Set<UUID> inadimplentes = new LinkedHashSet<>();
+        faturasPorTenant(Fatura.Status.ABERTA).forEach((tenantId, faturas) -> {
+            if (faturas.stream().anyMatch(f -> f.getVencimento().isBefore(limite))) {
+                inadimplentes.add(tenantId);
+            }
+        });
         int suspensos = 0;
         for (Object[] t : todosOsTenants()) {
             UUID tenantId = (UUID) t[0];
             if (!"ATIVO".equals(t[3])) {
                 continue; // já suspenso/trial/excluído — nada a fazer
             }
-            setTenant(tenantId);
-            boolean inadimplente = faturaRepository
-                .findByTenantIdAndStatus(tenantId, Fatura.Status.ABERTA).stream()
-                .anyMatch(f -> f.getVencimento().isBefore(limite));
-            if (inadimplente) {
+            if (inadimplentes.contains(tenantId)) {
+                setTenant(tenantId);
                 try {
                     platformTenantService.suspend(tenantId,
                         "Fatura da assinatura vencida há mais de " + carenciaDias
@@ -192,7 +222,6 @@ public class PlatformFaturaService {
      * quem suspende). Caminho de contratação pós-trial e de upgrade/downgrade.
      */
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "plano-modulos", allEntries = true)
     public void mudarPlano(UUID tenantId, Integer planoId) {
         Object nome;
         try {
@@ -226,6 +255,7 @@ public class PlatformFaturaService {
             .setParameter("fim", trial
                 ? java.time.LocalDate.now().plusDays(PlatformTenantService.TRIAL_DAYS) : null)
             .executeUpdate();
+        planoLimiteService.invalidar(tenantId);
         // Trilha durável (padrão das demais ações de plataforma): quem trocou o
         // plano de quem, para quê — o log some, a auditoria fica.
         tenantRepository.findById(tenantId).ifPresent(t ->
@@ -264,7 +294,6 @@ public class PlatformFaturaService {
      * Chaves validadas contra o catálogo {@link com.jetski.tenant.ModuloPlano}.
      */
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "plano-modulos", allEntries = true)
     public void salvarModulos(Integer planoId, List<String> modulos) {
         if (modulos == null || modulos.isEmpty()) {
             throw new BusinessException("Selecione ao menos um módulo (ou todos)");
@@ -288,6 +317,7 @@ public class PlatformFaturaService {
         if (n == 0) {
             throw new NotFoundException("Plano não encontrado: " + planoId);
         }
+        planoLimiteService.invalidarTodos();
         log.warn("[PLATFORM] Módulos do plano {} atualizados: {}", planoId,
             todos ? "TODOS" : modulos);
     }
@@ -315,11 +345,47 @@ public class PlatformFaturaService {
             .getResultList();
     }
 
+    /**
+     * Faturas de TODAS as empresas num status, agrupadas por tenant — via a
+     * função SECURITY DEFINER de escopo estreito da V066 (fatura tem RLS e o
+     * app não tem BYPASSRLS).
+     */
+    @SuppressWarnings("unchecked")
+    private Map<UUID, List<Fatura>> faturasPorTenant(Fatura.Status status) {
+        escopoPlataforma();
+        List<Fatura> faturas = entityManager.createNativeQuery(
+                "SELECT * FROM plataforma_faturas_por_status(:status)", Fatura.class)
+            .setParameter("status", status.name())
+            .getResultList();
+        Map<UUID, List<Fatura>> porTenant = new HashMap<>();
+        for (Fatura f : faturas) {
+            porTenant.computeIfAbsent(f.getTenantId(), k -> new ArrayList<>()).add(f);
+        }
+        return porTenant;
+    }
+
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar faturas do mês", e);
+        }
+    }
+
     private Fatura carregar(UUID tenantId, UUID faturaId) {
         return faturaRepository.findByIdAndTenantId(faturaId, tenantId)
             .orElseThrow(() -> new NotFoundException("Fatura não encontrada: " + faturaId));
     }
 
+    /**
+     * Libera as funções SECURITY DEFINER da plataforma (V066/V067) nesta transação —
+     * transaction-local, como o app.tenant_id: some no commit e não vaza pelo pool.
+     */
+    private void escopoPlataforma() {
+        entityManager.createNativeQuery("SELECT set_config('app.platform_scope', 'true', true)")
+            .getSingleResult();
+    }
+
     /** RLS transaction-local (padrão PlatformCreditoService/TrialExpirationService). */
     private void setTenant(UUID tenantId) {
         entityManager.createNativeQuery("SELECT set_config('app.tenant_id', :tid, true)")
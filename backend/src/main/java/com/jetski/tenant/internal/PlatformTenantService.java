@@ -213,6 +213,7 @@ public class PlatformTenantService {
         .setParameter(1, tenantId)
         .setParameter(2, LocalDate.now().plusDays(TRIAL_DAYS))
         .executeUpdate();
+        planoLimiteService.invalidar(tenantId);
         log.info("Trial subscription created for tenant: {}", tenantId);
     }
 
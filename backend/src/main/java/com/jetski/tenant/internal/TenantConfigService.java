@@ -7,7 +7,6 @@ import com.jetski.tenant.api.dto.EmissoraConfigRequest;
 import com.jetski.tenant.api.dto.EmissoraConfigResponse;
 import com.jetski.tenant.api.dto.TenantGeralConfigRequest;
 import com.jetski.tenant.api.dto.TenantGeralConfigResponse;
-import com.jetski.shared.storage.StorageService;
 import com.jetski.tenant.domain.AssinaturaConfig;
 import com.jetski.tenant.domain.Capitania;
 import com.jetski.tenant.internal.repository.CapitaniaRepository;
@@ -22,7 +21,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Base64;
 import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -43,7 +41,7 @@ public class TenantConfigService {
     private final TenantRepository tenantRepository;
     private final CapitaniaRepository capitaniaRepository;
     private final SecretCipher secretCipher;
-    private final StorageService storageService;
+    private final LogoAssetService logoAssetService;
 
     /** Dados gerais/e-mail da empresa (tenant). */
     @Transactional(readOnly = true)
@@ -291,23 +289,6 @@ public class TenantConfigService {
         return b != null ? b : Branding.padrao();
     }
 
-    /** Logo como data URL (base64) para exibição direta em &lt;img&gt;; null se não houver. */
-    @Transactional(readOnly = true)
-    public String getLogoDataUrl(UUID tenantId) {
-        Branding b = getBranding(tenantId);
-        if (!b.temLogo()) {
-            return null;
-        }
-        try {
-            byte[] bytes = storageService.getObject(b.logoKey());
-            String ct = b.logoContentType() != null ? b.logoContentType() : "image/png";
-            return "data:" + ct + ";base64," + Base64.getEncoder().encodeToString(bytes);
-        } catch (Exception e) {
-            log.warn("Logo do tenant {} inacessível no storage (key={}): {}", tenantId, b.logoKey(), e.getMessage());
-            return null;
-        }
-    }
-
     /** Atualiza cores + conteúdo da vitrine; o logo é preservado (upload/remove dedicados). */
     @Transactional
     public Branding updateBranding(UUID tenantId, Branding request) {
@@ -372,22 +353,12 @@ public class TenantConfigService {
         if (contentType == null || !LOGO_CONTENT_TYPES.contains(contentType)) {
             throw new BusinessException("Formato de logo não suportado (use PNG, JPEG ou WebP)");
         }
-        String ext = switch (contentType) {
-            case "image/jpeg" -> "jpg";
-            case "image/webp" -> "webp";
-            default -> "png";
-        };
-        String key = tenantId + "/branding/logo." + ext;
-        storageService.putObject(key, content, contentType);
+        LogoAssetService.Armazenado novo = logoAssetService.armazenar(tenantId, content, contentType);
         Branding atual = tenant.getBranding() != null ? tenant.getBranding() : Branding.padrao();
-        if (atual.temLogo() && !atual.logoKey().equals(key)) {
-            try {
-                storageService.deleteFile(atual.logoKey());
-            } catch (Exception e) {
-                log.warn("Falha ao remover logo antigo do tenant {} (key={}): {}", tenantId, atual.logoKey(), e.getMessage());
-            }
+        if (atual.temLogo() && !atual.logoKey().equals(novo.key())) {
+            logoAssetService.remover(tenantId, atual);
         }
-        Branding cfg = atual.comLogo(key, contentType);
+        Branding cfg = atual.comLogo(novo.key(), contentType, novo.hash());
         tenant.setBranding(cfg);
         tenantRepository.save(tenant);
         log.info("Logo de branding atualizado para o tenant {} ({} bytes, {})", tenantId, content.length, contentType);
@@ -399,13 +370,7 @@ public class TenantConfigService {
         Tenant tenant = tenantRepository.findById(tenantId)
             .orElseThrow(() -> new NotFoundException("Tenant não encontrado: " + tenantId));
         Branding atual = tenant.getBranding() != null ? tenant.getBranding() : Branding.padrao();
-        if (atual.temLogo()) {
-            try {
-                storageService.deleteFile(atual.logoKey());
-            } catch (Exception e) {
-                log.warn("Falha ao remover logo do tenant {} (key={}): {}", tenantId, atual.logoKey(), e.getMessage());
-            }
-        }
+        logoAssetService.remover(tenantId, atual);
         Branding cfg = atual.semLogo();
         tenant.setBranding(cfg);
         tenantRepository.save(tenant);
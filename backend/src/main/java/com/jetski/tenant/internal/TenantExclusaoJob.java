@@ -1,5 +1,6 @@
 package com.jetski.tenant.internal;
 
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import com.jetski.shared.storage.StorageService;
 import com.jetski.tenant.domain.Tenant;
 import com.jetski.tenant.internal.repository.TenantRepository;
@@ -27,6 +28,13 @@ import java.util.regex.Pattern;
  *       do arquivo ({@code slug-yyyyMMdd-HHmmss.zip}).</li>
  * </ol>
  * Falha em um tenant não interrompe os demais.
+ *
+ * <p>A remoção dos arquivos das empresas expurgadas tem agendamento próprio
+ * ({@link #removerArquivos}, a cada minuto): o expurgo só a marca como
+ * pendente, e quem falhou é retomado nos ciclos seguintes.
+ *
+ * <p>Em cluster ({@link ClusterJobRunner}) o expurgo é particionado por
+ * tenant entre as réplicas e a limpeza de exports roda em um nó só.
  */
 @Slf4j
 @Component
@@ -44,20 +52,40 @@ public class TenantExclusaoJob {
     private final TenantRepository tenantRepository;
     private final TenantExclusaoService tenantExclusaoService;
     private final StorageService storageService;
+    private final ClusterJobRunner jobRunner;
 
     @Scheduled(cron = "0 45 5 * * *") // diário às 05:45 (após o trial job das 05:15)
     public void executar() {
-        expurgarVencidos();
-        limparExportsAntigos();
+        List<Tenant> vencidos = vencidos();
+        // expurgo de um tenant grande leva minutos: trava máxima folgada
+        jobRunner.executarEmShards("tenant-exclusao", Duration.ofMinutes(10), Duration.ofHours(2),
+            (shard, total) -> expurgar(vencidos.stream()
+                .filter(t -> ClusterJobRunner.pertence(t.getId(), shard, total))
+                .toList()));
+        jobRunner.executar("tenant-exclusao-exports", Duration.ofMinutes(10), Duration.ofMinutes(30),
+            this::limparExportsAntigos);
+    }
+
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void removerArquivos() {
+        jobRunner.executar("tenant-exclusao-arquivos", Duration.ZERO, Duration.ofMinutes(30),
+            tenantExclusaoService::removerArquivosPendentes);
     }
 
     public void expurgarVencidos() {
+        expurgar(vencidos());
+    }
+
+    private List<Tenant> vencidos() {
         Instant agora = Instant.now();
-        List<Tenant> vencidos = tenantRepository.findAll().stream()
+        return tenantRepository.findAll().stream()
             .filter(t -> t.getExclusaoAgendadaEm() != null
                 && !t.getExclusaoAgendadaEm().isAfter(agora)
                 && t.getExcluidoEm() == null)
             .toList();
+    }
+
+    private void expurgar(List<Tenant> vencidos) {
         if (vencidos.isEmpty()) {
             return;
         }
@@ -20,7 +20,9 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -33,13 +35,21 @@ import java.util.UUID;
  * executa o expurgo na mesma chamada (empresas de teste).
  *
  * <p><b>Expurgo</b> ({@link #expurgar}): export de arquivamento (Fase 2) →
- * deleção completa dos dados (nível TOTAL sem exceção de admin) → remoção dos
- * arquivos do prefixo do tenant no storage → TOMBSTONE: a linha do tenant
+ * deleção completa dos dados (nível TOTAL sem exceção de admin) → TOMBSTONE,
+ * com a remoção dos arquivos marcada como pendente. A linha do tenant
  * fica com status EXCLUIDO, slug renomeado (libera o slug para novo signup) e
  * campos sensíveis anonimizados. DELETE físico do tenant é impossível por
  * design — o ledger de créditos (append-only por trigger) referencia o tenant
  * com FK RESTRICT; o tombstone preserva o histórico fiscal da plataforma.
  *
+ * <p><b>Arquivos</b> ({@link #removerArquivos}): etapa própria, fora da
+ * transação do expurgo, rodada pelo {@link TenantExclusaoJob}. Remove o
+ * prefixo {tenantId}/ do storage em lote ({@link StorageService#deleteBatch}),
+ * {@value #ARQUIVOS_POR_PASSO} chaves por passo, gravando o progresso no
+ * tombstone. Retomável: cada tentativa relista o que sobrou. Falha → nova
+ * tentativa com espera crescente; após {@value #MAX_TENTATIVAS_ARQUIVOS},
+ * FALHOU.
+ *
  * <p>Contas Keycloak não são removidas: staff sem tenant_access não acessa
  * nada, e clientes finais são contas da plataforma (cross-tenant) por design.
  */
@@ -50,6 +60,14 @@ public class TenantExclusaoService {
 
     public static final int CARENCIA_DIAS = 30;
 
+    /** Chaves removidas entre duas gravações de progresso. */
+    static final int ARQUIVOS_POR_PASSO = 10 * StorageService.DELETE_BATCH_MAX;
+    static final int MAX_TENTATIVAS_ARQUIVOS = 5;
+
+    /** Andamento da remoção dos arquivos de uma empresa expurgada. */
+    public record ArquivosAndamento(String status, long removidos, int tentativas, String erro,
+                                    Instant atualizadoEm) {}
+
     private static final DateTimeFormatter DATA_SLUG =
         DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneId.of("America/Sao_Paulo"));
 
@@ -127,14 +145,7 @@ public class TenantExclusaoService {
         // 2. Dados (TOTAL sem exceção de admin)
         Map<String, Long> apagados = tenantResetService.expurgoCompleto(tenantId);
 
-        // 3. Arquivos do tenant no storage
-        int arquivos = 0;
-        for (String chave : storageService.listObjectKeys(tenantId + "/")) {
-            storageService.deleteFile(chave);
-            arquivos++;
-        }
-
-        // 4. Tombstone: anonimiza e libera o slug
+        // 3. Tombstone: anonimiza e libera o slug
         String statusAntes = tenant.getStatus().name();
         String slugOriginal = tenant.getSlug();
         String sufixo = DATA_SLUG.format(Instant.now()) + "-"
@@ -145,11 +156,14 @@ public class TenantExclusaoService {
         tenant.setExclusaoAgendadaEm(null);
         tenant.setPixChave(null);
         tenantRepository.save(tenant);
-        // Campos sensíveis fora da entity (SMTP cifrado, contatos) — direto no banco
+        // Campos sensíveis fora da entity (SMTP cifrado, contatos) — direto no banco;
+        // os arquivos do storage ficam para a etapa em segundo plano (removerArquivos)
         jdbcTemplate.update("UPDATE tenant SET smtp_host = NULL, smtp_username = NULL, "
             + "smtp_password = NULL, smtp_from = NULL, email_remetente = NULL, "
             + "whatsapp = NULL, marinha_email = NULL, branding = NULL, "
-            + "exibir_no_marketplace = false WHERE id = ?", tenantId);
+            + "exibir_no_marketplace = false, arquivos_status = 'PENDENTE', arquivos_removidos = 0, "
+            + "arquivos_tentativas = 0, arquivos_erro = NULL, arquivos_atualizado_em = NULL "
+            + "WHERE id = ?", tenantId);
         // Assinatura encerrada (histórico comercial permanece)
         jdbcTemplate.update("UPDATE assinatura SET status = 'expirada' "
             + "WHERE tenant_id = ? AND status <> 'expirada'", tenantId);
@@ -158,14 +172,83 @@ public class TenantExclusaoService {
             tenantId, "TENANT_EXCLUIDO", statusAntes, TenantStatus.EXCLUIDO.name(),
             TenantContext.getUsuarioId(),
             "linhas=" + apagados.values().stream().mapToLong(Long::longValue).sum()
-                + "; arquivos=" + arquivos + "; export=" + export.key(),
+                + "; arquivos=pendente; export=" + export.key(),
             tenant.getRazaoSocial(), slugOriginal));
-        log.warn("[PLATFORM] Empresa EXPURGADA: tenant={} ({}), linhas={}, arquivos={}, export={}",
+        log.warn("[PLATFORM] Empresa EXPURGADA: tenant={} ({}), linhas={}, export={} — arquivos em segundo plano",
             tenantId, slugOriginal,
-            apagados.values().stream().mapToLong(Long::longValue).sum(), arquivos, export.key());
+            apagados.values().stream().mapToLong(Long::longValue).sum(), export.key());
         return apagados;
     }
 
+    /**
+     * Remove os arquivos das empresas expurgadas com a etapa pendente e já
+     * fora da espera da última falha (1, 2, 3... × 5 min). Falha em uma não
+     * interrompe as demais.
+     */
+    public void removerArquivosPendentes() {
+        List<UUID> pendentes = jdbcTemplate.queryForList("""
+            SELECT id FROM tenant
+             WHERE arquivos_status = 'PENDENTE'
+               AND (arquivos_atualizado_em IS NULL
+                    OR arquivos_atualizado_em < now() - arquivos_tentativas * interval '5 minutes')
+             ORDER BY excluido_em
+            """, UUID.class);
+        for (UUID tenantId : pendentes) {
+            removerArquivos(tenantId);
+        }
+    }
+
+    /**
+     * Remove o prefixo {tenantId}/ do storage em passos de
+     * {@value #ARQUIVOS_POR_PASSO} chaves, gravando o progresso a cada passo;
+     * uma varredura final ({@link StorageService#deletePrefix}) pega o que
+     * chegou durante a remoção. Sem transação: cada UPDATE de progresso é
+     * confirmado na hora.
+     */
+    public void removerArquivos(UUID tenantId) {
+        String prefixo = tenantId + "/";
+        try {
+            List<String> chaves = storageService.listObjectKeys(prefixo);
+            for (int i = 0; i < chaves.size(); i += ARQUIVOS_POR_PASSO) {
+                List<String> passo = chaves.subList(i, Math.min(i + ARQUIVOS_POR_PASSO, chaves.size()));
+                storageService.deleteBatch(passo);
+                jdbcTemplate.update("UPDATE tenant SET arquivos_removidos = arquivos_removidos + ?, "
+                    + "arquivos_atualizado_em = now() WHERE id = ?", passo.size(), tenantId);
+            }
+            long resto = storageService.deletePrefix(prefixo);
+            jdbcTemplate.update("UPDATE tenant SET arquivos_status = 'CONCLUIDO', "
+                + "arquivos_removidos = arquivos_removidos + ?, arquivos_erro = NULL, "
+                + "arquivos_atualizado_em = now() WHERE id = ?", resto, tenantId);
+            log.info("[PLATFORM] Arquivos do tenant={} removidos: {} objeto(s)", tenantId, chaves.size() + resto);
+        } catch (RuntimeException e) {
+            Integer tentativas = jdbcTemplate.queryForObject("""
+                UPDATE tenant
+                   SET arquivos_tentativas = arquivos_tentativas + 1, arquivos_erro = ?,
+                       arquivos_atualizado_em = now(),
+                       arquivos_status = CASE WHEN arquivos_tentativas + 1 >= ? THEN 'FALHOU'
+                                              ELSE arquivos_status END
+                 WHERE id = ?
+             RETURNING arquivos_tentativas
+                """, Integer.class, String.valueOf(e.getMessage()), MAX_TENTATIVAS_ARQUIVOS, tenantId);
+            log.error("[PLATFORM] Remoção de arquivos falhou para tenant={} (tentativa {}/{})",
+                tenantId, tentativas, MAX_TENTATIVAS_ARQUIVOS, e);
+        }
+    }
+
+    /** Andamento da remoção de arquivos (vazio se a empresa não foi expurgada). */
+    public Optional<ArquivosAndamento> arquivos(UUID tenantId) {
+        return jdbcTemplate.query("""
+            SELECT arquivos_status, arquivos_removidos, arquivos_tentativas, arquivos_erro,
+                   arquivos_atualizado_em
+              FROM tenant WHERE id = ? AND arquivos_status IS NOT NULL
+            """, (rs, i) -> new ArquivosAndamento(rs.getString("arquivos_status"),
+                rs.getLong("arquivos_removidos"), rs.getInt("arquivos_tentativas"),
+                rs.getString("arquivos_erro"),
+                rs.getTimestamp("arquivos_atualizado_em") == null ? null
+                    : rs.getTimestamp("arquivos_atualizado_em").toInstant()),
+            tenantId).stream().findFirst();
+    }
+
     private Tenant carregarVivo(UUID tenantId) {
         Tenant tenant = tenantRepository.findById(tenantId)
             .orElseThrow(() -> new NotFoundException("Empresa não encontrada: " + tenantId));
@@ -0,0 +1,38 @@
+package com.jetski.tenant.internal;
+
+import com.jetski.shared.scheduling.ClusterJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Processa os resets de empresa pedidos pelo console
+ * ({@link TenantResetService#solicitar}). A cada tick, se houver pedido
+ * ativo, um nó (lease {@code tenant-reset}) avança os pedidos por até
+ * {@code jetski.tenant.reset.fatia-segundos}; o progresso fica no banco, então
+ * o próximo tick — neste ou em outro nó — continua de onde parou.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantResetJob {
+
+    private final TenantResetService tenantResetService;
+    private final ClusterJobRunner jobRunner;
+
+    @Value("${jetski.tenant.reset.fatia-segundos:120}")
+    private long fatiaSegundos;
+
+    @Scheduled(fixedDelay = 5_000, initialDelay = 20_000)
+    public void executar() {
+        if (!tenantResetService.haPendentes()) {
+            return;
+        }
+        // trava máxima folgada sobre a fatia: o lease não vence no meio dela
+        Duration fatia = Duration.ofSeconds(fatiaSegundos);
+        jobRunner.executar("tenant-reset", Duration.ZERO, fatia.plusMinutes(5),
+            () -> tenantResetService.processarPendentes(fatia));
+    }
+}
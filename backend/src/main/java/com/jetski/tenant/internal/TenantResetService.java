@@ -7,15 +7,24 @@ import com.jetski.tenant.domain.event.TenantStatusChangedEvent;
 import com.jetski.tenant.internal.repository.TenantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -45,12 +54,26 @@ import java.util.UUID;
  * tabela com tenant_id sem classificá-la aqui — mesmo espírito do
  * 02-verify-rls.sql.
  *
- * <p><b>Execução</b>: deletes rodam com {@code app.tenant_id} fixado
- * (transaction-local) no tenant alvo — a RLS delimita o escopo; tabelas sem
- * RLS (membro/tenant_access, allowlist consciente) usam WHERE tenant_id
- * explícito. Advisory lock transacional evita corrida com outro reset.
- * Arquivos no storage NÃO são removidos nesta fase (órfãos inacessíveis;
- * varridos no export/expurgo da Fase 2/3).
+ * <p><b>Execução em segundo plano</b>: {@link #solicitar} valida o slug e
+ * registra o pedido ({@code tenant_reset}, V073) com uma linha de progresso
+ * por tabela; o {@link TenantResetJob} chama {@link #processarPendentes} em
+ * fatias de tempo. O processamento gera o export de arquivamento (uma vez) e
+ * apaga cada tabela em lotes de {@code jetski.tenant.reset.lote} linhas por
+ * ctid — uma transação por lote, com {@code app.tenant_id} fixado no tenant
+ * alvo (a RLS delimita o escopo; membro/tenant_access, sem RLS, usam WHERE
+ * tenant_id explícito). O progresso é gravado na transação do lote: quem
+ * retomar (outro nó, após queda) continua de onde parou.
+ *
+ * <p><b>Não bloqueia o balcão</b>: cada lote roda com {@code lock_timeout}
+ * curto (linha presa por uma operação em curso → desiste e tenta no próximo
+ * lote) e a pausa entre lotes nunca é menor que a duração do lote anterior.
+ * Sem a transação única, linhas criadas durante o reset numa tabela já
+ * percorrida podem surgir (ou uma FK estourar): o processamento confere ao
+ * final e refaz a lista em nova passada, até {@value #MAX_PASSADAS}.
+ *
+ * <p>Advisory lock por lote (mesma chave da exclusão/import) evita corrida
+ * com eles. Arquivos no storage NÃO são removidos nesta fase (órfãos
+ * inacessíveis; varridos no export/expurgo da Fase 2/3).
  */
 @Slf4j
 @Service
@@ -81,12 +104,24 @@ public class TenantResetService {
         // ficariam com o número velho PARA SEMPRE. A base de cobrança da plataforma
         // (metering, ledger de créditos, faturas) continua preservada à parte.
         "plataforma_metrica_diaria",
+        // marca d'água do incremental (V065): sem ela a próxima execução
+        // recalcula a janela inteira da empresa — que é o que se quer após o reset
+        "plataforma_metrica_marca",
+        // linha do tempo do portal (V069): dado DERIVADO de locacao/reserva —
+        // segue a fonte, senão o cliente veria locações que a loja apagou
+        "customer_timeline",
         "locacao", "reserva", "cliente");
 
     /** Cadastro de frota — apagado nos níveis FROTA e TOTAL. */
     static final List<String> TABELAS_FROTA = List.of(
         "modelo_midia", "fuel_policy", "jetski",
-        "politica_comissao", "item_opcional", "instrutor", "modelo");
+        "politica_comissao",
+        // contador das políticas compiladas (V063): DERIVADO de fuel_policy e
+        // politica_comissao — sai DEPOIS delas (a trigger recria a linha a cada
+        // DELETE nas fontes). No OPERACIONAL as políticas ficam, e apagar só o
+        // contador faria o resolver recompilar a cada leitura até a próxima edição.
+        "politica_versao",
+        "item_opcional", "instrutor", "modelo");
 
     /** Nível TOTAL (além do especial membro/tenant_access). */
     static final List<String> TABELAS_TOTAL = List.of(
@@ -99,22 +134,62 @@ public class TenantResetService {
     static final Set<String> TABELAS_PRESERVADAS = Set.of(
         "assinatura", "auditoria", "credito_compra", "credito_lancamento",
         "emissao_uso", "tenant_signup", "fatura",
+        // rollup mensal da plataforma (V066): derivado de emissao_uso por
+        // trigger — segue a fonte, que é preservada
+        "plataforma_emissao_mensal",
         // trilha legal da EAMA emissora (V048): o espelho vive no tenant do
         // EMISSOR e prova o que saiu em nome dele — nunca some num reset
         "emissao_delegada",
         // sessões de suporte (V055): registro de QUEM da plataforma entrou nesta
         // empresa e por quê. É trilha, não dado operacional — apagar num reset
         // deixaria o acesso sem prova. Some junto com a empresa (ON DELETE CASCADE).
-        "plataforma_sessao_suporte");
+        "plataforma_sessao_suporte",
+        // pedidos de reset (V073): a trilha do próprio reset — tenant_id é o
+        // ALVO. Apagá-la no reset seguinte perderia o histórico de quem zerou
+        // a empresa e quando. Some junto com a empresa (ON DELETE CASCADE).
+        "tenant_reset");
+
+    /** Passadas máximas (linhas novas atrás do expurgo) antes de desistir. */
+    static final int MAX_PASSADAS = 3;
+    /** Falhas inesperadas seguidas (banco fora, export) antes de marcar FALHOU. */
+    static final int MAX_TENTATIVAS = 5;
+    /** Heartbeat mais velho que isso = executor morreu; outro pode assumir. */
+    private static final Duration POSSE_EXPIRA = Duration.ofMinutes(2);
+
+    private static final String DELETE_LOTE = "DELETE FROM %1$s WHERE tenant_id = ? AND ctid = ANY(ARRAY("
+        + "SELECT t.ctid FROM %1$s t WHERE t.tenant_id = ?%2$s LIMIT ?))";
 
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
     private final TenantRepository tenantRepository;
     private final TenantExportService tenantExportService;
     private final ApplicationEventPublisher eventPublisher;
 
+    @Value("${jetski.tenant.reset.lote:5000}")
+    private int lote;
+
+    @Value("${jetski.tenant.reset.pausa-ms:100}")
+    private long pausaMs;
+
+    public enum Status { PENDENTE, EXECUTANDO, CONCLUIDO, FALHOU }
+
     /** Resultado do reset: contagens apagadas + export de arquivamento gerado antes. */
     public record Resultado(Map<String, Long> apagados, String exportKey, long exportBytes) {}
 
+    /** Andamento de um pedido de reset (status + progresso por tabela). */
+    public record Andamento(UUID id, UUID tenantId, Nivel nivel, Status status, int passada,
+                            Instant solicitadoEm, Instant iniciadoEm, Instant concluidoEm,
+                            String exportKey, Long exportBytes, String erro,
+                            long totalLinhas, List<TabelaAndamento> tabelas) {
+
+        public boolean terminado() {
+            return status == Status.CONCLUIDO || status == Status.FALHOU;
+        }
+    }
+
+    /** Progresso de uma tabela do reset. */
+    public record TabelaAndamento(String tabela, long apagadas, boolean concluida) {}
+
     /** Contagem por tabela do que o reset apagaria no nível (dry-run p/ a UI). */
     @Transactional(readOnly = true)
     public Map<String, Long> preview(UUID tenantId, Nivel nivel) {
@@ -122,84 +197,178 @@ public class TenantResetService {
         fixarContexto(tenantId);
 
         Map<String, Long> contagens = new LinkedHashMap<>();
-        for (String tabela : tabelasDoNivel(nivel)) {
+        for (String tabela : passosDoNivel(nivel)) {
             Long n = jdbcTemplate.queryForObject(
-                "SELECT count(*) FROM " + tabela + " WHERE tenant_id = ?", Long.class, tenantId);
+                "SELECT count(*) FROM " + tabela + " t WHERE t.tenant_id = ?" + filtro(nivel, tabela),
+                Long.class, tenantId);
             if (n != null && n > 0) {
                 contagens.put(tabela, n);
             }
         }
-        if (nivel == Nivel.TOTAL) {
-            Long membros = jdbcTemplate.queryForObject(
-                "SELECT count(*) FROM membro WHERE tenant_id = ? "
-                + "AND NOT ('ADMIN_TENANT' = ANY(papeis))", Long.class, tenantId);
-            if (membros != null && membros > 0) {
-                contagens.put("membro", membros);
-            }
-        }
         return contagens;
     }
 
     /**
-     * Executa o reset. Exige o slug digitado (confirmação forte) — compare
-     * sempre com o valor atual do banco.
-     *
-     * @return contagem de linhas apagadas por tabela (ordem de execução)
+     * Registra o pedido de reset (processado em segundo plano). Exige o slug
+     * digitado (confirmação forte) — comparado com o valor atual do banco.
+     * Um pedido ativo por empresa.
      */
     @Transactional
-    public Resultado reset(UUID tenantId, Nivel nivel, String confirmacaoSlug) {
+    public Andamento solicitar(UUID tenantId, Nivel nivel, String confirmacaoSlug) {
         Tenant tenant = carregarTenant(tenantId);
         if (confirmacaoSlug == null || !confirmacaoSlug.trim().equals(tenant.getSlug())) {
             throw new BusinessException(
                 "Confirmação inválida: digite o slug exato da empresa (" + tenant.getSlug() + ")");
         }
 
-        fixarContexto(tenantId);
-        // Um reset por vez por tenant (corrida com operação em curso)
-        jdbcTemplate.queryForObject(
-            "SELECT pg_advisory_xact_lock(hashtextextended(?, 42))", Object.class,
-            tenantId.toString());
+        UUID resetId;
+        try {
+            resetId = jdbcTemplate.queryForObject(
+                "INSERT INTO tenant_reset (tenant_id, nivel, solicitado_por) VALUES (?, ?, ?) RETURNING id",
+                UUID.class, tenantId, nivel.name(),
+                com.jetski.shared.security.TenantContext.getUsuarioId());
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("Já existe um reset em andamento para esta empresa");
+        }
+        List<String> passos = passosDoNivel(nivel);
+        List<Object[]> linhas = new ArrayList<>(passos.size());
+        for (int i = 0; i < passos.size(); i++) {
+            linhas.add(new Object[]{resetId, i, passos.get(i)});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO tenant_reset_tabela (reset_id, ordem, tabela) VALUES (?, ?, ?)", linhas);
+
+        log.warn("[PLATFORM] RESET de empresa solicitado: tenant={} ({}), nivel={}, reset={}",
+            tenantId, tenant.getSlug(), nivel, resetId);
+        return andamento(tenantId, resetId);
+    }
 
-        // Export de arquivamento ANTES de apagar (decisão de produto: automático).
-        // Falhou o export → o reset inteiro aborta; nada é apagado sem cópia.
-        TenantExportService.Export export = tenantExportService.exportar(tenantId);
+    /** Andamento de um pedido da empresa. */
+    @Transactional(readOnly = true)
+    public Andamento andamento(UUID tenantId, UUID resetId) {
+        return buscar(resetId)
+            .filter(a -> a.tenantId().equals(tenantId))
+            .orElseThrow(() -> new NotFoundException("Reset não encontrado: " + resetId));
+    }
+
+    /** Pedido mais recente da empresa (vazio se nunca houve reset). */
+    @Transactional(readOnly = true)
+    public Optional<Andamento> ultimo(UUID tenantId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM tenant_reset WHERE tenant_id = ? ORDER BY solicitado_em DESC LIMIT 1",
+                UUID.class, tenantId).stream()
+            .findFirst()
+            .flatMap(this::buscar);
+    }
 
+    /**
+     * Reset síncrono: solicita e processa até o fim nesta thread (scripts e
+     * testes — a API usa {@link #solicitar}). Se o job já tiver assumido o
+     * pedido, espera ele terminar.
+     *
+     * @return contagem de linhas apagadas por tabela (ordem de execução)
+     */
+    public Resultado reset(UUID tenantId, Nivel nivel, String confirmacaoSlug) {
+        Andamento a = solicitar(tenantId, nivel, confirmacaoSlug);
+        while (!a.terminado()) {
+            a = processar(a.id(), Duration.ofHours(1));
+            if (!a.terminado()) {
+                dormir(200);
+            }
+        }
+        if (a.status() == Status.FALHOU) {
+            throw new BusinessException("Reset falhou: " + a.erro());
+        }
         Map<String, Long> apagados = new LinkedHashMap<>();
-        for (String tabela : tabelasDoNivel(nivel)) {
-            int n = jdbcTemplate.update(
-                "DELETE FROM " + tabela + " WHERE tenant_id = ?", tenantId);
-            if (n > 0) {
-                apagados.put(tabela, (long) n);
+        for (TabelaAndamento t : a.tabelas()) {
+            if (t.apagadas() > 0) {
+                apagados.put(t.tabela(), t.apagadas());
             }
         }
+        return new Resultado(apagados, a.exportKey(), a.exportBytes() == null ? 0 : a.exportBytes());
+    }
 
-        if (nivel == Nivel.TOTAL) {
-            // Preserva membros ADMIN_TENANT; remove os demais e seus acessos.
-            int membros = jdbcTemplate.update(
-                "DELETE FROM membro WHERE tenant_id = ? "
-                + "AND NOT ('ADMIN_TENANT' = ANY(papeis))", tenantId);
-            if (membros > 0) {
-                apagados.put("membro", (long) membros);
-            }
-            int acessos = jdbcTemplate.update(
-                "DELETE FROM tenant_access WHERE tenant_id = ? AND usuario_id NOT IN "
-                + "(SELECT usuario_id FROM membro WHERE tenant_id = ?)", tenantId, tenantId);
-            if (acessos > 0) {
-                apagados.put("tenant_access", (long) acessos);
+    /** Há pedido a processar? (consulta barata antes de disputar o lease do job) */
+    public boolean haPendentes() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM tenant_reset WHERE status IN ('PENDENTE', 'EXECUTANDO'))",
+            Boolean.class));
+    }
+
+    /** Processa os pedidos ativos, mais antigos primeiro, dentro de {@code fatia}. */
+    public void processarPendentes(Duration fatia) {
+        Instant limite = Instant.now().plus(fatia);
+        List<UUID> ativos = jdbcTemplate.queryForList(
+            "SELECT id FROM tenant_reset WHERE status IN ('PENDENTE', 'EXECUTANDO') ORDER BY solicitado_em",
+            UUID.class);
+        for (UUID id : ativos) {
+            Duration resta = Duration.between(Instant.now(), limite);
+            if (resta.isNegative() || resta.isZero()) {
+                return;
             }
+            processar(id, resta);
         }
+    }
 
-        UUID actor = com.jetski.shared.security.TenantContext.getUsuarioId();
-        eventPublisher.publishEvent(TenantStatusChangedEvent.of(
-            tenantId, "TENANT_RESET", tenant.getStatus().name(), tenant.getStatus().name(),
-            actor, "nivel=" + nivel + "; tabelas=" + apagados.size()
-                + "; linhas=" + apagados.values().stream().mapToLong(Long::longValue).sum()
-                + "; export=" + export.key(),
-            tenant.getRazaoSocial(), tenant.getSlug()));
-
-        log.warn("[PLATFORM] RESET de empresa executado: tenant={} ({}), nivel={}, apagados={}, export={}",
-            tenantId, tenant.getSlug(), nivel, apagados, export.key());
-        return new Resultado(apagados, export.key(), export.bytes());
+    /**
+     * Avança um pedido por até {@code fatia}: export (uma vez), lotes tabela a
+     * tabela e, ao esvaziar a lista, conferência final. Sem posse (outro
+     * executor vivo), volta sem fazer nada.
+     */
+    public Andamento processar(UUID resetId, Duration fatia) {
+        Instant limite = Instant.now().plus(fatia);
+        UUID executor = UUID.randomUUID();
+        Andamento a = buscar(resetId)
+            .orElseThrow(() -> new NotFoundException("Reset não encontrado: " + resetId));
+        if (a.terminado() || !assumir(resetId, executor)) {
+            return a;
+        }
+        try {
+            if (a.exportKey() == null) {
+                // Export de arquivamento ANTES de apagar (decisão de produto: automático).
+                // Falhou o export → nada é apagado; conta como tentativa.
+                TenantExportService.Export export = tenantExportService.exportar(a.tenantId());
+                jdbcTemplate.update("UPDATE tenant_reset SET export_key = ?, export_bytes = ? WHERE id = ?",
+                    export.key(), export.bytes(), resetId);
+            }
+            while (Instant.now().isBefore(limite)) {
+                Optional<Passo> passo = proximoPasso(resetId);
+                if (passo.isEmpty()) {
+                    List<String> sobras = sobras(a.tenantId(), a.nivel());
+                    if (sobras.isEmpty()) {
+                        concluir(a);
+                    } else {
+                        novaPassada(resetId, "linhas novas durante o reset em " + String.join(", ", sobras));
+                    }
+                    if (buscar(resetId).map(Andamento::terminado).orElse(true)) {
+                        break;
+                    }
+                    continue;
+                }
+                long inicio = System.nanoTime();
+                try {
+                    if (!apagarLote(a, passo.get(), executor)) {
+                        break; // perdeu a posse
+                    }
+                } catch (PessimisticLockingFailureException e) {
+                    // lock_timeout: linha presa por operação em curso — cede a vez
+                    log.debug("Reset {}: lote em {} esperou lock, tentando depois", resetId, passo.get().tabela());
+                } catch (DataIntegrityViolationException e) {
+                    // FK: filho criado depois que a tabela dele foi percorrida
+                    novaPassada(resetId, passo.get().tabela() + ": " + e.getMostSpecificCause().getMessage());
+                    if (buscar(resetId).map(Andamento::terminado).orElse(true)) {
+                        break;
+                    }
+                }
+                dormir(Math.max(pausaMs, Duration.ofNanos(System.nanoTime() - inicio).toMillis()));
+            }
+        } catch (RuntimeException e) {
+            registrarFalha(resetId, e);
+        } finally {
+            jdbcTemplate.update("UPDATE tenant_reset SET executor = NULL WHERE id = ? AND executor = ?",
+                resetId, executor);
+        }
+        return buscar(resetId).orElseThrow();
     }
 
     /**
@@ -236,6 +405,171 @@ public class TenantResetService {
         return tabelas;
     }
 
+    /** Tabelas do nível na ordem de execução — no TOTAL, a equipe por último. */
+    private List<String> passosDoNivel(Nivel nivel) {
+        List<String> passos = tabelasDoNivel(nivel);
+        if (nivel == Nivel.TOTAL) {
+            passos.add("membro");
+            passos.add("tenant_access");
+        }
+        return passos;
+    }
+
+    /**
+     * Recorte extra da tabela (alias {@code t}). No TOTAL preserva membros
+     * ADMIN_TENANT e os acessos deles.
+     */
+    private static String filtro(Nivel nivel, String tabela) {
+        if (nivel != Nivel.TOTAL) {
+            return "";
+        }
+        return switch (tabela) {
+            case "membro" -> " AND NOT ('ADMIN_TENANT' = ANY(t.papeis))";
+            case "tenant_access" -> " AND t.usuario_id NOT IN "
+                + "(SELECT m.usuario_id FROM membro m WHERE m.tenant_id = t.tenant_id)";
+            default -> "";
+        };
+    }
+
+    private record Passo(int ordem, String tabela) {}
+
+    /**
+     * Um lote da tabela numa transação própria: apaga até {@code lote} linhas
+     * e grava o progresso junto. Tabela esgotada (lote incompleto) fica
+     * concluída.
+     *
+     * @return false se a posse do pedido foi perdida (nada apagado)
+     */
+    private boolean apagarLote(Andamento a, Passo passo, UUID executor) {
+        String sql = DELETE_LOTE.formatted(passo.tabela(), filtro(a.nivel(), passo.tabela()));
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            int dono = jdbcTemplate.update(
+                "UPDATE tenant_reset SET heartbeat_em = now() WHERE id = ? AND executor = ?", a.id(), executor);
+            if (dono == 0) {
+                return false;
+            }
+            fixarContexto(a.tenantId());
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '2s'");
+            jdbcTemplate.queryForObject(
+                "SELECT pg_advisory_xact_lock(hashtextextended(?, 42))", Object.class,
+                a.tenantId().toString());
+            int n = jdbcTemplate.update(sql, a.tenantId(), a.tenantId(), lote);
+            jdbcTemplate.update("UPDATE tenant_reset_tabela SET apagadas = apagadas + ?, concluida = ?, "
+                + "atualizado_em = now() WHERE reset_id = ? AND ordem = ?", n, n < lote, a.id(), passo.ordem());
+            return true;
+        }));
+    }
+
+    /** Toma posse do pedido (livre ou com heartbeat vencido) e o marca EXECUTANDO. */
+    private boolean assumir(UUID resetId, UUID executor) {
+        return jdbcTemplate.update("""
+            UPDATE tenant_reset
+               SET executor = ?, heartbeat_em = now(), status = 'EXECUTANDO',
+                   iniciado_em = COALESCE(iniciado_em, now())
+             WHERE id = ? AND status IN ('PENDENTE', 'EXECUTANDO')
+               AND (executor IS NULL OR heartbeat_em < now() - ? * interval '1 second')
+            """, executor, resetId, POSSE_EXPIRA.toSeconds()) > 0;
+    }
+
+    private Optional<Passo> proximoPasso(UUID resetId) {
+        return jdbcTemplate.query(
+            "SELECT ordem, tabela FROM tenant_reset_tabela WHERE reset_id = ? AND NOT concluida "
+                + "ORDER BY ordem LIMIT 1",
+            (rs, i) -> new Passo(rs.getInt("ordem"), rs.getString("tabela")), resetId).stream().findFirst();
+    }
+
+    /** Tabelas do nível que ainda têm linhas do tenant (conferência final). */
+    private List<String> sobras(UUID tenantId, Nivel nivel) {
+        return transactionTemplate.execute(tx -> {
+            fixarContexto(tenantId);
+            List<String> sobras = new ArrayList<>();
+            for (String tabela : passosDoNivel(nivel)) {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + tabela + " t WHERE t.tenant_id = ?"
+                            + filtro(nivel, tabela) + ")", Boolean.class, tenantId))) {
+                    sobras.add(tabela);
+                }
+            }
+            return sobras;
+        });
+    }
+
+    /** Refaz a lista desde a primeira tabela; além de {@value #MAX_PASSADAS}, FALHOU. */
+    private void novaPassada(UUID resetId, String motivo) {
+        Integer passada = jdbcTemplate.queryForObject(
+            "UPDATE tenant_reset SET passada = passada + 1 WHERE id = ? RETURNING passada",
+            Integer.class, resetId);
+        if (passada != null && passada > MAX_PASSADAS) {
+            jdbcTemplate.update("UPDATE tenant_reset SET status = 'FALHOU', concluido_em = now(), erro = ? "
+                + "WHERE id = ?", "Empresa em uso durante o reset (" + MAX_PASSADAS + " passadas): " + motivo,
+                resetId);
+            log.error("[PLATFORM] RESET abandonado após {} passadas: reset={}, {}", MAX_PASSADAS, resetId, motivo);
+            return;
+        }
+        jdbcTemplate.update("UPDATE tenant_reset_tabela SET concluida = false WHERE reset_id = ?", resetId);
+        log.warn("[PLATFORM] RESET em nova passada ({}): reset={}, {}", passada, resetId, motivo);
+    }
+
+    private void registrarFalha(UUID resetId, RuntimeException e) {
+        Integer tentativas = jdbcTemplate.queryForObject(
+            "UPDATE tenant_reset SET tentativas = tentativas + 1, erro = ? WHERE id = ? RETURNING tentativas",
+            Integer.class, String.valueOf(e.getMessage()), resetId);
+        if (tentativas != null && tentativas >= MAX_TENTATIVAS) {
+            jdbcTemplate.update("UPDATE tenant_reset SET status = 'FALHOU', concluido_em = now() WHERE id = ?",
+                resetId);
+            log.error("[PLATFORM] RESET falhou após {} tentativas: reset={}", tentativas, resetId, e);
+        } else {
+            log.warn("[PLATFORM] RESET interrompido (tentativa {}), retoma no próximo ciclo: reset={}: {}",
+                tentativas, resetId, e.getMessage());
+        }
+    }
+
+    /** CONCLUIDO + trilha (mesmo evento de quando o reset era síncrono). */
+    private void concluir(Andamento a) {
+        Andamento atual = buscar(a.id()).orElseThrow();
+        jdbcTemplate.update("UPDATE tenant_reset SET status = 'CONCLUIDO', concluido_em = now(), erro = NULL "
+            + "WHERE id = ?", a.id());
+        Tenant tenant = carregarTenant(a.tenantId());
+        UUID actor = jdbcTemplate.queryForObject(
+            "SELECT solicitado_por FROM tenant_reset WHERE id = ?", UUID.class, a.id());
+        long tabelas = atual.tabelas().stream().filter(t -> t.apagadas() > 0).count();
+        eventPublisher.publishEvent(TenantStatusChangedEvent.of(
+            a.tenantId(), "TENANT_RESET", tenant.getStatus().name(), tenant.getStatus().name(),
+            actor, "nivel=" + a.nivel() + "; tabelas=" + tabelas + "; linhas=" + atual.totalLinhas()
+                + "; export=" + atual.exportKey(),
+            tenant.getRazaoSocial(), tenant.getSlug()));
+
+        log.warn("[PLATFORM] RESET de empresa concluído: tenant={} ({}), nivel={}, linhas={}, passadas={}, export={}",
+            a.tenantId(), tenant.getSlug(), a.nivel(), atual.totalLinhas(), atual.passada(), atual.exportKey());
+    }
+
+    private Optional<Andamento> buscar(UUID resetId) {
+        List<TabelaAndamento> tabelas = jdbcTemplate.query(
+            "SELECT tabela, apagadas, concluida FROM tenant_reset_tabela WHERE reset_id = ? ORDER BY ordem",
+            (rs, i) -> new TabelaAndamento(rs.getString("tabela"), rs.getLong("apagadas"),
+                rs.getBoolean("concluida")), resetId);
+        long total = tabelas.stream().mapToLong(TabelaAndamento::apagadas).sum();
+        return jdbcTemplate.query("SELECT * FROM tenant_reset WHERE id = ?", (rs, i) -> new Andamento(
+            rs.getObject("id", UUID.class), rs.getObject("tenant_id", UUID.class),
+            Nivel.valueOf(rs.getString("nivel")), Status.valueOf(rs.getString("status")),
+            rs.getInt("passada"), instante(rs.getTimestamp("solicitado_em")),
+            instante(rs.getTimestamp("iniciado_em")), instante(rs.getTimestamp("concluido_em")),
+            rs.getString("export_key"), (Long) rs.getObject("export_bytes"), rs.getString("erro"),
+            total, tabelas), resetId).stream().findFirst();
+    }
+
+    private static Instant instante(Timestamp ts) {
+        return ts == null ? null : ts.toInstant();
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private Tenant carregarTenant(UUID tenantId) {
         return tenantRepository.findById(tenantId)
             .orElseThrow(() -> new NotFoundException("Empresa não encontrada: " + tenantId));
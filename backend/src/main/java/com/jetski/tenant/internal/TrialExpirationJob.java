@@ -1,5 +1,6 @@
 package com.jetski.tenant.internal;
 
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import com.jetski.tenant.domain.Tenant;
 import com.jetski.tenant.domain.TenantStatus;
 import com.jetski.tenant.internal.repository.TenantRepository;
@@ -8,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -16,6 +18,9 @@ import java.util.List;
  * para cada empresa ATIVO, delega ao {@link TrialExpirationService} — que suspende
  * quem venceu e avisa quem está para vencer (D-3/D-1). Cada tenant roda em
  * transação própria; falha em um não interrompe os demais.
+ *
+ * <p>Em cluster a varredura é particionada por tenant ({@link ClusterJobRunner}):
+ * cada réplica processa os shards cujo lease obtiver.
  */
 @Slf4j
 @Component
@@ -24,11 +29,19 @@ public class TrialExpirationJob {
 
     private final TenantRepository tenantRepository;
     private final TrialExpirationService trialExpirationService;
+    private final ClusterJobRunner jobRunner;
 
     @Scheduled(cron = "0 15 5 * * *") // diário às 05:15 (TZ do backend: America/Sao_Paulo)
     public void verificarTrials() {
         LocalDate hoje = LocalDate.now();
         List<Tenant> ativos = tenantRepository.findByStatusOrderByCreatedAtAsc(TenantStatus.ATIVO);
+        jobRunner.executarEmShards("trial-expiracao", Duration.ofMinutes(10), Duration.ofMinutes(30),
+            (shard, total) -> verificarShard(ativos.stream()
+                .filter(t -> ClusterJobRunner.pertence(t.getId(), shard, total))
+                .toList(), hoje, shard));
+    }
+
+    private void verificarShard(List<Tenant> ativos, LocalDate hoje, int shard) {
         int suspensos = 0;
         for (Tenant tenant : ativos) {
             try {
@@ -40,7 +53,7 @@ public class TrialExpirationJob {
                     tenant.getSlug(), e.getMessage());
             }
         }
-        log.info("[TRIAL] Varredura concluída: {} empresas verificadas, {} suspensas por trial vencido",
-            ativos.size(), suspensos);
+        log.info("[TRIAL] Shard {} concluído: {} empresas verificadas, {} suspensas por trial vencido",
+            shard, ativos.size(), suspensos);
     }
 }
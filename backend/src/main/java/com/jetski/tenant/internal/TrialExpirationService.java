@@ -33,6 +33,7 @@ public class TrialExpirationService {
 
     private final PlatformTenantService platformTenantService;
     private final ApplicationEventPublisher eventPublisher;
+    private final com.jetski.tenant.PlanoLimiteService planoLimiteService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -95,5 +96,6 @@ public class TrialExpirationService {
             "UPDATE assinatura SET status = 'expirada' WHERE tenant_id = ?1 AND status = 'ativa'")
             .setParameter(1, tenantId)
             .executeUpdate();
+        planoLimiteService.invalidar(tenantId);
     }
 }
@@ -0,0 +1,72 @@
+-- =====================================================================
+-- Versão das tabelas de políticas (comissão RN04 / combustível RN03)
+--
+-- O problema que resolve: a resolução de política rodava até 4 consultas
+-- (CAMPANHA → MODELO → DURACAO → VENDEDOR) e até 3 (JETSKI → MODELO →
+-- GLOBAL) em TODO checkout, recálculo e simulação. Agora o backend compila
+-- as políticas do tenant em memória e só confere ESTE contador (1 leitura
+-- por PK) antes de usar a tabela compilada.
+--
+-- O contador é mantido por trigger — não pelo service — para que escrita
+-- fora da API (script de suporte, seed, teste via JDBC, outra réplica)
+-- também invalide a tabela compilada de todas as instâncias.
+--
+-- O valor vem de uma sequence GLOBAL, não de "+1" por tenant: o reset de
+-- frota apaga a linha junto com as políticas, e um contador que recomeçasse
+-- em 1 poderia reencontrar a versão de uma tabela compilada antes do reset
+-- (o resolver guarda a de versão maior). Com a sequence, toda versão nova é
+-- maior que qualquer uma já vista.
+--
+-- Sem FK para tenant (linha órfã é inofensiva). RLS como as demais tabelas
+-- do tenant: a trigger grava no contexto de quem mexeu na política — a API e
+-- o reset/exclusão rodam com app.tenant_id do tenant dono da linha.
+-- =====================================================================
+
+CREATE SEQUENCE IF NOT EXISTS public.politica_versao_seq;
+
+CREATE TABLE IF NOT EXISTS public.politica_versao (
+    tenant_id uuid        NOT NULL,
+    escopo    varchar(20) NOT NULL CHECK (escopo IN ('COMISSAO', 'COMBUSTIVEL')),
+    versao    bigint      NOT NULL DEFAULT nextval('public.politica_versao_seq'),
+    PRIMARY KEY (tenant_id, escopo)
+);
+
+ALTER TABLE public.politica_versao ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.politica_versao FORCE ROW LEVEL SECURITY;
+
+DROP POLICY IF EXISTS tenant_isolation_politica_versao ON public.politica_versao;
+CREATE POLICY tenant_isolation_politica_versao ON public.politica_versao
+    USING (tenant_id = public.get_current_tenant_id());
+
+COMMENT ON TABLE public.politica_versao IS
+    'Contador por tenant das políticas de comissão/combustível (invalida a tabela compilada em memória)';
+
+CREATE OR REPLACE FUNCTION public.incrementar_politica_versao()
+RETURNS trigger AS $$
+DECLARE
+    v_tenant uuid;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        v_tenant := OLD.tenant_id;
+    ELSE
+        v_tenant := NEW.tenant_id;
+    END IF;
+
+    INSERT INTO public.politica_versao (tenant_id, escopo)
+    VALUES (v_tenant, TG_ARGV[0])
+    ON CONFLICT (tenant_id, escopo)
+        DO UPDATE SET versao = nextval('public.politica_versao_seq');
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_politica_comissao_versao ON public.politica_comissao;
+CREATE TRIGGER trg_politica_comissao_versao
+    AFTER INSERT OR UPDATE OR DELETE ON public.politica_comissao
+    FOR EACH ROW EXECUTE FUNCTION public.incrementar_politica_versao('COMISSAO');
+
+DROP TRIGGER IF EXISTS trg_fuel_policy_versao ON public.fuel_policy;
+CREATE TRIGGER trg_fuel_policy_versao
+    AFTER INSERT OR UPDATE OR DELETE ON public.fuel_policy
+    FOR EACH ROW EXECUTE FUNCTION public.incrementar_politica_versao('COMBUSTIVEL');
@@ -0,0 +1,52 @@
+-- =====================================================================
+-- Leases de jobs agendados + histórico de execução
+--
+-- O problema que resolve: os @Scheduled (trial, exclusão, faturamento,
+-- expiração de reservas, manutenção preventiva, read model, gauges) rodam
+-- em TODA réplica. Com 2+ nós, o faturamento/expurgo dispara em paralelo e
+-- os gauges repetem as mesmas contagens N vezes.
+--
+-- job_lease: uma linha por job (ou por shard, "nome#3"). Quem consegue o
+-- INSERT ... ON CONFLICT DO UPDATE ... WHERE travado_ate <= now() executa;
+-- os demais pulam. O relógio é SEMPRE o do banco (now()) — nós com relógio
+-- adiantado/atrasado não roubam lease. Ao terminar o lease é mantido até
+-- travado_em + trava mínima, para que um nó que dispare o mesmo cron
+-- segundos depois não repita a execução.
+--
+-- job_execucao: histórico (duração, status, erro) de quem de fato executou.
+-- Purgado pelo próprio runner (jetski.jobs.historico-dias).
+--
+-- Tabelas de PLATAFORMA: sem RLS (os jobs rodam sem tenant context).
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS public.job_lease (
+    nome              varchar(100) PRIMARY KEY,
+    dono              varchar(200) NOT NULL,
+    travado_em        timestamptz  NOT NULL,
+    travado_ate       timestamptz  NOT NULL,
+    ultimo_sucesso_em timestamptz
+);
+
+COMMENT ON TABLE public.job_lease IS
+    'Lease por job/shard agendado (um nó executa por vez); ultimo_sucesso_em alimenta o gauge de atraso';
+
+CREATE TABLE IF NOT EXISTS public.job_execucao (
+    id           bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    job          varchar(100) NOT NULL,
+    shard        integer,
+    instancia    varchar(200) NOT NULL,
+    iniciado_em  timestamptz  NOT NULL,
+    concluido_em timestamptz  NOT NULL,
+    duracao_ms   bigint       NOT NULL,
+    status       varchar(10)  NOT NULL CHECK (status IN ('SUCESSO', 'FALHA')),
+    erro         text
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_execucao_job_iniciado
+    ON public.job_execucao (job, iniciado_em DESC);
+
+CREATE INDEX IF NOT EXISTS idx_job_execucao_iniciado
+    ON public.job_execucao (iniciado_em);
+
+COMMENT ON TABLE public.job_execucao IS
+    'Histórico das execuções de jobs agendados (quem executou, quanto durou, se falhou)';
@@ -0,0 +1,32 @@
+-- =====================================================================
+-- Marca d'água do read model da plataforma (V056) por empresa
+--
+-- O problema que resolve: o job noturno recalculava TODA empresa × TODO dia
+-- da janela (7 upserts com 6 subconsultas cada), em série. O tempo crescia
+-- com empresas × dias mesmo quando nada tinha mudado.
+--
+-- Agora cada empresa guarda quando foi calculada pela última vez; a próxima
+-- execução só recalcula os dias cujas fontes mudaram desde então
+-- (locacao/reserva/assinatura/fatura por updated_at, emissao_uso e
+-- credito_lancamento por created_at — append-only) e os dias da janela que
+-- ainda não têm linha. Exclusão física (reset de tenant) apaga também as
+-- linhas derivadas, então cai no caso "sem linha". Locação apagada ou
+-- movida de dia é pega pela contagem por dia contra a fonte (o dia antigo
+-- não tem updated_at novo).
+--
+-- duracao_ms / dias_recalculados: tempo da última execução POR EMPRESA —
+-- a empresa que pesa no job aparece aqui, não só no total do log.
+--
+-- Tabela de PLATAFORMA: sem RLS (mesma razão da V056; isenta na allowlist do
+-- infra/prod/02-verify-rls.sql).
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS public.plataforma_metrica_marca (
+    tenant_id         uuid        PRIMARY KEY REFERENCES public.tenant(id) ON DELETE CASCADE,
+    calculado_em      timestamptz NOT NULL,
+    dias_recalculados integer     NOT NULL DEFAULT 0,
+    duracao_ms        bigint      NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE public.plataforma_metrica_marca IS
+    'Última execução incremental do read model por empresa (marca d''água + tempo gasto)';
@@ -0,0 +1,117 @@
+-- =====================================================================
+-- Relatórios cross-tenant da plataforma em UMA passada
+--
+-- O problema que resolve: o painel de metering e a fila de faturas iteravam
+-- TODAS as empresas trocando app.tenant_id e disparando uma consulta por
+-- empresa (N+1). Com centenas de empresas a tela de emissões levava segundos
+-- e o job de inadimplência idem.
+--
+-- 1) plataforma_emissao_mensal: rollup (empresa × competência × tipo) de
+--    emissao_uso, mantido por TRIGGER na própria emissao_uso — não pelo
+--    listener: correção manual/expurgo por SQL direto (e os testes) também
+--    mantêm o rollup coerente. Competência no fuso de operação
+--    (America/Sao_Paulo), igual ao PlatformMeteringService.
+--
+-- 2) plataforma_faturas_por_status(status): SECURITY DEFINER de escopo
+--    estreito — só lê fatura, só filtra por status, sem SQL dinâmico. É a
+--    única porta cross-tenant sobre fatura (que tem RLS); o app segue sem
+--    BYPASSRLS. EXECUTE revogado de PUBLIC e concedido só ao jetski_app.
+--    Como o jetski_app também serve as rotas de tenant, a função exige
+--    app.platform_scope = 'true' — GUC transaction-local que só os serviços
+--    de plataforma fixam, logo antes da chamada. Um caminho com escopo de
+--    tenant que a chamasse por engano recebe erro, não as faturas de todos.
+--
+-- Tabela de PLATAFORMA: sem RLS (mesma razão da V056; isenta na allowlist do
+-- infra/prod/02-verify-rls.sql). Preservada no reset
+-- de empresa, como a fonte (emissao_uso).
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS public.plataforma_emissao_mensal (
+    tenant_id   uuid        NOT NULL REFERENCES public.tenant(id) ON DELETE CASCADE,
+    competencia date        NOT NULL,               -- 1º dia do mês (America/Sao_Paulo)
+    tipo        varchar(20) NOT NULL,
+    total       bigint      NOT NULL DEFAULT 0,
+    PRIMARY KEY (tenant_id, competencia, tipo)
+);
+
+CREATE INDEX IF NOT EXISTS idx_plataforma_emissao_mensal_competencia
+    ON public.plataforma_emissao_mensal (competencia);
+
+COMMENT ON TABLE public.plataforma_emissao_mensal IS
+    'Rollup de emissao_uso por empresa/mês/tipo (trigger) — relatório da plataforma sem N+1';
+
+CREATE OR REPLACE FUNCTION public.plataforma_emissao_mensal_sync()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE public.plataforma_emissao_mensal
+           SET total = total - 1
+         WHERE tenant_id = OLD.tenant_id
+           AND competencia = date_trunc('month', OLD.ocorrido_em AT TIME ZONE 'America/Sao_Paulo')::date
+           AND tipo = OLD.tipo;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO public.plataforma_emissao_mensal (tenant_id, competencia, tipo, total)
+        VALUES (NEW.tenant_id,
+                date_trunc('month', NEW.ocorrido_em AT TIME ZONE 'America/Sao_Paulo')::date,
+                NEW.tipo, 1)
+        ON CONFLICT (tenant_id, competencia, tipo)
+        DO UPDATE SET total = plataforma_emissao_mensal.total + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS trg_emissao_uso_rollup ON public.emissao_uso;
+CREATE TRIGGER trg_emissao_uso_rollup
+    AFTER INSERT OR UPDATE OF tenant_id, tipo, ocorrido_em OR DELETE ON public.emissao_uso
+    FOR EACH ROW EXECUTE FUNCTION public.plataforma_emissao_mensal_sync();
+
+-- Backfill (Flyway roda como superuser: enxerga todas as empresas)
+INSERT INTO public.plataforma_emissao_mensal (tenant_id, competencia, tipo, total)
+SELECT tenant_id,
+       date_trunc('month', ocorrido_em AT TIME ZONE 'America/Sao_Paulo')::date,
+       tipo,
+       count(*)
+  FROM public.emissao_uso
+ GROUP BY 1, 2, 3
+ON CONFLICT (tenant_id, competencia, tipo) DO UPDATE SET total = EXCLUDED.total;
+
+-- Guarda comum das funções SECURITY DEFINER da plataforma (V066, V067).
+CREATE OR REPLACE FUNCTION public.exigir_escopo_plataforma(p_funcao text)
+RETURNS void
+LANGUAGE plpgsql
+STABLE
+AS $$
+BEGIN
+    IF current_setting('app.platform_scope', true) IS DISTINCT FROM 'true' THEN
+        RAISE EXCEPTION '%: restrita ao escopo de plataforma', p_funcao
+            USING ERRCODE = '42501';
+    END IF;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION public.plataforma_faturas_por_status(p_status varchar)
+RETURNS SETOF public.fatura
+LANGUAGE sql
+STABLE
+SECURITY DEFINER
+SET search_path = public
+AS $$
+    SELECT public.exigir_escopo_plataforma('plataforma_faturas_por_status');
+    SELECT * FROM public.fatura WHERE status = p_status ORDER BY vencimento, created_at;
+$$;
+
+REVOKE EXECUTE ON FUNCTION public.plataforma_faturas_por_status(varchar) FROM PUBLIC;
+
+-- Condicional: o role só existe em dev/CI/prod (criado fora do Flyway);
+-- no Testcontainers a suíte roda como superuser e o role não está lá.
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM pg_roles WHERE rolname = 'jetski_app') THEN
+        GRANT EXECUTE ON FUNCTION public.plataforma_faturas_por_status(varchar) TO jetski_app;
+    END IF;
+END
+$$;
@@ -0,0 +1,47 @@
+-- =====================================================================
+-- Geração das faturas do mês em UMA instrução
+--
+-- O job gerarFaturasDoMes iterava as empresas faturáveis trocando
+-- app.tenant_id (fatura tem RLS) e fazia, por empresa, um EXISTS e um
+-- INSERT. plataforma_gerar_faturas recebe todas as faturas do mês num
+-- jsonb e insere com ON CONFLICT (tenant_id, competencia) DO NOTHING — a
+-- constraint fatura_tenant_competencia_uq (V045) continua sendo a
+-- idempotência do job. Devolve só as linhas criadas (para o e-mail).
+--
+-- SECURITY DEFINER de escopo estreito (mesmo padrão da V066): só INSERT
+-- em fatura, status sempre o default (ABERTA), sem SQL dinâmico. EXECUTE
+-- revogado de PUBLIC e concedido só ao jetski_app, e exige
+-- app.platform_scope = 'true' (fixado só pelo PlatformFaturaService).
+-- =====================================================================
+
+CREATE OR REPLACE FUNCTION public.plataforma_gerar_faturas(
+    p_competencia date,
+    p_vencimento  date,
+    p_itens       jsonb   -- [{tenant_id, plano_nome, valor, pix_copia_e_cola}]
+)
+RETURNS SETOF public.fatura
+LANGUAGE sql
+VOLATILE
+SECURITY DEFINER
+SET search_path = public
+AS $$
+    SELECT public.exigir_escopo_plataforma('plataforma_gerar_faturas');
+    INSERT INTO public.fatura (tenant_id, competencia, plano_nome, valor, vencimento, pix_copia_e_cola)
+    SELECT i.tenant_id, p_competencia, i.plano_nome, i.valor, p_vencimento, i.pix_copia_e_cola
+      FROM jsonb_to_recordset(p_itens)
+           AS i(tenant_id uuid, plano_nome varchar, valor numeric, pix_copia_e_cola text)
+    ON CONFLICT (tenant_id, competencia) DO NOTHING
+    RETURNING *;
+$$;
+
+REVOKE EXECUTE ON FUNCTION public.plataforma_gerar_faturas(date, date, jsonb) FROM PUBLIC;
+
+-- Condicional: o role só existe em dev/CI/prod (criado fora do Flyway);
+-- no Testcontainers a suíte roda como superuser e o role não está lá.
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM pg_roles WHERE rolname = 'jetski_app') THEN
+        GRANT EXECUTE ON FUNCTION public.plataforma_gerar_faturas(date, date, jsonb) TO jetski_app;
+    END IF;
+END
+$$;
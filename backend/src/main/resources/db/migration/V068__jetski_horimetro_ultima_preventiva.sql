@@ -0,0 +1,66 @@
+-- =====================================================================
+-- Manutenção preventiva por evento (RN07)
+--
+-- O problema que resolve: o job diário varria TODOS os jetskis com um
+-- DISTINCT ON sobre os_manutencao para achar a última preventiva de cada
+-- um — custo crescente com a frota, e um jetski podia rodar até 24h além
+-- do intervalo antes de a OS ser aberta. Agora:
+--
+--   * jetski.horimetro_ultima_preventiva guarda o horímetro da última
+--     preventiva concluída — o delta é horimetro_atual - este valor, lido
+--     numa linha só no CheckOutEvent;
+--   * modelo.intervalo_preventiva_horas permite intervalo por modelo
+--     (NULL = padrão da aplicação, jetski.manutencao.preventiva.intervalo-horas).
+--
+-- O valor é mantido por trigger — não pelo service — para que conclusão
+-- fora da API (script de suporte, teste via JDBC) também o atualize.
+-- NULL = ainda não conhecido: o backend cai na consulta à última OS
+-- preventiva concluída daquele jetski (índice tenant_id, jetski_id).
+-- =====================================================================
+
+ALTER TABLE public.jetski
+    ADD COLUMN IF NOT EXISTS horimetro_ultima_preventiva numeric(10,2);
+
+COMMENT ON COLUMN public.jetski.horimetro_ultima_preventiva IS
+    'Horímetro na conclusão da última OS preventiva (mantido por trigger em os_manutencao; NULL = desconhecido)';
+
+ALTER TABLE public.modelo
+    ADD COLUMN IF NOT EXISTS intervalo_preventiva_horas numeric(6,1)
+        CHECK (intervalo_preventiva_horas IS NULL OR intervalo_preventiva_horas > 0);
+
+COMMENT ON COLUMN public.modelo.intervalo_preventiva_horas IS
+    'Intervalo de manutenção preventiva em horas de uso (NULL = padrão da aplicação)';
+
+CREATE OR REPLACE FUNCTION public.registrar_horimetro_preventiva()
+RETURNS trigger AS $$
+BEGIN
+    UPDATE public.jetski
+       SET horimetro_ultima_preventiva = NEW.horimetro_conclusao
+     WHERE id = NEW.jetski_id
+       AND tenant_id = NEW.tenant_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_os_manutencao_preventiva ON public.os_manutencao;
+CREATE TRIGGER trg_os_manutencao_preventiva
+    AFTER INSERT OR UPDATE OF status, horimetro_conclusao ON public.os_manutencao
+    FOR EACH ROW
+    WHEN (NEW.tipo = 'preventiva' AND NEW.status = 'concluida' AND NEW.horimetro_conclusao IS NOT NULL)
+    EXECUTE FUNCTION public.registrar_horimetro_preventiva();
+
+-- Backfill (idempotente, só preenche NULL). Sob RLS forçada sem tenant na
+-- sessão pode não tocar linha nenhuma — sem problema, NULL cai no fallback.
+UPDATE public.jetski j
+   SET horimetro_ultima_preventiva = lm.ultimo_horimetro
+  FROM (
+      SELECT DISTINCT ON (om.jetski_id)
+             om.jetski_id, om.horimetro_conclusao AS ultimo_horimetro
+        FROM public.os_manutencao om
+       WHERE om.status = 'concluida'
+         AND om.tipo = 'preventiva'
+         AND om.horimetro_conclusao IS NOT NULL
+       ORDER BY om.jetski_id, om.dt_conclusao DESC
+  ) lm
+ WHERE lm.jetski_id = j.id
+   AND j.horimetro_ultima_preventiva IS NULL;
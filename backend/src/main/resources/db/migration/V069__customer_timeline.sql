@@ -0,0 +1,88 @@
+-- =====================================================================
+-- Linha do tempo do cliente final (portal): projeção cross-tenant.
+--
+-- O problema que resolve: "minhas locações/reservas" resolve os vínculos
+-- (set_config + join em cliente) e depois alterna app.tenant_id loja a loja,
+-- consultando locação e reserva de cada uma — O(lojas) idas ao banco para o
+-- cliente que aluga em várias operadoras. Aqui cada locação/reserva de ficha
+-- VINCULADA a uma pessoa (cliente.usuario_id) vira uma linha, chaveada pela
+-- identidade global: a home do portal é UMA consulta indexada, paginada por
+-- keyset (ocorrido_em, origem_id).
+--
+-- Mantida pelo CustomerTimelineListener a partir dos eventos de locação/
+-- reserva (a linha é sempre relida da FONTE — o evento só diz quem mudou).
+-- Dado DERIVADO: apagado no reset de empresa junto com a fonte.
+--
+-- RLS (sem bypass): escrita sob o tenant da linha (tenant_isolation); leitura
+-- do cliente pela policy de self-read com o mesmo GUC da V060
+-- (app.customer_usuario, transaction-local, setado só pelo escopo customer).
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS public.customer_timeline (
+    tipo          varchar(10)  NOT NULL CHECK (tipo IN ('LOCACAO', 'RESERVA')),
+    origem_id     uuid         NOT NULL,
+    tenant_id     uuid         NOT NULL REFERENCES public.tenant(id) ON DELETE CASCADE,
+    cliente_id    uuid         NOT NULL,
+    usuario_id    uuid         NOT NULL,
+    -- check-in (locação) ou início previsto (reserva): ordem da linha do tempo
+    ocorrido_em   timestamptz  NOT NULL,
+    -- check-out (locação) ou fim previsto (reserva)
+    termino_em    timestamptz,
+    status        varchar(30)  NOT NULL,
+    modelo_nome   varchar(100),
+    jetski_serie  varchar(100),
+    valor_total   numeric(10,2),
+    atualizado_em timestamptz  NOT NULL DEFAULT now(),
+    PRIMARY KEY (tipo, origem_id)
+);
+
+-- Leitura do portal: WHERE usuario_id = ? AND (ocorrido_em, origem_id) < (?, ?)
+-- ORDER BY ocorrido_em DESC, origem_id DESC LIMIT n
+CREATE INDEX IF NOT EXISTS idx_customer_timeline_usuario
+    ON public.customer_timeline (usuario_id, ocorrido_em DESC, origem_id DESC);
+-- Vínculo tardio da ficha (claim): re-projeção por cliente
+CREATE INDEX IF NOT EXISTS idx_customer_timeline_cliente
+    ON public.customer_timeline (tenant_id, cliente_id);
+
+COMMENT ON TABLE public.customer_timeline IS
+    'Projeção cross-tenant de locações/reservas por pessoa (usuario_id) para o portal. Mantida por eventos de domínio (CustomerTimelineListener).';
+
+ALTER TABLE public.customer_timeline ENABLE ROW LEVEL SECURITY;
+ALTER TABLE public.customer_timeline FORCE ROW LEVEL SECURITY;
+
+DROP POLICY IF EXISTS tenant_isolation_customer_timeline ON public.customer_timeline;
+CREATE POLICY tenant_isolation_customer_timeline ON public.customer_timeline
+    USING (tenant_id = public.get_current_tenant_id());
+
+-- Permissiva (soma com OR): o cliente lê SÓ as próprias linhas, de todas as lojas.
+DROP POLICY IF EXISTS customer_timeline_self_read ON public.customer_timeline;
+CREATE POLICY customer_timeline_self_read ON public.customer_timeline
+    FOR SELECT
+    USING (usuario_id = NULLIF(current_setting('app.customer_usuario', true), '')::uuid);
+
+-- Backfill (Flyway roda como superuser: enxerga todas as empresas)
+INSERT INTO public.customer_timeline
+    (tipo, origem_id, tenant_id, cliente_id, usuario_id, ocorrido_em, termino_em,
+     status, modelo_nome, jetski_serie, valor_total)
+SELECT 'LOCACAO', l.id, l.tenant_id, l.cliente_id, c.usuario_id, l.data_check_in, l.data_check_out,
+       l.status, m.nome, j.serie, l.valor_total
+  FROM public.locacao l
+  JOIN public.cliente c ON c.id = l.cliente_id AND c.tenant_id = l.tenant_id
+  LEFT JOIN public.jetski j ON j.id = l.jetski_id AND j.tenant_id = l.tenant_id
+  LEFT JOIN public.modelo m ON m.id = j.modelo_id AND m.tenant_id = l.tenant_id
+ WHERE c.usuario_id IS NOT NULL
+ON CONFLICT (tipo, origem_id) DO NOTHING;
+
+INSERT INTO public.customer_timeline
+    (tipo, origem_id, tenant_id, cliente_id, usuario_id, ocorrido_em, termino_em,
+     status, modelo_nome, jetski_serie, valor_total)
+SELECT 'RESERVA', r.id, r.tenant_id, r.cliente_id, c.usuario_id, r.data_inicio, r.data_fim_prevista,
+       COALESCE(r.status, 'PENDENTE'), m.nome, j.serie, r.valor_total
+  FROM public.reserva r
+  JOIN public.cliente c ON c.id = r.cliente_id AND c.tenant_id = r.tenant_id
+  LEFT JOIN public.jetski j ON j.id = r.jetski_id AND j.tenant_id = r.tenant_id
+  LEFT JOIN public.modelo m ON m.id = r.modelo_id AND m.tenant_id = r.tenant_id
+ WHERE c.usuario_id IS NOT NULL
+   -- rascunho (aceite ainda não assinado) não é reserva para o cliente
+   AND COALESCE(r.status, 'PENDENTE') <> 'RASCUNHO'
+ON CONFLICT (tipo, origem_id) DO NOTHING;
@@ -0,0 +1,21 @@
+-- =====================================================================
+-- Variantes reduzidas das fotos de check-in/check-out
+--
+-- O problema que resolve: a listagem de fotos presignava só o ORIGINAL
+-- (vários MB, resolução da câmera), então o detalhe da locação e a
+-- comparação de avarias baixavam a foto inteira para mostrar miniatura.
+-- Agora, após a confirmação do upload, o FotoVarianteService grava no
+-- storage uma miniatura e uma versão média (JPEG, presets FOTO_MINIATURA /
+-- FOTO_MEDIA da config de compressão de imagem), em chaves derivadas da do
+-- original: {s3_key sem extensão}-miniatura.jpg / -media.jpg.
+--
+-- variantes_geradas_em NULL = ainda não geradas (ou formato que o ImageIO
+-- não decodifica, como WebP): a API devolve o original no lugar delas.
+-- Fotos antigas ficam NULL — sem backfill; servem o original como antes.
+-- =====================================================================
+
+ALTER TABLE public.foto
+    ADD COLUMN IF NOT EXISTS variantes_geradas_em timestamptz;
+
+COMMENT ON COLUMN public.foto.variantes_geradas_em IS
+    'Quando as variantes miniatura/média foram gravadas no storage (NULL = servir o original)';
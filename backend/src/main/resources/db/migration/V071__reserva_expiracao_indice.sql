@@ -0,0 +1,22 @@
+-- =====================================================================
+-- Expiração de reservas em lotes (ReservaService.processarExpiracao)
+--
+-- O job reivindica as reservas vencidas de cada tenant em lotes:
+--
+--   UPDATE reserva SET status = 'EXPIRADA'
+--    WHERE id IN (SELECT id ... ORDER BY expira_em
+--                 LIMIT n FOR UPDATE SKIP LOCKED)
+--   RETURNING ...
+--
+-- O índice parcial cobre exatamente o predicado da subconsulta (sem sinal,
+-- ativa, PENDENTE/CONFIRMADA): só as candidatas entram nele, então cada
+-- lote é uma varredura curta em ordem de expira_em, sem tocar o histórico
+-- de reservas já finalizadas/expiradas do tenant.
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_reserva_expiracao
+    ON public.reserva (tenant_id, expira_em)
+    WHERE expira_em IS NOT NULL
+      AND sinal_pago = false
+      AND ativo = true
+      AND status IN ('PENDENTE', 'CONFIRMADA');
@@ -0,0 +1,20 @@
+-- ============================================================================
+-- V072: NOTIFY nas alterações de plataforma_config
+--
+-- Os nós da API guardam plataforma_config em memória (PlataformaConfigRegistry)
+-- e escutam o canal 'plataforma_config': cada INSERT/UPDATE/DELETE avisa a
+-- chave alterada, no commit, e cada nó relê só aquela chave. Vale também para
+-- alterações feitas direto no banco (psql, migrations).
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION public.plataforma_config_notify() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_notify('plataforma_config', COALESCE(NEW.chave, OLD.chave));
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_plataforma_config_notify
+    AFTER INSERT OR UPDATE OR DELETE ON public.plataforma_config
+    FOR EACH ROW EXECUTE FUNCTION public.plataforma_config_notify();
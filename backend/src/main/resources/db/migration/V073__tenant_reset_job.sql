@@ -0,0 +1,61 @@
+-- =====================================================================
+-- Reset de empresa em segundo plano, em lotes, retomável
+--
+-- Antes: um DELETE por tabela, todos na MESMA transação da requisição HTTP.
+-- Numa empresa grande isso virava uma transação de minutos — WAL inchado,
+-- locks de linha segurados até o fim e timeout do console no meio.
+--
+-- Agora o POST só registra o pedido; o TenantResetJob apaga cada tabela em
+-- lotes (ctid), uma transação por lote, gravando o progresso na MESMA
+-- transação do lote — quem retomar (outro nó, após queda) continua exatamente
+-- de onde parou.
+--
+-- tenant_reset: um pedido. executor/heartbeat_em = posse do processamento
+-- (heartbeat velho → outro executor assume). Único ativo por empresa.
+-- tenant_reset_tabela: uma linha por tabela do nível, na ordem de FK.
+--
+-- Tabelas de PLATAFORMA: sem RLS (o job roda sem tenant context; o tenant_id
+-- é o ALVO do reset — mesmo caso de plataforma_sessao_suporte, V055).
+-- =====================================================================
+
+CREATE TABLE IF NOT EXISTS public.tenant_reset (
+    id             uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id      uuid NOT NULL REFERENCES public.tenant(id) ON DELETE CASCADE,
+    nivel          varchar(20) NOT NULL CHECK (nivel IN ('OPERACIONAL', 'FROTA', 'TOTAL')),
+    status         varchar(20) NOT NULL DEFAULT 'PENDENTE'
+                   CHECK (status IN ('PENDENTE', 'EXECUTANDO', 'CONCLUIDO', 'FALHOU')),
+    solicitado_por uuid,
+    solicitado_em  timestamptz NOT NULL DEFAULT now(),
+    iniciado_em    timestamptz,
+    concluido_em   timestamptz,
+    export_key     varchar(500),
+    export_bytes   bigint,
+    -- passada > 1: linhas novas (ou FK) apareceram atrás do expurgo; refaz a lista
+    passada        integer NOT NULL DEFAULT 1,
+    tentativas     integer NOT NULL DEFAULT 0,
+    erro           text,
+    executor       uuid,
+    heartbeat_em   timestamptz
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tenant_reset_ativo
+    ON public.tenant_reset (tenant_id) WHERE status IN ('PENDENTE', 'EXECUTANDO');
+
+CREATE INDEX IF NOT EXISTS idx_tenant_reset_tenant
+    ON public.tenant_reset (tenant_id, solicitado_em DESC);
+
+COMMENT ON TABLE public.tenant_reset IS
+    'Pedidos de reset de empresa (super admin), executados em lotes pelo TenantResetJob';
+
+CREATE TABLE IF NOT EXISTS public.tenant_reset_tabela (
+    reset_id      uuid NOT NULL REFERENCES public.tenant_reset(id) ON DELETE CASCADE,
+    ordem         integer NOT NULL,
+    tabela        varchar(100) NOT NULL,
+    apagadas      bigint NOT NULL DEFAULT 0,
+    concluida     boolean NOT NULL DEFAULT false,
+    atualizado_em timestamptz,
+    PRIMARY KEY (reset_id, ordem)
+);
+
+COMMENT ON TABLE public.tenant_reset_tabela IS
+    'Progresso do reset por tabela (linhas apagadas; gravado na transação de cada lote)';
@@ -0,0 +1,28 @@
+-- =====================================================================
+-- Exclusão de empresa: remoção dos arquivos em etapa própria, retomável
+--
+-- Antes o expurgo (V044) listava o prefixo {tenantId}/ do storage e apagava
+-- um objeto por vez DENTRO da transação do expurgo — dezenas de milhares de
+-- DELETEs HTTP sequenciais para operadores com anos de fotos e PDFs, e uma
+-- falha no meio desfazia os dados mas não os arquivos já removidos.
+--
+-- Agora o expurgo marca arquivos_status = 'PENDENTE' no tombstone e o
+-- TenantExclusaoJob remove em lote (DeleteObjects de até 1000 chaves),
+-- gravando o progresso a cada passo. Falha → nova tentativa com espera
+-- crescente; após 5, FALHOU (intervenção manual).
+-- =====================================================================
+
+ALTER TABLE public.tenant ADD COLUMN IF NOT EXISTS arquivos_status varchar(12)
+    CHECK (arquivos_status IN ('PENDENTE', 'CONCLUIDO', 'FALHOU'));
+ALTER TABLE public.tenant ADD COLUMN IF NOT EXISTS arquivos_removidos bigint NOT NULL DEFAULT 0;
+ALTER TABLE public.tenant ADD COLUMN IF NOT EXISTS arquivos_tentativas int NOT NULL DEFAULT 0;
+ALTER TABLE public.tenant ADD COLUMN IF NOT EXISTS arquivos_erro text;
+ALTER TABLE public.tenant ADD COLUMN IF NOT EXISTS arquivos_atualizado_em timestamptz;
+
+CREATE INDEX IF NOT EXISTS idx_tenant_arquivos_pendentes
+    ON public.tenant (excluido_em) WHERE arquivos_status = 'PENDENTE';
+
+COMMENT ON COLUMN public.tenant.arquivos_status IS
+    'Remoção dos arquivos do tenant expurgado: PENDENTE (job), CONCLUIDO, FALHOU; null = não expurgado';
+COMMENT ON COLUMN public.tenant.arquivos_removidos IS
+    'Arquivos já removidos do storage pela etapa de remoção (progresso)';
@@ -4,11 +4,12 @@ import com.jetski.combustivel.domain.*;
 import com.jetski.combustivel.internal.repository.AbastecimentoRepository;
 import com.jetski.combustivel.internal.repository.FuelPolicyRepository;
 import com.jetski.shared.exception.NotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -25,6 +26,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -50,7 +52,12 @@ class FuelPolicyServiceTest {
     @Mock
     private AbastecimentoRepository abastecimentoRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query versaoQuery;
+
     private FuelPolicyService service;
 
     private UUID tenantId;
@@ -62,6 +69,13 @@ class FuelPolicyServiceTest {
         tenantId = UUID.randomUUID();
         jetskiId = UUID.randomUUID();
         modeloId = UUID.randomUUID();
+
+        // politica_versao sem linha = versão 0; resolver real sobre o repositório mockado
+        lenient().when(entityManager.createNativeQuery(anyString())).thenReturn(versaoQuery);
+        lenient().when(versaoQuery.setParameter(anyString(), any())).thenReturn(versaoQuery);
+        lenient().when(versaoQuery.getResultList()).thenReturn(List.of());
+        service = new FuelPolicyService(fuelPolicyRepository, fuelPriceDayService, abastecimentoRepository,
+            new FuelPolicyResolver(fuelPolicyRepository, entityManager));
     }
 
     /**
@@ -78,163 +92,77 @@ class FuelPolicyServiceTest {
     }
 
     // ===================================================================
-    // RN03.1: JETSKI specific policy (highest priority)
+    // RN03: hierarquia JETSKI → MODELO → GLOBAL na tabela compilada
     // ===================================================================
 
-    @Test
-    @DisplayName("RN03.1: Should return JETSKI-specific policy when exists")
-    void testBuscarPoliticaAplicavel_JetskiPolicy() {
-        // Given: JETSKI-specific policy exists
-        FuelPolicy jetskiPolicy = FuelPolicy.builder()
-            .id(1L)
+    private FuelPolicy policy(long id, FuelPolicyType aplicavelA, UUID referenciaId, FuelChargeMode tipo) {
+        return FuelPolicy.builder()
+            .id(id)
             .tenantId(tenantId)
-            .nome("Taxa Fixa Jetski 123")
-            .tipo(FuelChargeMode.TAXA_FIXA)
-            .aplicavelA(FuelPolicyType.JETSKI)
-            .referenciaId(jetskiId)
-            .valorTaxaPorHora(new BigDecimal("10.00"))
+            .nome("Política " + aplicavelA + " " + id)
+            .tipo(tipo)
+            .aplicavelA(aplicavelA)
+            .referenciaId(referenciaId)
+            .valorTaxaPorHora(tipo == FuelChargeMode.TAXA_FIXA ? new BigDecimal("10.00") : null)
             .ativo(true)
             .build();
+    }
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.JETSKI, jetskiId
-        )).thenReturn(Optional.of(jetskiPolicy));
+    /** Políticas ativas do tenant, na ordem do finder (prioridade DESC, created_at DESC). */
+    private void politicasAtivas(FuelPolicy... policies) {
+        when(fuelPolicyRepository.findByTenantIdAndAtivoTrueOrderByPrioridadeDescCreatedAtDesc(tenantId))
+            .thenReturn(List.of(policies));
+    }
 
-        // When: Search for applicable policy
-        FuelPolicy result = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+    @Test
+    @DisplayName("RN03.1: Should return JETSKI-specific policy when exists")
+    void testBuscarPoliticaAplicavel_JetskiPolicy() {
+        politicasAtivas(
+            policy(3L, FuelPolicyType.GLOBAL, null, FuelChargeMode.INCLUSO),
+            policy(2L, FuelPolicyType.MODELO, modeloId, FuelChargeMode.MEDIDO),
+            policy(1L, FuelPolicyType.JETSKI, jetskiId, FuelChargeMode.TAXA_FIXA));
 
-        // Then: Should return JETSKI policy (highest priority)
-        assertThat(result).isNotNull();
-        assertThat(result.getAplicavelA()).isEqualTo(FuelPolicyType.JETSKI);
-        assertThat(result.getReferenciaId()).isEqualTo(jetskiId);
-        assertThat(result.getTipo()).isEqualTo(FuelChargeMode.TAXA_FIXA);
+        RegraCombustivel result = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
 
-        // Should NOT search for MODELO or GLOBAL
-        verify(fuelPolicyRepository, never()).findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            any(), eq(FuelPolicyType.MODELO), any()
-        );
-        verify(fuelPolicyRepository, never()).findByTenantIdAndAplicavelAAndAtivoTrue(
-            any(), eq(FuelPolicyType.GLOBAL)
-        );
+        assertThat(result.aplicavelA()).isEqualTo(FuelPolicyType.JETSKI);
+        assertThat(result.referenciaId()).isEqualTo(jetskiId);
+        assertThat(result.tipo()).isEqualTo(FuelChargeMode.TAXA_FIXA);
     }
 
-    // ===================================================================
-    // RN03.2: MODELO policy (second priority)
-    // ===================================================================
-
     @Test
     @DisplayName("RN03.2: Should return MODELO policy when JETSKI not found")
     void testBuscarPoliticaAplicavel_ModeloPolicy() {
-        // Given: No JETSKI policy, but MODELO policy exists
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.JETSKI, jetskiId
-        )).thenReturn(Optional.empty());
-
-        FuelPolicy modeloPolicy = FuelPolicy.builder()
-            .id(2L)
-            .tenantId(tenantId)
-            .nome("Medido para Modelo SeaDoo")
-            .tipo(FuelChargeMode.MEDIDO)
-            .aplicavelA(FuelPolicyType.MODELO)
-            .referenciaId(modeloId)
-            .ativo(true)
-            .build();
-
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.MODELO, modeloId
-        )).thenReturn(Optional.of(modeloPolicy));
+        politicasAtivas(
+            policy(3L, FuelPolicyType.GLOBAL, null, FuelChargeMode.INCLUSO),
+            policy(2L, FuelPolicyType.MODELO, modeloId, FuelChargeMode.MEDIDO),
+            policy(1L, FuelPolicyType.JETSKI, UUID.randomUUID(), FuelChargeMode.TAXA_FIXA));
 
-        // When: Search for applicable policy
-        FuelPolicy result = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
-
-        // Then: Should return MODELO policy
-        assertThat(result).isNotNull();
-        assertThat(result.getAplicavelA()).isEqualTo(FuelPolicyType.MODELO);
-        assertThat(result.getReferenciaId()).isEqualTo(modeloId);
-        assertThat(result.getTipo()).isEqualTo(FuelChargeMode.MEDIDO);
-
-        // Should search for JETSKI first, then MODELO
-        verify(fuelPolicyRepository).findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.JETSKI, jetskiId
-        );
-        verify(fuelPolicyRepository).findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.MODELO, modeloId
-        );
+        RegraCombustivel result = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
 
-        // Should NOT search for GLOBAL
-        verify(fuelPolicyRepository, never()).findByTenantIdAndAplicavelAAndAtivoTrue(
-            any(), eq(FuelPolicyType.GLOBAL)
-        );
+        assertThat(result.aplicavelA()).isEqualTo(FuelPolicyType.MODELO);
+        assertThat(result.referenciaId()).isEqualTo(modeloId);
+        assertThat(result.tipo()).isEqualTo(FuelChargeMode.MEDIDO);
     }
 
-    // ===================================================================
-    // RN03.3: GLOBAL policy (fallback)
-    // ===================================================================
-
     @Test
     @DisplayName("RN03.3: Should return GLOBAL policy when JETSKI and MODELO not found")
     void testBuscarPoliticaAplicavel_GlobalPolicy() {
-        // Given: No JETSKI or MODELO policy, but GLOBAL exists
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.JETSKI, jetskiId
-        )).thenReturn(Optional.empty());
-
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.MODELO, modeloId
-        )).thenReturn(Optional.empty());
-
-        FuelPolicy globalPolicy = FuelPolicy.builder()
-            .id(3L)
-            .tenantId(tenantId)
-            .nome("Incluso Global")
-            .tipo(FuelChargeMode.INCLUSO)
-            .aplicavelA(FuelPolicyType.GLOBAL)
-            .referenciaId(null)
-            .ativo(true)
-            .build();
-
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(globalPolicy));
+        politicasAtivas(
+            policy(3L, FuelPolicyType.GLOBAL, null, FuelChargeMode.INCLUSO),
+            policy(2L, FuelPolicyType.MODELO, UUID.randomUUID(), FuelChargeMode.MEDIDO));
 
-        // When: Search for applicable policy
-        FuelPolicy result = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        RegraCombustivel result = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
 
-        // Then: Should return GLOBAL policy (fallback)
-        assertThat(result).isNotNull();
-        assertThat(result.getAplicavelA()).isEqualTo(FuelPolicyType.GLOBAL);
-        assertThat(result.getReferenciaId()).isNull();
-        assertThat(result.getTipo()).isEqualTo(FuelChargeMode.INCLUSO);
-
-        // Should search all three levels
-        verify(fuelPolicyRepository).findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.JETSKI, jetskiId
-        );
-        verify(fuelPolicyRepository).findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            tenantId, FuelPolicyType.MODELO, modeloId
-        );
-        verify(fuelPolicyRepository).findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        );
+        assertThat(result.aplicavelA()).isEqualTo(FuelPolicyType.GLOBAL);
+        assertThat(result.referenciaId()).isNull();
+        assertThat(result.tipo()).isEqualTo(FuelChargeMode.INCLUSO);
     }
 
-    // ===================================================================
-    // RN03.4: No policy found (error case)
-    // ===================================================================
-
     @Test
     @DisplayName("RN03.4: Should throw NotFoundException when no policy found")
     void testBuscarPoliticaAplicavel_NoPolicy() {
-        // Given: No policies exist at any level
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndReferenciaIdAndAtivoTrue(
-            any(), any(), any()
-        )).thenReturn(Optional.empty());
-
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            any(), any()
-        )).thenReturn(Optional.empty());
+        politicasAtivas();
 
-        // When/Then: Should throw NotFoundException
         assertThatThrownBy(() ->
             service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId)
         )
@@ -242,6 +170,55 @@ class FuelPolicyServiceTest {
             .hasMessageContaining("Nenhuma política de combustível ativa encontrada");
     }
 
+    @Test
+    @DisplayName("RN03: duas ativas para a mesma chave → vence a de maior prioridade (antes: NonUniqueResult)")
+    void testBuscarPoliticaAplicavel_DuplicadaUsaPrioridade() {
+        FuelPolicy prioritaria = policy(7L, FuelPolicyType.GLOBAL, null, FuelChargeMode.TAXA_FIXA);
+        politicasAtivas(prioritaria, policy(8L, FuelPolicyType.GLOBAL, null, FuelChargeMode.INCLUSO));
+
+        assertThat(service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId).id()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Tabela compilada devolve cópia: alterar a entidade carregada não muda a política em cache")
+    void testBuscarPoliticaAplicavel_CopiaImutavel() {
+        FuelPolicy carregada = policy(3L, FuelPolicyType.GLOBAL, null, FuelChargeMode.TAXA_FIXA);
+        politicasAtivas(carregada);
+
+        RegraCombustivel antes = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        carregada.setValorTaxaPorHora(new BigDecimal("99.00"));
+        carregada.setTipo(FuelChargeMode.INCLUSO);
+
+        RegraCombustivel depois = service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        assertThat(depois).isEqualTo(antes);
+        assertThat(depois.tipo()).isEqualTo(FuelChargeMode.TAXA_FIXA);
+        assertThat(depois.valorTaxaPorHora()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Tabela compilada: uma carga por versão; contador novo ou mutação pela API recompilam")
+    void testTabelaCompilada_RecarregaSoQuandoVersaoMuda() {
+        politicasAtivas(policy(3L, FuelPolicyType.GLOBAL, null, FuelChargeMode.INCLUSO));
+
+        for (int i = 0; i < 100; i++) {
+            service.buscarPoliticaAplicavel(tenantId, UUID.randomUUID(), modeloId);
+        }
+        verify(fuelPolicyRepository, times(1)).findByTenantIdAndAtivoTrueOrderByPrioridadeDescCreatedAtDesc(tenantId);
+
+        // escrita fora da API (trigger V063 incrementou o contador)
+        when(versaoQuery.getResultList()).thenReturn(List.of(1L));
+        service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        verify(fuelPolicyRepository, times(2)).findByTenantIdAndAtivoTrueOrderByPrioridadeDescCreatedAtDesc(tenantId);
+
+        // mutação pela API descarta na hora
+        FuelPolicy existente = policy(3L, FuelPolicyType.GLOBAL, null, FuelChargeMode.INCLUSO);
+        when(fuelPolicyRepository.findById(3L)).thenReturn(Optional.of(existente));
+        service.desativar(tenantId, 3L);
+        service.buscarPoliticaAplicavel(tenantId, jetskiId, modeloId);
+        verify(fuelPolicyRepository, times(3)).findByTenantIdAndAtivoTrueOrderByPrioridadeDescCreatedAtDesc(tenantId);
+    }
+
     // ===================================================================
     // Fuel Cost Calculation: INCLUSO mode
     // ===================================================================
@@ -256,9 +233,7 @@ class FuelPolicyServiceTest {
             .ativo(true)
             .build();
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(policy));
+        politicasAtivas(policy);
 
         LocacaoFuelData locacaoData = createLocacaoFuelData(60);
 
@@ -284,9 +259,7 @@ class FuelPolicyServiceTest {
             .ativo(true)
             .build();
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(policy));
+        politicasAtivas(policy);
 
         LocacaoFuelData locacaoData = createLocacaoFuelData(90); // 1.5 hours billable after tolerance
 
@@ -311,9 +284,7 @@ class FuelPolicyServiceTest {
             .ativo(true)
             .build();
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(policy));
+        politicasAtivas(policy);
 
         // Given: Locacao with check-out date
         UUID locacaoId = UUID.randomUUID();
@@ -367,9 +338,7 @@ class FuelPolicyServiceTest {
             .ativo(true)
             .build();
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(policy));
+        politicasAtivas(policy);
 
         // Given: Locacao with no abastecimentos
         UUID locacaoId = UUID.randomUUID();
@@ -402,9 +371,7 @@ class FuelPolicyServiceTest {
             .ativo(true)
             .build();
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(policy));
+        politicasAtivas(policy);
 
         // Given: Locacao with PRE = POS (same fuel level)
         UUID locacaoId = UUID.randomUUID();
@@ -458,9 +425,7 @@ class FuelPolicyServiceTest {
             .ativo(true)
             .build();
 
-        when(fuelPolicyRepository.findByTenantIdAndAplicavelAAndAtivoTrue(
-            tenantId, FuelPolicyType.GLOBAL
-        )).thenReturn(Optional.of(policy));
+        politicasAtivas(policy);
 
         LocacaoFuelData locacaoData = createLocacaoFuelData(60);
 
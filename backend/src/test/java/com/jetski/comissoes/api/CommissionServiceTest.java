@@ -2,29 +2,35 @@ package com.jetski.comissoes.api;
 
 import com.jetski.comissoes.domain.*;
 import org.springframework.context.ApplicationEventPublisher;
+import com.jetski.comissoes.internal.PoliticaComissaoResolver;
 import com.jetski.comissoes.internal.repository.ComissaoRepository;
 import com.jetski.comissoes.internal.repository.PoliticaComissaoRepository;
 import com.jetski.shared.exception.BusinessException;
 import com.jetski.tenant.TenantQueryService;
+import com.jetski.tenant.TenantTimeService;
 import com.jetski.shared.exception.NotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -52,10 +58,18 @@ class CommissionServiceTest {
     @Mock
     private TenantQueryService tenantQueryService;
 
+    @Mock
+    private TenantTimeService tenantTimeService;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query versaoQuery;
+
     private CommissionService commissionService;
 
     private UUID tenantId;
@@ -69,6 +83,15 @@ class CommissionServiceTest {
         locacaoId = UUID.randomUUID();
         vendedorId = UUID.randomUUID();
         modeloId = UUID.randomUUID();
+
+        // politica_versao sem linha = versão 0; resolver real sobre o repositório mockado
+        lenient().when(entityManager.createNativeQuery(anyString())).thenReturn(versaoQuery);
+        lenient().when(versaoQuery.setParameter(anyString(), any())).thenReturn(versaoQuery);
+        lenient().when(versaoQuery.getResultList()).thenReturn(List.of());
+        lenient().when(tenantTimeService.getZoneIdForTenant(tenantId)).thenReturn(ZoneId.of("America/Sao_Paulo"));
+        commissionService = new CommissionService(comissaoRepository,
+                new PoliticaComissaoResolver(politicaRepository, entityManager),
+                tenantQueryService, tenantTimeService, eventPublisher);
     }
 
     // ====================
@@ -78,15 +101,18 @@ class CommissionServiceTest {
     @Test
     @DisplayName("Should select CAMPANHA policy (priority 1) when active campaign exists")
     void shouldSelectCampanhaPolicyWhenActiveExists() {
-        // Given: Active campaign policy
+        // Given: Active campaign policy (+ lower-priority ones that must lose)
         String codigoCampanha = "VERAO2025";
         PoliticaComissao politicaCampanha = createPolitica(
                 NivelPolitica.CAMPANHA, TipoComissao.PERCENTUAL, new BigDecimal("15.00")
         );
         politicaCampanha.setCodigoCampanha(codigoCampanha);
+        PoliticaComissao politicaVendedor = createPolitica(
+                NivelPolitica.VENDEDOR, TipoComissao.PERCENTUAL, new BigDecimal("8.00")
+        );
+        politicaVendedor.setVendedorId(vendedorId);
 
-        when(politicaRepository.findCampanhaAtiva(eq(tenantId), eq(codigoCampanha), any(Instant.class)))
-                .thenReturn(Collections.singletonList(politicaCampanha));
+        politicasAtivas(politicaCampanha, politicaVendedor);
         when(comissaoRepository.save(any(Comissao.class))).thenAnswer(i -> i.getArgument(0));
 
         // When
@@ -101,7 +127,36 @@ class CommissionServiceTest {
         assertThat(comissao).isNotNull();
         assertThat(comissao.getPoliticaNivel()).isEqualTo(NivelPolitica.CAMPANHA);
         assertThat(comissao.getValorComissao()).isEqualByComparingTo("150.00"); // 15% of 1000
-        verify(politicaRepository).findCampanhaAtiva(eq(tenantId), eq(codigoCampanha), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should skip CAMPANHA outside its vigência and fall through the hierarchy")
+    void shouldSkipCampanhaOutsideVigencia() {
+        // Given: campaign already ended
+        PoliticaComissao encerrada = createPolitica(
+                NivelPolitica.CAMPANHA, TipoComissao.PERCENTUAL, new BigDecimal("15.00")
+        );
+        encerrada.setCodigoCampanha("VERAO2024");
+        encerrada.setVigenciaFim(Instant.now().minusSeconds(3600));
+        PoliticaComissao politicaVendedor = createPolitica(
+                NivelPolitica.VENDEDOR, TipoComissao.PERCENTUAL, new BigDecimal("8.00")
+        );
+        politicaVendedor.setVendedorId(vendedorId);
+
+        politicasAtivas(encerrada, politicaVendedor);
+        when(comissaoRepository.save(any(Comissao.class))).thenAnswer(i -> i.getArgument(0));
+
+        // When
+        Comissao comissao = commissionService.calcularComissao(
+                tenantId, locacaoId, vendedorId, modeloId,
+                60, new BigDecimal("500.00"),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                "VERAO2024"
+        );
+
+        // Then
+        assertThat(comissao.getPoliticaNivel()).isEqualTo(NivelPolitica.VENDEDOR);
+        assertThat(comissao.getValorComissao()).isEqualByComparingTo("40.00");
     }
 
     @Test
@@ -112,10 +167,12 @@ class CommissionServiceTest {
                 NivelPolitica.MODELO, TipoComissao.PERCENTUAL, new BigDecimal("12.00")
         );
         politicaModelo.setModeloId(modeloId);
+        PoliticaComissao outroModelo = createPolitica(
+                NivelPolitica.MODELO, TipoComissao.PERCENTUAL, new BigDecimal("30.00")
+        );
+        outroModelo.setModeloId(UUID.randomUUID());
 
-        when(politicaRepository.findByTenantIdAndNivelAndModeloIdAndAtiva(
-                tenantId, NivelPolitica.MODELO, modeloId, true
-        )).thenReturn(Collections.singletonList(politicaModelo));
+        politicasAtivas(outroModelo, politicaModelo);
         when(comissaoRepository.save(any(Comissao.class))).thenAnswer(i -> i.getArgument(0));
 
         // When
@@ -130,24 +187,27 @@ class CommissionServiceTest {
         assertThat(comissao).isNotNull();
         assertThat(comissao.getPoliticaNivel()).isEqualTo(NivelPolitica.MODELO);
         assertThat(comissao.getValorComissao()).isEqualByComparingTo("96.00"); // 12% of 800
-        verify(politicaRepository, never()).findCampanhaAtiva(any(), any(), any());
     }
 
     @Test
     @DisplayName("Should select DURACAO policy (priority 3) when no campaign or model policy")
     void shouldSelectDuracaoPolicyWhenNoHigherPriority() {
-        // Given: Duration-based policy
+        // Given: Duration ranges — the longest matching min wins (duracao_min DESC)
         PoliticaComissao politicaDuracao = createPolitica(
                 NivelPolitica.DURACAO, TipoComissao.PERCENTUAL, new BigDecimal("10.00")
         );
         politicaDuracao.setDuracaoMinMinutos(60);
         politicaDuracao.setDuracaoMaxMinutos(120);
+        PoliticaComissao faixaCurta = createPolitica(
+                NivelPolitica.DURACAO, TipoComissao.PERCENTUAL, new BigDecimal("5.00")
+        );
+        faixaCurta.setDuracaoMinMinutos(0);
+        PoliticaComissao faixaLonga = createPolitica(
+                NivelPolitica.DURACAO, TipoComissao.PERCENTUAL, new BigDecimal("20.00")
+        );
+        faixaLonga.setDuracaoMinMinutos(180);
 
-        when(politicaRepository.findByTenantIdAndNivelAndModeloIdAndAtiva(any(), any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndAtivaOrderByDuracaoMinMinutosDesc(
-                tenantId, NivelPolitica.DURACAO, true
-        )).thenReturn(Collections.singletonList(politicaDuracao));
+        politicasAtivas(faixaCurta, faixaLonga, politicaDuracao);
         when(comissaoRepository.save(any(Comissao.class))).thenAnswer(i -> i.getArgument(0));
 
         // When
@@ -173,13 +233,7 @@ class CommissionServiceTest {
         );
         politicaVendedor.setVendedorId(vendedorId);
 
-        when(politicaRepository.findByTenantIdAndNivelAndModeloIdAndAtiva(any(), any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndAtivaOrderByDuracaoMinMinutosDesc(any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndVendedorIdAndAtiva(
-                tenantId, NivelPolitica.VENDEDOR, vendedorId, true
-        )).thenReturn(Collections.singletonList(politicaVendedor));
+        mockVendedorPolicy(politicaVendedor);
         when(comissaoRepository.save(any(Comissao.class))).thenAnswer(i -> i.getArgument(0));
 
         // When
@@ -200,12 +254,7 @@ class CommissionServiceTest {
     @DisplayName("Should throw BusinessException when no policy found")
     void shouldThrowExceptionWhenNoPolicyFound() {
         // Given: No policies configured
-        when(politicaRepository.findByTenantIdAndNivelAndModeloIdAndAtiva(any(), any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndAtivaOrderByDuracaoMinMinutosDesc(any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndVendedorIdAndAtiva(any(), any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
+        politicasAtivas();
 
         // When / Then
         assertThatThrownBy(() ->
@@ -219,6 +268,125 @@ class CommissionServiceTest {
                 .hasMessageContaining("Nenhuma política de comissão configurada");
     }
 
+    @Test
+    @DisplayName("Compiled table: policies loaded once per version, not per calculation")
+    void shouldLoadPoliciesOncePerVersion() {
+        PoliticaComissao politica = createPolitica(
+                NivelPolitica.VENDEDOR, TipoComissao.PERCENTUAL, new BigDecimal("10.00")
+        );
+        politica.setVendedorId(vendedorId);
+        mockVendedorPolicy(politica);
+
+        for (int i = 0; i < 50; i++) {
+            commissionService.simularComissao(tenantId, vendedorId, modeloId, 60,
+                    new BigDecimal("100.00"), BigDecimal.ZERO, null);
+        }
+        verify(politicaRepository, times(1)).findByTenantIdAndAtivaOrderByNivelAsc(tenantId, true);
+
+        // trigger V063 bumped politica_versao (write outside this instance)
+        when(versaoQuery.getResultList()).thenReturn(List.of(2L));
+        commissionService.simularComissao(tenantId, vendedorId, modeloId, 60,
+                new BigDecimal("100.00"), BigDecimal.ZERO, null);
+        verify(politicaRepository, times(2)).findByTenantIdAndAtivaOrderByNivelAsc(tenantId, true);
+    }
+
+    @Test
+    @DisplayName("Bulk simulation: month re-simulated in memory under a candidate policy")
+    void shouldSimulateMonthUnderCandidatePolicy() {
+        // Given: vendor policy 10%, candidate MODELO policy 20% for modeloId
+        PoliticaComissao atual = createPolitica(
+                NivelPolitica.VENDEDOR, TipoComissao.PERCENTUAL, new BigDecimal("10.00")
+        );
+        atual.setId(UUID.randomUUID());
+        atual.setVendedorId(vendedorId);
+        mockVendedorPolicy(atual);
+        PoliticaComissao candidata = createPolitica(
+                NivelPolitica.MODELO, TipoComissao.PERCENTUAL, new BigDecimal("20.00")
+        );
+        candidata.setModeloId(modeloId);
+
+        UUID outroModelo = UUID.randomUUID();
+        when(comissaoRepository.findBaseSimulacao(eq(tenantId), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(
+                        new Object[] {UUID.randomUUID(), vendedorId, modeloId, 60,
+                                new BigDecimal("500.00"), new BigDecimal("100.00"), null, new BigDecimal("40.00"),
+                                null, Instant.now()},
+                        new Object[] {UUID.randomUUID(), vendedorId, outroModelo, 60,
+                                new BigDecimal("300.00"), null, null, new BigDecimal("30.00"),
+                                null, Instant.now()},
+                        new Object[] {UUID.randomUUID(), UUID.randomUUID(), outroModelo, 60,
+                                new BigDecimal("200.00"), null, null, null,
+                                null, Instant.now()}));
+
+        // When
+        CommissionService.SimulacaoCompetenciaResult r = commissionService.simularCompetencia(
+                tenantId, YearMonth.of(2026, 9), candidata, null);
+
+        // Then: 20% de 400 (modelo) + 10% de 300 (vendedor); terceiro vendedor sem política
+        assertThat(r.locacoes()).isEqualTo(3);
+        assertThat(r.semPolitica()).isEqualTo(1);
+        assertThat(r.totalAtual()).isEqualByComparingTo("70.00");
+        assertThat(r.totalSimulado()).isEqualByComparingTo("110.00");
+        assertThat(r.diferenca()).isEqualByComparingTo("40.00");
+        assertThat(r.porVendedor()).hasSize(2);
+        assertThat(r.porVendedor().get(0).locacoes()).isEqualTo(2);
+
+        // candidata não vaza para a tabela compartilhada
+        assertThat(commissionService.simularComissao(tenantId, vendedorId, modeloId, 60,
+                new BigDecimal("500.00"), new BigDecimal("100.00"), null)).isEqualByComparingTo("40.00");
+        verify(comissaoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Bulk simulation: campaign and validity checked against each rental, not today")
+    void shouldSimulatePastMonthWithRentalCampaignAndDate() {
+        // Given: vendor policy 10% and a campaign valid only in September 2025 paying 25%
+        PoliticaComissao vendedor = createPolitica(
+                NivelPolitica.VENDEDOR, TipoComissao.PERCENTUAL, new BigDecimal("10.00")
+        );
+        vendedor.setVendedorId(vendedorId);
+        PoliticaComissao campanha = createPolitica(
+                NivelPolitica.CAMPANHA, TipoComissao.PERCENTUAL, new BigDecimal("25.00")
+        );
+        campanha.setCodigoCampanha("VERAO");
+        campanha.setVigenciaInicio(Instant.parse("2025-09-01T03:00:00Z"));
+        campanha.setVigenciaFim(Instant.parse("2025-10-01T02:59:59Z"));
+        politicasAtivas(campanha, vendedor);
+
+        Instant setembro = Instant.parse("2025-09-15T15:00:00Z");
+        when(comissaoRepository.findBaseSimulacao(eq(tenantId), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(
+                        new Object[] {UUID.randomUUID(), vendedorId, modeloId, 60,
+                                new BigDecimal("400.00"), null, null, new BigDecimal("100.00"),
+                                "VERAO", setembro},
+                        new Object[] {UUID.randomUUID(), vendedorId, modeloId, 60,
+                                new BigDecimal("200.00"), null, null, new BigDecimal("20.00"),
+                                null, setembro}));
+
+        // When: no candidate — the month re-simulated under the current table
+        CommissionService.SimulacaoCompetenciaResult r = commissionService.simularCompetencia(
+                tenantId, YearMonth.of(2025, 9), null, null);
+
+        // Then: 25% of 400 (campaign in force on the rental date) + 10% of 200
+        assertThat(r.semPolitica()).isZero();
+        assertThat(r.totalSimulado()).isEqualByComparingTo("120.00");
+        assertThat(r.diferenca()).isZero();
+    }
+
+    @Test
+    @DisplayName("Bulk simulation: month edges taken in the tenant's time zone")
+    void shouldSimulateMonthInTenantZone() {
+        when(tenantTimeService.getZoneIdForTenant(tenantId)).thenReturn(ZoneId.of("America/Manaus"));
+        when(comissaoRepository.findBaseSimulacao(eq(tenantId), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of());
+
+        commissionService.simularCompetencia(tenantId, YearMonth.of(2025, 9), null, null);
+
+        // Manaus = UTC-4: setembro começa às 04:00Z, não às 03:00Z de São Paulo
+        verify(comissaoRepository).findBaseSimulacao(tenantId,
+                Instant.parse("2025-09-01T04:00:00Z"), Instant.parse("2025-10-01T04:00:00Z"));
+    }
+
     // ====================
     // Commission Types
     // ====================
@@ -487,12 +655,12 @@ class CommissionServiceTest {
     }
 
     private void mockVendedorPolicy(PoliticaComissao politica) {
-        when(politicaRepository.findByTenantIdAndNivelAndModeloIdAndAtiva(any(), any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndAtivaOrderByDuracaoMinMinutosDesc(any(), any(), anyBoolean()))
-                .thenReturn(Collections.emptyList());
-        when(politicaRepository.findByTenantIdAndNivelAndVendedorIdAndAtiva(
-                tenantId, NivelPolitica.VENDEDOR, vendedorId, true
-        )).thenReturn(Collections.singletonList(politica));
+        politicasAtivas(politica);
+    }
+
+    /** Políticas ativas do tenant — a tabela compilada é montada a partir delas. */
+    private void politicasAtivas(PoliticaComissao... politicas) {
+        when(politicaRepository.findByTenantIdAndAtivaOrderByNivelAsc(tenantId, true))
+                .thenReturn(List.of(politicas));
     }
 }
@@ -44,6 +44,9 @@ class PoliticaComissaoServiceTest {
     @Mock
     private PoliticaComissaoRepository politicaRepository;
 
+    @Mock
+    private PoliticaComissaoResolver politicaResolver;
+
     @InjectMocks
     private PoliticaComissaoService politicaService;
 
@@ -81,6 +84,7 @@ class PoliticaComissaoServiceTest {
         assertThat(criada.getTenantId()).isEqualTo(tenantId);
         assertThat(criada.getNivel()).isEqualTo(NivelPolitica.VENDEDOR);
         verify(politicaRepository).save(politica);
+        verify(politicaResolver).invalidar(tenantId);
     }
 
     @Test
@@ -161,6 +165,7 @@ class PoliticaComissaoServiceTest {
         assertThat(resultado.getNome()).isEqualTo("Nova Política");
         assertThat(resultado.getPercentualComissao()).isEqualByComparingTo("15.00");
         verify(politicaRepository).save(politicaExistente);
+        verify(politicaResolver).invalidar(tenantId);
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.jetski.integration.AbstractIntegrationTest;
 import com.jetski.shared.authorization.OPAAuthorizationService;
 import com.jetski.shared.authorization.dto.OPADecision;
 import com.jetski.shared.authorization.dto.OPAInput;
+import com.jetski.shared.plataforma.PlataformaConfigRegistry;
 import com.jetski.shared.security.TenantContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +39,7 @@ class CreditoIntegrationTest extends AbstractIntegrationTest {
     @Autowired MockMvc mockMvc;
     @Autowired JdbcTemplate jdbcTemplate;
     @Autowired CreditoService creditoService;
+    @Autowired PlataformaConfigRegistry plataformaConfig;
     @Autowired org.springframework.transaction.support.TransactionTemplate transactionTemplate;
 
     @MockBean OPAAuthorizationService opaAuthorizationService;
@@ -69,6 +71,8 @@ class CreditoIntegrationTest extends AbstractIntegrationTest {
         jdbcTemplate.update("DELETE FROM credito_compra WHERE tenant_id IN (?, ?)", TENANT_ACME, TENANT_MARINA);
         // Preço conhecido para os testes (independe da ordem de execução)
         jdbcTemplate.update("UPDATE plataforma_config SET valor = '5.00' WHERE chave = 'creditos_preco_unitario'");
+        // SQL direto chega ao cache pelo NOTIFY (assíncrono): relê já
+        plataformaConfig.recarregar();
     }
 
     @AfterEach
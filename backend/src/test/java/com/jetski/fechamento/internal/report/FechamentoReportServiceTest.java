@@ -0,0 +1,177 @@
+package com.jetski.fechamento.internal.report;
+
+import com.jetski.fechamento.domain.FechamentoDiario;
+import com.jetski.fechamento.domain.FechamentoMensal;
+import com.jetski.locacoes.api.dto.LocacaoRelatorioLinha;
+import com.jetski.locacoes.domain.LocacaoStatus;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Excel do fechamento em streaming (SXSSF): os relatórios diário/mensal
+ * continuam com o mesmo conteúdo, e o consolidado por período com 200k
+ * locações é gerado numa JVM com heap fixo e pequeno — que o XSSF em memória
+ * estouraria.
+ */
+@DisplayName("FechamentoReportService — Excel em streaming")
+class FechamentoReportServiceTest {
+
+    /** Heap da JVM filha: o DOM do XSSF para 200k linhas precisaria de centenas de MB. */
+    private static final String HEAP_FIXO = "-Xmx96m";
+    private static final int LINHAS_GRANDE = 200_000;
+
+    private final FechamentoReportService service = new FechamentoReportService();
+
+    @Test
+    @DisplayName("fechamento diário: resumo e formas de pagamento na planilha")
+    void diario() throws Exception {
+        FechamentoDiario f = FechamentoDiario.builder()
+            .id(UUID.randomUUID()).dtReferencia(LocalDate.of(2026, 1, 10)).status("fechado")
+            .totalLocacoes(12).totalFaturado(new BigDecimal("3400.00"))
+            .totalDinheiro(new BigDecimal("400.00")).totalCartao(new BigDecimal("1000.00"))
+            .totalPix(new BigDecimal("2000.00"))
+            .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeDiarioExcel(f, "Acme", out);
+
+        try (XSSFWorkbook wb = ler(out.toByteArray())) {
+            Sheet s = wb.getSheet("Fechamento Diário");
+            assertThat(s.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Fechamento Diário - Acme");
+            assertThat(s.getRow(1).getCell(1).getStringCellValue()).isEqualTo("10/01/2026");
+            assertThat(s.getRow(5).getCell(1).getNumericCellValue()).isEqualTo(12);
+            assertThat(s.getRow(6).getCell(1).getNumericCellValue()).isEqualTo(3400.0);
+            assertThat(s.getRow(13).getCell(0).getStringCellValue()).isEqualTo("PIX");
+            assertThat(s.getRow(13).getCell(1).getNumericCellValue()).isEqualTo(2000.0);
+        }
+    }
+
+    @Test
+    @DisplayName("fechamento mensal: resultado líquido na planilha")
+    void mensal() throws Exception {
+        FechamentoMensal f = FechamentoMensal.builder()
+            .id(UUID.randomUUID()).ano(2026).mes(2).resultadoLiquido(new BigDecimal("-150.50"))
+            .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeMensalExcel(f, "Acme", out);
+
+        try (XSSFWorkbook wb = ler(out.toByteArray())) {
+            Sheet s = wb.getSheet("Fechamento Mensal");
+            assertThat(s.getRow(1).getCell(1).getStringCellValue()).isEqualTo("Fevereiro / 2026");
+            assertThat(s.getRow(12).getCell(0).getStringCellValue()).isEqualTo("RESULTADO LÍQUIDO");
+            assertThat(s.getRow(12).getCell(1).getNumericCellValue()).isEqualTo(-150.5);
+        }
+    }
+
+    @Test
+    @DisplayName("período: resumo por dia, uma linha por locação e totais")
+    void periodo() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FechamentoReportService.PlanilhaPeriodo p = service.novaPlanilhaPeriodo(
+                "Acme", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))) {
+            p.resumo(List.of(FechamentoDiario.builder()
+                .dtReferencia(LocalDate.of(2026, 1, 2)).status("aprovado").totalLocacoes(2)
+                .totalFaturado(new BigDecimal("500.00")).build()));
+            p.locacao(linha(1));
+            p.locacao(new LocacaoRelatorioLinha(UUID.randomUUID(), LocalDateTime.of(2026, 1, 2, 9, 0),
+                null, null, null, null, null, null, null, null, LocacaoStatus.EM_CURSO));
+            p.escrever(out);
+        }
+
+        try (XSSFWorkbook wb = ler(out.toByteArray())) {
+            Sheet resumo = wb.getSheet("Resumo");
+            assertThat(resumo.getRow(1).getCell(1).getStringCellValue()).isEqualTo("01/01/2026 a 31/01/2026");
+            assertThat(resumo.getRow(4).getCell(1).getStringCellValue()).isEqualTo("APROVADO");
+            assertThat(resumo.getRow(4).getCell(3).getNumericCellValue()).isEqualTo(500.0);
+            assertThat(resumo.getRow(6).getCell(2).getNumericCellValue()).isEqualTo(2);
+            assertThat(resumo.getRow(6).getCell(3).getNumericCellValue()).isEqualTo(250.0);
+
+            Sheet locacoes = wb.getSheet("Locações");
+            assertThat(locacoes.getLastRowNum()).isEqualTo(2);
+            assertThat(locacoes.getRow(1).getCell(2).getStringCellValue()).isEqualTo("SEA-1");
+            assertThat(locacoes.getRow(1).getCell(7).getNumericCellValue()).isEqualTo(250.0);
+            assertThat(locacoes.getRow(2).getCell(9).getStringCellValue()).isEqualTo("EM_CURSO");
+        }
+    }
+
+    @Test
+    @DisplayName("período com 200k locações cabe em " + HEAP_FIXO)
+    void periodoGrandeComHeapLimitado() throws Exception {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process filho = new ProcessBuilder(java.toString(), HEAP_FIXO, "-XX:+ExitOnOutOfMemoryError",
+                "-cp", System.getProperty("java.class.path"),
+                GerarPeriodoGrande.class.getName(), String.valueOf(LINHAS_GRANDE))
+            .redirectErrorStream(true)
+            .start();
+
+        assertThat(filho.waitFor(5, TimeUnit.MINUTES)).as("geração não terminou em 5 min").isTrue();
+        String saida = new String(filho.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(filho.exitValue()).as(saida).isZero();
+        assertThat(saida).contains("linhas=" + LINHAS_GRANDE);
+        assertThat(saida).doesNotContain("bytes=0");
+    }
+
+    private static LocacaoRelatorioLinha linha(int i) {
+        LocalDateTime checkIn = LocalDateTime.of(2026, 1, 1, 8, 0).plusMinutes(i);
+        return new LocacaoRelatorioLinha(UUID.randomUUID(), checkIn, checkIn.plusHours(1),
+            "SEA-" + (i % 40), "GTX 170", "Cliente " + i, 60, 60,
+            new BigDecimal("250.00"), new BigDecimal("35.50"), LocacaoStatus.FINALIZADA);
+    }
+
+    private static XSSFWorkbook ler(byte[] xlsx) throws Exception {
+        return new XSSFWorkbook(new ByteArrayInputStream(xlsx));
+    }
+
+    /**
+     * Roda na JVM filha, com heap fixo: gera o consolidado com N locações e
+     * descarta os bytes. Estourar o heap encerra com código ≠ 0 — tanto ao
+     * gerar as linhas quanto ao gravar, que relê os temporários do SXSSF.
+     */
+    static final class GerarPeriodoGrande {
+
+        public static void main(String[] args) {
+            int n = Integer.parseInt(args[0]);
+            CountingOutputStream out = new CountingOutputStream();
+            FechamentoReportService service = new FechamentoReportService();
+            try (FechamentoReportService.PlanilhaPeriodo p = service.novaPlanilhaPeriodo(
+                    "Carga", LocalDate.of(2025, 10, 1), LocalDate.of(2026, 3, 31))) {
+                for (int i = 0; i < n; i++) {
+                    p.locacao(linha(i));
+                }
+                p.escrever(out);
+                System.out.println("linhas=" + p.totalLocacoes() + " bytes=" + out.bytes);
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
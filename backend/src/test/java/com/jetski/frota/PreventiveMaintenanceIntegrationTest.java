@@ -0,0 +1,163 @@
+package com.jetski.frota;
+
+import com.jetski.frota.internal.PreventiveMaintenanceService;
+import com.jetski.integration.AbstractIntegrationTest;
+import com.jetski.locacoes.event.CheckOutEvent;
+import com.jetski.shared.security.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Manutenção preventiva por evento (RN07) contra o banco real: limiar com
+ * intervalo do modelo e fallback para o padrão, check-out → listener
+ * AFTER_COMMIT → OS aberta uma vez só, e o trigger que mantém
+ * jetski.horimetro_ultima_preventiva (V068).
+ *
+ * Padrões do teste: intervalo 50h, aviso antecipado 5h (application.yml).
+ */
+@DisplayName("Integration: manutenção preventiva por check-out")
+class PreventiveMaintenanceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+
+    @Autowired PreventiveMaintenanceService service;
+    @Autowired ApplicationEventPublisher publisher;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @Test
+    @DisplayName("modelo sem intervalo próprio usa o padrão (50h, aviso 5h)")
+    void fallbackParaIntervaloPadrao() {
+        UUID modelo = modelo(null);
+        UUID abaixo = jetski(modelo, "40.0", null);
+        UUID noAviso = jetski(modelo, "46.0", null);
+
+        assertThat(service.verificarJetski(abaixo)).isFalse();
+        assertThat(service.verificarJetski(noAviso)).isTrue();
+        assertThat(osPreventivasAbertas(noAviso)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("intervalo do modelo vale no lugar do padrão, contado desde a última preventiva")
+    void intervaloDoModelo() {
+        UUID modelo = modelo(new BigDecimal("100.0"));
+        UUID longe = jetski(modelo, "160.0", "100.0");   // 60h desde a preventiva: o padrão abriria
+        UUID devido = jetski(modelo, "196.0", "100.0");  // 96h: dentro do aviso de 5h
+
+        assertThat(service.verificarJetski(longe)).isFalse();
+        assertThat(service.verificarJetski(devido)).isTrue();
+    }
+
+    @Test
+    @DisplayName("check-out commitado → listener abre a OS uma vez; novo check-out não duplica")
+    void checkOutAbreOsUmaVez() {
+        UUID jetski = jetski(modelo(null), "55.0", null);
+
+        publicarCheckOut(jetski);
+        assertThat(osPreventivasAbertas(jetski)).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT upper(status) FROM jetski WHERE id = ?", String.class, jetski))
+            .isEqualTo("MANUTENCAO");
+
+        publicarCheckOut(jetski);
+        assertThat(osPreventivasAbertas(jetski)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("check-out revertido não abre OS")
+    void checkOutRevertidoNaoAbreOs() {
+        UUID jetski = jetski(modelo(null), "55.0", null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.publishEvent(evento(jetski));
+            status.setRollbackOnly();
+        });
+
+        assertThat(osPreventivasAbertas(jetski)).isZero();
+    }
+
+    @Test
+    @DisplayName("trigger: preventiva concluída grava o horímetro no jetski; corretiva não")
+    void triggerAtualizaUltimaPreventiva() {
+        UUID jetski = jetski(modelo(null), "130.0", "20.0");
+
+        jdbc.update("""
+            INSERT INTO os_manutencao (tenant_id, jetski_id, tipo, descricao_problema, status,
+                                       prioridade, horimetro_conclusao, dt_conclusao)
+            VALUES (?, ?, 'corretiva', 'Bomba d''água', 'concluida', 'media', 90.0, now())
+            """, TENANT_ID, jetski);
+        assertThat(ultimaPreventiva(jetski)).isEqualByComparingTo("20.0");
+
+        UUID os = UUID.randomUUID();
+        jdbc.update("""
+            INSERT INTO os_manutencao (id, tenant_id, jetski_id, tipo, descricao_problema, status, prioridade)
+            VALUES (?, ?, ?, 'preventiva', 'Revisão 50h', 'em_andamento', 'media')
+            """, os, TENANT_ID, jetski);
+        assertThat(ultimaPreventiva(jetski)).isEqualByComparingTo("20.0");
+
+        jdbc.update("""
+            UPDATE os_manutencao SET status = 'concluida', horimetro_conclusao = 128.5, dt_conclusao = now()
+             WHERE id = ?
+            """, os);
+        assertThat(ultimaPreventiva(jetski)).isEqualByComparingTo("128.5");
+        assertThat(service.verificarJetski(jetski)).isFalse();
+    }
+
+    private void publicarCheckOut(UUID jetski) {
+        transactionTemplate.executeWithoutResult(status -> publisher.publishEvent(evento(jetski)));
+    }
+
+    private CheckOutEvent evento(UUID jetski) {
+        return CheckOutEvent.of(TENANT_ID, UUID.randomUUID(), jetski, null, null,
+            55, 60, new BigDecimal("300.00"), LocalDateTime.now());
+    }
+
+    private UUID modelo(BigDecimal intervalo) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+            INSERT INTO modelo (id, tenant_id, nome, fabricante, potencia_hp, capacidade_pessoas,
+                                preco_base_hora, tolerancia_min, taxa_hora_extra, caucao,
+                                inclui_combustivel, ativo, intervalo_preventiva_horas)
+            VALUES (?, ?, 'Modelo Preventiva', 'Sea-Doo', 130, 2, 150.00, 5, 50.00, 300.00, FALSE, TRUE, ?)
+            """, id, TENANT_ID, intervalo);
+        return id;
+    }
+
+    private UUID jetski(UUID modelo, String horimetro, String ultimaPreventiva) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+            INSERT INTO jetski (id, tenant_id, modelo_id, serie, ano, horimetro_atual,
+                                horimetro_ultima_preventiva, status, ativo)
+            VALUES (?, ?, ?, ?, 2023, ?, ?, 'DISPONIVEL', TRUE)
+            """, id, TENANT_ID, modelo, "PREV-" + id.toString().substring(0, 8),
+            new BigDecimal(horimetro), ultimaPreventiva != null ? new BigDecimal(ultimaPreventiva) : null);
+        return id;
+    }
+
+    private int osPreventivasAbertas(UUID jetski) {
+        return jdbc.queryForObject("""
+            SELECT count(*) FROM os_manutencao
+             WHERE jetski_id = ? AND tipo = 'preventiva' AND status IN ('aberta', 'em_andamento', 'aguardando_pecas')
+            """, Integer.class, jetski);
+    }
+
+    private BigDecimal ultimaPreventiva(UUID jetski) {
+        return jdbc.queryForObject("SELECT horimetro_ultima_preventiva FROM jetski WHERE id = ?",
+            BigDecimal.class, jetski);
+    }
+}
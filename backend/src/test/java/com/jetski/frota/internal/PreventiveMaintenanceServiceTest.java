@@ -0,0 +1,141 @@
+package com.jetski.frota.internal;
+
+import com.jetski.manutencao.api.ManutencaoPublicService;
+import com.jetski.manutencao.domain.OSManutencao;
+import com.jetski.manutencao.domain.OSManutencaoPrioridade;
+import com.jetski.manutencao.domain.OSManutencaoTipo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PreventiveMaintenanceService
+ *
+ * Threshold parameters bound to the query (default interval, early warning),
+ * priority by hours overdue and the OS opened for a due jetski. The SQL itself
+ * (per-model interval with fallback, trigger) is covered by
+ * {@code PreventiveMaintenanceIntegrationTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PreventiveMaintenanceService - Preventive threshold")
+class PreventiveMaintenanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ManutencaoPublicService manutencaoPublicService;
+
+    private PreventiveMaintenanceService service;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID jetskiId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new PreventiveMaintenanceService(jdbcTemplate, manutencaoPublicService);
+        ReflectionTestUtils.setField(service, "intervaloPadrao", 50.0);
+        ReflectionTestUtils.setField(service, "avisoAntecipado", 5.0);
+    }
+
+    @Test
+    @DisplayName("Priority: early warning → BAIXA, at threshold → MEDIA, 10h+ overdue → ALTA")
+    void prioridadePorAtraso() {
+        assertThat(PreventiveMaintenanceService.prioridade(45.0, 50.0)).isEqualTo(OSManutencaoPrioridade.BAIXA);
+        assertThat(PreventiveMaintenanceService.prioridade(50.0, 50.0)).isEqualTo(OSManutencaoPrioridade.MEDIA);
+        assertThat(PreventiveMaintenanceService.prioridade(59.9, 50.0)).isEqualTo(OSManutencaoPrioridade.MEDIA);
+        assertThat(PreventiveMaintenanceService.prioridade(60.0, 50.0)).isEqualTo(OSManutencaoPrioridade.ALTA);
+        // per-model interval: same hours, longer interval → still early warning
+        assertThat(PreventiveMaintenanceService.prioridade(60.0, 100.0)).isEqualTo(OSManutencaoPrioridade.BAIXA);
+    }
+
+    @Test
+    @DisplayName("verificarJetski: binds default interval (model fallback), jetski and early warning")
+    void verificarJetskiBindsThreshold() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any())).thenReturn(List.of());
+
+        assertThat(service.verificarJetski(jetskiId)).isFalse();
+
+        verify(jdbcTemplate).query(contains("COALESCE(m.intervalo_preventiva_horas, ?)"),
+                any(RowMapper.class), eq(50.0), eq(jetskiId), eq(5.0));
+        verifyNoInteractions(manutencaoPublicService);
+    }
+
+    @Test
+    @DisplayName("verificarJetski: due jetski → PREVENTIVA OS with hourmeter and priority")
+    void verificarJetskiOpensOrder() throws Exception {
+        ResultSet row = linha(new BigDecimal("112.0"), new BigDecimal("50.0"), 60.0);
+        stubQuery(row);
+        when(manutencaoPublicService.createOrder(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(service.verificarJetski(jetskiId)).isTrue();
+
+        ArgumentCaptor<OSManutencao> os = ArgumentCaptor.forClass(OSManutencao.class);
+        verify(manutencaoPublicService).createOrder(os.capture());
+        assertThat(os.getValue().getTipo()).isEqualTo(OSManutencaoTipo.PREVENTIVA);
+        assertThat(os.getValue().getTenantId()).isEqualTo(tenantId);
+        assertThat(os.getValue().getJetskiId()).isEqualTo(jetskiId);
+        assertThat(os.getValue().getHorimetroAbertura()).isEqualByComparingTo("112.0");
+        // 62h since last preventive, model interval 60h → at threshold
+        assertThat(os.getValue().getPrioridade()).isEqualTo(OSManutencaoPrioridade.MEDIA);
+    }
+
+    @Test
+    @DisplayName("reconciliar: one failing jetski does not stop the others")
+    void reconciliarContinuesOnFailure() throws Exception {
+        ResultSet primeiro = linha(new BigDecimal("80.0"), BigDecimal.ZERO, 50.0);
+        ResultSet segundo = linha(new BigDecimal("55.0"), BigDecimal.ZERO, 50.0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenAnswer(inv -> {
+            RowMapper<?> mapper = inv.getArgument(1);
+            List<Object> out = new ArrayList<>();
+            out.add(mapper.mapRow(primeiro, 0));
+            out.add(mapper.mapRow(segundo, 1));
+            return out;
+        });
+        when(manutencaoPublicService.createOrder(any()))
+                .thenThrow(new RuntimeException("jetski sumiu"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(service.reconciliar()).isEqualTo(1);
+        verify(manutencaoPublicService, times(2)).createOrder(any());
+    }
+
+    private void stubQuery(ResultSet row) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any())).thenAnswer(inv -> {
+            RowMapper<?> mapper = inv.getArgument(1);
+            return List.of(mapper.mapRow(row, 0));
+        });
+    }
+
+    private ResultSet linha(BigDecimal horimetroAtual, BigDecimal ultimaPreventiva, double intervalo) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("jetski_id")).thenReturn(jetskiId.toString());
+        when(rs.getString("tenant_id")).thenReturn(tenantId.toString());
+        when(rs.getString("serie")).thenReturn("JET-001");
+        when(rs.getString("modelo_nome")).thenReturn("SeaDoo GTI");
+        when(rs.getBigDecimal("horimetro_atual")).thenReturn(horimetroAtual);
+        when(rs.getBigDecimal("ultimo_horimetro_manutencao")).thenReturn(ultimaPreventiva);
+        when(rs.getDouble("intervalo")).thenReturn(intervalo);
+        return rs;
+    }
+}
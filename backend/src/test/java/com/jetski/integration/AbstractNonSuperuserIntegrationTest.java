@@ -80,6 +80,12 @@ public abstract class AbstractNonSuperuserIntegrationTest {
                 + "GRANT SELECT, INSERT, UPDATE, DELETE ON TABLES TO app_test");
             st.execute("ALTER DEFAULT PRIVILEGES FOR ROLE test IN SCHEMA public "
                 + "GRANT USAGE, SELECT, UPDATE ON SEQUENCES TO app_test");
+            // Funções SECURITY DEFINER de plataforma (V066/V067) revogam EXECUTE de
+            // PUBLIC e concedem ao jetski_app na própria migration — aqui o
+            // espelho é o app_test (antes ou depois das migrations rodarem).
+            st.execute("GRANT EXECUTE ON ALL FUNCTIONS IN SCHEMA public TO app_test");
+            st.execute("ALTER DEFAULT PRIVILEGES FOR ROLE test IN SCHEMA public "
+                + "GRANT EXECUTE ON FUNCTIONS TO app_test");
         } catch (SQLException e) {
             throw new IllegalStateException("Falha ao preparar role app_test", e);
         }
@@ -55,7 +55,7 @@ class EmissaoDelegadaIntegrationTest extends AbstractIntegrationTest {
     @Autowired private HabilitacaoService habilitacaoService;
     @Autowired private AceiteService aceiteService;
     @Autowired private JdbcTemplate jdbc;
-    @Autowired private org.springframework.cache.CacheManager cacheManager;
+    @Autowired private com.jetski.tenant.PlanoLimiteService planoLimiteService;
 
     @MockBean private UserProvisioningService userProvisioningService;
     @MockBean private EmailService emailService;
@@ -100,10 +100,7 @@ class EmissaoDelegadaIntegrationTest extends AbstractIntegrationTest {
         jdbc.update("INSERT INTO assinatura (tenant_id, plano_id, ciclo, dt_inicio, status) "
             + "SELECT ?, id, 'mensal', CURRENT_DATE, 'ativa' FROM plano WHERE nome = 'Delegada Teste'",
             operadora);
-        var cache = cacheManager.getCache("plano-modulos");
-        if (cache != null) {
-            cache.clear();
-        }
+        planoLimiteService.invalidarTodos();
 
         // instrutor da EMISSORA (o único que pode assinar na delegada)
         jdbc.update("""
@@ -0,0 +1,181 @@
+package com.jetski.integration;
+
+import com.jetski.shared.authorization.OPAAuthorizationService;
+import com.jetski.shared.authorization.dto.OPADecision;
+import com.jetski.shared.authorization.dto.OPAInput;
+import com.jetski.shared.security.TenantAccessInfo;
+import com.jetski.usuarios.internal.TenantAccessService;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Relatório consolidado por período ({@code GET /fechamentos/relatorio/periodo})
+ * contra locações gravadas no banco: cobre o cursor de
+ * {@code LocacaoRepository.streamFinalizadasNoPeriodo} e
+ * {@code FechamentoService.preencherRelatorioPeriodo} de ponta a ponta —
+ * ao contrário de {@link FechamentoControllerIntegrationTest}, aqui o
+ * {@code LocacaoQueryService} é o real.
+ */
+@AutoConfigureMockMvc
+@DisplayName("Integration: Fechamento - relatório por período")
+class FechamentoRelatorioPeriodoIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OPAAuthorizationService opaAuthorizationService;
+
+    @MockBean
+    private TenantAccessService tenantAccessService;
+
+    private static final UUID TENANT_ID = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+    private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID MODELO_ID = UUID.fromString("c7000000-0000-0000-0000-000000000001");
+    private static final UUID JETSKI_ID = UUID.fromString("c7000000-0000-0000-0000-000000000002");
+    private static final UUID CLIENTE_ID = UUID.fromString("c7000000-0000-0000-0000-000000000003");
+
+    // Período no passado, longe das datas usadas pelos outros testes
+    private static final LocalDate INICIO = LocalDate.of(2019, 3, 1);
+    private static final LocalDate FIM = LocalDate.of(2019, 3, 31);
+
+    private static final String CONTENT_TYPE_XLSX =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @BeforeEach
+    void setUp() {
+        when(tenantAccessService.validateAccess(any(String.class), eq(USER_ID.toString()), eq(TENANT_ID)))
+            .thenReturn(TenantAccessInfo.builder()
+                .hasAccess(true)
+                .roles(List.of("GERENTE"))
+                .unrestricted(false)
+                .usuarioId(USER_ID)
+                .build());
+        when(opaAuthorizationService.authorize(any(OPAInput.class)))
+            .thenReturn(OPADecision.builder().allow(true).tenantIsValid(true).build());
+
+        jdbcTemplate.update("""
+            INSERT INTO modelo (id, tenant_id, nome, fabricante, potencia_hp, capacidade_pessoas,
+                                preco_base_hora, tolerancia_min, taxa_hora_extra, caucao,
+                                inclui_combustivel, ativo)
+            VALUES (?, ?, 'Spark Trixx', 'Sea-Doo', 90, 2, 120.00, 5, 40.00, 200.00, FALSE, TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, MODELO_ID, TENANT_ID);
+        jdbcTemplate.update("""
+            INSERT INTO jetski (id, tenant_id, modelo_id, serie, ano, horimetro_atual, status, ativo)
+            VALUES (?, ?, ?, 'JET-PER-001', 2019, 10.0, 'DISPONIVEL', TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, JETSKI_ID, TENANT_ID, MODELO_ID);
+        jdbcTemplate.update("""
+            INSERT INTO cliente (id, tenant_id, nome, documento, email, telefone, ativo)
+            VALUES (?, ?, 'Cliente Período', '98765432100', 'cliente.periodo@test.com', '11988887777', TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, CLIENTE_ID, TENANT_ID);
+
+        jdbcTemplate.update("DELETE FROM locacao WHERE tenant_id = ? AND jetski_id = ?", TENANT_ID, JETSKI_ID);
+    }
+
+    @Test
+    @DisplayName("Exporta só as locações com check-out no período, em ordem de check-out")
+    void exportaLocacoesDoPeriodo() throws Exception {
+        locacao(LocalDateTime.of(2019, 3, 20, 12, 0), new BigDecimal("300.00"));
+        locacao(LocalDateTime.of(2019, 3, 1, 12, 0), new BigDecimal("150.00"));
+        locacao(LocalDateTime.of(2019, 3, 31, 12, 0), new BigDecimal("200.00"));
+        // Fora do período
+        locacao(LocalDateTime.of(2019, 2, 28, 12, 0), new BigDecimal("999.00"));
+        locacao(LocalDateTime.of(2019, 4, 1, 12, 0), new BigDecimal("999.00"));
+
+        byte[] xlsx = mockMvc.perform(relatorio(INICIO, FIM))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", CONTENT_TYPE_XLSX))
+            .andExpect(header().string("Content-Disposition",
+                containsString("fechamento_periodo_2019-03-01_2019-03-31.xlsx")))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (XSSFWorkbook wb = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+            Sheet locacoes = wb.getSheet("Locações");
+            assertThat(locacoes.getLastRowNum()).isEqualTo(3); // cabeçalho + 3
+            assertThat(locacoes.getRow(1).getCell(7).getNumericCellValue()).isEqualTo(150.00);
+            assertThat(locacoes.getRow(2).getCell(7).getNumericCellValue()).isEqualTo(300.00);
+            assertThat(locacoes.getRow(3).getCell(7).getNumericCellValue()).isEqualTo(200.00);
+            assertThat(locacoes.getRow(1).getCell(2).getStringCellValue()).isEqualTo("JET-PER-001");
+            assertThat(locacoes.getRow(1).getCell(3).getStringCellValue()).isEqualTo("Spark Trixx");
+            assertThat(locacoes.getRow(1).getCell(4).getStringCellValue()).isEqualTo("Cliente Período");
+
+            Sheet resumo = wb.getSheet("Resumo");
+            var total = resumo.getRow(resumo.getLastRowNum());
+            assertThat(total.getCell(0).getStringCellValue()).isEqualTo("Locações no período");
+            assertThat(total.getCell(2).getNumericCellValue()).isEqualTo(3);
+            assertThat(total.getCell(3).getNumericCellValue()).isEqualTo(650.00);
+        }
+    }
+
+    @Test
+    @DisplayName("Aceita 366 dias e rejeita 367")
+    void limiteDoPeriodo() throws Exception {
+        LocalDate inicio = LocalDate.of(2019, 1, 1);
+
+        mockMvc.perform(relatorio(inicio, inicio.plusDays(365)))
+            .andExpect(status().isOk());
+        mockMvc.perform(relatorio(inicio, inicio.plusDays(366)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Rejeita data final anterior à inicial")
+    void rejeitaPeriodoInvertido() throws Exception {
+        mockMvc.perform(relatorio(FIM, INICIO))
+            .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder relatorio(LocalDate inicio, LocalDate fim) {
+        return get("/v1/tenants/" + TENANT_ID + "/fechamentos/relatorio/periodo")
+            .param("dataInicio", inicio.toString())
+            .param("dataFim", fim.toString())
+            .with(jwt().jwt(jwt -> jwt.subject(USER_ID.toString())
+                .claim("tenant_id", TENANT_ID.toString())))
+            .header("X-Tenant-Id", TENANT_ID.toString());
+    }
+
+    private void locacao(LocalDateTime checkOut, BigDecimal valorTotal) {
+        jdbcTemplate.update("""
+            INSERT INTO locacao (id, tenant_id, jetski_id, cliente_id,
+                                data_check_in, data_check_out, horimetro_inicio, horimetro_fim,
+                                duracao_prevista, minutos_usados, minutos_faturaveis,
+                                valor_base, valor_total, status)
+            VALUES (?, ?, ?, ?, ?, ?, 10.0, 11.0, 60, 60, 60, ?, ?, 'FINALIZADA')
+            """, UUID.randomUUID(), TENANT_ID, JETSKI_ID, CLIENTE_ID,
+            Timestamp.valueOf(checkOut.minusHours(1)), Timestamp.valueOf(checkOut),
+            valorTotal, valorTotal);
+    }
+}
@@ -0,0 +1,143 @@
+package com.jetski.locacoes;
+
+import com.jetski.integration.AbstractIntegrationTest;
+import com.jetski.locacoes.internal.ReservaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expiração de reservas em lotes: só as vencidas sem sinal expiram, o job
+ * segue em lotes até esgotar, e a linha travada por outra transação é pulada
+ * (SKIP LOCKED) em vez de esperada — fica para o ciclo seguinte. Tenants em
+ * TRIAL também expiram (a vaga é a mesma).
+ */
+@DisplayName("Expiração de reservas (lotes, SKIP LOCKED)")
+class ReservaExpiracaoIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired JdbcTemplate jdbc;
+    @Autowired DataSource dataSource;
+    @Autowired ReservaService reservaService;
+
+    private static final UUID TENANT_ACME = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+    private static final UUID MODELO_ID = UUID.fromString("e8e00000-0000-4000-8000-000000000001");
+    private static final UUID CLIENTE_ID = UUID.fromString("e8e00000-0000-4000-8000-000000000002");
+    private static final UUID TENANT_TRIAL = UUID.fromString("e8e00000-0000-4000-8000-000000000003");
+    private static final UUID MODELO_TRIAL = UUID.fromString("e8e00000-0000-4000-8000-000000000004");
+    private static final UUID CLIENTE_TRIAL = UUID.fromString("e8e00000-0000-4000-8000-000000000005");
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("""
+            INSERT INTO modelo (id, tenant_id, nome, fabricante, potencia_hp, capacidade_pessoas,
+                                preco_base_hora, tolerancia_min, taxa_hora_extra, caucao,
+                                inclui_combustivel, ativo)
+            VALUES (?, ?, 'Expiração 130', 'Sea-Doo', 130, 2, 150.00, 5, 40.00, 200.00, FALSE, TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, MODELO_ID, TENANT_ACME);
+        jdbc.update("INSERT INTO cliente (id, tenant_id, nome, documento, ativo) "
+            + "VALUES (?, ?, 'Cliente Expiração', '222.333.444-55', true) ON CONFLICT DO NOTHING",
+            CLIENTE_ID, TENANT_ACME);
+        // isola a contagem das reservas vencidas deixadas por outros testes
+        jdbc.update("UPDATE reserva SET ativo = false WHERE status IN ('PENDENTE', 'CONFIRMADA')"
+            + " AND expira_em <= now()");
+    }
+
+    @Test
+    @DisplayName("expira só vencidas sem sinal, em lotes até esgotar")
+    void expiraEmLotes() {
+        UUID a = reserva("PENDENTE", false, "-1 hour");
+        UUID b = reserva("CONFIRMADA", false, "-2 hours");
+        UUID c = reserva("PENDENTE", false, "-3 hours");
+        UUID comSinal = reserva("CONFIRMADA", true, "-1 hour");
+        UUID futura = reserva("PENDENTE", false, "+1 hour");
+
+        int expiradas = reservaService.processarExpiracao(2);
+
+        assertThat(expiradas).isEqualTo(3);
+        assertThat(status(a)).isEqualTo("EXPIRADA");
+        assertThat(status(b)).isEqualTo("EXPIRADA");
+        assertThat(status(c)).isEqualTo("EXPIRADA");
+        assertThat(status(comSinal)).isEqualTo("CONFIRMADA");
+        assertThat(status(futura)).isEqualTo("PENDENTE");
+    }
+
+    @Test
+    @DisplayName("reserva travada por outra transação é pulada, não esperada")
+    void pulaLinhaTravada() throws Exception {
+        UUID livre = reserva("PENDENTE", false, "-1 hour");
+        UUID travada = reserva("PENDENTE", false, "-2 hours");
+
+        try (Connection outra = dataSource.getConnection()) {
+            outra.setAutoCommit(false);
+            try (PreparedStatement ps = outra.prepareStatement("SELECT id FROM reserva WHERE id = ? FOR UPDATE")) {
+                ps.setObject(1, travada);
+                ps.executeQuery();
+            }
+
+            assertThat(reservaService.processarExpiracao(500)).isEqualTo(1);
+            assertThat(status(livre)).isEqualTo("EXPIRADA");
+
+            outra.rollback();
+        }
+
+        assertThat(status(travada)).isEqualTo("PENDENTE");
+        assertThat(reservaService.processarExpiracao(500)).isEqualTo(1);
+        assertThat(status(travada)).isEqualTo("EXPIRADA");
+    }
+
+    @Test
+    @DisplayName("tenant em TRIAL também tem as pré-reservas vencidas expiradas")
+    void expiraTenantEmTrial() {
+        jdbc.update("INSERT INTO tenant (id, slug, razao_social, status) "
+            + "VALUES (?, 'expiracao-trial', 'Expiração Trial Ltda', 'TRIAL') "
+            + "ON CONFLICT (id) DO UPDATE SET status = 'TRIAL'", TENANT_TRIAL);
+        jdbc.update("""
+            INSERT INTO modelo (id, tenant_id, nome, fabricante, potencia_hp, capacidade_pessoas,
+                                preco_base_hora, tolerancia_min, taxa_hora_extra, caucao,
+                                inclui_combustivel, ativo)
+            VALUES (?, ?, 'Trial 130', 'Sea-Doo', 130, 2, 150.00, 5, 40.00, 200.00, FALSE, TRUE)
+            ON CONFLICT (id) DO NOTHING
+            """, MODELO_TRIAL, TENANT_TRIAL);
+        jdbc.update("INSERT INTO cliente (id, tenant_id, nome, documento, ativo) "
+            + "VALUES (?, ?, 'Cliente Trial', '333.444.555-66', true) ON CONFLICT DO NOTHING",
+            CLIENTE_TRIAL, TENANT_TRIAL);
+        UUID vencida = reserva(TENANT_TRIAL, MODELO_TRIAL, CLIENTE_TRIAL, "PENDENTE", false, "-1 hour");
+
+        assertThat(reservaService.processarExpiracao(500)).isEqualTo(1);
+        assertThat(status(vencida)).isEqualTo("EXPIRADA");
+    }
+
+    private UUID reserva(String status, boolean sinalPago, String expiraEm) {
+        return reserva(TENANT_ACME, MODELO_ID, CLIENTE_ID, status, sinalPago, expiraEm);
+    }
+
+    private UUID reserva(UUID tenant, UUID modelo, UUID cliente, String status, boolean sinalPago, String expiraEm) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+            INSERT INTO reserva (id, tenant_id, modelo_id, cliente_id, data_inicio, data_fim_prevista,
+                                 status, sinal_pago, valor_sinal, sinal_pago_em, expira_em, ativo)
+            VALUES (?, ?, ?, ?, now() + ?::interval - interval '30 minutes', now() + interval '1 day',
+                    ?, ?, ?, ?, now() + ?::interval, true)
+            """, id, tenant, modelo, cliente, expiraEm, status, sinalPago,
+            sinalPago ? new BigDecimal("50.00") : null,
+            sinalPago ? Timestamp.from(Instant.now()) : null, expiraEm);
+        return id;
+    }
+
+    private String status(UUID id) {
+        return jdbc.queryForObject("SELECT status FROM reserva WHERE id = ?", String.class, id);
+    }
+}
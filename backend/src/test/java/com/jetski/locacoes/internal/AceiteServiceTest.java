@@ -9,6 +9,7 @@ import com.jetski.shared.storage.StorageService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
@@ -35,7 +36,8 @@ class AceiteServiceTest {
     private final ReservaRepository reservaRepo = mock(ReservaRepository.class);
     private final StorageService storage = mock(StorageService.class);
     private final AceiteOtpService otpService = mock(AceiteOtpService.class);
-    private final AceiteService service = new AceiteService(repo, reservaRepo, storage, otpService);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final AceiteService service = new AceiteService(repo, reservaRepo, storage, otpService, eventPublisher);
 
     private final UUID tenant = UUID.randomUUID();
     private final UUID reservaId = UUID.randomUUID();
@@ -94,6 +96,8 @@ class AceiteServiceTest {
 
         assertThat(rascunho.getStatus()).isEqualTo(Reserva.ReservaStatus.PENDENTE);
         verify(reservaRepo).save(rascunho);
+        // agora é reserva: entra na linha do tempo do portal (pós-commit)
+        verify(eventPublisher).publishEvent(new TimelineOrigemAlterada(tenant, java.util.List.of(reservaId)));
     }
 
     @Test
@@ -0,0 +1,182 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.locacoes.api.dto.AnexoUploadSessao;
+import com.jetski.locacoes.domain.ClienteAnexo;
+import com.jetski.shared.exception.BusinessException;
+import com.jetski.shared.exception.NotFoundException;
+import com.jetski.shared.security.TenantContext;
+import com.jetski.shared.storage.StorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Upload de anexo em partes: sessão no Redis, partes em sequência (reenvio
+ * permitido, pular adiante não), conclusão só com tudo recebido e sessão
+ * invisível a outro tenant/cliente.
+ */
+@DisplayName("AnexoUploadService")
+class AnexoUploadServiceTest {
+
+    private static final long PARTE = AnexoUploadService.TAMANHO_PARTE;
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+    private final StorageService storage = mock(StorageService.class);
+    private final ClienteAnexoService clienteAnexoService = mock(ClienteAnexoService.class);
+
+    private final AnexoUploadService service = new AnexoUploadService(redis, storage, clienteAnexoService);
+
+    /** "Redis" em memória: chave → hash. */
+    private final Map<String, Map<Object, Object>> redisMem = new HashMap<>();
+
+    private final UUID tenant = UUID.randomUUID();
+    private final UUID clienteId = UUID.randomUUID();
+    private final ClienteAnexo.Tipo tipo = ClienteAnexo.Tipo.IDENTIDADE;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TenantContext.setTenantId(tenant);
+        when(redis.opsForHash()).thenReturn(hashOps);
+        doAnswer(inv -> {
+            redisMem.computeIfAbsent(inv.getArgument(0), k -> new HashMap<>()).putAll(inv.getArgument(1));
+            return null;
+        }).when(hashOps).putAll(anyString(), anyMap());
+        doAnswer(inv -> {
+            redisMem.computeIfAbsent(inv.getArgument(0), k -> new HashMap<>()).put(inv.getArgument(1), inv.getArgument(2));
+            return null;
+        }).when(hashOps).put(anyString(), any(), any());
+        when(hashOps.entries(anyString()))
+            .thenAnswer(inv -> new HashMap<>(redisMem.getOrDefault(inv.<String>getArgument(0), Map.of())));
+        when(redis.delete(anyString())).thenAnswer(inv -> redisMem.remove(inv.<String>getArgument(0)) != null);
+        when(storage.createMultipartUpload(anyString(), anyString())).thenReturn("s3-upload");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static InputStream bytes(long n) {
+        return new ByteArrayInputStream(new byte[(int) n]);
+    }
+
+    @Test
+    @DisplayName("fluxo completo: partes em ordem viram o objeto final e o anexo é registrado")
+    void fluxoCompleto() {
+        long tamanho = PARTE + 1000;
+        AnexoUploadSessao s = service.iniciar(clienteId, tipo, "image/jpeg", tamanho, "BALCAO", null);
+        String key = tenant + "/cliente/" + clienteId + "/anexo-identidade.jpg";
+        verify(storage).createMultipartUpload(key, "image/jpeg");
+        assertThat(s.tamanhoParte()).isEqualTo(PARTE);
+        assertThat(s.recebido()).isZero();
+
+        assertThat(service.enviarParte(s.uploadId(), clienteId, tipo, 0, bytes(PARTE), PARTE).recebido())
+            .isEqualTo(PARTE);
+        assertThat(service.enviarParte(s.uploadId(), clienteId, tipo, PARTE, bytes(1000), 1000).recebido())
+            .isEqualTo(tamanho);
+        verify(storage).uploadPart(eq(key), eq("s3-upload"), eq(1), any(), eq(PARTE));
+        verify(storage).uploadPart(eq(key), eq("s3-upload"), eq(2), any(), eq(1000L));
+
+        service.concluir(s.uploadId(), clienteId, tipo);
+
+        verify(storage).completeMultipartUpload(key, "s3-upload", 2);
+        verify(clienteAnexoService).registrar(clienteId, tipo, key, "image/jpeg", "BALCAO", null);
+        assertThat(redisMem).isEmpty();
+    }
+
+    @Test
+    @DisplayName("retomada: status devolve o recebido e a parte já enviada pode ser reenviada")
+    void retomada() {
+        AnexoUploadSessao s = service.iniciar(clienteId, tipo, "image/png", PARTE + 1000, "BALCAO", null);
+        service.enviarParte(s.uploadId(), clienteId, tipo, 0, bytes(PARTE), PARTE);
+
+        assertThat(service.status(s.uploadId(), clienteId, tipo).recebido()).isEqualTo(PARTE);
+        assertThat(service.enviarParte(s.uploadId(), clienteId, tipo, 0, bytes(PARTE), PARTE).recebido())
+            .isEqualTo(PARTE);
+    }
+
+    @Test
+    @DisplayName("parte fora de ordem, desalinhada ou com tamanho errado é recusada")
+    void partesInvalidas() {
+        AnexoUploadSessao s = service.iniciar(clienteId, tipo, "image/jpeg", PARTE + 1000, "BALCAO", null);
+
+        assertThatThrownBy(() -> service.enviarParte(s.uploadId(), clienteId, tipo, PARTE, bytes(PARTE), PARTE))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("fora de ordem");
+        assertThatThrownBy(() -> service.enviarParte(s.uploadId(), clienteId, tipo, 10, bytes(PARTE), PARTE))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("Offset");
+        assertThatThrownBy(() -> service.enviarParte(s.uploadId(), clienteId, tipo, 0, bytes(10), 10))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("esperado");
+        verify(storage, never()).uploadPart(anyString(), anyString(), anyInt(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("conclusão com bytes faltando é recusada")
+    void conclusaoIncompleta() {
+        AnexoUploadSessao s = service.iniciar(clienteId, tipo, "image/jpeg", 1000, "BALCAO", null);
+
+        assertThatThrownBy(() -> service.concluir(s.uploadId(), clienteId, tipo))
+            .isInstanceOf(BusinessException.class).hasMessageContaining("incompleto");
+        verify(storage, never()).completeMultipartUpload(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("acima de 8 MB ou tipo de arquivo desconhecido não abre sessão")
+    void limitesNoInicio() {
+        assertThatThrownBy(() -> service.iniciar(clienteId, tipo, "image/jpeg",
+                ClienteAnexoService.MAX_BYTES + 1L, "BALCAO", null))
+            .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.iniciar(clienteId, tipo, "text/html", 100, "BALCAO", null))
+            .isInstanceOf(BusinessException.class);
+        verify(storage, never()).createMultipartUpload(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("sessão de outro tenant ou cliente é 404")
+    void isolamento() {
+        AnexoUploadSessao s = service.iniciar(clienteId, tipo, "image/jpeg", 1000, "BALCAO", null);
+
+        assertThatThrownBy(() -> service.status(s.uploadId(), UUID.randomUUID(), tipo))
+            .isInstanceOf(NotFoundException.class);
+        TenantContext.setTenantId(UUID.randomUUID());
+        assertThatThrownBy(() -> service.status(s.uploadId(), clienteId, tipo))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("cancelar descarta as partes no storage e a sessão")
+    void cancelar() {
+        AnexoUploadSessao s = service.iniciar(clienteId, tipo, "application/pdf", 1000, "BALCAO", null);
+
+        service.cancelar(s.uploadId(), clienteId, tipo);
+
+        verify(storage).abortMultipartUpload(tenant + "/cliente/" + clienteId + "/anexo-identidade.pdf", "s3-upload");
+        assertThatThrownBy(() -> service.status(s.uploadId(), clienteId, tipo))
+            .isInstanceOf(NotFoundException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.locacoes.event.CheckInEvent;
+import com.jetski.locacoes.event.CheckOutEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Manutenção da linha do tempo do portal pelos eventos de locação/reserva:
+ * projeta o que o evento aponta e nunca propaga falha (best-effort).
+ */
+@DisplayName("CustomerTimelineListener")
+class CustomerTimelineListenerTest {
+
+    private final CustomerTimelineService service = mock(CustomerTimelineService.class);
+    private final CustomerTimelineListener listener = new CustomerTimelineListener(service);
+
+    private final UUID tenant = UUID.randomUUID();
+    private final UUID locacaoId = UUID.randomUUID();
+    private final UUID reservaId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("check-in de reserva → projeta a locação E a reserva (agora finalizada)")
+    void checkInDeReserva() {
+        listener.onCheckIn(CheckInEvent.fromReservation(tenant, locacaoId, UUID.randomUUID(), reservaId,
+            UUID.randomUUID(), UUID.randomUUID(), 10, LocalDateTime.now()));
+
+        verify(service).projetarLocacoes(tenant, List.of(locacaoId));
+        verify(service).projetarReservas(tenant, List.of(reservaId));
+    }
+
+    @Test
+    @DisplayName("walk-in → só a locação")
+    void walkIn() {
+        listener.onCheckIn(CheckInEvent.walkIn(tenant, locacaoId, UUID.randomUUID(),
+            UUID.randomUUID(), UUID.randomUUID(), 10, LocalDateTime.now()));
+
+        verify(service).projetarLocacoes(tenant, List.of(locacaoId));
+        verify(service, never()).projetarReservas(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("falha na projeção não chega à operação de origem")
+    void falhaNaoPropaga() {
+        doThrow(new RuntimeException("db down")).when(service).projetarLocacoes(any(), anyCollection());
+
+        assertThatCode(() -> listener.onCheckOut(CheckOutEvent.of(tenant, locacaoId, UUID.randomUUID(),
+            UUID.randomUUID(), UUID.randomUUID(), 12, 60, BigDecimal.TEN, LocalDateTime.now())))
+            .doesNotThrowAnyException();
+    }
+}
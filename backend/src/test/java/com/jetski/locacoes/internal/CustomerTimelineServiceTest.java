@@ -0,0 +1,61 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.shared.exception.BusinessException;
+import com.jetski.tenant.TenantRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Linha do tempo do portal: cursor opaco do keyset e login sem pessoa.
+ * As consultas em si (RLS de self-read, upsert) são cobertas contra o banco.
+ */
+@DisplayName("CustomerTimelineService")
+class CustomerTimelineServiceTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final CustomerAccountService accountService = mock(CustomerAccountService.class);
+    private final CustomerTimelineService service = new CustomerTimelineService(
+        entityManager, accountService, mock(TenantRegistry.class));
+
+    @Test
+    @DisplayName("cursor: ida e volta preserva (ocorrido_em, origem_id)")
+    void cursorIdaEVolta() {
+        var cursor = new CustomerTimelineService.Cursor(
+            Instant.parse("2026-01-15T13:30:00.123456Z"), UUID.randomUUID());
+
+        String opaco = cursor.codificar();
+
+        assertThat(opaco).doesNotContain("|", "=", "+", "/");
+        assertThat(CustomerTimelineService.Cursor.decodificar(opaco)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("cursor adulterado → 400 (BusinessException), não 500")
+    void cursorInvalido() {
+        assertThatThrownBy(() -> CustomerTimelineService.Cursor.decodificar("nao-e-um-cursor"))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("login sem pessoa → página vazia, sem consulta")
+    void semPessoa() {
+        when(accountService.fixarEscopoCliente("sub")).thenReturn(Optional.empty());
+
+        var pagina = service.pagina("sub", null, null);
+
+        assertThat(pagina.itens()).isEmpty();
+        assertThat(pagina.proximoCursor()).isNull();
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -0,0 +1,201 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.locacoes.domain.Foto;
+import com.jetski.locacoes.domain.FotoTipo;
+import com.jetski.locacoes.internal.repository.FotoRepository;
+import com.jetski.shared.storage.StorageService;
+import com.jetski.tenant.ImagemPresetService;
+import com.jetski.tenant.api.dto.ImagemCompressaoConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Variantes das fotos de locação: miniatura e média em JPEG nas chaves
+ * derivadas, dimensões pelos presets, orientação EXIF aplicada e nada órfão
+ * no storage quando a foto some durante a geração.
+ */
+@DisplayName("FotoVarianteService")
+class FotoVarianteServiceTest {
+
+    private static final String KEY = "t/l/CHECKIN_FRENTE.jpg";
+
+    private final FotoRepository fotoRepository = mock(FotoRepository.class);
+    private final StorageService storage = mock(StorageService.class);
+    private final ImagemPresetService presets = mock(ImagemPresetService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final FotoVarianteService service =
+        new FotoVarianteService(fotoRepository, storage, presets, registry);
+
+    private final UUID tenant = UUID.randomUUID();
+    private final UUID fotoId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(presets.preset(ImagemPresetService.FOTO_MINIATURA))
+            .thenReturn(new ImagemCompressaoConfig.Preset(400, 0.7));
+        when(presets.preset(ImagemPresetService.FOTO_MEDIA))
+            .thenReturn(new ImagemCompressaoConfig.Preset(1280, 0.8));
+        when(fotoRepository.findByIdAndTenantId(fotoId, tenant)).thenReturn(Optional.of(Foto.builder()
+            .id(fotoId).tenantId(tenant).tipo(FotoTipo.CHECKIN_FRENTE).s3Key(KEY)
+            .contentType("image/jpeg").uploadedAt(Instant.now()).build()));
+        when(fotoRepository.marcarVariantesGeradas(eq(fotoId), eq(tenant), any())).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("grava miniatura e média reduzidas nas chaves derivadas e marca a foto")
+    void geraVariantes() throws Exception {
+        byte[] original = jpeg(3000, 2000);
+        when(storage.getObject(KEY)).thenReturn(original);
+
+        service.gerar(tenant, fotoId);
+
+        assertThat(dimensoes(gravado("t/l/CHECKIN_FRENTE-miniatura.jpg"))).containsExactly(400, 267);
+        assertThat(dimensoes(gravado("t/l/CHECKIN_FRENTE-media.jpg"))).containsExactly(1280, 853);
+        verify(fotoRepository).marcarVariantesGeradas(eq(fotoId), eq(tenant), any());
+        assertThat(registry.get("jetski.foto.bytes").tag("variante", "miniatura").summary().totalAmount())
+            .isLessThan(original.length);
+    }
+
+    @Test
+    @DisplayName("não amplia foto menor que o preset")
+    void naoAmplia() throws Exception {
+        when(storage.getObject(KEY)).thenReturn(jpeg(300, 200));
+
+        service.gerar(tenant, fotoId);
+
+        assertThat(dimensoes(gravado("t/l/CHECKIN_FRENTE-media.jpg"))).containsExactly(300, 200);
+    }
+
+    @Test
+    @DisplayName("orientação EXIF 6 (câmera de lado) sai girada como o navegador exibe")
+    void aplicaOrientacaoExif() throws Exception {
+        byte[] comExif = comOrientacao(jpeg(3000, 2000), 6);
+        assertThat(FotoVarianteService.orientacaoExif(comExif)).isEqualTo(6);
+        when(storage.getObject(KEY)).thenReturn(comExif);
+
+        service.gerar(tenant, fotoId);
+
+        assertThat(dimensoes(gravado("t/l/CHECKIN_FRENTE-miniatura.jpg"))).containsExactly(267, 400);
+    }
+
+    @Test
+    @DisplayName("foto apagada durante a geração → remove as variantes gravadas")
+    void fotoApagadaNoMeio() throws Exception {
+        when(storage.getObject(KEY)).thenReturn(jpeg(800, 600));
+        when(fotoRepository.marcarVariantesGeradas(eq(fotoId), eq(tenant), any())).thenReturn(0);
+
+        service.gerar(tenant, fotoId);
+
+        verify(storage).deleteFile("t/l/CHECKIN_FRENTE-miniatura.jpg");
+        verify(storage).deleteFile("t/l/CHECKIN_FRENTE-media.jpg");
+    }
+
+    @Test
+    @DisplayName("formato que o ImageIO não lê (WebP) → sem variante, foto segue no original")
+    void formatoNaoDecodificavel() throws Exception {
+        when(storage.getObject(KEY)).thenReturn(new byte[] {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'});
+
+        service.gerar(tenant, fotoId);
+
+        verify(storage, never()).putObject(anyString(), any(byte[].class), anyString());
+        verify(fotoRepository, never()).marcarVariantesGeradas(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("dimensões acima do limite de pixels → sem variante, sem decodificar")
+    void acimaDoLimiteDePixels() throws Exception {
+        FotoVarianteService limitado =
+            new FotoVarianteService(fotoRepository, storage, presets, registry, 1_000_000L);
+        when(storage.getObject(KEY)).thenReturn(jpeg(1500, 1000));
+
+        limitado.gerar(tenant, fotoId);
+
+        verify(storage, never()).putObject(anyString(), any(byte[].class), anyString());
+        verify(fotoRepository, never()).marcarVariantesGeradas(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("listener nunca propaga falha do storage")
+    void listenerBestEffort() {
+        when(storage.getObject(KEY)).thenThrow(new RuntimeException("minio fora"));
+
+        service.onFotoConfirmada(new FotoConfirmada(tenant, fotoId));
+
+        verify(fotoRepository, never()).marcarVariantesGeradas(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("chave da variante troca a extensão do original")
+    void chaveDerivada() {
+        assertThat(FotoVarianteService.chave("a/b/CHECKOUT_PAINEL.webp", FotoVarianteService.Variante.MEDIA))
+            .isEqualTo("a/b/CHECKOUT_PAINEL-media.jpg");
+        assertThat(FotoVarianteService.chave("a.b/sem_extensao", FotoVarianteService.Variante.MINIATURA))
+            .isEqualTo("a.b/sem_extensao-miniatura.jpg");
+    }
+
+    private byte[] gravado(String key) {
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(storage).putObject(eq(key), bytes.capture(), eq("image/jpeg"));
+        return bytes.getValue();
+    }
+
+    private static int[] dimensoes(byte[] jpeg) throws Exception {
+        BufferedImage img = ImageIO.read(new ByteArrayInputStream(jpeg));
+        return new int[] {img.getWidth(), img.getHeight()};
+    }
+
+    private static byte[] jpeg(int w, int h) throws Exception {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < w; x += 7) {
+            for (int y = 0; y < h; y += 5) {
+                img.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    /** Insere, logo após o SOI, um APP1 Exif (big-endian) só com a tag Orientation. */
+    private static byte[] comOrientacao(byte[] jpeg, int orientacao) {
+        byte[] tiff = {
+            'M', 'M', 0, 42, 0, 0, 0, 8,         // cabeçalho TIFF, IFD0 no offset 8
+            0, 1,                                // 1 entrada
+            0x01, 0x12, 0, 3, 0, 0, 0, 1,        // Orientation, SHORT, count 1
+            0, (byte) orientacao, 0, 0,          // valor
+            0, 0, 0, 0                           // sem próximo IFD
+        };
+        int len = 2 + 6 + tiff.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(len >> 8);
+        out.write(len & 0xFF);
+        out.writeBytes(new byte[] {'E', 'x', 'i', 'f', 0, 0});
+        out.writeBytes(tiff);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
@@ -10,17 +10,23 @@ import com.lowagie.text.pdf.PdfReader;
 import com.lowagie.text.pdf.PdfWriter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -60,6 +66,51 @@ class PadesSignatureServiceTest {
         Files.write(out, assinado);
     }
 
+    @Test
+    @DisplayName("dentro do intervalo não relê o banco; depois dele troca a chave se o certificado mudou")
+    void recarregaQuandoCertificadoMuda() throws Exception {
+        when(repo.findFirstByOrderByCreatedAtDesc()).thenReturn(Optional.empty());
+        when(cipher.encrypt(anyString())).thenAnswer(i -> i.getArgument(0));
+        when(cipher.decrypt(anyString())).thenAnswer(i -> i.getArgument(0));
+
+        X509Certificate original = certificadoDaAssinatura(service.assinar(pdfSimples(), null));
+        service.assinar(pdfSimples(), null);
+        verify(repo, times(1)).findFirstByOrderByCreatedAtDesc();
+
+        // outro nó (ou o operador) gravou um certificado novo
+        AssinaturaCertificadoRepository outroRepo = mock(AssinaturaCertificadoRepository.class);
+        when(outroRepo.findFirstByOrderByCreatedAtDesc()).thenReturn(Optional.empty());
+        new PadesSignatureService(outroRepo, cipher).assinar(pdfSimples(), null);
+        ArgumentCaptor<AssinaturaCertificado> novo = ArgumentCaptor.forClass(AssinaturaCertificado.class);
+        verify(outroRepo).save(novo.capture());
+        when(repo.findFirstByOrderByCreatedAtDesc()).thenReturn(Optional.of(novo.getValue()));
+
+        service.intervaloConferencia = Duration.ZERO;
+        X509Certificate depois = certificadoDaAssinatura(service.assinar(pdfSimples(), null));
+
+        assertThat(depois).isNotEqualTo(original);
+        assertThat(Base64.getEncoder().encodeToString(depois.getEncoded()))
+            .isEqualTo(novo.getValue().getCertPem());
+    }
+
+    @Test
+    @DisplayName("falha ao reconferir o certificado mantém a chave em uso")
+    void falhaNaConferenciaMantemChave() throws Exception {
+        when(repo.findFirstByOrderByCreatedAtDesc()).thenReturn(Optional.empty());
+        when(cipher.encrypt(anyString())).thenAnswer(i -> i.getArgument(0));
+        X509Certificate original = certificadoDaAssinatura(service.assinar(pdfSimples(), null));
+
+        service.intervaloConferencia = Duration.ZERO;
+        when(repo.findFirstByOrderByCreatedAtDesc()).thenThrow(new IllegalStateException("banco fora"));
+
+        assertThat(certificadoDaAssinatura(service.assinar(pdfSimples(), null))).isEqualTo(original);
+    }
+
+    private static X509Certificate certificadoDaAssinatura(byte[] assinado) throws Exception {
+        AcroFields af = new PdfReader(assinado).getAcroFields();
+        return af.verifySignature(af.getSignatureNames().get(0)).getSigningCertificate();
+    }
+
     private static byte[] pdfSimples() throws Exception {
         ByteArrayOutputStream b = new ByteArrayOutputStream();
         Document d = new Document();
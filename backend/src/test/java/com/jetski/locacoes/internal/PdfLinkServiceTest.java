@@ -0,0 +1,145 @@
+package com.jetski.locacoes.internal;
+
+import com.jetski.shared.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Link de PDF de uso único: bytes crus no Redis (sem Base64), PDF grande ou
+ * acima do teto em voo vai para o storage, e consumo concorrente do mesmo
+ * token entrega o PDF a exatamente um request (GETDEL).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PdfLinkService (link de PDF de uso único)")
+class PdfLinkServiceTest {
+
+    @Mock private StringRedisTemplate redis;
+    @Mock private RedisConnection connection;
+    @Mock private RedisStringCommands stringCommands;
+    @Mock private StorageService storageService;
+
+    /** "Redis" em memória: GETDEL = remove atômico do mapa. */
+    private final Map<ByteBuffer, byte[]> redisMem = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PdfLinkService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        lenient().when(redis.execute(any(RedisCallback.class)))
+            .thenAnswer(inv -> ((RedisCallback<?>) inv.getArgument(0)).doInRedis(connection));
+        lenient().when(stringCommands.set(any(), any(), any(), any())).thenAnswer(inv -> {
+            redisMem.put(ByteBuffer.wrap(inv.getArgument(0)), inv.getArgument(1));
+            return true;
+        });
+        lenient().when(stringCommands.getDel(any()))
+            .thenAnswer(inv -> redisMem.remove(ByteBuffer.wrap(inv.getArgument(0))));
+
+        service = new PdfLinkService(redis, storageService, meterRegistry);
+        ReflectionTestUtils.setField(service, "inlineMaxKb", 4L);
+        ReflectionTestUtils.setField(service, "redisMaxKb", 10L);
+    }
+
+    private static String token(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private static byte[] pdf(int tamanho) {
+        byte[] b = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            b[i] = (byte) i;
+        }
+        return b;
+    }
+
+    @Test
+    @DisplayName("PDF pequeno: bytes crus no Redis (+1 byte de marcador) e gauge por tipo")
+    void inline() throws Exception {
+        byte[] pdf = pdf(3000);
+        String url = service.criarLink(PdfLinkService.Tipo.DOCUMENTO, pdf);
+
+        assertThat(url).startsWith("/api/v1/pdf/");
+        assertThat(redisMem.values()).singleElement().satisfies(v -> assertThat(v).hasSize(3001));
+        assertThat(meterRegistry.get("jetski.pdf_link.bytes_em_voo").tag("tipo", "documento").gauge().value())
+            .isEqualTo(3000.0);
+
+        PdfLinkService.Pdf aberto = service.consumir(token(url));
+        assertThat(aberto.tamanho()).isEqualTo(3000);
+        assertThat(aberto.conteudo().readAllBytes()).isEqualTo(pdf);
+        assertThat(service.consumir(token(url))).isNull();
+        assertThat(service.emVooNoRedis()).isZero();
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    @DisplayName("PDF acima do limite inline ou do teto em voo: storage + referência no Redis")
+    void storage() throws Exception {
+        byte[] grande = pdf(5000);
+        String url = service.criarLink(PdfLinkService.Tipo.EMISSAO, grande);
+        verify(storageService).putObject(startsWith("_pdf-links/"), eq(grande), eq("application/pdf"));
+
+        // 3 × 3 KB inline = 9 KB; o 4º passaria do teto de 10 KB
+        for (int i = 0; i < 3; i++) {
+            service.criarLink(PdfLinkService.Tipo.FICHA_RESERVA, pdf(3072));
+        }
+        service.criarLink(PdfLinkService.Tipo.FICHA_RESERVA, pdf(3072));
+        verify(storageService, times(2)).putObject(anyString(), any(byte[].class), eq("application/pdf"));
+
+        when(storageService.getObject(anyString())).thenReturn(grande);
+        assertThat(service.consumir(token(url)).conteudo().readAllBytes()).isEqualTo(grande);
+        verify(storageService).deleteFile(startsWith("_pdf-links/"));
+    }
+
+    @Test
+    @DisplayName("consumo concorrente do mesmo token: exatamente um recebe o PDF")
+    void usoUnicoConcorrente() throws Exception {
+        String token = token(service.criarLink(PdfLinkService.Tipo.DOCUMENTO, pdf(1000)));
+        int threads = 16;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<PdfLinkService.Pdf>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                resultados.add(pool.submit(() -> {
+                    largada.await();
+                    return service.consumir(token);
+                }));
+            }
+            largada.countDown();
+            int entregues = 0;
+            for (Future<PdfLinkService.Pdf> f : resultados) {
+                if (f.get() != null) {
+                    entregues++;
+                }
+            }
+            assertThat(entregues).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
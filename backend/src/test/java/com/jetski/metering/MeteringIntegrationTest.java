@@ -260,6 +260,50 @@ class MeteringIntegrationTest extends AbstractIntegrationTest {
             .andExpect(jsonPath("$[?(@.slug == 'marina-bay')].gru").value(grusMarina));
     }
 
+    @Test
+    @DisplayName("Rollup mensal (trigger V066) acompanha emissao_uso; paginação e CSV da plataforma")
+    void testPlatformRollupPaginacaoCsv() throws Exception {
+        UUID docId = UUID.randomUUID();
+        listener.onDocumentosEmitidos(new DocumentosEmitidosEvent(
+            TENANT_ACME, UUID.randomUUID(), docId, "marinha", USER_ID, null, Instant.now()));
+        aguardarContagem("DOCUMENTO", docId, 1);
+
+        // Invariante do trigger: rollup == contagem da fonte, também após DELETE direto
+        String divergentes = """
+            SELECT count(*) FROM (
+                SELECT tenant_id,
+                       date_trunc('month', ocorrido_em AT TIME ZONE 'America/Sao_Paulo')::date AS competencia,
+                       tipo, count(*) AS total
+                  FROM emissao_uso GROUP BY 1, 2, 3
+            ) fonte
+            FULL JOIN (SELECT * FROM plataforma_emissao_mensal WHERE total > 0) r
+                   USING (tenant_id, competencia, tipo)
+             WHERE fonte.total IS DISTINCT FROM r.total
+            """;
+        assertThat(jdbcTemplate.queryForObject(divergentes, Integer.class)).isZero();
+        limparUsos(TENANT_ACME);
+        assertThat(jdbcTemplate.queryForObject(divergentes, Integer.class)).isZero();
+
+        String competencia = YearMonth.now(ZoneId.of("America/Sao_Paulo")).toString();
+        int empresas = jdbcTemplate.queryForObject("SELECT count(*) FROM tenant", Integer.class);
+
+        mockMvc.perform(get("/v1/platform/metering/emissoes?competencia=" + competencia + "&page=0&size=1")
+                .with(superAdmin()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", String.valueOf(empresas)))
+            .andExpect(jsonPath("$.length()").value(1));
+
+        String csv = mockMvc.perform(get("/v1/platform/metering/emissoes/export?competencia=" + competencia)
+                .with(superAdmin()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition",
+                "attachment; filename=\"emissoes_" + competencia + ".csv\""))
+            .andReturn().getResponse().getContentAsString(java.nio.charset.StandardCharsets.UTF_8);
+        assertThat(csv.lines()).hasSize(empresas + 1);
+        assertThat(csv.lines().findFirst()).hasValue("Empresa,Slug,Documentos,GRUs,Prévias,Total cobrável");
+        assertThat(csv).contains(",acme,");
+    }
+
     @Test
     @DisplayName("Plataforma nega acesso quando OPA nega (403)")
     void testPlatformDenyOpa() throws Exception {
@@ -0,0 +1,123 @@
+package com.jetski.pagamentos.internal;
+
+import com.jetski.bonus.api.BonusService;
+import com.jetski.comissoes.api.ComissaoQueryService;
+import com.jetski.comissoes.domain.Comissao;
+import com.jetski.comissoes.domain.StatusComissao;
+import com.jetski.locacoes.api.PresencaVendedorQueryService;
+import com.jetski.locacoes.api.VendedorService;
+import com.jetski.locacoes.domain.Vendedor;
+import com.jetski.pagamentos.api.dto.PendenciasPagamentoResponse;
+import com.jetski.pagamentos.api.dto.RegistrarPagamentoRequest;
+import com.jetski.pagamentos.domain.PagamentoVendedor;
+import com.jetski.pagamentos.domain.TipoPagamento;
+import com.jetski.pagamentos.internal.repository.PagamentoVendedorRepository;
+import com.jetski.shared.exception.ConflictException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pendências de pagamento de vendedores: totais por consultas agrupadas
+ * (independente do nº de vendedores) e baixa em lote com detecção de
+ * pagamento concorrente.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PagamentoVendedorService (pendências em lote + baixa set-based)")
+class PagamentoVendedorServiceTest {
+
+    private static final UUID TENANT = UUID.fromString("a4000000-0000-0000-0000-0000000000dd");
+
+    @Mock private PagamentoVendedorRepository pagamentoRepository;
+    @Mock private VendedorService vendedorService;
+    @Mock private ComissaoQueryService comissaoQueryService;
+    @Mock private PresencaVendedorQueryService presencaQueryService;
+    @Mock private BonusService bonusService;
+
+    @InjectMocks private PagamentoVendedorService service;
+
+    @Test
+    @DisplayName("50 vendedores: 3 consultas agrupadas, nenhuma por vendedor; sem pendência fica de fora")
+    void pendenciasAgrupadas() {
+        List<Vendedor> vendedores = new ArrayList<>();
+        Map<UUID, ComissaoQueryService.TotalVendedor> comissoes = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            Vendedor v = Vendedor.builder().id(UUID.randomUUID()).nome("Vendedor " + i).build();
+            vendedores.add(v);
+            if (i % 2 == 0) {
+                comissoes.put(v.getId(), new ComissaoQueryService.TotalVendedor(BigDecimal.valueOf(i + 1), 3));
+            }
+        }
+        UUID comDiaria = vendedores.get(1).getId();
+        when(vendedorService.listActiveSellers()).thenReturn(vendedores);
+        when(comissaoQueryService.sumAprovadasPorVendedor(TENANT)).thenReturn(comissoes);
+        when(presencaQueryService.sumNaoPagasPorVendedor(TENANT)).thenReturn(Map.of(
+            comDiaria, new PresencaVendedorQueryService.TotalVendedor(new BigDecimal("500.00"), 5)));
+        when(bonusService.sumAprovadosPorVendedor(TENANT)).thenReturn(Map.of(
+            comDiaria, new BonusService.TotalVendedor(new BigDecimal("100.00"), 1)));
+
+        List<PendenciasPagamentoResponse> pendencias = service.listarPendencias(TENANT);
+
+        assertThat(pendencias).hasSize(26);
+        assertThat(pendencias.get(0).getVendedorId()).isEqualTo(comDiaria);
+        assertThat(pendencias.get(0).getValorTotal()).isEqualByComparingTo("600.00");
+        assertThat(pendencias.get(0).getQtdTotal()).isEqualTo(6);
+        verify(comissaoQueryService, never()).sumComissoesAprovadasByVendedor(any(), any());
+        verify(presencaQueryService, never()).sumDiariasNaoPagasByVendedor(any(), any());
+        verify(bonusService, never()).sumBonusAprovadosByVendedor(any(), any());
+    }
+
+    @Test
+    @DisplayName("baixa: item pago por outra requisição no meio ⇒ 409 (sem pagamento em dobro)")
+    void pagamentoConcorrente() {
+        UUID vendedorId = UUID.randomUUID();
+        when(vendedorService.findById(vendedorId))
+            .thenReturn(Vendedor.builder().id(vendedorId).nome("Ana").build());
+        List<Comissao> aprovadas = List.of(comissao(vendedorId), comissao(vendedorId));
+        when(comissaoQueryService.findByVendedorAndStatus(TENANT, vendedorId, StatusComissao.APROVADA))
+            .thenReturn(aprovadas);
+        when(presencaQueryService.findNaoPagasByVendedor(TENANT, vendedorId)).thenReturn(List.of());
+        when(bonusService.findAprovadosByVendedor(TENANT, vendedorId)).thenReturn(List.of());
+        when(pagamentoRepository.save(any())).thenAnswer(inv -> {
+            PagamentoVendedor p = inv.getArgument(0);
+            p.setId(UUID.randomUUID());
+            return p;
+        });
+        // a outra transação já pagou uma das duas
+        when(comissaoQueryService.marcarPagas(eq(TENANT), eq(vendedorId), anyCollection(), any(), any(), any()))
+            .thenReturn(1);
+
+        RegistrarPagamentoRequest request = RegistrarPagamentoRequest.builder()
+            .tipoPagamento(TipoPagamento.PIX).build();
+
+        assertThatThrownBy(() -> service.registrarPagamento(TENANT, vendedorId, request, UUID.randomUUID()))
+            .isInstanceOf(ConflictException.class);
+        verify(comissaoQueryService).marcarPagas(eq(TENANT), eq(vendedorId),
+            eq(aprovadas.stream().map(Comissao::getId).toList()), any(), any(), any());
+    }
+
+    private static Comissao comissao(UUID vendedorId) {
+        return Comissao.builder()
+            .id(UUID.randomUUID()).tenantId(TENANT).vendedorId(vendedorId)
+            .locacaoId(UUID.randomUUID()).status(StatusComissao.APROVADA)
+            .dataLocacao(Instant.parse("2026-01-10T15:00:00Z"))
+            .valorComissao(new BigDecimal("40.00"))
+            .build();
+    }
+}
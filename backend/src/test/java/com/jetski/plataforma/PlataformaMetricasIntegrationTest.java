@@ -11,7 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -145,4 +149,109 @@ class PlataformaMetricasIntegrationTest extends AbstractIntegrationTest {
 
         assertThat(semLinha).isZero();
     }
+
+    @Test
+    @DisplayName("Job incremental: sem mudança não recalcula nada; só o dia sem linha volta")
+    void incrementalSoRecalculaOQueMudou() {
+        service.recalcularJanela();
+        // marca no futuro = nenhuma fonte mudou desde a última execução (sem depender
+        // de quando as fixtures da suíte foram gravadas, dentro da margem da marca)
+        jdbc.update("UPDATE plataforma_metrica_marca SET calculado_em = now() + interval '1 hour'");
+
+        var semMudanca = service.recalcularJanela();
+        assertThat(semMudanca.linhas()).isZero();
+        assertThat(semMudanca.falhas()).isZero();
+
+        jdbc.update("UPDATE plataforma_metrica_marca SET calculado_em = now() + interval '1 hour'");
+        jdbc.update("DELETE FROM plataforma_metrica_diaria WHERE tenant_id = ? AND dia = ?",
+            TENANT, hoje.minusDays(3));
+
+        var r = service.recalcularJanela();
+
+        assertThat(r.linhas()).isEqualTo(1);
+        assertThat(r.porEmpresa())
+            .filteredOn(t -> t.tenantId().equals(TENANT))
+            .singleElement()
+            .satisfies(t -> assertThat(t.dias()).isEqualTo(1));
+        Integer linha = jdbc.queryForObject(
+            "SELECT count(*) FROM plataforma_metrica_diaria WHERE tenant_id = ? AND dia = ?",
+            Integer.class, TENANT, hoje.minusDays(3));
+        assertThat(linha).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Job incremental: dia com total que não bate mais com a fonte é recalculado")
+    void incrementalCorrigeDiaComLinhaApagadaOuMovida() {
+        service.recalcularJanela();
+        jdbc.update("UPDATE plataforma_metrica_marca SET calculado_em = now() + interval '1 hour'");
+        // Locação apagada (ou movida para outro dia) não deixa updated_at no dia antigo:
+        // o total gravado fica maior que as linhas-fonte que restaram
+        LocalDate dia = hoje.minusDays(2);
+        jdbc.update("UPDATE plataforma_metrica_diaria SET locacoes = locacoes + 1, receita_bruta = 999 "
+            + "WHERE tenant_id = ? AND dia = ?", TENANT, dia);
+
+        var r = service.recalcularJanela();
+
+        assertThat(r.porEmpresa())
+            .filteredOn(t -> t.tenantId().equals(TENANT))
+            .singleElement()
+            .satisfies(t -> assertThat(t.dias()).isEqualTo(1));
+        TenantContext.setTenantId(TENANT);
+        Integer locacoesReais = jdbc.queryForObject("""
+            SELECT count(*) FROM locacao WHERE tenant_id = ?
+              AND (data_check_in AT TIME ZONE 'America/Sao_Paulo')::date = ?
+            """, Integer.class, TENANT, dia);
+        TenantContext.clear();
+        Integer gravadas = jdbc.queryForObject(
+            "SELECT locacoes FROM plataforma_metrica_diaria WHERE tenant_id = ? AND dia = ?",
+            Integer.class, TENANT, dia);
+        assertThat(gravadas).isEqualTo(locacoesReais);
+    }
+
+    @Test
+    @DisplayName("Corte por intervalo na coluna crua respeita a virada do dia no fuso local")
+    void bordasDoDiaNoFusoLocal() {
+        LocalDate dia = hoje.minusDays(3);
+        ZoneId zona = ZoneId.of("America/Sao_Paulo");
+        UUID primeira = UUID.randomUUID();
+        UUID ultima = UUID.randomUUID();
+        UUID seguinte = UUID.randomUUID();
+
+        TenantContext.setTenantId(TENANT);
+        var ids = jdbc.queryForMap("""
+            SELECT (SELECT id FROM jetski WHERE tenant_id = ? LIMIT 1) AS jetski,
+                   (SELECT id FROM cliente WHERE tenant_id = ? LIMIT 1) AS cliente
+            """, TENANT, TENANT);
+        // 00:00 e 23:59 locais contam no dia; 00:00 do dia seguinte (03:00Z) não
+        for (var l : List.of(
+                Map.entry(primeira, dia.atStartOfDay(zona)),
+                Map.entry(ultima, dia.atTime(23, 59).atZone(zona)),
+                Map.entry(seguinte, dia.plusDays(1).atStartOfDay(zona)))) {
+            jdbc.update("""
+                INSERT INTO locacao (id, tenant_id, jetski_id, cliente_id, data_check_in,
+                                     horimetro_inicio, duracao_prevista, valor_total, status)
+                VALUES (?, ?, ?, ?, ?, 0, 60, 100.00, 'FINALIZADA')
+                """, l.getKey(), TENANT, ids.get("jetski"), ids.get("cliente"),
+                Timestamp.from(l.getValue().toInstant()));
+        }
+        Integer locacoesReais = jdbc.queryForObject("""
+            SELECT count(*) FROM locacao WHERE tenant_id = ?
+              AND (data_check_in AT TIME ZONE 'America/Sao_Paulo')::date = ?
+            """, Integer.class, TENANT, dia);
+        TenantContext.clear();
+        assertThat(locacoesReais).isGreaterThanOrEqualTo(2);
+
+        try {
+            service.recalcular(dia, dia);
+
+            Integer gravadas = jdbc.queryForObject(
+                "SELECT locacoes FROM plataforma_metrica_diaria WHERE tenant_id = ? AND dia = ?",
+                Integer.class, TENANT, dia);
+            assertThat(gravadas).isEqualTo(locacoesReais);
+        } finally {
+            TenantContext.setTenantId(TENANT);
+            jdbc.update("DELETE FROM locacao WHERE id IN (?, ?, ?)", primeira, ultima, seguinte);
+            TenantContext.clear();
+        }
+    }
 }
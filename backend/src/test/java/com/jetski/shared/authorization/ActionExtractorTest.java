@@ -310,6 +310,61 @@ class ActionExtractorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Upload em partes de anexo do cliente")
+    class AnexoUploads {
+
+        private static final String BASE =
+            "/api/v1/tenants/a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11/clientes/"
+                + "123e4567-e89b-12d3-a456-426614174000/anexos/CNH/uploads";
+        private static final String UPLOAD = BASE + "/9b2f3c4d-1e2f-4a5b-8c9d-0e1f2a3b4c5d";
+
+        private String action(String method, String uri) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setMethod(method);
+            request.setContextPath("/api");
+            request.setRequestURI(uri);
+            return actionExtractor.extractAction(request);
+        }
+
+        @Test
+        @DisplayName("POST .../uploads (iniciar) → cliente:update")
+        void iniciar() {
+            assertThat(action("POST", BASE)).isEqualTo("cliente:update");
+        }
+
+        @Test
+        @DisplayName("GET .../uploads/{uploadId} (estado) → cliente:view")
+        void estado() {
+            assertThat(action("GET", UPLOAD)).isEqualTo("cliente:view");
+        }
+
+        @Test
+        @DisplayName("PUT .../uploads/{uploadId} (parte) → cliente:update")
+        void enviarParte() {
+            assertThat(action("PUT", UPLOAD)).isEqualTo("cliente:update");
+        }
+
+        @Test
+        @DisplayName("POST .../uploads/{uploadId}/concluir → cliente:update")
+        void concluir() {
+            assertThat(action("POST", UPLOAD + "/concluir")).isEqualTo("cliente:update");
+        }
+
+        @Test
+        @DisplayName("DELETE .../uploads/{uploadId} (cancelar) → cliente:update, não cliente:delete")
+        void cancelar() {
+            assertThat(action("DELETE", UPLOAD)).isEqualTo("cliente:update");
+        }
+
+        @Test
+        @DisplayName("DELETE .../anexos/{tipo} (remover anexo) continua cliente:delete")
+        void removerAnexoContinuaDelete() {
+            assertThat(action("DELETE", BASE.substring(0, BASE.length() - "/uploads".length())))
+                .isEqualTo("cliente:delete");
+        }
+    }
+
     @Nested
     @DisplayName("Resource ID Extraction")
     class ResourceIdExtraction {
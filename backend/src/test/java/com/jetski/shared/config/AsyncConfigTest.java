@@ -0,0 +1,109 @@
+package com.jetski.shared.config;
+
+import com.jetski.shared.observability.MDCKeys;
+import com.jetski.shared.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Propagação de contexto do {@link AsyncConfig} no modo virtual threads: o
+ * método {@code @Async} tem que ver o tenant, o usuário e o MDC de quem chamou,
+ * e a thread não pode levar nada disso para a próxima tarefa.
+ */
+@SpringJUnitConfig(AsyncConfigTest.Config.class)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+@DisplayName("AsyncConfig - propagação de TenantContext e MDC (virtual threads)")
+class AsyncConfigTest {
+
+    record Visto(boolean virtual, UUID tenantId, UUID usuarioId, Map<String, String> mdc) {}
+
+    static class Tarefa {
+        @Async
+        public CompletableFuture<Visto> capturar() {
+            return CompletableFuture.completedFuture(new Visto(
+                Thread.currentThread().isVirtual(),
+                TenantContext.getTenantId(),
+                TenantContext.getUsuarioId(),
+                MDC.getCopyOfContextMap()));
+        }
+    }
+
+    @Configuration
+    @Import(AsyncConfig.class)
+    static class Config {
+        @Bean
+        Tarefa tarefa() {
+            return new Tarefa();
+        }
+    }
+
+    @Autowired
+    private Tarefa tarefa;
+
+    @AfterEach
+    void limpar() {
+        TenantContext.clear();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Tarefa @Async enxerga tenant, usuário e MDC do chamador")
+    void propagaContextoParaVirtualThread() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        TenantContext.setTenantId(tenantId);
+        TenantContext.setUsuarioId(usuarioId);
+        MDC.put(MDCKeys.TRACE_ID, "trace-123");
+        MDC.put(MDCKeys.TENANT_ID, tenantId.toString());
+
+        Visto visto = tarefa.capturar().get(5, TimeUnit.SECONDS);
+
+        assertThat(visto.virtual()).isTrue();
+        assertThat(visto.tenantId()).isEqualTo(tenantId);
+        assertThat(visto.usuarioId()).isEqualTo(usuarioId);
+        assertThat(visto.mdc())
+            .containsEntry(MDCKeys.TRACE_ID, "trace-123")
+            .containsEntry(MDCKeys.TENANT_ID, tenantId.toString());
+    }
+
+    @Test
+    @DisplayName("Chamador sem contexto: a tarefa roda sem tenant e com MDC vazio")
+    void semContextoNaoHerdaNada() throws Exception {
+        Visto visto = tarefa.capturar().get(5, TimeUnit.SECONDS);
+
+        assertThat(visto.tenantId()).isNull();
+        assertThat(visto.usuarioId()).isNull();
+        assertThat(visto.mdc() == null || visto.mdc().isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Decorator limpa TenantContext e MDC ao fim da tarefa")
+    void limpaAoFinal() {
+        TenantContext.setTenantId(UUID.randomUUID());
+        MDC.put(MDCKeys.TRACE_ID, "trace-456");
+        Runnable decorada = AsyncConfig.propagarTenantContext(() -> { });
+        TenantContext.clear();
+        MDC.clear();
+
+        decorada.run(); // na própria thread: restaura e depois limpa
+
+        assertThat(TenantContext.getTenantId()).isNull();
+        assertThat(MDC.get(MDCKeys.TRACE_ID)).isNull();
+    }
+}
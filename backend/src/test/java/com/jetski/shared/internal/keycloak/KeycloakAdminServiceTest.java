@@ -0,0 +1,132 @@
+package com.jetski.shared.internal.keycloak;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleMappingResource;
+import org.keycloak.admin.client.resource.RoleScopeResource;
+import org.keycloak.admin.client.resource.RolesResource;
+import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários do {@link KeycloakAdminService}: client admin compartilhado
+ * (não fecha a cada chamada) e cache das representações de role por realm.
+ *
+ * <p>O client é injetado já montado no campo {@code keycloak} — a construção
+ * real (RESTEasy + pool) só acontece contra um Keycloak de verdade.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class KeycloakAdminServiceTest {
+
+    private static final String REALM = "jetski-saas-test";
+
+    @Mock private Keycloak keycloak;
+    @Mock private RealmResource realm;
+    @Mock private RolesResource roles;
+    @Mock private UsersResource users;
+    @Mock private UserResource user;
+    @Mock private RoleMappingResource roleMapping;
+    @Mock private RoleScopeResource realmLevel;
+
+    private KeycloakAdminService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KeycloakAdminService();
+        ReflectionTestUtils.setField(service, "targetRealm", REALM);
+        ReflectionTestUtils.setField(service, "keycloak", keycloak);
+
+        when(keycloak.realm(REALM)).thenReturn(realm);
+        when(realm.roles()).thenReturn(roles);
+        when(realm.users()).thenReturn(users);
+        when(users.get(anyString())).thenReturn(user);
+        when(user.roles()).thenReturn(roleMapping);
+        when(roleMapping.realmLevel()).thenReturn(realmLevel);
+        when(roles.list(false)).thenReturn(List.of(role("GERENTE"), role("OPERADOR")));
+    }
+
+    @Test
+    @DisplayName("assignRoles: lista as roles uma vez e faz um POST por usuário")
+    void assignRolesEmLote() {
+        service.assignRoles(List.of("u1", "u2", "u3"), List.of("GERENTE", "OPERADOR"));
+
+        verify(roles, times(1)).list(false);
+        verify(roles, never()).get(anyString());
+        verify(realmLevel, times(3)).add(argThat(l ->
+            l.stream().map(RoleRepresentation::getName).toList().equals(List.of("GERENTE", "OPERADOR"))));
+    }
+
+    @Test
+    @DisplayName("Chamadas seguintes reaproveitam o cache de roles do realm")
+    void cacheEntreChamadas() {
+        service.assignRoles(List.of("u1"), List.of("GERENTE"));
+        service.assignRoles(List.of("u2"), List.of("OPERADOR"));
+
+        verify(roles, times(1)).list(false);
+    }
+
+    @Test
+    @DisplayName("Role ausente no cache recarrega a listagem antes de falhar")
+    void roleInexistenteRecarregaEFalha() {
+        service.assignRoles(List.of("u1"), List.of("GERENTE"));
+
+        assertThatThrownBy(() -> service.assignRoles(List.of("u2"), List.of("NAO_EXISTE")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("NAO_EXISTE");
+        verify(roles, times(2)).list(false);
+        verify(realmLevel, times(1)).add(anyList());
+    }
+
+    @Test
+    @DisplayName("Role criada depois da carga entra no cache sem restart")
+    void roleNovaAposCarga() {
+        service.assignRoles(List.of("u1"), List.of("GERENTE"));
+        when(roles.list(false)).thenReturn(List.of(role("GERENTE"), role("OPERADOR"), role("MECANICO")));
+
+        service.assignRoles(List.of("u2"), List.of("MECANICO"));
+
+        verify(roles, times(2)).list(false);
+        verify(realmLevel, times(2)).add(anyList());
+    }
+
+    @Test
+    @DisplayName("getClientSessionStats usa o client compartilhado sem fechá-lo")
+    void sessionStatsNaoFechaClient() {
+        when(realm.getClientSessionStats()).thenReturn(List.of(Map.of("clientId", "jetski-web")));
+
+        assertThat(service.getClientSessionStats()).hasSize(1);
+        assertThat(service.getClientSessionStats()).hasSize(1);
+
+        verify(keycloak, never()).close();
+    }
+
+    private static RoleRepresentation role(String nome) {
+        RoleRepresentation r = new RoleRepresentation();
+        r.setName(nome);
+        return r;
+    }
+}
@@ -1,5 +1,6 @@
 package com.jetski.shared.observability;
 
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MultiGauge;
@@ -37,13 +38,16 @@ class BusinessMetricsServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private ClusterJobRunner jobRunner;
+
     private MeterRegistry meterRegistry;
     private BusinessMetricsService service;
 
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        service = new BusinessMetricsService(meterRegistry, jdbcTemplate);
+        service = new BusinessMetricsService(meterRegistry, jdbcTemplate, jobRunner);
     }
 
     @Test
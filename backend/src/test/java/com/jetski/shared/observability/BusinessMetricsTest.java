@@ -0,0 +1,57 @@
+package com.jetski.shared.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Handles de métrica cacheados (um registro por nome + tags, não por chamada)
+ * e limite de cardinalidade da tag tenant_id.
+ */
+@DisplayName("BusinessMetrics (handles cacheados + limite de tenant_id)")
+class BusinessMetricsTest {
+
+    @Test
+    @DisplayName("1000 requisições do mesmo tenant: 1 medidor registrado, contagem correta")
+    void handleCacheado() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BusinessMetrics metrics = new BusinessMetrics(registry);
+        String tenant = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 1000; i++) {
+            metrics.recordTenantContextSwitch(tenant);
+        }
+
+        assertThat(registry.getMeters()).hasSize(1);
+        Counter c = registry.get("jetski.tenant.context.switch").tag("tenant_id", tenant).counter();
+        assertThat(c.count()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("acima do limite: cauda longa agregada em tenant_id=other; séries limitadas")
+    void limiteDeCardinalidade() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BusinessMetrics metrics = new BusinessMetrics(registry, 3);
+        String primeiro = UUID.randomUUID().toString();
+        metrics.recordCheckin(primeiro);
+
+        for (int i = 0; i < 50; i++) {
+            metrics.recordCheckin(UUID.randomUUID().toString());
+        }
+        metrics.recordCheckin(primeiro);
+        metrics.recordLoginSuccess(null);
+
+        assertThat(registry.find("jetski.rental.checkin").counters()).hasSize(4);
+        assertThat(registry.get("jetski.rental.checkin").tag("tenant_id", primeiro).counter().count())
+            .isEqualTo(2.0);
+        assertThat(registry.get("jetski.rental.checkin").tag("tenant_id", BusinessMetrics.OUTROS_TENANTS)
+            .counter().count()).isEqualTo(48.0);
+        assertThat(registry.get("jetski.auth.login.success").tag("tenant_id", BusinessMetrics.SEM_TENANT)
+            .counter().count()).isEqualTo(1.0);
+    }
+}
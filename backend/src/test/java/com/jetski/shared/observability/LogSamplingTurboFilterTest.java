@@ -0,0 +1,81 @@
+package com.jetski.shared.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Amostragem de INFO por requisição (trace_id) e DEBUG ligado por tenant.
+ */
+@DisplayName("LogSamplingTurboFilter (amostragem + debug por tenant)")
+class LogSamplingTurboFilterTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final Logger opa = contexto.getLogger("com.jetski.shared.authorization.OPAAuthorizationService");
+    private final Logger outro = contexto.getLogger("com.jetski.locacoes.internal.LocacaoService");
+
+    @AfterEach
+    void limpar() {
+        MDC.clear();
+        LogSamplingTurboFilter.tenantsEmDebug().keySet().forEach(LogSamplingTurboFilter::desativarDebug);
+    }
+
+    private LogSamplingTurboFilter filtro(int taxa) {
+        LogSamplingTurboFilter f = new LogSamplingTurboFilter();
+        f.setTaxa(taxa);
+        f.setLoggers(opa.getName() + ", com.jetski.shared.internal.TenantFilter");
+        return f;
+    }
+
+    private FilterReply decidir(LogSamplingTurboFilter f, Logger logger, Level level) {
+        return f.decide(null, logger, level, "msg", null, null);
+    }
+
+    @Test
+    @DisplayName("taxa 10: ~1/10 das requisições loga o INFO do OPA, sempre todas as linhas dela; WARN nunca cai")
+    void amostragemPorRequisicao() {
+        LogSamplingTurboFilter f = filtro(10);
+        int registradas = 0;
+        for (int i = 0; i < 1000; i++) {
+            MDC.put(MDCKeys.TRACE_ID, UUID.randomUUID().toString());
+            FilterReply primeira = decidir(f, opa, Level.INFO);
+            assertThat(decidir(f, opa, Level.INFO)).isEqualTo(primeira);
+            assertThat(decidir(f, opa, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decidir(f, outro, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+            if (primeira == FilterReply.NEUTRAL) {
+                registradas++;
+            }
+        }
+        assertThat(registradas).isBetween(50, 150);
+    }
+
+    @Test
+    @DisplayName("debug por tenant: só o tenant ligado aceita DEBUG de com.jetski, até desligar")
+    void debugPorTenant() {
+        LogSamplingTurboFilter f = filtro(1);
+        String tenant = UUID.randomUUID().toString();
+        LogSamplingTurboFilter.ativarDebug(tenant, Duration.ofMinutes(5));
+
+        MDC.put(MDCKeys.TENANT_ID, tenant);
+        assertThat(decidir(f, outro, Level.DEBUG)).isEqualTo(FilterReply.ACCEPT);
+        assertThat(decidir(f, contexto.getLogger("org.hibernate.SQL"), Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+
+        MDC.put(MDCKeys.TENANT_ID, UUID.randomUUID().toString());
+        assertThat(decidir(f, outro, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+
+        LogSamplingTurboFilter.desativarDebug(tenant);
+        MDC.put(MDCKeys.TENANT_ID, tenant);
+        assertThat(decidir(f, outro, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(LogSamplingTurboFilter.tenantsEmDebug()).isEmpty();
+    }
+}
@@ -1,6 +1,7 @@
 package com.jetski.shared.observability;
 
 import com.jetski.shared.internal.keycloak.KeycloakAdminService;
+import com.jetski.shared.scheduling.ClusterJobRunner;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -59,6 +60,9 @@ class UsuariosMetricsServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private ClusterJobRunner jobRunner;
+
     private MeterRegistry meterRegistry;
     private UsuariosMetricsService service;
 
@@ -71,7 +75,7 @@ class UsuariosMetricsServiceTest {
     @BeforeEach
     void setUp() {
         meterRegistry = new SimpleMeterRegistry();
-        service = new UsuariosMetricsService(meterRegistry, keycloakAdminService, jdbcTemplate);
+        service = new UsuariosMetricsService(meterRegistry, keycloakAdminService, jdbcTemplate, jobRunner);
     }
 
     @Test
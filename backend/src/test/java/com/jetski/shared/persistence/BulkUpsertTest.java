@@ -0,0 +1,69 @@
+package com.jetski.shared.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Upsert em lote: SQL {@code ON CONFLICT} gerado a partir de constantes e
+ * linhas enviadas em lotes de {@code batch_size} (N linhas = ⌈N/lote⌉ idas).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkUpsert (INSERT ... ON CONFLICT em lote)")
+class BulkUpsertTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("SQL: DO UPDATE com EXCLUDED, ou DO NOTHING sem colunas a atualizar")
+    void sql() {
+        assertThat(BulkUpsert.sql("presenca_vendedor", List.of("id", "tenant_id", "valor"),
+                List.of("tenant_id"), List.of("valor")))
+            .isEqualTo("INSERT INTO presenca_vendedor (id, tenant_id, valor) VALUES (?, ?, ?) "
+                + "ON CONFLICT (tenant_id) DO UPDATE SET valor = EXCLUDED.valor");
+        assertThat(BulkUpsert.sql("t", List.of("a"), List.of("a"), List.of()))
+            .endsWith("ON CONFLICT (a) DO NOTHING");
+        assertThatThrownBy(() -> BulkUpsert.sql("t; drop table x", List.of("a"), List.of("a"), List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(BulkUpsert.sql("presenca_vendedor", List.of("tenant_id", "valor"),
+                List.of("tenant_id"), List.of("valor"), "pago_em"))
+            .endsWith("DO UPDATE SET valor = EXCLUDED.valor WHERE presenca_vendedor.pago_em IS NULL");
+    }
+
+    @Test
+    @DisplayName("120 linhas com lote de 50: 3 batchUpdate, SUCCESS_NO_INFO conta como 1")
+    void lotes() {
+        BulkUpsert bulk = new BulkUpsert(jdbcTemplate);
+        ReflectionTestUtils.setField(bulk, "tamanhoLote", 50);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            int[] r = new int[((List<?>) inv.getArgument(1)).size()];
+            Arrays.fill(r, Statement.SUCCESS_NO_INFO);
+            return r;
+        });
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            linhas.add(new Object[]{i});
+        }
+
+        int enviadas = bulk.upsert("t", List.of("a"), List.of("a"), List.of(), linhas);
+
+        assertThat(enviadas).isEqualTo(120);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        assertThat(bulk.upsert("t", List.of("a"), List.of("a"), List.of(), List.of())).isZero();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
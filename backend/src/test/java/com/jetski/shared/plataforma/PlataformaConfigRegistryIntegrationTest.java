@@ -0,0 +1,88 @@
+package com.jetski.shared.plataforma;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jetski.integration.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Invalidação entre nós pelo trigger de V072: um segundo registry (outro
+ * "nó", com a própria conexão em LISTEN) vê a escrita feita pelo primeiro e
+ * a feita direto no banco — sem recarga manual.
+ */
+@DisplayName("PlataformaConfigRegistry — LISTEN/NOTIFY entre nós")
+class PlataformaConfigRegistryIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String CHAVE = "teste_notify";
+    private static final Duration PRAZO = Duration.ofSeconds(10);
+
+    @Autowired PlataformaConfigRegistry registry;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired DataSourceProperties dataSourceProperties;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    private PlataformaConfigRegistry outroNo;
+
+    @AfterEach
+    void tearDown() {
+        if (outroNo != null) {
+            outroNo.stop();
+        }
+        jdbc.update("DELETE FROM plataforma_config WHERE chave = ?", CHAVE);
+    }
+
+    @Test
+    @DisplayName("gravação num nó chega ao outro pelo NOTIFY")
+    void gravacaoPropaga() throws Exception {
+        outroNo = iniciarOutroNo();
+
+        transactionTemplate.executeWithoutResult(tx -> registry.gravar(CHAVE, "v1", UUID.randomUUID()));
+
+        assertThat(registry.get(CHAVE, String.class)).contains("v1");
+        assertThat(aguardar(() -> outroNo.get(CHAVE, String.class), Optional.of("v1"))).contains("v1");
+    }
+
+    @Test
+    @DisplayName("UPDATE/DELETE direto no banco invalidam o cache")
+    void sqlDiretoPropaga() throws Exception {
+        jdbc.update("INSERT INTO plataforma_config (chave, valor) VALUES (?, 'a')", CHAVE);
+        assertThat(aguardar(() -> registry.get(CHAVE, String.class), Optional.of("a"))).contains("a");
+
+        jdbc.update("UPDATE plataforma_config SET valor = 'b' WHERE chave = ?", CHAVE);
+        assertThat(aguardar(() -> registry.get(CHAVE, String.class), Optional.of("b"))).contains("b");
+
+        jdbc.update("DELETE FROM plataforma_config WHERE chave = ?", CHAVE);
+        assertThat(aguardar(() -> registry.get(CHAVE, String.class), Optional.empty())).isEmpty();
+    }
+
+    private PlataformaConfigRegistry iniciarOutroNo() throws InterruptedException {
+        PlataformaConfigRegistry no = new PlataformaConfigRegistry(jdbc, objectMapper, dataSourceProperties);
+        no.start();
+        // o LISTEN é feito pela thread do ouvinte logo após a subida
+        Thread.sleep(500);
+        return no;
+    }
+
+    private static <T> T aguardar(Supplier<T> leitura, T esperado) throws InterruptedException {
+        long limite = System.nanoTime() + PRAZO.toNanos();
+        T atual = leitura.get();
+        while (!atual.equals(esperado) && System.nanoTime() < limite) {
+            Thread.sleep(50);
+            atual = leitura.get();
+        }
+        return atual;
+    }
+}
@@ -0,0 +1,174 @@
+package com.jetski.shared.plataforma;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cache de plataforma_config: carga única, conversão feita uma vez por valor,
+ * releitura por chave (NOTIFY) e escrita local visível só após o commit.
+ * O LISTEN em si é coberto por {@code PlataformaConfigRegistryIntegrationTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlataformaConfigRegistry (cache de plataforma_config)")
+class PlataformaConfigRegistryTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, String> banco = new LinkedHashMap<>();
+    private PlataformaConfigRegistry registry;
+
+    record Preset(int maxDimensao, double qualidade) {}
+
+    @BeforeEach
+    void setUp() {
+        registry = new PlataformaConfigRegistry(jdbcTemplate, new ObjectMapper(), new DataSourceProperties());
+        lenient().doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Map.Entry<String, String> e : banco.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("chave")).thenReturn(e.getKey());
+                when(rs.getString("valor")).thenReturn(e.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        lenient().doAnswer(inv -> {
+            String chave = inv.getArgument(2);
+            return banco.containsKey(chave) ? List.of(banco.get(chave)) : List.of();
+        }).when(jdbcTemplate).queryForList(anyString(), eq(String.class), any());
+        lenient().doAnswer(inv -> {
+            banco.put(inv.getArgument(1), inv.getArgument(2));
+            return 1;
+        }).when(jdbcTemplate).update(startsWith("INSERT INTO plataforma_config"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("carrega tudo uma vez; leituras seguintes não vão ao banco")
+    void leituraDaMemoria() {
+        banco.put("creditos_preco_unitario", "5.00");
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).contains(new BigDecimal("5.00"));
+        }
+        assertThat(registry.get("inexistente", String.class)).isEmpty();
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("JSON convertido uma vez: a mesma instância é devolvida")
+    void jsonConvertidoUmaVez() {
+        banco.put("preset", "{\"maxDimensao\": 1280, \"qualidade\": 0.8}");
+
+        Preset a = registry.get("preset", Preset.class).orElseThrow();
+        Preset b = registry.get("preset", Preset.class).orElseThrow();
+
+        assertThat(a).isEqualTo(new Preset(1280, 0.8)).isSameAs(b);
+    }
+
+    @Test
+    @DisplayName("valor que não converte → IllegalStateException, sem quebrar outras chaves")
+    void valorInvalido() {
+        banco.put("preset", "not-json");
+        banco.put("creditos_preco_unitario", "5.00");
+
+        assertThatThrownBy(() -> registry.get("preset", Preset.class))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("plataforma_config.preset");
+        assertThatThrownBy(() -> registry.get("preset", Preset.class))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).isPresent();
+    }
+
+    @Test
+    @DisplayName("notificação relê a chave: valor novo, ou remoção se apagada")
+    void notificacaoReleChave() {
+        banco.put("creditos_preco_unitario", "5.00");
+        registry.recarregar();
+
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("creditos_preco_unitario")))
+            .thenReturn(List.of("7.50"), List.of());
+
+        registry.recarregar("creditos_preco_unitario");
+        assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).contains(new BigDecimal("7.50"));
+
+        registry.recarregar("creditos_preco_unitario");
+        assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("gravar em transação: valor novo só aparece no commit")
+    void gravarVisivelNoCommit() {
+        banco.put("creditos_preco_unitario", "5.00");
+        registry.recarregar();
+        UUID actor = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.gravar("creditos_preco_unitario", "9.00", actor);
+            assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).contains(new BigDecimal("5.00"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).contains(new BigDecimal("9.00"));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO plataforma_config"),
+            eq("creditos_preco_unitario"), eq("9.00"), eq(actor));
+    }
+
+    @Test
+    @DisplayName("commit relê a chave: gravação posterior de outro nó não é sobrescrita")
+    void commitNaoSobrescreveGravacaoPosterior() {
+        banco.put("creditos_preco_unitario", "5.00");
+        registry.recarregar();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.gravar("creditos_preco_unitario", "9.00", null);
+            // outro nó grava depois e o NOTIFY dele chega antes do nosso afterCommit
+            banco.put("creditos_preco_unitario", "11.00");
+            registry.recarregar("creditos_preco_unitario");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(registry.get("creditos_preco_unitario", BigDecimal.class)).contains(new BigDecimal("11.00"));
+    }
+
+    @Test
+    @DisplayName("gravar fora de transação: visível na hora")
+    void gravarSemTransacao() {
+        registry.recarregar();
+        registry.gravar("chave_nova", "abc", null);
+
+        assertThat(registry.get("chave_nova", String.class)).contains("abc");
+    }
+}
@@ -0,0 +1,154 @@
+package com.jetski.shared.scheduling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lease por job/shard (V064): só executa quem obtém o lease, falha da tarefa
+ * vira métrica + histórico sem propagar, e shards dividem os tenants sem
+ * sobreposição.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClusterJobRunner (lease de jobs em cluster)")
+class ClusterJobRunnerTest {
+
+    private static final Duration MIN = Duration.ofMinutes(5);
+    private static final Duration MAX = Duration.ofMinutes(30);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+    private ClusterJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new ClusterJobRunner(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(runner, "shards", 4);
+    }
+
+    private void lease(boolean obtido) {
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_lease"), any(Object[].class)))
+            .thenReturn(obtido ? 1 : 0);
+    }
+
+    @Test
+    @DisplayName("lease com outro nó: tarefa não roda e nada é gravado")
+    void leaseOcupado() {
+        lease(false);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        boolean executou = runner.executar("faturamento", MIN, MAX, execucoes::incrementAndGet);
+
+        assertThat(executou).isFalse();
+        assertThat(execucoes).hasValue(0);
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE job_lease"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO job_execucao"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("lease obtido: executa, marca último sucesso e grava histórico SUCESSO")
+    void leaseObtido() {
+        lease(true);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        boolean executou = runner.executar("faturamento", MIN, MAX, execucoes::incrementAndGet);
+
+        assertThat(executou).isTrue();
+        assertThat(execucoes).hasValue(1);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO job_lease"),
+            eq("faturamento"), eq(runner.instancia()), eq(MAX.toMillis()));
+        verify(jdbcTemplate).update(contains("ultimo_sucesso_em = now()"),
+            eq(MIN.toMillis()), eq("faturamento"), eq(runner.instancia()));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO job_execucao"),
+            eq("faturamento"), isNull(), eq(runner.instancia()), any(), any(), any(), eq("SUCESSO"), isNull());
+        assertThat(meterRegistry.get("jetski.job.duracao")
+            .tags("job", "faturamento", "status", "sucesso").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("falha da tarefa não propaga: conta falha, grava FALHA e não marca sucesso")
+    void falhaDaTarefa() {
+        lease(true);
+
+        boolean executou = runner.executar("plataforma-metricas", MIN, MAX, () -> {
+            throw new IllegalStateException("banco lento");
+        });
+
+        assertThat(executou).isTrue();
+        assertThat(meterRegistry.get("jetski.job.falhas").tag("job", "plataforma-metricas")
+            .counter().count()).isEqualTo(1.0);
+        verify(jdbcTemplate, never()).update(contains("ultimo_sucesso_em = now()"), any(Object[].class));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO job_execucao"),
+            eq("plataforma-metricas"), isNull(), any(), any(), any(), any(), eq("FALHA"), eq("banco lento"));
+    }
+
+    @Test
+    @DisplayName("banco fora ao obter o lease: não executa (sem garantia de exclusividade)")
+    void bancoForaNaoExecuta() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_lease"), any(Object[].class)))
+            .thenThrow(new DataAccessResourceFailureException("conexão recusada"));
+        AtomicInteger execucoes = new AtomicInteger();
+
+        assertThat(runner.executar("faturamento", MIN, MAX, execucoes::incrementAndGet)).isFalse();
+        assertThat(execucoes).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("shards: executa só os shards cujo lease obtiver; cada tenant cai em exatamente um shard")
+    void shards() {
+        // outro nó já pegou os shards 0 e 2
+        when(jdbcTemplate.update(startsWith("INSERT INTO job_lease"), any(Object[].class)))
+            .thenAnswer(inv -> {
+                String nome = inv.getArgument(1);
+                return nome.endsWith("#1") || nome.endsWith("#3") ? 1 : 0;
+            });
+        List<Integer> executados = new ArrayList<>();
+
+        int n = runner.executarEmShards("trial-expiracao", MIN, MAX, (shard, total) -> {
+            assertThat(total).isEqualTo(4);
+            executados.add(shard);
+        });
+
+        assertThat(n).isEqualTo(2);
+        assertThat(executados).containsExactlyInAnyOrder(1, 3);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO job_execucao"),
+            eq("trial-expiracao"), eq(1), any(), any(), any(), any(), eq("SUCESSO"), isNull());
+
+        Set<UUID> vistos = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            UUID tenant = UUID.randomUUID();
+            int donos = 0;
+            for (int shard = 0; shard < 4; shard++) {
+                if (ClusterJobRunner.pertence(tenant, shard, 4)) {
+                    donos++;
+                }
+            }
+            assertThat(donos).isEqualTo(1);
+            vistos.add(tenant);
+        }
+        assertThat(vistos).hasSize(1_000);
+    }
+}
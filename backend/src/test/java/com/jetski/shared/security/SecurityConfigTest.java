@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.cors.CorsConfigurationSource;
 
@@ -176,6 +177,37 @@ class SecurityConfigTest extends AbstractIntegrationTest {
             .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Actuator não-público: PLATFORM_ADMIN (resolvido no banco) acessa /actuator/tenantdebug")
+    void tenantDebugLiberadoParaAdminDaPlataforma() throws Exception {
+        String providerUserId = UUID.randomUUID().toString();
+        when(tenantAccessService.resolvePlatformAccess("keycloak", providerUserId))
+            .thenReturn(new PlatformAccessInfo(UUID.randomUUID(), List.of("PLATFORM_ADMIN"), true));
+
+        mockMvc.perform(get("/actuator/tenantdebug")
+                .with(jwt().jwt(jwt -> jwt.subject(providerUserId).claim("provider", "keycloak"))))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Actuator não-público: usuário de empresa ou outro papel de plataforma recebe 403")
+    void tenantDebugNegadoSemAdminDaPlataforma() throws Exception {
+        String usuarioEmpresa = UUID.randomUUID().toString();
+        String suporte = UUID.randomUUID().toString();
+        when(tenantAccessService.resolvePlatformAccess("keycloak", usuarioEmpresa))
+            .thenReturn(PlatformAccessInfo.semAcesso(UUID.randomUUID()));
+        when(tenantAccessService.resolvePlatformAccess("keycloak", suporte))
+            .thenReturn(new PlatformAccessInfo(UUID.randomUUID(), List.of("PLATFORM_SUPORTE"), true));
+
+        mockMvc.perform(get("/actuator/tenantdebug")
+                .with(jwt().jwt(jwt -> jwt.subject(usuarioEmpresa).claim("provider", "keycloak"))
+                    .authorities(new SimpleGrantedAuthority("ROLE_ADMIN_TENANT"))))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/tenantdebug")
+                .with(jwt().jwt(jwt -> jwt.subject(suporte).claim("provider", "keycloak"))))
+            .andExpect(status().isForbidden());
+    }
+
     // ========================================================================
     // CORS Configuration Tests
     // ========================================================================
@@ -304,4 +304,79 @@ class LocalFileStorageServiceTest {
         assertThat(uploadUrl).isNotNull();
         assertThat(uploadUrl.getKey()).isEqualTo(specialKey);
     }
+
+    @Test
+    @DisplayName("Should join multipart upload parts in order, resent part replacing the old one")
+    void testMultipartUpload() throws IOException {
+        // Given
+        String uploadId = storageService.createMultipartUpload(TEST_KEY, TEST_CONTENT_TYPE);
+        storageService.uploadPart(TEST_KEY, uploadId, 1, new java.io.ByteArrayInputStream("AAx".getBytes()), 3);
+        storageService.uploadPart(TEST_KEY, uploadId, 2, new java.io.ByteArrayInputStream("BB".getBytes()), 2);
+        // reenvio da parte 1 após queda de rede
+        storageService.uploadPart(TEST_KEY, uploadId, 1, new java.io.ByteArrayInputStream("AAA".getBytes()), 3);
+
+        // When
+        storageService.completeMultipartUpload(TEST_KEY, uploadId, 2);
+
+        // Then
+        assertThat(storageService.readFile(TEST_KEY)).isEqualTo("AAABB".getBytes());
+        assertThat(Files.exists(Paths.get(testBasePath, ".multipart", uploadId))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse to complete multipart upload with a missing part")
+    void testMultipartUploadMissingPart() {
+        // Given
+        String uploadId = storageService.createMultipartUpload(TEST_KEY, TEST_CONTENT_TYPE);
+        storageService.uploadPart(TEST_KEY, uploadId, 1, new java.io.ByteArrayInputStream("A".getBytes()), 1);
+
+        // When/Then
+        assertThatThrownBy(() -> storageService.completeMultipartUpload(TEST_KEY, uploadId, 2))
+            .isInstanceOf(BusinessException.class);
+        assertThat(storageService.fileExists(TEST_KEY)).isFalse();
+
+        storageService.abortMultipartUpload(TEST_KEY, uploadId);
+        assertThat(Files.exists(Paths.get(testBasePath, ".multipart", uploadId))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should delete a batch of keys, ignoring missing ones")
+    void testDeleteBatch() {
+        // Given
+        storageService.putObject("tenant1/a.jpg", "A".getBytes(), TEST_CONTENT_TYPE);
+        storageService.putObject("tenant1/sub/b.jpg", "B".getBytes(), TEST_CONTENT_TYPE);
+        storageService.putObject("tenant1/c.jpg", "C".getBytes(), TEST_CONTENT_TYPE);
+
+        // When
+        storageService.deleteBatch(java.util.List.of("tenant1/a.jpg", "tenant1/sub/b.jpg", "tenant1/inexistente.jpg"));
+
+        // Then
+        assertThat(storageService.listObjectKeys("tenant1/")).containsExactly("tenant1/c.jpg");
+    }
+
+    @Test
+    @DisplayName("Should delete a prefix recursively, leaving sibling prefixes alone")
+    void testDeletePrefix() {
+        // Given
+        storageService.putObject("tenant1/a.jpg", "A".getBytes(), TEST_CONTENT_TYPE);
+        storageService.putObject("tenant1/x/y/b.pdf", "B".getBytes(), "application/pdf");
+        storageService.putObject("tenant10/c.jpg", "C".getBytes(), TEST_CONTENT_TYPE);
+
+        // When
+        long removidos = storageService.deletePrefix("tenant1/");
+
+        // Then
+        assertThat(removidos).isEqualTo(2);
+        assertThat(Files.exists(Paths.get(testBasePath, "tenant1"))).isFalse();
+        assertThat(storageService.listObjectKeys("tenant10/")).containsExactly("tenant10/c.jpg");
+        assertThat(storageService.deletePrefix("tenant1/")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse to delete an empty or unterminated prefix")
+    void testDeletePrefixInvalido() {
+        assertThatThrownBy(() -> storageService.deletePrefix("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storageService.deletePrefix("/")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storageService.deletePrefix("tenant1")).isInstanceOf(IllegalArgumentException.class);
+    }
 }
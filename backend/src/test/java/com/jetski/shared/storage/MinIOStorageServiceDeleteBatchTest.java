@@ -0,0 +1,142 @@
+package com.jetski.shared.storage;
+
+import com.jetski.shared.exception.BusinessException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link MinIOStorageService#deleteBatch} contra um MinIO real: mais de uma
+ * página de DeleteObjects e falha por chave. O usuário do serviço tem uma
+ * policy que nega {@code s3:DeleteObject} em {@code protegido/*} — o MinIO
+ * responde AccessDenied só para essas chaves e remove as demais, como numa
+ * falha parcial de produção.
+ */
+@DisplayName("MinIOStorageService - remoção em lote (MinIO real)")
+class MinIOStorageServiceDeleteBatchTest {
+
+    private static final String BUCKET = "teste-remocao";
+    private static final String USUARIO = "jetski-app";
+    private static final String SENHA = "jetski-app-secret";
+    private static final String POLICY_SEM_DELETE = "sem-delete-protegido";
+
+    private static final String POLICY_JSON = """
+        {
+          "Version": "2012-10-17",
+          "Statement": [
+            {"Effect": "Allow", "Action": ["s3:*"],
+             "Resource": ["arn:aws:s3:::%1$s", "arn:aws:s3:::%1$s/*"]},
+            {"Effect": "Deny", "Action": ["s3:DeleteObject"],
+             "Resource": ["arn:aws:s3:::%1$s/protegido/*"]}
+          ]
+        }
+        """.formatted(BUCKET);
+
+    private static GenericContainer<?> minio;
+
+    private MinIOStorageService storage;
+
+    @BeforeAll
+    static void subirMinio() throws Exception {
+        minio = new GenericContainer<>("minio/minio:RELEASE.2024-06-13T22-53-53Z")
+            .withCommand("server", "/data")
+            .withExposedPorts(9000)
+            .waitingFor(Wait.forHttp("/minio/health/ready").forPort(9000));
+        minio.start();
+        minio.copyFileToContainer(Transferable.of(POLICY_JSON), "/tmp/policy.json");
+
+        mc("alias", "set", "local", "http://localhost:9000", "minioadmin", "minioadmin");
+        mc("mb", "--ignore-existing", "local/" + BUCKET);
+        mc("admin", "user", "add", "local", USUARIO, SENHA);
+        mc("admin", "policy", "create", "local", POLICY_SEM_DELETE, "/tmp/policy.json");
+        mc("admin", "policy", "attach", "local", POLICY_SEM_DELETE, "--user", USUARIO);
+    }
+
+    @AfterAll
+    static void pararMinio() {
+        minio.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        storage = new MinIOStorageService(
+            "http://" + minio.getHost() + ":" + minio.getMappedPort(9000), USUARIO, SENHA, "", 2);
+        ReflectionTestUtils.setField(storage, "bucket", BUCKET);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storage.fechar();
+        mc("rm", "--recursive", "--force", "local/" + BUCKET);
+    }
+
+    @Test
+    @DisplayName("Falha parcial: remove o que pode, lança BusinessException e o retry completa")
+    void falhaParcialERetry() throws Exception {
+        // 3 páginas de DeleteObjects; chaves protegidas na primeira e na última
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2 * StorageService.DELETE_BATCH_MAX + 50; i++) {
+            keys.add("tenant-x/locacao/foto-" + i + ".jpg");
+        }
+        keys.set(10, "protegido/foto-a.jpg");
+        keys.set(keys.size() - 1, "protegido/foto-b.jpg");
+        byte[] foto = new byte[16];
+        for (String key : keys) {
+            storage.putObject(key, foto, "image/jpeg");
+        }
+
+        assertThatThrownBy(() -> storage.deleteBatch(keys))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageStartingWith("Erro ao deletar 2 arquivo(s): protegido/foto-");
+        assertThat(storage.listObjectKeys("tenant-x/")).isEmpty();
+        assertThat(storage.listObjectKeys("protegido/"))
+            .containsExactlyInAnyOrder("protegido/foto-a.jpg", "protegido/foto-b.jpg");
+
+        // Causa corrigida: o mesmo lote de novo — chaves já removidas não são erro
+        mc("admin", "policy", "attach", "local", "readwrite", "--user", USUARIO);
+        mc("admin", "policy", "detach", "local", POLICY_SEM_DELETE, "--user", USUARIO);
+        try {
+            storage.deleteBatch(keys);
+
+            assertThat(storage.listObjectKeys("tenant-x/")).isEmpty();
+            assertThat(storage.listObjectKeys("protegido/")).isEmpty();
+        } finally {
+            mc("admin", "policy", "attach", "local", POLICY_SEM_DELETE, "--user", USUARIO);
+            mc("admin", "policy", "detach", "local", "readwrite", "--user", USUARIO);
+        }
+    }
+
+    @Test
+    @DisplayName("Chamadas seguidas reaproveitam o executor do bean")
+    void chamadasSeguidasNoMesmoExecutor() {
+        List<String> keys = List.of("tenant-y/a.jpg", "tenant-y/b.jpg");
+        byte[] foto = new byte[16];
+        for (int rodada = 0; rodada < 3; rodada++) {
+            keys.forEach(key -> storage.putObject(key, foto, "image/jpeg"));
+            storage.deleteBatch(keys);
+            assertThat(storage.listObjectKeys("tenant-y/")).isEmpty();
+        }
+    }
+
+    private static void mc(String... args) throws Exception {
+        String[] cmd = new String[args.length + 1];
+        cmd[0] = "mc";
+        System.arraycopy(args, 0, cmd, 1, args.length);
+        Container.ExecResult r = minio.execInContainer(cmd);
+        assertThat(r.getExitCode()).as(String.join(" ", cmd) + ": " + r.getStderr() + r.getStdout()).isZero();
+    }
+}
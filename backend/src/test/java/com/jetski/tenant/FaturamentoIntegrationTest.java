@@ -188,4 +188,18 @@ class FaturamentoIntegrationTest extends AbstractIntegrationTest {
             .isInstanceOf(BusinessException.class)
             .hasMessageContaining("paga");
     }
+
+    @Test
+    @DisplayName("leitura cross-tenant de faturas exige escopo de plataforma")
+    void faturasPorStatusExigeEscopoPlataforma() {
+        platformService.gerarFaturasDoMes();
+
+        // Sessão comum (com app.tenant_id do tenant): a função SECURITY DEFINER recusa
+        assertThatThrownBy(() -> jdbc.queryForList(
+                "SELECT id FROM plataforma_faturas_por_status('ABERTA')"))
+            .hasMessageContaining("escopo de plataforma");
+
+        // Pelo serviço de plataforma (fixa app.platform_scope na transação) funciona
+        platformService.suspenderInadimplentes();
+    }
 }
@@ -1,6 +1,7 @@
 package com.jetski.tenant;
 
 import com.jetski.integration.AbstractIntegrationTest;
+import com.jetski.shared.plataforma.PlataformaConfigRegistry;
 import com.jetski.tenant.api.dto.ImagemCompressaoConfig;
 import com.jetski.tenant.internal.ImagemConfigService;
 import org.junit.jupiter.api.AfterEach;
@@ -23,10 +24,12 @@ class ImagemConfigServiceIntegrationTest extends AbstractIntegrationTest {
 
     @Autowired ImagemConfigService imagemConfigService;
     @Autowired JdbcTemplate jdbc;
+    @Autowired PlataformaConfigRegistry plataformaConfig;
 
     @AfterEach
     void tearDown() {
         jdbc.update("DELETE FROM plataforma_config WHERE chave = 'imagem_compressao'");
+        plataformaConfig.recarregar();
     }
 
     @Test
@@ -67,6 +70,7 @@ class ImagemConfigServiceIntegrationTest extends AbstractIntegrationTest {
             INSERT INTO plataforma_config (chave, valor, updated_at)
             VALUES ('imagem_compressao', 'not-json', now())
             """);
+        plataformaConfig.recarregar();
 
         ImagemCompressaoConfig cfg = imagemConfigService.get();
         assertThat(cfg.tipos()).containsKey("IDENTIDADE");
@@ -13,7 +13,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.cache.CacheManager;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
@@ -34,7 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Gating de módulos por plano (V046): leitura do jsonb (NULL = todos),
  * negação de negócio (400) no interceptor para path de módulo fora do
- * plano, bypass do superadmin e evict do cache na troca.
+ * plano, bypass do superadmin e invalidação do snapshot na troca.
  */
 @AutoConfigureMockMvc
 @DisplayName("Módulos por plano (gating de oferta)")
@@ -46,7 +45,6 @@ class ModuloPlanoIntegrationTest extends AbstractIntegrationTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private PlanoLimiteService planoLimiteService;
     @Autowired private JdbcTemplate jdbc;
-    @Autowired private CacheManager cacheManager;
     @Autowired private MarketplaceService marketplaceService;
 
     @MockBean private OPAAuthorizationService opaAuthorizationService;
@@ -72,10 +70,7 @@ class ModuloPlanoIntegrationTest extends AbstractIntegrationTest {
     }
 
     private void limparCache() {
-        var cache = cacheManager.getCache("plano-modulos");
-        if (cache != null) {
-            cache.clear();
-        }
+        planoLimiteService.invalidarTodos();
     }
 
     private void mockAcesso(boolean unrestricted) {
@@ -36,6 +36,7 @@ class PlanoLimiteIntegrationTest extends AbstractIntegrationTest {
         // Trial: frota_max=3, locacoes_mes=50, emissoes_mes=-1 (ilimitado)
         jdbc.update("INSERT INTO assinatura (tenant_id, plano_id, ciclo, dt_inicio, status) "
             + "SELECT ?, id, 'mensal', CURRENT_DATE, 'ativa' FROM plano WHERE nome = 'Trial'", TENANT);
+        planoLimiteService.invalidar(TENANT);
     }
 
     @Test
@@ -63,6 +64,7 @@ class PlanoLimiteIntegrationTest extends AbstractIntegrationTest {
     @DisplayName("sem assinatura ativa = ilimitado (nunca bloqueia por falha de cadastro)")
     void semAssinaturaIlimitado() {
         jdbc.update("UPDATE assinatura SET status = 'expirada' WHERE tenant_id = ?", TENANT);
+        planoLimiteService.invalidar(TENANT);
 
         assertThat(planoLimiteService.limite(TENANT, "frota_max")).isNull();
         assertThatCode(() -> planoLimiteService.verificar(TENANT, "frota_max", 999, "jetskis"))
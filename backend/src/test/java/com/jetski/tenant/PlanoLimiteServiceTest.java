@@ -0,0 +1,109 @@
+package com.jetski.tenant;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Snapshot de módulos/limites do plano: uma consulta por tenant até o TTL ou
+ * a invalidação e parse do jsonb para EnumSet/mapa. O custo por checagem
+ * (caminho quente do interceptor) fica no {@code PlanoLimiteBenchmark} do
+ * perfil bench.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlanoLimiteService (snapshot em memória)")
+class PlanoLimiteServiceTest {
+
+    private static final UUID TENANT = UUID.fromString("a4000000-0000-0000-0000-0000000000aa");
+
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private Query setConfig;
+    @Mock private Query planoQuery;
+
+    private PlanoLimiteService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(entityManager.createNativeQuery(startsWith("SELECT set_config"))).thenReturn(setConfig);
+        lenient().when(entityManager.createNativeQuery(startsWith("SELECT p.modulos"))).thenReturn(planoQuery);
+        lenient().when(setConfig.setParameter(anyString(), any())).thenReturn(setConfig);
+        lenient().when(planoQuery.setParameter(anyString(), any())).thenReturn(planoQuery);
+        service = new PlanoLimiteService(entityManager, transactionManager);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 60L);
+    }
+
+    private void plano(String modulos, String limites) {
+        List<Object> rows = new java.util.ArrayList<>();
+        rows.add(new Object[] {modulos, limites});
+        when(planoQuery.getResultList()).thenReturn(rows);
+    }
+
+    @Test
+    @DisplayName("módulos e limites saem de UMA consulta e ficam em memória até invalidar")
+    void umaConsultaPorTenant() {
+        plano("[\"MANUTENCAO\",\"FECHAMENTOS\",\"MODULO_REMOVIDO\"]",
+            "{\"frota_max\": 3, \"locacoes_mes\": 50, \"emissoes_mes\": -1}");
+
+        assertThat(service.moduloHabilitado(TENANT, ModuloPlano.MANUTENCAO)).isTrue();
+        assertThat(service.moduloHabilitado(TENANT, ModuloPlano.DESPESAS)).isFalse();
+        assertThat(service.modulosDoPlano(TENANT)).containsExactlyInAnyOrder("MANUTENCAO", "FECHAMENTOS");
+        assertThat(service.limite(TENANT, "frota_max")).isEqualTo(3);
+        assertThat(service.limite(TENANT, "emissoes_mes")).isNull();
+        assertThat(service.limite(TENANT, "chave_inexistente")).isNull();
+        verify(planoQuery, times(1)).getResultList();
+
+        service.invalidar(TENANT);
+        service.moduloHabilitado(TENANT, ModuloPlano.MANUTENCAO);
+        verify(planoQuery, times(2)).getResultList();
+    }
+
+    @Test
+    @DisplayName("plano.modulos NULL e sem assinatura = todos; falha de leitura não é cacheada")
+    void sentinelas() {
+        plano(null, null);
+        assertThat(service.modulosDoPlano(TENANT)).containsExactly("*");
+
+        service.invalidarTodos();
+        when(planoQuery.getResultList()).thenReturn(List.of());
+        assertThat(service.moduloHabilitado(TENANT, ModuloPlano.DESPESAS)).isTrue();
+
+        service.invalidarTodos();
+        when(planoQuery.getResultList()).thenThrow(new RuntimeException("RLS"));
+        assertThat(service.entitlements(TENANT)).isSameAs(PlanoEntitlements.ILIMITADO);
+        assertThat(service.entitlements(TENANT)).isSameAs(PlanoEntitlements.ILIMITADO);
+        verify(planoQuery, times(4)).getResultList();
+    }
+
+    @Test
+    @DisplayName("checagens repetidas com snapshot quente não voltam ao banco")
+    void checagensRepetidasUsamOSnapshot() {
+        plano("[\"MANUTENCAO\",\"MARKETPLACE\"]", "{\"frota_max\": 3}");
+        List<ModuloPlano> cobridores = List.of(ModuloPlano.EMISSAO_PROPRIA, ModuloPlano.EMISSAO_DELEGADA);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(service.moduloHabilitado(TENANT, ModuloPlano.MARKETPLACE)).isTrue();
+            assertThat(service.entitlements(TENANT).habilitaAlgum(cobridores)).isFalse();
+        }
+
+        // antes: 1 transação REQUIRES_NEW + set_config + join POR checagem
+        verify(planoQuery, times(1)).getResultList();
+    }
+}
@@ -23,9 +23,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Exclusão de empresa (Fase 3): carência agendada + cancelamento, expurgo
- * imediato com tombstone (slug liberado, sensíveis anonimizados, storage
- * limpo, export gerado), job de expurgos vencidos e limpeza de exports
- * antigos. Usa tenant descartável próprio (nunca os fixtures compartilhados).
+ * imediato com tombstone (slug liberado, sensíveis anonimizados, export
+ * gerado), remoção dos arquivos em etapa própria com progresso, job de
+ * expurgos vencidos e limpeza de exports antigos. Usa tenant descartável próprio (nunca os fixtures compartilhados).
  */
 @DisplayName("TenantExclusaoService + Job (Fase 3)")
 class TenantExclusaoIntegrationTest extends AbstractIntegrationTest {
@@ -45,7 +45,8 @@ class TenantExclusaoIntegrationTest extends AbstractIntegrationTest {
         jdbc.update("DELETE FROM cliente WHERE tenant_id = ?", TENANT);
         jdbc.update("DELETE FROM membro WHERE tenant_id = ?", TENANT);
         jdbc.update("UPDATE tenant SET slug = ?, status = 'ATIVO', excluido_em = NULL, "
-            + "exclusao_agendada_em = NULL, pix_chave = 'pix@exclusao.com' WHERE id = ?", SLUG, TENANT);
+            + "exclusao_agendada_em = NULL, pix_chave = 'pix@exclusao.com', arquivos_status = NULL, "
+            + "arquivos_removidos = 0, arquivos_tentativas = 0 WHERE id = ?", SLUG, TENANT);
         jdbc.update("INSERT INTO tenant (id, slug, razao_social, status, pix_chave) "
             + "VALUES (?, ?, 'Exclusao Teste Ltda', 'ATIVO', 'pix@exclusao.com') "
             + "ON CONFLICT (id) DO NOTHING", TENANT, SLUG);
@@ -94,7 +95,7 @@ class TenantExclusaoIntegrationTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("imediato: tombstone (slug liberado, sensíveis nulos), dados/arquivos expurgados, export existe")
+    @DisplayName("imediato: tombstone (slug liberado, sensíveis nulos), dados expurgados, export existe")
     void exclusaoImediata() {
         var apagados = exclusaoService.excluirAgora(TENANT, SLUG);
 
@@ -107,13 +108,32 @@ class TenantExclusaoIntegrationTest extends AbstractIntegrationTest {
             "SELECT count(*) FROM cliente WHERE tenant_id = ?", Long.class, TENANT)).isZero();
         assertThat(jdbc.queryForObject(
             "SELECT count(*) FROM membro WHERE tenant_id = ?", Long.class, TENANT)).isZero();
-        assertThat(storage.listObjectKeys(TENANT + "/")).isEmpty();
         assertThat(storage.listObjectKeys("_platform/exports/" + TENANT + "/")).isNotEmpty();
         // Slug original livre para novo signup
         assertThat(jdbc.queryForObject(
             "SELECT count(*) FROM tenant WHERE slug = ?", Long.class, SLUG)).isZero();
     }
 
+    @Test
+    @DisplayName("arquivos: expurgo deixa a remoção pendente; a etapa remove em lote e grava o progresso")
+    void remocaoDeArquivosEmEtapaPropria() {
+        storage.putObject(TENANT + "/locacao/x/termo.pdf", "PDF".getBytes(StandardCharsets.UTF_8), "application/pdf");
+
+        exclusaoService.excluirAgora(TENANT, SLUG);
+
+        assertThat(exclusaoService.arquivos(TENANT)).get()
+            .extracting(TenantExclusaoService.ArquivosAndamento::status).isEqualTo("PENDENTE");
+
+        exclusaoService.removerArquivos(TENANT);
+
+        var andamento = exclusaoService.arquivos(TENANT).orElseThrow();
+        assertThat(andamento.status()).isEqualTo("CONCLUIDO");
+        assertThat(andamento.removidos()).isEqualTo(2);
+        assertThat(andamento.tentativas()).isZero();
+        assertThat(storage.listObjectKeys(TENANT + "/")).isEmpty();
+        assertThat(storage.listObjectKeys("_platform/exports/" + TENANT + "/")).isNotEmpty();
+    }
+
     @Test
     @DisplayName("job expurga carência vencida e ignora agendamentos futuros")
     void jobExpurgaVencidos() {
@@ -0,0 +1,106 @@
+package com.jetski.tenant;
+
+import com.jetski.tenant.domain.Branding;
+import com.jetski.tenant.domain.Tenant;
+import com.jetski.tenant.domain.TenantStatus;
+import com.jetski.tenant.domain.event.TenantStatusChangedEvent;
+import com.jetski.tenant.internal.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Registro de metadados de tenant: uma carga por tenant até o TTL ou a
+ * invalidação, índices por id e slug apontando para o mesmo snapshot, e
+ * fuso inválido/desconhecido caindo no padrão.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantRegistry (snapshot de metadados em memória)")
+class TenantRegistryTest {
+
+    private static final UUID TENANT = UUID.fromString("a4000000-0000-0000-0000-0000000000bb");
+
+    @Mock private TenantRepository tenantRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TenantRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        registry = new TenantRegistry(tenantRepository, transactionManager);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 60L);
+    }
+
+    private Tenant tenant(String slug, String timezone, TenantStatus status) {
+        return Tenant.builder()
+            .id(TENANT).slug(slug).razaoSocial("Acme Locações").timezone(timezone)
+            .status(status).exibirNoMarketplace(true).prioridadeMarketplace(0)
+            .branding(new Branding("#0066CC", null, "t/branding/logo.png", "image/png", null,
+                null, null, null, null, null, null))
+            .build();
+    }
+
+    @Test
+    @DisplayName("id e slug servidos da memória após UMA carga; invalidar recarrega")
+    void umaCargaPorTenant() {
+        when(tenantRepository.findById(TENANT))
+            .thenReturn(Optional.of(tenant("acme", "America/Fortaleza", TenantStatus.ATIVO)));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(registry.zona(TENANT)).isEqualTo(ZoneId.of("America/Fortaleza"));
+        }
+        TenantInfo info = registry.porSlug("acme").orElseThrow();
+        assertThat(info.visivelNoMarketplace()).isTrue();
+        assertThat(info.branding().logoKey()).isEqualTo("t/branding/logo.png");
+        verify(tenantRepository, times(1)).findById(TENANT);
+        verify(tenantRepository, never()).findBySlug(any());
+
+        registry.invalidar(TENANT);
+        registry.zona(TENANT);
+        verify(tenantRepository, times(2)).findById(TENANT);
+    }
+
+    @Test
+    @DisplayName("mudança de status por evento descarta o snapshot (slug incluído)")
+    void eventoDeStatus() {
+        when(tenantRepository.findBySlug("acme"))
+            .thenReturn(Optional.of(tenant("acme", "America/Sao_Paulo", TenantStatus.ATIVO)))
+            .thenReturn(Optional.of(tenant("acme", "America/Sao_Paulo", TenantStatus.SUSPENSO)));
+
+        assertThat(registry.porSlug("acme")).get().extracting(TenantInfo::ativo).isEqualTo(true);
+        registry.onStatusAlterado(TenantStatusChangedEvent.of(
+            TENANT, "TENANT_SUSPENDED", "ATIVO", "SUSPENSO", null, null, "Acme Locações", "acme"));
+
+        assertThat(registry.porSlug("acme")).get().extracting(TenantInfo::ativo).isEqualTo(false);
+        verify(tenantRepository, times(2)).findBySlug("acme");
+    }
+
+    @Test
+    @DisplayName("tenant inexistente não é cacheado; fuso inválido cai em America/Sao_Paulo")
+    void ausenteEFusoInvalido() {
+        when(tenantRepository.findBySlug("nova")).thenReturn(Optional.empty());
+        assertThat(registry.porSlug("nova")).isEmpty();
+        assertThat(registry.porSlug("nova")).isEmpty();
+        verify(tenantRepository, times(2)).findBySlug("nova");
+
+        when(tenantRepository.findById(TENANT))
+            .thenReturn(Optional.of(tenant("acme", "Marte/Olympus", TenantStatus.ATIVO)));
+        assertThat(registry.zona(TENANT)).isEqualTo(ZoneId.of("America/Sao_Paulo"));
+        assertThat(registry.zona(null)).isEqualTo(ZoneId.of("America/Sao_Paulo"));
+    }
+}
@@ -11,7 +11,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
@@ -21,7 +24,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 /**
  * Reset de empresa por nível, contra dados reais do tenant fixture:
  * apaga o classificado, preserva créditos/metering/auditoria/assinatura,
- * e no TOTAL mantém os membros ADMIN_TENANT.
+ * e no TOTAL mantém os membros ADMIN_TENANT. Pedido em segundo plano: um
+ * ativo por empresa, progresso por tabela em lotes e nova passada quando
+ * surgem linhas atrás do expurgo.
  */
 @DisplayName("TenantResetService (níveis + preservação)")
 class TenantResetIntegrationTest extends AbstractIntegrationTest {
@@ -97,6 +102,7 @@ class TenantResetIntegrationTest extends AbstractIntegrationTest {
                 "locacao", "reserva", "cliente", "jetski", "modelo", "membro"}) {
             jdbc.update("DELETE FROM " + tabela + " WHERE tenant_id = ?", TENANT);
         }
+        jdbc.update("DELETE FROM tenant_reset WHERE tenant_id = ?", TENANT);
         jdbc.update("DELETE FROM usuario WHERE id IN "
             + "('a1000000-0000-0000-0000-000000000006', 'a1000000-0000-0000-0000-000000000007')");
         // O tenant descartável fica (ledger append-only impede removê-lo);
@@ -195,4 +201,73 @@ class TenantResetIntegrationTest extends AbstractIntegrationTest {
         // A reserva apagada pelo reset está preservada no export
         assertThat(reservaJson).contains("a1000000-0000-0000-0000-000000000004");
     }
+
+    @Test
+    @DisplayName("solicitar: pedido PENDENTE com um passo por tabela; segundo pedido recusado")
+    void solicitarRegistraPedido() throws Exception {
+        TenantResetService.Andamento a = resetService.solicitar(TENANT, Nivel.TOTAL, slug);
+
+        assertThat(a.status()).isEqualTo(TenantResetService.Status.PENDENTE);
+        assertThat(a.tabelas()).extracting(TenantResetService.TabelaAndamento::tabela)
+            .contains("reserva", "modelo")
+            .endsWith("membro", "tenant_access");
+        assertThat(resetService.ultimo(TENANT)).get()
+            .extracting(TenantResetService.Andamento::id).isEqualTo(a.id());
+        assertThatThrownBy(() -> resetService.solicitar(TENANT, Nivel.OPERACIONAL, slug))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("em andamento");
+        assertThat(count("reserva")).isPositive();
+
+        concluir(a.id());
+        assertThat(count("reserva")).isZero();
+    }
+
+    @Test
+    @DisplayName("em lotes: cada lote grava o progresso; total bate com o apagado")
+    void resetEmLotes() {
+        TenantResetService alvo = AopTestUtils.getTargetObject(resetService);
+        Object loteOriginal = ReflectionTestUtils.getField(alvo, "lote");
+        jdbc.update("INSERT INTO cliente (id, tenant_id, nome, documento, ativo) "
+            + "VALUES ('a1000000-0000-0000-0000-000000000008', ?, 'Cliente Reset 2', '999.888.777-55', true) "
+            + "ON CONFLICT DO NOTHING", TENANT);
+        ReflectionTestUtils.setField(alvo, "lote", 1);
+        try {
+            TenantResetService.Resultado r = resetService.reset(TENANT, Nivel.OPERACIONAL, slug);
+
+            assertThat(r.apagados()).containsEntry("cliente", 2L).containsEntry("reserva", 1L);
+            TenantResetService.Andamento a = resetService.ultimo(TENANT).orElseThrow();
+            assertThat(a.status()).isEqualTo(TenantResetService.Status.CONCLUIDO);
+            assertThat(a.tabelas()).allMatch(TenantResetService.TabelaAndamento::concluida);
+            assertThat(a.totalLinhas()).isEqualTo(r.apagados().values().stream().mapToLong(Long::longValue).sum());
+            assertThat(count("cliente")).isZero();
+        } finally {
+            ReflectionTestUtils.setField(alvo, "lote", loteOriginal);
+        }
+    }
+
+    @Test
+    @DisplayName("linhas atrás do expurgo: conferência final abre nova passada e termina limpo")
+    void novaPassadaComLinhasNovas() throws Exception {
+        TenantResetService.Andamento a = resetService.solicitar(TENANT, Nivel.OPERACIONAL, slug);
+        // simula a 1ª passada já percorrida enquanto o balcão criava reservas
+        jdbc.update("UPDATE tenant_reset_tabela SET concluida = true WHERE reset_id = ?", a.id());
+
+        TenantResetService.Andamento fim = concluir(a.id());
+
+        assertThat(fim.status()).isEqualTo(TenantResetService.Status.CONCLUIDO);
+        assertThat(fim.passada()).isEqualTo(2);
+        assertThat(count("reserva")).isZero();
+        assertThat(count("cliente")).isZero();
+    }
+
+    /** Processa até o fim (o TenantResetJob pode ter assumido o pedido: espera). */
+    private TenantResetService.Andamento concluir(UUID resetId) throws InterruptedException {
+        TenantResetService.Andamento a = resetService.andamento(TENANT, resetId);
+        long limite = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!a.terminado() && System.nanoTime() < limite) {
+            a = resetService.processar(resetId, Duration.ofSeconds(10));
+            Thread.sleep(50);
+        }
+        return a;
+    }
 }
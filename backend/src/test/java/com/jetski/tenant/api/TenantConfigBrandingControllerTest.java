@@ -95,7 +95,7 @@ class TenantConfigBrandingControllerTest extends AbstractIntegrationTest {
                 .with(admin()))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.corPrimaria").value("#0066CC"))
-            .andExpect(jsonPath("$.logoDataUrl").isEmpty());
+            .andExpect(jsonPath("$.logoUrl").isEmpty());
     }
 
     @Test
@@ -153,22 +153,40 @@ class TenantConfigBrandingControllerTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @DisplayName("Upload de logo PNG retorna logoDataUrl; DELETE remove")
+    @DisplayName("Upload de logo PNG retorna URL por hash (immutable, ETag/304); DELETE remove")
     void testLogoUploadAndDelete() throws Exception {
         MockMultipartFile file = new MockMultipartFile("file", "logo.png", "image/png", PNG_1PX);
 
-        mockMvc.perform(multipart("/v1/tenants/{tenantId}/config/branding/logo", TENANT_ID)
+        String body = mockMvc.perform(multipart("/v1/tenants/{tenantId}/config/branding/logo", TENANT_ID)
                 .file(file)
                 .header("X-Tenant-Id", TENANT_ID.toString())
                 .with(admin()))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.logoDataUrl").value(org.hamcrest.Matchers.startsWith("data:image/png;base64,")));
+            .andExpect(jsonPath("$.logoUrl").value(
+                org.hamcrest.Matchers.startsWith("/v1/public/assets/logos/" + TENANT_ID + "/")))
+            .andReturn().getResponse().getContentAsString();
+        String logoUrl = com.jayway.jsonpath.JsonPath.read(body, "$.logoUrl");
+
+        String etag = mockMvc.perform(get(logoUrl))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"))
+            .andExpect(content().bytes(PNG_1PX))
+            .andExpect(header().string("Cache-Control", org.hamcrest.Matchers.containsString("immutable")))
+            .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get(logoUrl).header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get(logoUrl).param("w", "64"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"));
 
         mockMvc.perform(delete("/v1/tenants/{tenantId}/config/branding/logo", TENANT_ID)
                 .header("X-Tenant-Id", TENANT_ID.toString())
                 .with(admin()))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.logoDataUrl").isEmpty());
+            .andExpect(jsonPath("$.logoUrl").isEmpty());
+        // Registro de tenant sem retenção no perfil de teste: logo removido some na hora
+        mockMvc.perform(get(logoUrl))
+            .andExpect(status().isNotFound());
     }
 
     @Test
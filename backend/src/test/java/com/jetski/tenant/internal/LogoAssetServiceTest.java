@@ -0,0 +1,118 @@
+package com.jetski.tenant.internal;
+
+import com.jetski.shared.storage.StorageService;
+import com.jetski.tenant.TenantInfo;
+import com.jetski.tenant.TenantRegistry;
+import com.jetski.tenant.domain.Branding;
+import com.jetski.tenant.domain.TenantStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Logo endereçado por conteúdo: upload grava original + variantes sob o hash,
+ * leitura só responde ao hash ATUAL e o storage é lido uma vez por variante.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LogoAssetService (logo por hash + variantes)")
+class LogoAssetServiceTest {
+
+    private static final UUID TENANT = UUID.fromString("a4000000-0000-0000-0000-0000000000cc");
+
+    @Mock private StorageService storageService;
+    @Mock private TenantRegistry tenantRegistry;
+
+    private LogoAssetService service;
+    private byte[] png;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new LogoAssetService(storageService, tenantRegistry);
+        ReflectionTestUtils.setField(service, "cacheMaxKb", 1024L);
+        BufferedImage img = new BufferedImage(600, 300, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+        png = out.toByteArray();
+    }
+
+    private void tenantComLogo(Branding b) {
+        when(tenantRegistry.porId(TENANT)).thenReturn(Optional.of(new TenantInfo(
+            TENANT, "acme", "Acme", ZoneId.of("America/Sao_Paulo"), TenantStatus.ATIVO,
+            true, 0, null, null, null, b)));
+    }
+
+    @Test
+    @DisplayName("upload: chave por hash, variantes 64/256 proporcionais em PNG")
+    void armazenar() throws Exception {
+        LogoAssetService.Armazenado a = service.armazenar(TENANT, png, "image/png");
+
+        assertThat(a.hash()).hasSize(16).isEqualTo(LogoAssetService.hash(png));
+        assertThat(a.key()).isEqualTo(TENANT + "/branding/logo-" + a.hash() + ".png");
+        verify(storageService).putObject(a.key(), png, "image/png");
+        verify(storageService).putObject(eq(TENANT + "/branding/logo-" + a.hash() + "-64.png"),
+            argThat((byte[] v) -> largura(v) == 64), eq("image/png"));
+        verify(storageService).putObject(eq(TENANT + "/branding/logo-" + a.hash() + "-256.png"),
+            argThat((byte[] v) -> largura(v) == 256), eq("image/png"));
+    }
+
+    @Test
+    @DisplayName("leitura: hash atual servido da memória após 1 leitura; hash antigo = vazio")
+    void leituraComCache() {
+        String hash = LogoAssetService.hash(png);
+        String key = TENANT + "/branding/logo-" + hash + ".png";
+        tenantComLogo(Branding.padrao().comLogo(key, "image/png", hash));
+        when(storageService.getObject(key)).thenReturn(png);
+
+        for (int i = 0; i < 50; i++) {
+            LogoAssetService.Asset asset = service.logo(TENANT, hash, null).orElseThrow();
+            assertThat(asset.bytes()).isEqualTo(png);
+            assertThat(asset.etag()).isEqualTo("\"" + hash + "\"");
+        }
+        verify(storageService, times(1)).getObject(key);
+
+        assertThat(service.logo(TENANT, "0000000000000000", null)).isEmpty();
+        assertThat(service.url(TENANT, Branding.padrao().comLogo(key, "image/png", hash)))
+            .isEqualTo("/v1/public/assets/logos/" + TENANT + "/" + hash);
+    }
+
+    @Test
+    @DisplayName("logo legado (sem logo_hash): hash calculado uma vez e variante gerada em memória")
+    void legado() {
+        String key = TENANT + "/branding/logo.png";
+        Branding b = Branding.padrao().comLogo(key, "image/png", null);
+        tenantComLogo(b);
+        when(storageService.getObject(key)).thenReturn(png);
+
+        String url = service.url(TENANT, b);
+        String hash = url.substring(url.lastIndexOf('/') + 1);
+        LogoAssetService.Asset asset = service.logo(TENANT, hash, 64).orElseThrow();
+
+        assertThat(largura(asset.bytes())).isEqualTo(64);
+        assertThat(asset.etag()).isEqualTo("\"" + hash + "-64\"");
+        verify(storageService, never()).putObject(anyString(), any(byte[].class), anyString());
+    }
+
+    private static int largura(byte[] png) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(png)).getWidth();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import { useState, useEffect, Suspense } from 'react'
 import { useSearchParams } from 'next/navigation'
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query'
 import { configuracoesService } from '@/lib/api/services'
+import { assetUrl } from '@/lib/api/client'
 import type {
   AssinaturaConfig,
   Branding,
@@ -1089,10 +1090,10 @@ function ConfiguracoesConteudo() {
                       PNG, JPEG ou WebP até 512 KB. Aparece na barra lateral no lugar do símbolo Meu Jet.
                     </p>
                     <div className="flex flex-wrap items-center gap-4">
-                      {brandCfg.logoDataUrl ? (
+                      {brandCfg.logoUrl ? (
                         // eslint-disable-next-line @next/next/no-img-element
                         <img
-                          src={brandCfg.logoDataUrl}
+                          src={assetUrl(brandCfg.logoUrl, 256)}
                           alt="Logo do tenant"
                           className="h-12 max-w-40 rounded border bg-white object-contain p-1"
                         />
@@ -1110,7 +1111,7 @@ function ConfiguracoesConteudo() {
                           e.target.value = ''
                         }}
                       />
-                      {brandCfg.logoDataUrl && (
+                      {brandCfg.logoUrl && (
                         <Button
                           variant="outline"
                           size="sm"
@@ -1128,9 +1129,9 @@ function ConfiguracoesConteudo() {
                     <Label className="text-sm font-medium">Pré-visualização</Label>
                     <div className="flex overflow-hidden rounded-lg border">
                       <div className="w-40 shrink-0 space-y-2 bg-sidebar p-3">
-                        {brandCfg.logoDataUrl ? (
+                        {brandCfg.logoUrl ? (
                           // eslint-disable-next-line @next/next/no-img-element
-                          <img src={brandCfg.logoDataUrl} alt="" className="h-7 max-w-28 rounded bg-white/90 object-contain p-0.5" />
+                          <img src={assetUrl(brandCfg.logoUrl, 64)} alt="" className="h-7 max-w-28 rounded bg-white/90 object-contain p-0.5" />
                         ) : (
                           <Logo variant="icon" theme="dark" size={16} />
                         )}
@@ -12,6 +12,7 @@ import {
   getPrincipalImage,
 } from '@/lib/api/services/marketplace'
 import { subBase } from '@/lib/public-hosts'
+import { assetUrl } from '@/lib/api/client'
 
 /**
  * Vitrine pública POR LOJA — servida em www/loja/{slug} e, via middleware,
@@ -165,10 +166,10 @@ export default function LojaVitrinePage() {
                   </span>
                 </div>
                 <div className="flex flex-wrap items-center gap-4">
-                  {branding?.logoDataUrl && (
+                  {branding?.logoUrl && (
                     // eslint-disable-next-line @next/next/no-img-element
                     <img
-                      src={branding.logoDataUrl}
+                      src={assetUrl(branding.logoUrl, 256)}
                       alt={`Logo ${loja.nome}`}
                       className="h-14 max-w-36 rounded-lg bg-white/95 object-contain p-1.5"
                     />
@@ -4,6 +4,7 @@ import { useEffect, useState } from 'react'
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query'
 import { ImageDown } from 'lucide-react'
 import { documentosConfigService } from '@/lib/api/services'
+import { DEFAULT_PRESETS } from '@/lib/hooks/use-imagem-config'
 import type { ImagemCompressaoConfig, PresetCompressaoImagem, TipoImagemDoc } from '@/lib/api/types'
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/components/ui/card'
 import { Button } from '@/components/ui/button'
@@ -16,11 +17,14 @@ const TIPOS: { key: TipoImagemDoc; label: string }[] = [
   { key: 'CHA', label: 'CHA / CHV' },
   { key: 'GRU_COMPROVANTE', label: 'Comprovante de pagamento (GRU)' },
   { key: 'SELFIE', label: 'Selfie / foto do cliente' },
+  { key: 'FOTO_MINIATURA', label: 'Fotos de locação — miniatura (servidor)' },
+  { key: 'FOTO_MEDIA', label: 'Fotos de locação — versão média (servidor)' },
 ]
 
 /**
  * Super admin regula a qualidade de compressão de imagem por tipo de documento
- * (global à plataforma). Aplicada no navegador do backoffice antes do upload.
+ * (global à plataforma). Aplicada no navegador do backoffice antes do upload;
+ * os tipos FOTO_* regulam as variantes que o backend gera das fotos de locação.
  * Assinatura fica de fora (é PNG). Molde: PrecoCreditoCard.
  */
 export function ImagemConfigCard({ enabled }: { enabled: boolean }) {
@@ -57,7 +61,7 @@ export function ImagemConfigCard({ enabled }: { enabled: boolean }) {
 
   const set = (key: TipoImagemDoc, campo: keyof PresetCompressaoImagem, valor: number) =>
     setTipos((t) => {
-      const atual = t[key] ?? { maxDimensao: 2000, qualidade: 0.85 }
+      const atual = t[key] ?? DEFAULT_PRESETS[key]
       return { ...t, [key]: { ...atual, [campo]: valor } }
     })
 
@@ -79,7 +83,7 @@ export function ImagemConfigCard({ enabled }: { enabled: boolean }) {
           <span className="text-xs font-medium text-muted-foreground">Qualidade (0.3–1.0)</span>
           <span className="text-xs font-medium text-muted-foreground">Resolução máx. (px)</span>
           {TIPOS.map(({ key, label }) => {
-            const p = tipos[key] ?? { maxDimensao: 2000, qualidade: 0.85 }
+            const p = tipos[key] ?? DEFAULT_PRESETS[key]
             return (
               <FragmentRow key={key}>
                 <span>{label}</span>
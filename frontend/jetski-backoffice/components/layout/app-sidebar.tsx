@@ -68,6 +68,7 @@ import { usePermissions } from '@/lib/hooks/use-permissions'
 import { useQuery } from '@tanstack/react-query'
 import { useSession } from 'next-auth/react'
 import { configuracoesService, perfilService } from '@/lib/api/services'
+import { assetUrl } from '@/lib/api/client'
 
 type NavItem = {
   title: string
@@ -345,9 +346,9 @@ export function AppSidebar() {
                   className="data-[state=open]:bg-sidebar-accent data-[state=open]:text-sidebar-accent-foreground"
                 >
                   <div className="flex aspect-square size-8 items-center justify-center overflow-hidden rounded-lg bg-sidebar-accent">
-                    {branding?.logoDataUrl ? (
+                    {branding?.logoUrl ? (
                       // eslint-disable-next-line @next/next/no-img-element
-                      <img src={branding.logoDataUrl} alt="" className="size-8 object-contain" />
+                      <img src={assetUrl(branding.logoUrl, 64)} alt="" className="size-8 object-contain" />
                     ) : (
                       <Logo variant="icon" theme="dark" size={14} />
                     )}
@@ -176,6 +176,12 @@ apiClient.interceptors.response.use(
 )
 
 // Helper to set auth token
+/** URL absoluta de um asset público servido pela API (ex.: logo por hash); `largura` pede a variante reduzida. */
+export function assetUrl(path?: string | null, largura?: number): string | undefined {
+  if (!path) return undefined
+  return `${API_BASE_URL}${path}${largura ? `?w=${largura}` : ''}`
+}
+
 export function setAuthToken(token: string | null) {
   if (typeof window !== 'undefined') {
     if (token) {
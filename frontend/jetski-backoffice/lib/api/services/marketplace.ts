@@ -67,11 +67,11 @@ export interface MarketplaceLoja {
   vitrineSite?: string
 }
 
-/** Branding público da loja (white-label): cores + logo como data URL. */
+/** Branding público da loja (white-label): cores + caminho do logo (URL por hash, immutable). */
 export interface MarketplaceLojaBranding {
   corPrimaria?: string | null
   corSecundaria?: string | null
-  logoDataUrl?: string | null
+  logoUrl?: string | null
 }
 
 /**
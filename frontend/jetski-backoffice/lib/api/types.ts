@@ -935,13 +935,18 @@ export interface DashboardMetrics {
   calculatedAt: string
 }
 
-/** Tipos de documento com preset de compressão (assinatura fica de fora — é PNG). */
+/**
+ * Tipos de documento com preset de compressão (assinatura fica de fora — é PNG).
+ * FOTO_* são aplicados no servidor às variantes das fotos de check-in/check-out.
+ */
 export type TipoImagemDoc =
   | 'IDENTIDADE'
   | 'COMPROVANTE_RESIDENCIA'
   | 'SELFIE'
   | 'CHA'
   | 'GRU_COMPROVANTE'
+  | 'FOTO_MINIATURA'
+  | 'FOTO_MEDIA'
 
 export interface PresetCompressaoImagem {
   maxDimensao: number
@@ -1537,11 +1542,11 @@ export interface AssinaturaConfig {
   pades: { cliente: boolean; marinha: boolean }
 }
 
-/** White-label do tenant. Nulos ⇒ identidade padrão Meu Jet. Logo vem como data URL. */
+/** White-label do tenant. Nulos ⇒ identidade padrão Meu Jet. Logo vem como caminho relativo à API (URL por hash — usar assetUrl). */
 export interface Branding {
   corPrimaria?: string | null
   corSecundaria?: string | null
-  logoDataUrl?: string | null
+  logoUrl?: string | null
   /** Conteúdo da vitrine pública ({slug}.meujet.com.br) — nulos ⇒ seção não aparece. */
   vitrineDescricao?: string | null
   vitrineEndereco?: string | null
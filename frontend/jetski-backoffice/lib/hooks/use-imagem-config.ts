@@ -6,12 +6,14 @@ import { useTenantStore } from '@/lib/store/tenant-store'
 import type { PresetCompressaoImagem, TipoImagemDoc } from '@/lib/api/types'
 
 /** Defaults hardcoded — usados enquanto a config carrega ou se a leitura falhar. */
-const DEFAULT_PRESETS: Record<TipoImagemDoc, PresetCompressaoImagem> = {
+export const DEFAULT_PRESETS: Record<TipoImagemDoc, PresetCompressaoImagem> = {
   IDENTIDADE: { maxDimensao: 2000, qualidade: 0.85 },
   COMPROVANTE_RESIDENCIA: { maxDimensao: 2000, qualidade: 0.85 },
   CHA: { maxDimensao: 2000, qualidade: 0.85 },
   GRU_COMPROVANTE: { maxDimensao: 2000, qualidade: 0.85 },
   SELFIE: { maxDimensao: 1280, qualidade: 0.8 },
+  FOTO_MINIATURA: { maxDimensao: 400, qualidade: 0.7 },
+  FOTO_MEDIA: { maxDimensao: 1280, qualidade: 0.8 },
 }
 
 /** Preset para imagem sem tipo definido (ex.: upload genérico). */
@@ -1,6 +1,6 @@
 "use client";
 
-import { useState, useTransition } from "react";
+import { useEffect, useState, useTransition } from "react";
 import { AlertTriangle, Download, History } from "lucide-react";
 import { Botao } from "@/components/Acao";
 import {
@@ -8,6 +8,7 @@ import {
   excluirEmpresa,
   exportarEmpresa,
   importarEmpresa,
+  andamentoReset,
   previewImport,
   resetarEmpresa,
 } from "@/lib/actions";
@@ -365,19 +366,35 @@ function Restaurar({
   );
 }
 
+/** Intervalo do polling do andamento do reset. */
+const POLL_RESET_MS = 2000;
+
 function Resetar({ tenantId, slug }: { tenantId: string; slug: string }) {
   const [nivel, setNivel] = useState<ResetNivel>("OPERACIONAL");
   const [confirmacao, setConfirmacao] = useState("");
   const [erro, setErro] = useState<string | null>(null);
-  const [feito, setFeito] = useState<ResetResult | null>(null);
+  const [pedido, setPedido] = useState<ResetResult | null>(null);
   const [pendente, iniciar] = useTransition();
 
+  const emAndamento =
+    pedido !== null && (pedido.status === "PENDENTE" || pedido.status === "EXECUTANDO");
+
+  useEffect(() => {
+    if (!emAndamento || !pedido) return;
+    const timer = setTimeout(async () => {
+      const r = await andamentoReset(tenantId, pedido.id);
+      if (r.ok) setPedido(r.dados);
+      else setErro(r.erro);
+    }, POLL_RESET_MS);
+    return () => clearTimeout(timer);
+  }, [emAndamento, pedido, tenantId]);
+
   return (
     <div className="border-t border-red-200 pt-5">
       <h3 className="font-medium text-ink-900">Resetar dados</h3>
       <p className="mt-0.5 text-sm text-ink-500">
         Um export automático é gerado antes de apagar. Créditos, metering, faturas e
-        auditoria são sempre preservados.
+        auditoria são sempre preservados. O expurgo roda em segundo plano, em lotes.
       </p>
 
       <div className="mt-3 space-y-2">
@@ -407,26 +424,38 @@ function Resetar({ tenantId, slug }: { tenantId: string; slug: string }) {
         />
         <Botao
           variante="perigo"
-          disabled={confirmacao !== slug || pendente}
+          disabled={confirmacao !== slug || pendente || emAndamento}
           onClick={() => {
             setErro(null);
             iniciar(async () => {
               const r = await resetarEmpresa(tenantId, nivel, confirmacao);
               if (!r.ok) setErro(r.erro);
               else {
-                setFeito(r.dados as ResetResult);
+                setPedido(r.dados as ResetResult);
                 setConfirmacao("");
               }
             });
           }}
         >
-          {pendente ? "Resetando…" : `Resetar (${nivel})`}
+          {pendente || emAndamento ? "Resetando…" : `Resetar (${nivel})`}
         </Botao>
       </div>
       {erro && <p className="mt-1 text-xs text-red-700">{erro}</p>}
-      {feito && (
+      {pedido && emAndamento && (
+        <p className="mt-2 text-xs text-ink-500">
+          Reset {pedido.nivel} em andamento — {pedido.totalLinhas} linhas apagadas,{" "}
+          {pedido.tabelas.filter((t) => t.concluida).length}/{pedido.tabelas.length} tabelas
+          {pedido.passada > 1 && ` (passada ${pedido.passada})`}.
+        </p>
+      )}
+      {pedido?.status === "CONCLUIDO" && (
         <p className="mt-2 text-xs text-emerald-700">
-          Reset {feito.nivel} concluído — {feito.totalLinhas} linhas apagadas.
+          Reset {pedido.nivel} concluído — {pedido.totalLinhas} linhas apagadas.
+        </p>
+      )}
+      {pedido?.status === "FALHOU" && (
+        <p className="mt-2 text-xs text-red-700">
+          Reset {pedido.nivel} falhou após {pedido.totalLinhas} linhas: {pedido.erro}
         </p>
       )}
     </div>
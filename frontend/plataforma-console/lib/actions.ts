@@ -101,6 +101,7 @@ export async function exportarEmpresa(tenantId: string) {
   );
 }
 
+/** Pede o reset: o backend responde 202 e apaga em segundo plano. */
 export async function resetarEmpresa(
   tenantId: string,
   nivel: ResetNivel,
@@ -116,6 +117,16 @@ export async function resetarEmpresa(
   );
 }
 
+/** Andamento de um pedido de reset (polling da zona de perigo). */
+export async function andamentoReset(tenantId: string, resetId: string) {
+  return executar(
+    () =>
+      platformFetch(
+        `/v1/platform/tenants/${tenantId}/reset/${resetId}`,
+      ) as Promise<ResetResult>,
+  );
+}
+
 /** Dry-run do import: nada muda no banco — só leitura do zip × estado atual. */
 export async function previewImport(tenantId: string, key: string) {
   return executar(
@@ -131,10 +131,20 @@ export interface RecalcResult {
 /** Níveis do reset — cada um é superconjunto do anterior. */
 export type ResetNivel = "OPERACIONAL" | "FROTA" | "TOTAL";
 
+export type ResetStatus = "PENDENTE" | "EXECUTANDO" | "CONCLUIDO" | "FALHOU";
+
+/** Pedido de reset (processado em segundo plano) e seu andamento por tabela. */
 export interface ResetResult {
+  id: string;
   nivel: ResetNivel;
-  apagados: Record<string, number>;
+  status: ResetStatus;
+  passada: number;
+  solicitadoEm: string;
+  concluidoEm: string | null;
+  exportKey: string | null;
+  erro: string | null;
   totalLinhas: number;
+  tabelas: { tabela: string; apagadas: number; concluida: boolean }[];
 }
 
 export interface ReencryptResult {
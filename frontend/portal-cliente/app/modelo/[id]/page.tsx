@@ -16,6 +16,7 @@ import {
   getModeloPublico,
   getDisponibilidade,
   getBrandingLoja,
+  logoSrc,
   fotoPrincipal,
   type MarketplaceModelo,
   type Disponibilidade,
@@ -99,9 +100,9 @@ export default function ModeloPage() {
             <MapPin size={14} /> {m.localizacao} · {m.empresaNome}
           </div>
           <h1 className="mt-1 flex items-center gap-3 text-2xl font-bold text-ink-900">
-            {branding?.logoDataUrl && (
+            {logoSrc(branding, 64) && (
               /* eslint-disable-next-line @next/next/no-img-element */
-              <img src={branding.logoDataUrl} alt={m.empresaNome}
+              <img src={logoSrc(branding, 64)} alt={m.empresaNome}
                 className="h-8 w-8 rounded-lg object-contain" />
             )}
             {m.nome}
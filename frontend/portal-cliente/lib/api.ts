@@ -756,7 +756,14 @@ export async function avaliarLocacao(
 export interface BrandingLoja {
   corPrimaria?: string;
   corSecundaria?: string;
-  logoDataUrl?: string;
+  /** Caminho do logo relativo à API (URL por hash — cacheável como immutable). */
+  logoUrl?: string;
+}
+
+/** URL absoluta do logo; `largura` 64/256 pega a variante reduzida. */
+export function logoSrc(branding: BrandingLoja | null | undefined, largura?: number): string | undefined {
+  if (!branding?.logoUrl) return undefined;
+  return `${API_URL}${branding.logoUrl}${largura ? `?w=${largura}` : ""}`;
 }
 
 export async function getBrandingLoja(slug: string): Promise<BrandingLoja | null> {
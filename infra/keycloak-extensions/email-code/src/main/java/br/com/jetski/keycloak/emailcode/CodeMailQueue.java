@@ -0,0 +1,97 @@
+package br.com.jetski.keycloak.emailcode;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila LIMITADA de envio do código por e-mail — tira o SMTP do caminho do
+ * login: o authenticator grava o desafio, enfileira o envio e já responde com
+ * a tela do código. Latência/queda do SMTP não segura worker do Keycloak.
+ *
+ * Sem dependência de Keycloak (mesmo espírito do {@link CodeChallenge}): o
+ * envio e o registro do resultado chegam como callbacks, então a fila é
+ * testável com um SMTP falso lento.
+ *
+ * Fila cheia → o envio roda NA thread do login (CallerRuns): sob sobrecarga
+ * degrada para o comportamento síncrono anterior em vez de perder código.
+ */
+public final class CodeMailQueue implements AutoCloseable {
+
+    /** Resultado do envio, registrado na authentication session. */
+    public enum Status {
+        PENDENTE,
+        ENVIADO,
+        FALHOU
+    }
+
+    /** O envio em si (SMTP). */
+    @FunctionalInterface
+    public interface Envio {
+        void enviar() throws Exception;
+    }
+
+    /** Recebe o resultado final do envio (erro = null quando ENVIADO). */
+    @FunctionalInterface
+    public interface Resultado {
+        void registrar(Status status, Exception erro);
+    }
+
+    public static final int THREADS_PADRAO = 4;
+    public static final int CAPACIDADE_PADRAO = 200;
+
+    private final ThreadPoolExecutor executor;
+
+    public CodeMailQueue(int threads, int capacidade) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r, "mj-email-code-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidade), tf, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Enfileira o envio. Retorna em seguida (salvo fila cheia); o resultado
+     * chega depois, em {@code resultado}, na thread que enviou. Nunca lança.
+     */
+    public void enfileirar(Envio envio, Resultado resultado) {
+        executor.execute(() -> {
+            Status status;
+            Exception erro = null;
+            try {
+                envio.enviar();
+                status = Status.ENVIADO;
+            } catch (Exception e) {
+                status = Status.FALHOU;
+                erro = e;
+            }
+            try {
+                resultado.registrar(status, erro);
+            } catch (RuntimeException ignorada) {
+                // registrar é best-effort: o e-mail já saiu (ou já falhou)
+            }
+        });
+    }
+
+    /** Envios aguardando thread — para log/diagnóstico. */
+    public int pendentes() {
+        return executor.getQueue().size();
+    }
+
+    /** Para de aceitar envios; os já enfileirados têm alguns segundos para sair. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -15,10 +15,12 @@ import org.keycloak.forms.login.LoginFormsProvider;
 import org.keycloak.models.Constants;
 import org.keycloak.models.IdentityProviderModel;
 import org.keycloak.models.KeycloakSession;
+import org.keycloak.models.KeycloakSessionFactory;
 import org.keycloak.models.RealmModel;
 import org.keycloak.models.SingleUseObjectProvider;
 import org.keycloak.models.UserCredentialModel;
 import org.keycloak.models.UserModel;
+import org.keycloak.models.utils.KeycloakModelUtils;
 import org.keycloak.sessions.AuthenticationSessionModel;
 
 import java.net.URI;
@@ -26,6 +28,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Login sem senha do portal do cliente: código de 6 dígitos por e-mail,
@@ -40,6 +44,9 @@ import java.util.Map;
  * sem e-mail, brute-force lock, falha de SMTP) avança para a tela de código com
  * a mesma resposta neutra — nunca revelamos se a conta existe.
  * Sem auto-criação de usuário (cadastro é no portal/balcão — nunca JIT cego).
+ *
+ * O e-mail do código sai pela {@link CodeMailQueue} (fora da thread do login):
+ * o resultado volta para a auth note {@link #NOTE_SEND} na requisição seguinte.
  */
 public class EmailCodeAuthenticator implements Authenticator {
 
@@ -63,11 +70,17 @@ public class EmailCodeAuthenticator implements Authenticator {
     static final String NOTE_CD_UNTIL = "MJ_EC_CD_UNTIL";
     /** step-up de cadastro sem 2FA: força o código (esconde a senha). */
     static final String NOTE_FORCE_CODE = "MJ_EC_FORCE_CODE";
+    /** resultado do envio assíncrono do código (CodeMailQueue.Status). */
+    static final String NOTE_SEND = "MJ_EC_SEND";
+    /** nonce do último envio desta aba — chave do resultado que vale para ela. */
+    static final String NOTE_SEND_NONCE = "MJ_EC_SEND_NONCE";
 
     // Notas do desafio no SingleUseObjectProvider
     static final String SUO_HASH = "hash";
     static final String SUO_EXPIRES = "expires";
     static final String SUO_TRIES = "tries";
+    /** Identifica o envio que gravou o desafio/cooldown (o hash pode repetir). */
+    static final String SUO_NONCE = "nonce";
 
     // Estados da tela 2: CHOOSE = identificado, senha em primeiro plano (nenhum
     // e-mail enviado ainda — só sai quando o cliente pedir o código);
@@ -91,8 +104,20 @@ public class EmailCodeAuthenticator implements Authenticator {
         return "mj-email-code:" + userId;
     }
 
+    private static String sendStatusKey(AuthenticationSessionModel authSession, String nonce) {
+        return "mj-email-code-send:" + authSession.getParentSession().getId() + ":" + authSession.getTabId()
+                + ":" + nonce;
+    }
+
+    private final CodeMailQueue fila;
+
+    EmailCodeAuthenticator(CodeMailQueue fila) {
+        this.fila = fila;
+    }
+
     @Override
     public void authenticate(AuthenticationFlowContext context) {
+        sincronizarEnvio(context);
         AuthenticationSessionModel authSession = context.getAuthenticationSession();
         String state = authSession.getAuthNote(NOTE_STATE);
         if (STATE_CODE_SENT.equals(state)) {
@@ -144,6 +169,7 @@ public class EmailCodeAuthenticator implements Authenticator {
 
     @Override
     public void action(AuthenticationFlowContext context) {
+        sincronizarEnvio(context);
         MultivaluedMap<String, String> form = context.getHttpRequest().getDecodedFormParameters();
         String action = form.getFirst(FIELD_ACTION);
         if (action == null || action.isBlank()) {
@@ -265,34 +291,133 @@ public class EmailCodeAuthenticator implements Authenticator {
         }
 
         String code = CodeChallenge.generateCode();
+        String nonce = KeycloakModelUtils.generateId();
         long until = now + CodeChallenge.RESEND_COOLDOWN_SECONDS;
-        try {
-            // map MUTÁVEL: o FreeMarkerEmailTemplateProvider dá put() nos
-            // atributos (Map.of() imutável = UnsupportedOperationException)
-            Map<String, Object> attrs = new java.util.HashMap<>();
-            attrs.put("code", code);
-            attrs.put("ttlMinutes", String.valueOf(CodeChallenge.TTL_MINUTES));
-            context.getSession().getProvider(EmailTemplateProvider.class)
-                    .setRealm(context.getRealm())
-                    .setUser(user)
-                    .send("mjEmailCodeSubject", TPL_EMAIL, attrs);
-        } catch (EmailException e) {
-            // Marcador estável para alerta no Grafana/Loki. Resposta segue neutra:
-            // um erro distinto aqui seria, ele próprio, um oráculo de enumeração.
-            LOG.errorf(e, "MJ_EMAIL_CODE_SMTP_FAIL realm=%s user=%s", context.getRealm().getName(), user.getId());
-            return;
-        }
 
+        // Desafio e cooldown gravados ANTES do envio (assíncrono): o código já
+        // vale quando o e-mail chegar. Se o SMTP falhar, o resultado desfaz os
+        // dois (ver registrarEnvio) e o reenvio fica liberado na hora — só se
+        // ainda forem DESTE envio (nonce): falha tardia não apaga um mais novo.
         // novo desafio substitui o anterior (reenvio invalida o código velho)
         String chKey = challengeKey(user.getId());
         suo.remove(chKey);
         suo.put(chKey, CodeChallenge.TTL_SECONDS, Map.of(
                 SUO_HASH, CodeChallenge.hash(code),
                 SUO_EXPIRES, String.valueOf(now + CodeChallenge.TTL_SECONDS),
-                SUO_TRIES, "0"));
-        suo.put(cdKey, CodeChallenge.RESEND_COOLDOWN_SECONDS, Map.of("until", String.valueOf(until)));
+                SUO_TRIES, "0",
+                SUO_NONCE, nonce));
+        suo.put(cdKey, CodeChallenge.RESEND_COOLDOWN_SECONDS, Map.of(
+                "until", String.valueOf(until),
+                SUO_NONCE, nonce));
         authSession.setAuthNote(NOTE_USER_ID, user.getId());
         authSession.setAuthNote(NOTE_CD_UNTIL, String.valueOf(until));
+        authSession.setAuthNote(NOTE_SEND, CodeMailQueue.Status.PENDENTE.name());
+        authSession.setAuthNote(NOTE_SEND_NONCE, nonce);
+
+        // O envio roda em outra thread com SESSÃO PRÓPRIA (a do login não pode
+        // cruzar threads): só ids vão para o job.
+        KeycloakSessionFactory factory = context.getSession().getKeycloakSessionFactory();
+        String realmId = context.getRealm().getId();
+        String userId = user.getId();
+        String statusKey = sendStatusKey(authSession, nonce);
+        fila.enfileirar(
+                () -> enviarCodigo(factory, realmId, userId, code),
+                (status, erro) -> registrarEnvio(factory, realmId, userId, nonce, statusKey, status, erro));
+    }
+
+    /** Envio do e-mail do código, numa transação/sessão própria (thread da fila). */
+    private static void enviarCodigo(KeycloakSessionFactory factory, String realmId,
+                                     String userId, String code) throws EmailException {
+        EmailException[] falha = new EmailException[1];
+        KeycloakModelUtils.runJobInTransaction(factory, session -> {
+            RealmModel realm = session.realms().getRealm(realmId);
+            session.getContext().setRealm(realm);
+            UserModel user = session.users().getUserById(realm, userId);
+            if (user == null) {
+                return;
+            }
+            // map MUTÁVEL: o FreeMarkerEmailTemplateProvider dá put() nos
+            // atributos (Map.of() imutável = UnsupportedOperationException)
+            Map<String, Object> attrs = new java.util.HashMap<>();
+            attrs.put("code", code);
+            attrs.put("ttlMinutes", String.valueOf(CodeChallenge.TTL_MINUTES));
+            try {
+                session.getProvider(EmailTemplateProvider.class)
+                        .setRealm(realm)
+                        .setUser(user)
+                        .send("mjEmailCodeSubject", TPL_EMAIL, attrs);
+            } catch (EmailException e) {
+                falha[0] = e;
+            }
+        });
+        if (falha[0] != null) {
+            throw falha[0];
+        }
+    }
+
+    /**
+     * Resultado do envio → SingleUseObjectProvider, chaveado pela aba da
+     * authentication session e pelo nonce do envio; a próxima requisição do
+     * fluxo o copia para a auth note {@link #NOTE_SEND} (gravar a auth session
+     * daqui concorreria com a própria requisição do login). Falha desfaz
+     * desafio e cooldown deste envio ({@link #desfazerEnvio}).
+     */
+    private static void registrarEnvio(KeycloakSessionFactory factory, String realmId, String userId,
+                                       String nonce, String statusKey, CodeMailQueue.Status status,
+                                       Exception erro) {
+        if (erro != null) {
+            // Marcador estável para alerta no Grafana/Loki. A tela segue neutra:
+            // um erro distinto seria, ele próprio, um oráculo de enumeração.
+            LOG.errorf(erro, "MJ_EMAIL_CODE_SMTP_FAIL realm=%s user=%s", realmId, userId);
+        }
+        KeycloakModelUtils.runJobInTransaction(factory, session -> {
+            SingleUseObjectProvider suo = session.singleUseObjects();
+            if (status == CodeMailQueue.Status.FALHOU) {
+                desfazerEnvio(suo::get, suo::remove, userId, nonce);
+            }
+            suo.remove(statusKey);
+            suo.put(statusKey, CodeChallenge.TTL_SECONDS, Map.of("status", status.name()));
+        });
+    }
+
+    /**
+     * Envio falhou: remove desafio e cooldown SÓ se ainda forem os gravados por
+     * este envio (compara o nonce, depois remove). O envio é assíncrono — a
+     * falha tardia de um envio antigo não pode apagar o desafio de um reenvio
+     * ou de outra aba, senão o código válido que o cliente tem na mão para de
+     * funcionar.
+     */
+    static void desfazerEnvio(Function<String, Map<String, String>> ler, Consumer<String> remover,
+                              String userId, String nonce) {
+        String chKey = challengeKey(userId);
+        Map<String, String> desafio = ler.apply(chKey);
+        if (desafio != null && nonce.equals(desafio.get(SUO_NONCE))) {
+            remover.accept(chKey);
+        }
+        String cdKey = cooldownKey(userId);
+        Map<String, String> cd = ler.apply(cdKey);
+        if (cd != null && nonce.equals(cd.get(SUO_NONCE))) {
+            remover.accept(cdKey);
+        }
+    }
+
+    /** Copia para a auth note o resultado do último envio desta aba (se já saiu). */
+    private void sincronizarEnvio(AuthenticationFlowContext context) {
+        AuthenticationSessionModel authSession = context.getAuthenticationSession();
+        String nonce = authSession.getAuthNote(NOTE_SEND_NONCE);
+        if (nonce == null || !CodeMailQueue.Status.PENDENTE.name().equals(authSession.getAuthNote(NOTE_SEND))) {
+            return;
+        }
+        Map<String, String> r = context.getSession().singleUseObjects().get(sendStatusKey(authSession, nonce));
+        if (r == null) {
+            return;
+        }
+        String status = r.getOrDefault("status", CodeMailQueue.Status.PENDENTE.name());
+        authSession.setAuthNote(NOTE_SEND, status);
+        if (CodeMailQueue.Status.FALHOU.name().equals(status)) {
+            // cooldown desfeito no SUO: a tela libera o "reenviar" já
+            authSession.removeAuthNote(NOTE_CD_UNTIL);
+        }
     }
 
     // ------------------------------------------------------------------
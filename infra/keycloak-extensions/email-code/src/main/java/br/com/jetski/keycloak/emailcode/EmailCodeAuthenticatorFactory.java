@@ -14,12 +14,17 @@ import java.util.List;
  * Factory do authenticator de código por e-mail (portal do cliente).
  * id "meujet-email-code" é o nome usado nas executions dos flows
  * (infra/keycloak-realm.json e infra/prod/configure-keycloak-email-code.sh).
+ *
+ * Dona da {@link CodeMailQueue} (uma por nó). Dimensionamento via SPI config:
+ * {@code KC_SPI_AUTHENTICATOR_MEUJET_EMAIL_CODE_EMAIL_THREADS} (padrão 4) e
+ * {@code KC_SPI_AUTHENTICATOR_MEUJET_EMAIL_CODE_EMAIL_QUEUE_SIZE} (padrão 200).
  */
 public class EmailCodeAuthenticatorFactory implements AuthenticatorFactory {
 
     public static final String PROVIDER_ID = "meujet-email-code";
 
-    private static final EmailCodeAuthenticator SINGLETON = new EmailCodeAuthenticator();
+    private CodeMailQueue fila;
+    private EmailCodeAuthenticator singleton;
 
     private static final AuthenticationExecutionModel.Requirement[] REQUIREMENT_CHOICES = {
             AuthenticationExecutionModel.Requirement.ALTERNATIVE,
@@ -34,7 +39,7 @@ public class EmailCodeAuthenticatorFactory implements AuthenticatorFactory {
 
     @Override
     public Authenticator create(KeycloakSession session) {
-        return SINGLETON;
+        return singleton;
     }
 
     @Override
@@ -77,7 +82,10 @@ public class EmailCodeAuthenticatorFactory implements AuthenticatorFactory {
 
     @Override
     public void init(Config.Scope config) {
-        // sem config
+        fila = new CodeMailQueue(
+                config.getInt("emailThreads", CodeMailQueue.THREADS_PADRAO),
+                config.getInt("emailQueueSize", CodeMailQueue.CAPACIDADE_PADRAO));
+        singleton = new EmailCodeAuthenticator(fila);
     }
 
     @Override
@@ -87,6 +95,8 @@ public class EmailCodeAuthenticatorFactory implements AuthenticatorFactory {
 
     @Override
     public void close() {
-        // stateless
+        if (fila != null) {
+            fila.close();
+        }
     }
 }
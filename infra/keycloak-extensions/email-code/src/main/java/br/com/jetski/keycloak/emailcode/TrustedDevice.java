@@ -11,6 +11,11 @@ import java.util.Map;
  * ({@code mj-trusted-device}) no Keycloak. Sem CredentialProvider: os
  * authenticators leem/escrevem o CredentialModel direto (secretData guarda só o
  * hash do token do cookie; credentialData guarda expiração/uso/UA).
+ *
+ * <p>Lookup indexado: cada device tem um atributo do usuário
+ * {@code mj-td.<prefixo do hash>} → id da credential. O check vai direto na
+ * credential do cookie em vez de varrer as do usuário; atributo ausente
+ * (device anterior ao índice) cai na varredura e é reindexado.
  */
 public final class TrustedDevice {
 
@@ -25,6 +30,12 @@ public final class TrustedDevice {
     public static final long TTL_SECONDS = 30L * 24 * 60 * 60;
     /** token do cookie: 256 bits em hex. */
     public static final int TOKEN_BYTES = 32;
+    /** Prefixo dos atributos de lookup (um por device). */
+    public static final String ATTR_PREFIX = "mj-td.";
+    /** 64 bits do hash no nome do atributo — a credential confirma o hash inteiro. */
+    static final int ATTR_HASH_CHARS = 16;
+    /** lastUsedAt só é regravado se mais velho que isto (padrão: 1 dia). */
+    public static final long TOUCH_INTERVAL_PADRAO_SECONDS = 24L * 60 * 60;
 
     private TrustedDevice() {
     }
@@ -53,6 +64,24 @@ public final class TrustedDevice {
         return v instanceof Number ? ((Number) v).longValue() : 0L;
     }
 
+    /** Nome do atributo de lookup do device cujo token tem este hash. */
+    public static String atributoLookup(String tokenHash) {
+        return ATTR_PREFIX + tokenHash.substring(0, Math.min(ATTR_HASH_CHARS, tokenHash.length()));
+    }
+
+    public static long lastUsedAt(CredentialModel cm) {
+        Object v = asMap(cm.getCredentialData()).get("lastUsedAt");
+        return v instanceof Number ? ((Number) v).longValue() : 0L;
+    }
+
+    /**
+     * Regravar "último uso" a cada login era um UPDATE de credential por login;
+     * só vale quando o valor gravado está mais velho que {@code intervaloSec}.
+     */
+    public static boolean precisaTocar(long lastUsedAtEpochSec, long nowEpochSec, long intervaloSec) {
+        return nowEpochSec - lastUsedAtEpochSec >= intervaloSec;
+    }
+
     /** Atualiza lastUsedAt in-place (preserva os demais campos). */
     public static void touch(CredentialModel cm, long nowEpochSec) {
         Map<String, Object> data = asMap(cm.getCredentialData());
@@ -18,7 +18,7 @@ import java.util.Map;
  * 2FA roda.
  *   - usuário SEM fator (otp/webauthn) → false (não desafia; opt-in);
  *   - COM fator + cookie {@link TrustedDevice#COOKIE} válido → marca SKIP,
- *     atualiza lastUsed e retorna false (dispositivo confiável pula o 2FA);
+ *     atualiza lastUsed (se velho) e retorna false (dispositivo confiável pula o 2FA);
  *   - COM fator + sem cookie válido → true (desafia webauthn/otp).
  *
  * <p>É ConditionalAuthenticator (não um Authenticator ALTERNATIVE comum) DE
@@ -82,29 +82,72 @@ public class TrustedDeviceCheckAuthenticator implements ConditionalAuthenticator
 
         String tokenHash = CodeChallenge.hash(token);
         long now = Time.currentTime();
-        CredentialModel match = user.credentialManager()
-                .getStoredCredentialsByTypeStream(TrustedDevice.TYPE)
-                .filter(c -> tokenHash.equals(TrustedDevice.tokenHash(c)))
-                .filter(c -> TrustedDevice.expiresAt(c) > now)
-                .findFirst()
-                .orElse(null);
+        CredentialModel match = localizar(user, tokenHash);
 
-        if (match == null) {
+        if (match == null || TrustedDevice.expiresAt(match) <= now) {
             return true; // cookie não casa (revogado/expirado) → desafia
         }
 
-        // device confiável: atualiza lastUsed (best-effort), marca SKIP, pula
-        try {
-            TrustedDevice.touch(match, now);
-            user.credentialManager().updateStoredCredential(match);
-        } catch (Exception e) {
-            LOG.debugf("trusted-device: falha ao atualizar lastUsedAt: %s", e.getMessage());
+        // device confiável: atualiza lastUsed só se estiver velho (best-effort),
+        // marca SKIP, pula
+        if (TrustedDevice.precisaTocar(TrustedDevice.lastUsedAt(match), now, intervaloToque(context))) {
+            try {
+                TrustedDevice.touch(match, now);
+                user.credentialManager().updateStoredCredential(match);
+            } catch (Exception e) {
+                LOG.debugf("trusted-device: falha ao atualizar lastUsedAt: %s", e.getMessage());
+            }
         }
         context.getAuthenticationSession().setAuthNote(TrustedDevice.NOTE_SKIP, "1");
         LOG.debugf("MJ_TRUSTED_DEVICE_SKIP realm=%s user=%s", context.getRealm().getName(), user.getId());
         return false;
     }
 
+    /**
+     * Credential do device pelo atributo de lookup (uma leitura por id). Sem
+     * atributo — device cadastrado antes do índice — varre as do usuário uma
+     * vez e grava o atributo; atributo apontando para credential revogada é
+     * removido.
+     */
+    static CredentialModel localizar(UserModel user, String tokenHash) {
+        String attr = TrustedDevice.atributoLookup(tokenHash);
+        String credId = user.getFirstAttribute(attr);
+        if (credId != null) {
+            CredentialModel cm = user.credentialManager().getStoredCredentialById(credId);
+            if (cm != null && TrustedDevice.TYPE.equals(cm.getType())
+                    && tokenHash.equals(TrustedDevice.tokenHash(cm))) {
+                return cm;
+            }
+            user.removeAttribute(attr);
+            return null;
+        }
+        CredentialModel legado = user.credentialManager()
+                .getStoredCredentialsByTypeStream(TrustedDevice.TYPE)
+                .filter(c -> tokenHash.equals(TrustedDevice.tokenHash(c)))
+                .findFirst()
+                .orElse(null);
+        if (legado != null) {
+            user.setSingleAttribute(attr, legado.getId());
+        }
+        return legado;
+    }
+
+    /** Intervalo mínimo entre regravações de lastUsedAt (config da execution). */
+    static long intervaloToque(AuthenticationFlowContext context) {
+        if (context.getAuthenticatorConfig() == null || context.getAuthenticatorConfig().getConfig() == null) {
+            return TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS;
+        }
+        String bruto = context.getAuthenticatorConfig().getConfig()
+                .get(TrustedDeviceCheckAuthenticatorFactory.CFG_INTERVALO_ULTIMO_USO);
+        try {
+            return bruto == null || bruto.isBlank()
+                    ? TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS
+                    : Math.max(0L, Long.parseLong(bruto.trim()));
+        } catch (NumberFormatException e) {
+            return TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS;
+        }
+    }
+
     /**
      * {@code true} se o client da sessão não honra dispositivo confiável.
      * Compartilhado com o enroll: quem não honra também não cadastra.
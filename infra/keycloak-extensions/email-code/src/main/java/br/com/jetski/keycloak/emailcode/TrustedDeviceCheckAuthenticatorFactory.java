@@ -27,6 +27,9 @@ public class TrustedDeviceCheckAuthenticatorFactory implements ConditionalAuthen
      */
     public static final String CFG_CLIENTS_SEM_TRUSTED_DEVICE = "clientsSemTrustedDevice";
 
+    /** Segundos mínimos entre regravações do "último uso" do device (0 = todo login). */
+    public static final String CFG_INTERVALO_ULTIMO_USO = "intervaloUltimoUsoSegundos";
+
     private static final TrustedDeviceCheckAuthenticator SINGLETON = new TrustedDeviceCheckAuthenticator();
 
     private static final AuthenticationExecutionModel.Requirement[] REQUIREMENT_CHOICES = {
@@ -80,7 +83,16 @@ public class TrustedDeviceCheckAuthenticatorFactory implements ConditionalAuthen
                 + "nenhum (todos honram o dispositivo). Default: "
                 + TrustedDeviceCheckAuthenticator.CLIENTS_SEM_TRUSTED_DEVICE_PADRAO);
         clientes.setDefaultValue(TrustedDeviceCheckAuthenticator.CLIENTS_SEM_TRUSTED_DEVICE_PADRAO);
-        return List.of(clientes);
+
+        ProviderConfigProperty intervalo = new ProviderConfigProperty();
+        intervalo.setName(CFG_INTERVALO_ULTIMO_USO);
+        intervalo.setLabel("Intervalo do último uso (s)");
+        intervalo.setType(ProviderConfigProperty.STRING_TYPE);
+        intervalo.setHelpText("O \"último uso\" do dispositivo confiável só é regravado "
+                + "quando mais velho que isto — evita uma escrita por login. Default: "
+                + TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS);
+        intervalo.setDefaultValue(String.valueOf(TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS));
+        return List.of(clientes, intervalo);
     }
 
     @Override
@@ -16,7 +16,7 @@ import org.keycloak.models.UserModel;
  * Após o 2FA passar, oferece "confiar neste navegador por 30 dias" (checkbox
  * opt-in). Marcado → gera token, seta o cookie {@link TrustedDevice#COOKIE}
  * (HttpOnly/Secure/Lax) e persiste uma credential {@code mj-trusted-device}
- * (guardando só o HASH do token). Nas próximas vezes o
+ * (guardando só o HASH do token) + o atributo de lookup do check. Nas próximas vezes o
  * {@link TrustedDeviceCheckAuthenticator} reconhece e pula o 2FA.
  *
  * <p>REQUIRED no nível do forms (fora do subflow condicional), mas se
@@ -87,8 +87,12 @@ public class TrustedDeviceEnrollAuthenticator implements Authenticator {
         String ua = header(context, "User-Agent");
         String label = rotuloDoUa(ua);
 
-        CredentialModel cm = TrustedDevice.novo(CodeChallenge.hash(token), label, now, ua);
-        user.credentialManager().createStoredCredential(cm);
+        String tokenHash = CodeChallenge.hash(token);
+        CredentialModel cm = TrustedDevice.novo(tokenHash, label, now, ua);
+        CredentialModel criada = user.credentialManager().createStoredCredential(cm);
+        // índice do check (hash do token → credential): sem varrer as do usuário
+        user.setSingleAttribute(TrustedDevice.atributoLookup(tokenHash), criada.getId());
+        podarLookupsOrfaos(user);
 
         // cookie no host do SSO — cobre portal e backoffice (identidade única)
         NewCookie cookie = new NewCookie.Builder(TrustedDevice.COOKIE)
@@ -105,6 +109,23 @@ public class TrustedDeviceEnrollAuthenticator implements Authenticator {
                 context.getRealm().getName(), user.getId(), label);
     }
 
+    /**
+     * Device revogado fora do login (conta/backoffice apaga só a credential)
+     * deixa o atributo de lookup para trás — limpa no cadastro, que é raro.
+     */
+    private void podarLookupsOrfaos(UserModel user) {
+        java.util.Set<String> ids = user.credentialManager()
+                .getStoredCredentialsByTypeStream(TrustedDevice.TYPE)
+                .map(CredentialModel::getId)
+                .collect(java.util.stream.Collectors.toSet());
+        user.getAttributes().entrySet().stream()
+                .filter(e -> e.getKey().startsWith(TrustedDevice.ATTR_PREFIX))
+                .filter(e -> e.getValue().stream().noneMatch(ids::contains))
+                .map(java.util.Map.Entry::getKey)
+                .toList()
+                .forEach(user::removeAttribute);
+    }
+
     private String header(AuthenticationFlowContext context, String name) {
         var headers = context.getHttpRequest().getHttpHeaders().getRequestHeader(name);
         return headers == null || headers.isEmpty() ? "" : headers.get(0);
@@ -0,0 +1,137 @@
+package br.com.jetski.keycloak.emailcode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Harness do caminho de login com SMTP falso LENTO (sem Keycloak, sem
+ * container): mede quanto o "pedir código" segura a requisição com o envio
+ * síncrono (como era) e com a {@link CodeMailQueue}.
+ */
+class CodeMailQueueTest {
+
+    private static final long SMTP_MS = 300;
+    private static final int LOGINS = 8;
+
+    /** SMTP falso: demora SMTP_MS por e-mail e registra o que "entregou". */
+    private static final class SmtpLento {
+        final Map<String, Boolean> entregues = new ConcurrentHashMap<>();
+        volatile boolean fora;
+
+        void enviar(String para) throws Exception {
+            Thread.sleep(SMTP_MS);
+            if (fora) {
+                throw new Exception("SMTP indisponível");
+            }
+            entregues.put(para, true);
+        }
+    }
+
+    /** Latência (ms) da parte do login que enfileira/envia, por login. */
+    private static List<Long> medir(Runnable login) {
+        List<Long> ms = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            long t0 = System.nanoTime();
+            login.run();
+            ms.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+        }
+        Collections.sort(ms);
+        return ms;
+    }
+
+    // ---- latência do caminho de login ----
+
+    @Test
+    void envioSincronoSeguraOLoginPeloSmtpInteiro() {
+        SmtpLento smtp = new SmtpLento();
+        List<Long> ms = medir(() -> {
+            try {
+                smtp.enviar("u@x");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(ms.get(0) >= SMTP_MS, "síncrono: cada login paga o SMTP (" + ms + ")");
+    }
+
+    @Test
+    void filaDevolveOLoginSemEsperarOSmtp() throws Exception {
+        SmtpLento smtp = new SmtpLento();
+        CountDownLatch feitos = new CountDownLatch(LOGINS);
+        Map<String, CodeMailQueue.Status> resultados = new ConcurrentHashMap<>();
+        try (CodeMailQueue fila = new CodeMailQueue(2, 50)) {
+            int[] seq = {0};
+            List<Long> ms = medir(() -> {
+                String para = "u" + (seq[0]++) + "@x";
+                fila.enfileirar(() -> smtp.enviar(para), (status, erro) -> {
+                    resultados.put(para, status);
+                    feitos.countDown();
+                });
+            });
+            long p99 = ms.get(ms.size() - 1);
+            assertTrue(p99 < SMTP_MS / 3, "fila: login não espera o SMTP (" + ms + ")");
+
+            assertTrue(feitos.await(10, TimeUnit.SECONDS));
+        }
+        assertEquals(LOGINS, smtp.entregues.size());
+        assertTrue(resultados.values().stream().allMatch(s -> s == CodeMailQueue.Status.ENVIADO));
+    }
+
+    // ---- resultado e limites ----
+
+    @Test
+    void falhaDoSmtpChegaComoFalhou() throws Exception {
+        SmtpLento smtp = new SmtpLento();
+        smtp.fora = true;
+        CountDownLatch feito = new CountDownLatch(1);
+        CodeMailQueue.Status[] status = new CodeMailQueue.Status[1];
+        Exception[] erro = new Exception[1];
+        try (CodeMailQueue fila = new CodeMailQueue(1, 1)) {
+            fila.enfileirar(() -> smtp.enviar("u@x"), (s, e) -> {
+                status[0] = s;
+                erro[0] = e;
+                feito.countDown();
+            });
+            assertTrue(feito.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(CodeMailQueue.Status.FALHOU, status[0]);
+        assertEquals("SMTP indisponível", erro[0].getMessage());
+    }
+
+    @Test
+    void filaCheiaEnviaNaPropriaThreadSemPerderCodigo() throws Exception {
+        SmtpLento smtp = new SmtpLento();
+        int total = 4;
+        CountDownLatch feitos = new CountDownLatch(total);
+        try (CodeMailQueue fila = new CodeMailQueue(1, 1)) {
+            for (int i = 0; i < total; i++) {
+                String para = "u" + i + "@x";
+                fila.enfileirar(() -> smtp.enviar(para), (s, e) -> feitos.countDown());
+            }
+            assertTrue(feitos.await(10, TimeUnit.SECONDS));
+        }
+        assertEquals(total, smtp.entregues.size());
+    }
+
+    @Test
+    void erroAoRegistrarNaoDerrubaAFila() throws Exception {
+        CountDownLatch segundo = new CountDownLatch(1);
+        try (CodeMailQueue fila = new CodeMailQueue(1, 10)) {
+            fila.enfileirar(() -> { }, (s, e) -> {
+                throw new IllegalStateException("SUO fora");
+            });
+            fila.enfileirar(() -> { }, (s, e) -> segundo.countDown());
+            assertTrue(segundo.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
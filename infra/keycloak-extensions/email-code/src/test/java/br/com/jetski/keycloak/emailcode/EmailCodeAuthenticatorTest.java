@@ -0,0 +1,76 @@
+package br.com.jetski.keycloak.emailcode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Falha de envio desfaz desafio e cooldown só do PRÓPRIO envio: o SMTP é
+ * assíncrono e a falha de um envio antigo pode chegar depois de um reenvio
+ * (ou de outra aba). O SingleUseObjectProvider é um Map aqui.
+ */
+class EmailCodeAuthenticatorTest {
+
+    private static final String USER = "u-1";
+    private static final String CH = "mj-email-code:" + USER;
+    private static final String CD = "mj-email-code-cd:" + USER;
+
+    private final Map<String, Map<String, String>> suo = new HashMap<>();
+
+    private void enviar(String nonce, String codigo) {
+        suo.put(CH, Map.of(
+                EmailCodeAuthenticator.SUO_HASH, CodeChallenge.hash(codigo),
+                EmailCodeAuthenticator.SUO_TRIES, "0",
+                EmailCodeAuthenticator.SUO_NONCE, nonce));
+        suo.put(CD, Map.of("until", "0", EmailCodeAuthenticator.SUO_NONCE, nonce));
+    }
+
+    @Test
+    void falhaDoEnvioAtualLiberaReenvio() {
+        enviar("a", "111111");
+
+        EmailCodeAuthenticator.desfazerEnvio(suo::get, suo::remove, USER, "a");
+
+        assertNull(suo.get(CH));
+        assertNull(suo.get(CD));
+    }
+
+    @Test
+    void falhaTardiaDeEnvioAntigoNaoApagaDesafioNovo() {
+        enviar("a", "111111");
+        enviar("b", "222222"); // reenvio (ou outra aba) antes da falha do primeiro
+
+        EmailCodeAuthenticator.desfazerEnvio(suo::get, suo::remove, USER, "a");
+
+        assertEquals("b", suo.get(CH).get(EmailCodeAuthenticator.SUO_NONCE));
+        assertEquals("b", suo.get(CD).get(EmailCodeAuthenticator.SUO_NONCE));
+        assertFalse(suo.get(CH).isEmpty());
+    }
+
+    @Test
+    void mesmoCodigoEmEnviosDiferentesNaoConfunde() {
+        enviar("a", "123456");
+        enviar("b", "123456"); // hash igual: só o nonce distingue
+
+        EmailCodeAuthenticator.desfazerEnvio(suo::get, suo::remove, USER, "a");
+
+        assertEquals("b", suo.get(CH).get(EmailCodeAuthenticator.SUO_NONCE));
+    }
+
+    @Test
+    void desafioConsumidoNaoLiberaCooldownDeOutroEnvio() {
+        enviar("a", "111111");
+        suo.put(CD, Map.of("until", "0", EmailCodeAuthenticator.SUO_NONCE, "b"));
+        suo.remove(CH); // código usado no login
+
+        EmailCodeAuthenticator.desfazerEnvio(suo::get, suo::remove, USER, "a");
+
+        assertNull(suo.get(CH));
+        assertEquals("b", suo.get(CD).get(EmailCodeAuthenticator.SUO_NONCE));
+    }
+}
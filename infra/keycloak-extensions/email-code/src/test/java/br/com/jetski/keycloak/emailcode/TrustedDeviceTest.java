@@ -0,0 +1,46 @@
+package br.com.jetski.keycloak.emailcode;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrustedDeviceTest {
+
+    // ---- atributo de lookup ----
+
+    @Test
+    void atributoUsaPrefixoDoHash() {
+        String hash = CodeChallenge.hash("token-do-cookie");
+        String attr = TrustedDevice.atributoLookup(hash);
+        assertEquals(TrustedDevice.ATTR_PREFIX + hash.substring(0, 16), attr);
+    }
+
+    @Test
+    void tokensDiferentesTemAtributosDiferentes() {
+        assertNotEquals(TrustedDevice.atributoLookup(CodeChallenge.hash("a")),
+                TrustedDevice.atributoLookup(CodeChallenge.hash("b")));
+    }
+
+    // ---- "último uso" só quando velho ----
+
+    @Test
+    void naoRegravaDentroDoIntervalo() {
+        long agora = 1_000_000L;
+        assertFalse(TrustedDevice.precisaTocar(agora - 60, agora, TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS));
+    }
+
+    @Test
+    void regravaQuandoMaisVelhoQueOIntervalo() {
+        long agora = 1_000_000L;
+        assertTrue(TrustedDevice.precisaTocar(agora - TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS, agora,
+                TrustedDevice.TOUCH_INTERVAL_PADRAO_SECONDS));
+    }
+
+    @Test
+    void intervaloZeroRegravaSempre() {
+        assertTrue(TrustedDevice.precisaTocar(1_000_000L, 1_000_000L, 0));
+    }
+}
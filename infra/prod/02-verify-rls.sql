@@ -20,13 +20,29 @@
 --     cookie de suporte para descobrir qual empresa abrir). A leitura só é exposta
 --     em /v1/platform/suporte; a empresa enxerga quem entrou pela `auditoria`
 --     dela, essa sim com RLS.
+--   - plataforma_metrica_marca (V065): marca d'água do job que alimenta a
+--     plataforma_metrica_diaria — uma linha por empresa com a hora e o custo do
+--     último cálculo. Mesmo motivo da V056: `tenant_id` é a empresa CALCULADA, e
+--     o job lê a marca de todas antes de entrar em cada uma. Nenhum caminho com
+--     escopo de tenant a toca.
+--   - plataforma_emissao_mensal (V066): rollup de emissao_uso por empresa ×
+--     competência × tipo, mantido por trigger. Mesmo motivo da
+--     plataforma_metrica_diaria: `tenant_id` é DIMENSÃO e a tabela existe para
+--     o relatório de metering de TODAS as empresas numa consulta. Só
+--     /v1/platform/metering lê, atrás do PlatformScopeInterceptor + OPA; o
+--     tenant enxerga o próprio consumo pela emissao_uso, essa sim com RLS.
+--   - tenant_reset (V073): pedidos de reset da PLATAFORMA, `tenant_id` é a
+--     empresa ALVO. O TenantResetJob processa sem contexto de tenant; só
+--     /v1/platform/tenants/{id}/reset lê, atrás do PlatformScopeInterceptor + OPA.
 -- Qualquer tabela com tenant_id FORA desta lista e sem RLS aborta o deploy.
 -- =============================================================================
 DO $$
 DECLARE
     faltando text;
     allow text[] := ARRAY['membro', 'tenant_access', 'tenant_signup', 'reserva_config',
-                          'plataforma_metrica_diaria', 'plataforma_sessao_suporte'];
+                          'plataforma_metrica_diaria', 'plataforma_sessao_suporte',
+                          'plataforma_metrica_marca', 'plataforma_emissao_mensal',
+                          'tenant_reset'];
 BEGIN
     SELECT string_agg(c.relname, ', ' ORDER BY c.relname)
       INTO faltando
@@ -222,6 +222,7 @@ actions_no_alcada := {
 
     # Políticas de comissão
     "politica-comissao:list", "politica-comissao:view", "politica-comissao:create",
+    "politica-comissao:simular",
 
     # User management
     "user:list",
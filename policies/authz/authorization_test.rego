@@ -263,6 +263,41 @@ test_scenario_financeiro_monthly_closure if {
 }
 
 
+# ==================== Upload em partes de anexo (OPERADOR) ====================
+# ActionExtractor: iniciar, enviar parte, concluir e cancelar → cliente:update;
+# estado do upload → cliente:view. OPERADOR anexa documento no balcão.
+
+operador_anexo_input(action) := {
+    "action": action,
+    "user": {
+        "id": "operador@test.com",
+        "tenant_id": "tenant-abc",
+        "role": "OPERADOR"
+    },
+    "resource": {
+        "id": "cliente-123",
+        "tenant_id": "tenant-abc"
+    },
+    "context": {
+        "timestamp": "2025-01-20T10:00:00Z" # Monday 10am
+    }
+}
+
+test_operador_upload_anexo_escrita if {
+    # POST .../uploads, PUT .../uploads/{id}, POST .../concluir, DELETE .../uploads/{id}
+    result.allow == true with input as operador_anexo_input("cliente:update")
+}
+
+test_operador_upload_anexo_estado if {
+    # GET .../uploads/{id}
+    result.allow == true with input as operador_anexo_input("cliente:view")
+}
+
+test_operador_nao_remove_cliente if {
+    # cancelar upload não pode depender de cliente:delete
+    result.allow == false with input as operador_anexo_input("cliente:delete")
+}
+
 # ==================== Edge Cases ====================
 
 test_missing_input_fields if {
@@ -159,6 +159,7 @@ role_permissions := {
         "politica-comissao:list",
         "politica-comissao:view",
         "politica-comissao:create",
+        "politica-comissao:simular",  # "e se" da política sobre o mês (só leitura)
         "relatorio:financeiro",
         "relatorio:comissoes",
         # Dashboard financeiro é a tela de trabalho deste papel (DRE, receitas)